@@ -26,6 +26,7 @@ import java.util.concurrent.CompletionStage;
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.kogito.cloudevents.CloudEventUtils;
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.cloudevents.extension.KogitoExtension;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionExecutionIdUtils;
@@ -60,6 +61,7 @@ public class EventDrivenDecisionController {
     private ConfigBean config;
     private EventEmitter eventEmitter;
     private EventReceiver eventReceiver;
+    private EventDrivenPipeline pipeline;
 
     protected EventDrivenDecisionController() {
     }
@@ -79,18 +81,39 @@ public class EventDrivenDecisionController {
     }
 
     protected void subscribe() {
+        subscribe(EventDrivenPipeline.Config.defaults());
+    }
+
+    protected void subscribe(EventDrivenPipeline.Config pipelineConfig) {
+        pipeline = new EventDrivenPipeline(EventDrivenDecisionController.class.getSimpleName(), this::evaluate, eventEmitter, pipelineConfig);
         eventReceiver.subscribe(this::handleRequest, new SubscriptionInfo<>(new JsonStringToObject(CloudEventUtils.Mapper.mapper()),
                 CloudEvent.class));
     }
 
+    public EventDrivenPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Stops the pipeline the requests are evaluated with, failing the ones still waiting to be evaluated.
+     */
+    protected void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
     private CompletionStage<Void> handleRequest(CloudEvent event) {
-        validateRequest(event)
-                .flatMap(this::buildEvaluationContext)
+        return validateRequest(event)
+                .map(pipeline::submit)
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private Optional<Map<String, Object>> evaluate(CloudEvent event) {
+        return buildEvaluationContext(event)
                 .map(this::processRequest)
                 .flatMap(this::buildResponseCloudEvent)
-                .flatMap(CloudEventUtils::toDataEvent)
-                .ifPresent(e -> eventEmitter.emit(e, (String) e.get("type"), Optional.empty()));
-        return CompletableFuture.completedFuture(null);
+                .flatMap(CloudEventUtils::toDataEvent);
     }
 
     private Optional<CloudEvent> validateRequest(CloudEvent event) {
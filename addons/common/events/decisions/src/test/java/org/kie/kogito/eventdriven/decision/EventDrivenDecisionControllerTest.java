@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.dmn.api.core.DMNRuntime;
 import org.kie.kogito.addon.cloudevents.Subscription;
 import org.kie.kogito.cloudevents.CloudEventUtils;
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.cloudevents.extension.KogitoExtension;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionModel;
@@ -196,6 +197,15 @@ class EventDrivenDecisionControllerTest {
         verify(eventReceiverMock).subscribe(any(), any());
     }
 
+    @Test
+    void testSubscribeWithPipelineConfigAndClose() {
+        EventDrivenDecisionController controller = new EventDrivenDecisionController(decisionModelsMock, mock(ConfigBean.class), eventEmitterMock, mock(EventReceiver.class));
+        controller.subscribe(new EventDrivenPipeline.Config(2, 8, 16, true));
+        controller.close();
+
+        assertTrue(controller.getPipeline().submit(mock(CloudEvent.class)).toCompletableFuture().isCompletedExceptionally());
+    }
+
     @Test
     void testHandleEventWithIgnoredCloudEvent() {
         testEventReceiver.accept(CLOUDEVENT_IGNORED);
@@ -24,6 +24,7 @@ import java.util.concurrent.CompletionStage;
 
 import org.kie.api.pmml.PMML4Result;
 import org.kie.kogito.cloudevents.CloudEventUtils;
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.cloudevents.extension.KogitoPredictionsExtension;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.event.EventEmitter;
@@ -52,6 +53,7 @@ public class EventDrivenPredictionsController {
     private ConfigBean config;
     private EventEmitter eventEmitter;
     private EventReceiver eventReceiver;
+    private EventDrivenPipeline pipeline;
 
     protected EventDrivenPredictionsController() {
     }
@@ -71,18 +73,39 @@ public class EventDrivenPredictionsController {
     }
 
     protected void subscribe() {
+        subscribe(EventDrivenPipeline.Config.defaults());
+    }
+
+    protected void subscribe(EventDrivenPipeline.Config pipelineConfig) {
+        pipeline = new EventDrivenPipeline(EventDrivenPredictionsController.class.getSimpleName(), this::evaluate, eventEmitter, pipelineConfig);
         eventReceiver.subscribe(this::handleRequest,
                 new SubscriptionInfo<>(CloudEventUtils.Mapper.mapper()::readValue, CloudEvent.class));
     }
 
+    public EventDrivenPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Stops the pipeline the requests are evaluated with, failing the ones still waiting to be evaluated.
+     */
+    protected void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
     private CompletionStage<Void> handleRequest(CloudEvent event) {
-        filterRequest(event)
-                .flatMap(this::buildEvaluationContext)
+        return filterRequest(event)
+                .map(pipeline::submit)
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private Optional<Map<String, Object>> evaluate(CloudEvent event) {
+        return buildEvaluationContext(event)
                 .map(this::processRequest)
                 .flatMap(this::buildResponseCloudEvent)
-                .flatMap(CloudEventUtils::toDataEvent)
-                .ifPresent(e -> eventEmitter.emit(e, (String) e.get("type"), Optional.empty()));
-        return CompletableFuture.completedFuture(null);
+                .flatMap(CloudEventUtils::toDataEvent);
     }
 
     private Optional<CloudEvent> filterRequest(CloudEvent event) {
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.kie.kogito.cloudevents.CloudEventUtils;
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.cloudevents.extension.KogitoRulesExtension;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.event.EventEmitter;
@@ -53,6 +54,7 @@ public class EventDrivenRulesController {
     private ConfigBean config;
     private EventEmitter eventEmitter;
     private EventReceiver eventReceiver;
+    private EventDrivenPipeline pipeline;
 
     protected EventDrivenRulesController() {
     }
@@ -72,18 +74,39 @@ public class EventDrivenRulesController {
     }
 
     protected void subscribe() {
+        subscribe(EventDrivenPipeline.Config.defaults());
+    }
+
+    protected void subscribe(EventDrivenPipeline.Config pipelineConfig) {
+        pipeline = new EventDrivenPipeline(EventDrivenRulesController.class.getSimpleName(), this::evaluate, eventEmitter, pipelineConfig);
         eventReceiver.subscribe(this::handleRequest,
                 new SubscriptionInfo<>(CloudEventUtils.Mapper.mapper()::readValue, CloudEvent.class));
     }
 
+    public EventDrivenPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Stops the pipeline the requests are evaluated with, failing the ones still waiting to be evaluated.
+     */
+    protected void close() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
     private CompletionStage<Void> handleRequest(CloudEvent event) {
-        validateRequest(event)
-                .flatMap(this::buildEvaluationContext)
+        return validateRequest(event)
+                .map(pipeline::submit)
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private Optional<Map<String, Object>> evaluate(CloudEvent event) {
+        return buildEvaluationContext(event)
                 .map(this::processRequest)
                 .flatMap(this::buildResponseCloudEvent)
-                .flatMap(CloudEventUtils::toDataEvent)
-                .ifPresent(e -> eventEmitter.emit(e, (String) e.get("type"), Optional.empty()));
-        return CompletableFuture.completedFuture(null);
+                .flatMap(CloudEventUtils::toDataEvent);
     }
 
     private Optional<CloudEvent> validateRequest(CloudEvent event) {
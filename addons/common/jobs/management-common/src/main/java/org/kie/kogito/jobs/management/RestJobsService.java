@@ -16,25 +16,76 @@
 package org.kie.kogito.jobs.management;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobBuilder;
 import org.kie.kogito.jobs.api.URIBuilder;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public abstract class RestJobsService implements JobsService {
+/**
+ * Base jobs service talking to the Jobs Service over REST.
+ * <p>
+ * Jobs scheduled or cancelled while a unit of work is running are not sent right away, they are collected
+ * and sent together once the unit of work completes so that the Jobs Service never sees (and calls back)
+ * jobs of process instances that were not stored. Work collected by an aborted unit of work is dropped.
+ * Jobs scheduled and cancelled within the same unit of work are never sent at all.
+ * <p>
+ * Requests failing to reach the Jobs Service are retried with an exponential backoff, the failure is reported
+ * once all the attempts are exhausted.
+ */
+public abstract class RestJobsService implements JobsService, UnitOfWorkEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestJobsService.class);
 
     @SuppressWarnings("squid:S1075")
     public static final String JOBS_PATH = "/jobs";
 
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMillis(500);
+
     private URI jobsServiceUri;
     private String callbackEndpoint;
+    private final int maxAttempts;
+    private final long retryDelay;
+
+    private final ThreadLocal<PendingJobs> pendingJobs = new ThreadLocal<>();
 
     public RestJobsService(String jobServiceUrl, String callbackEndpoint) {
+        this(jobServiceUrl, callbackEndpoint, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * @param jobServiceUrl url of the Jobs Service
+     * @param callbackEndpoint url the Jobs Service calls back when a job fires
+     * @param maxAttempts number of times a request is sent before giving up, at least one
+     * @param retryDelay delay before the first retry, doubled on every following one
+     */
+    protected RestJobsService(String jobServiceUrl, String callbackEndpoint, int maxAttempts, Duration retryDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The maximum number of attempts must be at least 1 but was " + maxAttempts);
+        }
         this.jobsServiceUri = Objects.nonNull(jobServiceUrl) ? buildJobsServiceURI(jobServiceUrl) : null;
         this.callbackEndpoint = callbackEndpoint;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay.toMillis();
     }
 
     public String getCallbackEndpoint(ProcessInstanceJobDescription description) {
@@ -71,4 +122,144 @@ public abstract class RestJobsService implements JobsService {
                 .nodeInstanceId(description.nodeInstanceId())
                 .build();
     }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        String callback = getCallbackEndpoint(description);
+        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
+        Job job = buildJob(description, callback);
+        PendingJobs pending = pendingJobs.get();
+        if (pending == null) {
+            schedule(job);
+        } else {
+            pending.schedule(job);
+        }
+        return job.getId();
+    }
+
+    /**
+     * Cancels a job. The outcome is only known when the Jobs Service answered right away, a cancellation still
+     * in flight, or deferred until the running unit of work completes, is reported as not done.
+     *
+     * @param id id of the job to cancel
+     * @return true if the job is known to be cancelled, that is either the Jobs Service confirmed it or the job
+     *         was scheduled within the running unit of work and will not be sent at all
+     */
+    @Override
+    public boolean cancelJob(String id) {
+        PendingJobs pending = pendingJobs.get();
+        if (pending == null) {
+            CompletableFuture<Boolean> cancelled = cancel(id).toCompletableFuture();
+            return !cancelled.isCompletedExceptionally() && cancelled.getNow(false);
+        }
+        return pending.cancel(id);
+    }
+
+    @Override
+    public void onBeforeStartEvent(UnitOfWorkStartEvent event) {
+        pendingJobs.set(new PendingJobs());
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        PendingJobs pending = pendingJobs.get();
+        pendingJobs.remove();
+        if (pending != null && !pending.isEmpty()) {
+            flush(pending.cancelled, pending.scheduled.values());
+        }
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        pendingJobs.remove();
+    }
+
+    /**
+     * Sends the jobs collected by a completed unit of work, cancellations first.
+     *
+     * @param cancelled ids of the jobs to cancel
+     * @param scheduled jobs to schedule
+     */
+    protected void flush(Collection<String> cancelled, Collection<Job> scheduled) {
+        LOGGER.debug("Sending {} job cancellations and {} scheduled jobs", cancelled.size(), scheduled.size());
+        cancelled.forEach(this::cancel);
+        scheduled.forEach(this::schedule);
+    }
+
+    protected CompletionStage<Void> schedule(Job job) {
+        return withRetry("Scheduling", job.getId(), () -> doSchedule(job));
+    }
+
+    protected CompletionStage<Boolean> cancel(String id) {
+        return withRetry("Canceling", id, () -> doCancel(id));
+    }
+
+    /**
+     * Sends a job to the Jobs Service.
+     *
+     * @param job job to schedule
+     * @return stage completed once the Jobs Service accepted the job, completed exceptionally if it did not
+     */
+    protected abstract CompletionStage<Void> doSchedule(Job job);
+
+    /**
+     * Asks the Jobs Service to cancel a job.
+     *
+     * @param id id of the job to cancel
+     * @return stage completed with true once the job is cancelled, false if the Jobs Service does not know it,
+     *         completed exceptionally if the request failed
+     */
+    protected abstract CompletionStage<Boolean> doCancel(String id);
+
+    private <T> CompletionStage<T> withRetry(String action, String id, Supplier<CompletionStage<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(action, id, request, 1, retryDelay, result);
+        return result;
+    }
+
+    private <T> void attempt(String action, String id, Supplier<CompletionStage<T>> request, int number, long delay, CompletableFuture<T> result) {
+        send(request).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (number < maxAttempts) {
+                LOGGER.warn("{} of job {} failed on attempt {} of {}, retrying in {} ms", action, id, number, maxAttempts, delay, error);
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(action, id, request, number + 1, delay * 2, result));
+            } else {
+                LOGGER.error("{} of job {} failed after {} attempts", action, id, number, error);
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    private static <T> CompletionStage<T> send(Supplier<CompletionStage<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static class PendingJobs {
+
+        private final Set<String> cancelled = new LinkedHashSet<>();
+        private final Map<String, Job> scheduled = new LinkedHashMap<>();
+
+        void schedule(Job job) {
+            scheduled.put(job.getId(), job);
+        }
+
+        boolean cancel(String id) {
+            // a job scheduled within the same unit of work is simply not sent
+            if (scheduled.remove(id) != null) {
+                return true;
+            }
+            cancelled.add(id);
+            return false;
+        }
+
+        boolean isEmpty() {
+            return cancelled.isEmpty() && scheduled.isEmpty();
+        }
+    }
 }
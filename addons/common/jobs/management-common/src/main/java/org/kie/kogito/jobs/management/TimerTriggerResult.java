@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs.management;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a call to the bulk timer callback endpoint, listing the timers that were not fired.
+ */
+public class TimerTriggerResult {
+
+    private List<TimerTrigger> notFound = new ArrayList<>();
+    private List<TimerTrigger> failed = new ArrayList<>();
+
+    /**
+     * @return the timers whose process or process instance was not found
+     */
+    public List<TimerTrigger> getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(List<TimerTrigger> notFound) {
+        this.notFound = notFound;
+    }
+
+    /**
+     * @return the timers of the process instances that failed to handle them, which can be triggered again
+     */
+    public List<TimerTrigger> getFailed() {
+        return failed;
+    }
+
+    public void setFailed(List<TimerTrigger> failed) {
+        this.failed = failed;
+    }
+
+    public boolean hasFailures() {
+        return !failed.isEmpty();
+    }
+}
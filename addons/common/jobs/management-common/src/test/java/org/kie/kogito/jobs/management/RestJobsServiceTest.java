@@ -16,36 +16,61 @@
 package org.kie.kogito.jobs.management;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.jobs.ExactExpirationTime;
 import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.jobs.api.Job;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class RestJobsServiceTest {
 
     public static final String CALLBACK_URL = "http://localhost";
     public static final String JOB_SERVICE_URL = "http://localhost:8085";
     private final RestJobsService tested;
+    private final List<String> scheduled = new ArrayList<>();
+    private final List<String> cancelled = new ArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
 
     public RestJobsServiceTest() {
-        this.tested = new RestJobsService(JOB_SERVICE_URL, CALLBACK_URL) {
+        this.tested = new RestJobsService(JOB_SERVICE_URL, CALLBACK_URL, 3, Duration.ofMillis(10)) {
             @Override
             public String scheduleProcessJob(ProcessJobDescription description) {
                 return null;
             }
 
             @Override
-            public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-                return null;
+            protected CompletionStage<Void> doSchedule(Job job) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Jobs Service unavailable");
+                }
+                synchronized (scheduled) {
+                    scheduled.add(job.getId());
+                }
+                return CompletableFuture.completedFuture(null);
             }
 
             @Override
-            public boolean cancelJob(String id) {
-                return false;
+            protected CompletionStage<Boolean> doCancel(String id) {
+                if (failures.getAndDecrement() > 0) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("Jobs Service unavailable"));
+                }
+                cancelled.add(id);
+                return CompletableFuture.completedFuture(true);
             }
 
             @Override
@@ -71,4 +96,105 @@ public class RestJobsServiceTest {
         URI jobsServiceUri = tested.getJobsServiceUri();
         assertThat(jobsServiceUri.toString()).isEqualTo(JOB_SERVICE_URL + "/jobs");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testJobsSentImmediatelyWithoutUnitOfWork() {
+        ProcessInstanceJobDescription description = description();
+        tested.scheduleProcessInstanceJob(description);
+        tested.cancelJob("other");
+
+        assertThat(scheduled).containsExactly(description.id());
+        assertThat(cancelled).containsExactly("other");
+    }
+
+    @Test
+    void testJobsSentWhenUnitOfWorkEnds() {
+        ProcessInstanceJobDescription first = description();
+        ProcessInstanceJobDescription second = description();
+        ProcessInstanceJobDescription cancelledInUnit = description();
+
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        tested.scheduleProcessInstanceJob(first);
+        tested.scheduleProcessInstanceJob(cancelledInUnit);
+        tested.cancelJob("existing");
+        tested.scheduleProcessInstanceJob(second);
+        tested.cancelJob(cancelledInUnit.id());
+
+        assertThat(scheduled).isEmpty();
+        assertThat(cancelled).isEmpty();
+
+        tested.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+
+        assertThat(scheduled).containsExactly(first.id(), second.id());
+        assertThat(cancelled).containsExactly("existing");
+
+        tested.scheduleProcessInstanceJob(cancelledInUnit);
+        assertThat(scheduled).containsExactly(first.id(), second.id(), cancelledInUnit.id());
+    }
+
+    @Test
+    void testJobsDroppedWhenUnitOfWorkAborts() {
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        tested.scheduleProcessInstanceJob(description());
+        tested.cancelJob("existing");
+        tested.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+        tested.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+
+        assertThat(scheduled).isEmpty();
+        assertThat(cancelled).isEmpty();
+    }
+
+    @Test
+    void testCancelJobReportsOutcome() {
+        assertThat(tested.cancelJob("existing")).isTrue();
+
+        failures.set(1);
+        assertThat(tested.cancelJob("failing")).isFalse();
+
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        ProcessInstanceJobDescription description = description();
+        tested.scheduleProcessInstanceJob(description);
+        assertThat(tested.cancelJob(description.id())).isTrue();
+        assertThat(tested.cancelJob("pending")).isFalse();
+        tested.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+    }
+
+    @Test
+    void testFailedRequestsAreRetried() throws Exception {
+        ProcessInstanceJobDescription description = description();
+        failures.set(2);
+
+        tested.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        tested.scheduleProcessInstanceJob(description);
+        tested.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduledIds().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(scheduledIds()).containsExactly(description.id());
+    }
+
+    @Test
+    void testFailureReportedWhenAttemptsExhausted() {
+        failures.set(3);
+
+        CompletableFuture<Boolean> cancel = tested.cancel("existing").toCompletableFuture();
+
+        assertThatThrownBy(() -> cancel.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(cancelled).isEmpty();
+    }
+
+    private List<String> scheduledIds() {
+        synchronized (scheduled) {
+            return new ArrayList<>(scheduled);
+        }
+    }
+
+    private static ProcessInstanceJobDescription description() {
+        return ProcessInstanceJobDescription.of(123,
+                ExactExpirationTime.now(),
+                "processInstanceId",
+                "processId");
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addons.k8s;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+
+/**
+ * Caches the endpoints found by another {@link EndpointDiscovery}, keyed by {@link EndpointQueryKey}.
+ * <p>
+ * Entries are loaded on the first query. The first query on a namespace also starts a watch on the Services of that
+ * namespace and any change to them evicts every entry of the namespace. Entries expire after the given time to live
+ * anyway, so changes the watch can't see (for example on Knative Routes, or while the watch is being re-established)
+ * are eventually picked up.
+ */
+public class CachedEndpointDiscovery implements EndpointDiscovery, Closeable {
+
+    public static final String TTL_PROPERTY = "kogito.addon.kubernetes.discovery.cache.ttl";
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedEndpointDiscovery.class);
+
+    private final EndpointDiscovery delegate;
+    private final KubernetesClient kubernetesClient;
+    private final long ttl;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<EndpointQueryKey, Entry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Watch> watches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the discovery service queried on cache misses
+     * @param kubernetesClient client used to watch the namespaces, if <code>null</code> entries are only evicted on expiration
+     * @param ttl time to live of the cached entries
+     */
+    public CachedEndpointDiscovery(final EndpointDiscovery delegate, final KubernetesClient kubernetesClient, final Duration ttl) {
+        this(delegate, kubernetesClient, ttl, System::nanoTime);
+    }
+
+    CachedEndpointDiscovery(final EndpointDiscovery delegate, final KubernetesClient kubernetesClient, final Duration ttl, final LongSupplier clock) {
+        this.delegate = delegate;
+        this.kubernetesClient = kubernetesClient;
+        this.ttl = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Endpoint> findEndpoint(String namespace, String name) {
+        return lookup(new EndpointQueryKey(namespace, name),
+                () -> delegate.findEndpoint(namespace, name).map(Collections::singletonList).orElse(Collections.emptyList()))
+                        .stream().findFirst();
+    }
+
+    @Override
+    public List<Endpoint> findEndpoint(String namespace, Map<String, String> labels) {
+        return lookup(new EndpointQueryKey(namespace, labels == null ? null : new HashMap<>(labels)), () -> delegate.findEndpoint(namespace, labels));
+    }
+
+    /**
+     * Evicts every cached entry of the given namespace.
+     */
+    public void invalidate(final String namespace) {
+        generation(namespace).incrementAndGet();
+        cache.keySet().removeIf(key -> namespace.equals(key.getNamespace()));
+    }
+
+    @Override
+    public void close() {
+        watches.values().forEach(Watch::close);
+        watches.clear();
+        cache.clear();
+    }
+
+    private List<Endpoint> lookup(final EndpointQueryKey key, final Supplier<List<Endpoint>> loader) {
+        final long now = clock.getAsLong();
+        final Entry entry = cache.get(key);
+        if (entry != null && now - entry.loadedAt < ttl) {
+            return entry.endpoints;
+        }
+        watch(key.getNamespace());
+        // an eviction while loading means the result might already be stale, so it's returned but not cached
+        final long generation = generation(key.getNamespace()).get();
+        final List<Endpoint> endpoints = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        if (generation == generation(key.getNamespace()).get()) {
+            cache.put(key, new Entry(endpoints, now));
+        }
+        return endpoints;
+    }
+
+    private AtomicLong generation(final String namespace) {
+        return generations.computeIfAbsent(namespace, k -> new AtomicLong());
+    }
+
+    private void watch(final String namespace) {
+        if (kubernetesClient == null) {
+            return;
+        }
+        watches.computeIfAbsent(namespace, k -> {
+            try {
+                return kubernetesClient.services().inNamespace(namespace).watch(new NamespaceWatcher(namespace));
+            } catch (KubernetesClientException e) {
+                LOGGER.warn("Unable to watch Services in namespace {}, cached endpoints will only expire after {}. Turn on DEBUG to see the full stack trace: {}",
+                        namespace, Duration.ofNanos(ttl), e.getMessage());
+                LOGGER.debug("Stack trace: ", e);
+                return null;
+            }
+        });
+    }
+
+    private class NamespaceWatcher implements Watcher<Service> {
+
+        private final String namespace;
+
+        private NamespaceWatcher(final String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void eventReceived(Action action, Service resource) {
+            LOGGER.debug("Service {} in namespace {} {}, evicting cached endpoints", resource.getMetadata().getName(), namespace, action);
+            invalidate(namespace);
+        }
+
+        @Override
+        public void onClose(WatcherException cause) {
+            LOGGER.debug("Watch on namespace {} closed, evicting cached endpoints", namespace, cause);
+            watches.remove(namespace);
+            invalidate(namespace);
+        }
+    }
+
+    private static class Entry {
+
+        private final List<Endpoint> endpoints;
+        private final long loadedAt;
+
+        private Entry(final List<Endpoint> endpoints, final long loadedAt) {
+            this.endpoints = endpoints;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -21,7 +21,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
@@ -29,6 +32,7 @@ import javax.ws.rs.core.MediaType;
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.kogito.addons.k8s.Endpoint;
 import org.kie.kogito.addons.k8s.EndpointDiscovery;
+import org.kie.kogito.addons.k8s.EndpointQueryKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +57,7 @@ public abstract class AbstractDiscoveredEndpointCaller {
 
     private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private final ConcurrentMap<EndpointQueryKey, AtomicInteger> cursors = new ConcurrentHashMap<>();
 
     public AbstractDiscoveredEndpointCaller(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -79,18 +84,17 @@ public abstract class AbstractDiscoveredEndpointCaller {
         final Map<String, Object> data = new HashMap<>(workItem.getParameters());
         final String service = (String) data.remove(workItemServiceKey);
 
-        final List<Endpoint> endpoint = this.getEndpointDiscovery().findEndpoint(namespace, Collections.singletonMap(service, null));
-        if (endpoint.isEmpty()) {
+        final Map<String, String> labels = Collections.singletonMap(service, null);
+        final List<Endpoint> endpoints = this.getEndpointDiscovery().findEndpoint(namespace, labels);
+        if (endpoints.isEmpty()) {
             throw new IllegalArgumentException("Kubernetes service with label " + service + " not found in the namespace " + namespace);
         }
-        if (endpoint.size() > 1) {
-            LOGGER.warn("Found more than one endpoint using labels {}:null. Returning the first one in the list. Try to be more specific in the query search.", service);
-        }
-        LOGGER.debug("Found endpoint for service {} in namespace {} with URL {}", service, namespace, endpoint.get(0).getUrl());
+        final Endpoint endpoint = nextEndpoint(new EndpointQueryKey(namespace, labels), endpoints);
+        LOGGER.debug("Found endpoint for service {} in namespace {} with URL {}", service, namespace, endpoint.getUrl());
 
         INTERNAL_FIELDS.forEach(data::remove);
 
-        final Request request = createRequest(String.format("%s/%s", endpoint.get(0).getUrl(), service), createRequestPayload(data), httpMethod);
+        final Request request = createRequest(String.format("%s/%s", endpoint.getUrl(), service), createRequestPayload(data), httpMethod);
         try (Response response = this.httpClient.newCall(request).execute()) {
             return createResultsFromResponse(response, request.url().toString());
         } catch (IOException e) {
@@ -98,6 +102,17 @@ public abstract class AbstractDiscoveredEndpointCaller {
         }
     }
 
+    /**
+     * Spreads the calls among the endpoints matching the same query, in round-robin.
+     */
+    private Endpoint nextEndpoint(EndpointQueryKey key, List<Endpoint> endpoints) {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        final int next = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return endpoints.get(Math.floorMod(next, endpoints.size()));
+    }
+
     private RequestBody createRequestPayload(Map<String, Object> data) {
         if (data == null) {
             return null;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addons.k8s;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachedEndpointDiscoveryTest {
+
+    private static final String NAMESPACE = "test";
+    private static final Map<String, String> LABELS = Collections.singletonMap("app", null);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger queries = new AtomicInteger();
+    private CachedEndpointDiscovery discovery;
+
+    @BeforeEach
+    void setup() {
+        final EndpointDiscovery delegate = new EndpointDiscovery() {
+            @Override
+            public Optional<Endpoint> findEndpoint(String namespace, String name) {
+                queries.incrementAndGet();
+                return "svc1".equals(name) ? Optional.of(new Endpoint("http://svc1")) : Optional.empty();
+            }
+
+            @Override
+            public List<Endpoint> findEndpoint(String namespace, Map<String, String> labels) {
+                queries.incrementAndGet();
+                return Arrays.asList(new Endpoint("http://svc1"), new Endpoint("http://svc2"));
+            }
+        };
+        discovery = new CachedEndpointDiscovery(delegate, null, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void testFindByNameIsCached() {
+        assertEquals("http://svc1", discovery.findEndpoint(NAMESPACE, "svc1").get().getUrl());
+        assertEquals("http://svc1", discovery.findEndpoint(NAMESPACE, "svc1").get().getUrl());
+        assertFalse(discovery.findEndpoint(NAMESPACE, "svc2").isPresent());
+        assertFalse(discovery.findEndpoint(NAMESPACE, "svc2").isPresent());
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void testFindByLabelsIsCached() {
+        assertEquals(2, discovery.findEndpoint(NAMESPACE, LABELS).size());
+        assertEquals(2, discovery.findEndpoint(NAMESPACE, Collections.singletonMap("app", null)).size());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testExpiration() {
+        discovery.findEndpoint(NAMESPACE, LABELS);
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        discovery.findEndpoint(NAMESPACE, LABELS);
+        assertEquals(1, queries.get());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        discovery.findEndpoint(NAMESPACE, LABELS);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void testInvalidate() {
+        discovery.findEndpoint(NAMESPACE, LABELS);
+        discovery.findEndpoint("other", LABELS);
+        discovery.invalidate(NAMESPACE);
+
+        discovery.findEndpoint(NAMESPACE, LABELS);
+        discovery.findEndpoint("other", LABELS);
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void testCachedListIsImmutable() {
+        final List<Endpoint> endpoints = discovery.findEndpoint(NAMESPACE, LABELS);
+        assertThrows(UnsupportedOperationException.class, endpoints::clear);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Routing index of the subscriptions of an event receiver, so an incoming message is only converted by the
+ * subscriptions that are going to consume it instead of by every registered one.
+ * <p>
+ * The CloudEvent attributes of a message are read once with a streaming parser, without building the message
+ * or its data. Subscriptions with a type are looked up by the event type and source, matching the filter of the
+ * process event consumers, which accept events whose type or source is either the trigger or the simple name of
+ * the event class. Subscriptions without a type receive every message, and so does every subscription when the
+ * message is not a structured CloudEvent, as it happens when events are sent without the CloudEvent envelope.
+ * Matching subscriptions are returned in registration order.
+ */
+public class SubscriptionIndex {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String SPEC_VERSION = "specversion";
+    private static final String TYPE = "type";
+    private static final String SOURCE = "source";
+
+    private static final class Index {
+
+        private final List<Subscription<Object>> all;
+        private final Map<Integer, Subscription<Object>> untyped = new TreeMap<>();
+        private final Map<String, Map<Integer, Subscription<Object>>> typed = new HashMap<>();
+
+        Index(List<Subscription<Object>> subscriptions) {
+            this.all = Collections.unmodifiableList(subscriptions);
+            for (int ordinal = 0; ordinal < subscriptions.size(); ordinal++) {
+                Subscription<Object> subscription = subscriptions.get(ordinal);
+                if (subscription.getInfo().getType().isPresent()) {
+                    add(subscription.getInfo().getType().get(), ordinal, subscription);
+                    add(subscription.getInfo().getOutputClass().getSimpleName(), ordinal, subscription);
+                } else {
+                    untyped.put(ordinal, subscription);
+                }
+            }
+        }
+
+        private void add(String key, int ordinal, Subscription<Object> subscription) {
+            typed.computeIfAbsent(key, k -> new TreeMap<>()).put(ordinal, subscription);
+        }
+
+        Collection<Subscription<Object>> match(String type, String source) {
+            Map<Integer, Subscription<Object>> byType = typed.getOrDefault(type, Collections.emptyMap());
+            Map<Integer, Subscription<Object>> bySource = source == null ? Collections.emptyMap() : typed.getOrDefault(source, Collections.emptyMap());
+            if (bySource.isEmpty() && untyped.isEmpty()) {
+                return byType.values();
+            }
+            Map<Integer, Subscription<Object>> matches = new TreeMap<>(byType);
+            matches.putAll(bySource);
+            matches.putAll(untyped);
+            return matches.values();
+        }
+    }
+
+    private final List<Subscription<Object>> subscriptions = new ArrayList<>();
+    private volatile Index index = new Index(Collections.emptyList());
+
+    public synchronized void add(Subscription<Object> subscription) {
+        subscriptions.add(subscription);
+        index = new Index(new ArrayList<>(subscriptions));
+    }
+
+    /**
+     * @return every registered subscription, in registration order
+     */
+    public Collection<Subscription<Object>> subscriptions() {
+        return index.all;
+    }
+
+    /**
+     * @return the subscriptions the message has to be converted for, in registration order
+     */
+    public Collection<Subscription<Object>> subscriptions(String message) {
+        Index current = index;
+        String[] attributes = attributes(message);
+        return attributes == null ? current.all : current.match(attributes[0], attributes[1]);
+    }
+
+    /**
+     * Reads the type and source attributes of a structured CloudEvent, skipping everything else.
+     *
+     * @return type and source of the event, or null when the message is not a structured CloudEvent
+     */
+    static String[] attributes(String message) {
+        if (message == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String specVersion = null;
+            String type = null;
+            String source = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (specVersion == null || type == null || source == null)) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_STRING) {
+                    if (SPEC_VERSION.equals(name)) {
+                        specVersion = parser.getText();
+                    } else if (TYPE.equals(name)) {
+                        type = parser.getText();
+                    } else if (SOURCE.equals(name)) {
+                        source = parser.getText();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return specVersion == null || type == null ? null : new String[] { type, source };
+        } catch (IOException e) {
+            // not even json, let the converters of every subscription report it
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.services.event.impl.JsonStringToObject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionIndexTest {
+
+    private static final JsonStringToObject CONVERTER = new JsonStringToObject(new ObjectMapper());
+
+    @Test
+    void testRoutesByTypeAndSource() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> travellers = subscription(Optional.of("travellers"), CloudEventConverterTest.PersonDataEvent.class);
+        Subscription<Object> visas = subscription(Optional.of("visas"), CloudEventConverterTest.PersonDataEvent.class);
+        Subscription<Object> any = subscription(Optional.empty(), Object.class);
+        index.add(travellers);
+        index.add(visas);
+        index.add(any);
+
+        assertThat(index.subscriptions(event("travellers", "/process"))).containsExactly(travellers, any);
+        assertThat(index.subscriptions(event("other", "visas"))).containsExactly(visas, any);
+        assertThat(index.subscriptions(event("PersonDataEvent", "/process"))).containsExactly(travellers, visas, any);
+        assertThat(index.subscriptions(event("other", "/process"))).containsExactly(any);
+    }
+
+    @Test
+    void testEveryoneReceivesMessagesWithoutEnvelope() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> travellers = subscription(Optional.of("travellers"), CloudEventConverterTest.Person.class);
+        index.add(travellers);
+
+        assertThat(index.subscriptions("{\"type\":\"gold\",\"firstName\":\"Jan\"}")).containsExactly(travellers);
+        assertThat(index.subscriptions("not json")).containsExactly(travellers);
+        assertThat(index.subscriptions("[]")).containsExactly(travellers);
+    }
+
+    @Test
+    void testAttributes() {
+        String message = "{\"data\":{\"type\":\"nested\",\"items\":[1,2,{\"source\":\"nested\"}]},\"specversion\":\"1.0\",\"type\":\"travellers\",\"source\":\"/process\"}";
+        assertThat(SubscriptionIndex.attributes(message)).containsExactly("travellers", "/process");
+        assertThat(SubscriptionIndex.attributes("{\"specversion\":\"1.0\",\"type\":\"travellers\"}")).containsExactly("travellers", null);
+        assertThat(SubscriptionIndex.attributes("{\"specversion\":\"1.0\",\"source\":\"/process\"}")).isNull();
+    }
+
+    private static String event(String type, String source) {
+        return "{\"specversion\":\"1.0\",\"id\":\"1\",\"type\":\"" + type + "\",\"source\":\"" + source + "\",\"data\":{}}";
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Subscription<Object> subscription(Optional<String> type, Class<?> outputClass) {
+        return new Subscription(o -> CompletableFuture.completedFuture(null), new SubscriptionInfo<>(CONVERTER, outputClass, type));
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloudevents;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.kie.kogito.event.EventEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Evaluates event driven requests and emits their responses through an {@link EventEmitter}.
+ * <p>
+ * By default requests are evaluated on the receiving thread, one at a time. When
+ * <code>kogito.eventdriven.parallelism</code> is greater than zero requests are queued instead
+ * (up to <code>kogito.eventdriven.queue.size</code>, blocking the receiver when the queue is full),
+ * pulled in micro-batches of at most <code>kogito.eventdriven.batch.size</code> requests, evaluated
+ * in parallel and their responses emitted together, in arrival order, once the whole batch is done.
+ * Unless <code>kogito.eventdriven.ordered</code> is <code>false</code>, requests sharing the same
+ * CloudEvent subject are evaluated one after the other, in arrival order.
+ * <p>
+ * The pipeline owns its threads, whoever creates it must {@link #close()} it.
+ */
+public class EventDrivenPipeline {
+
+    public static final String PARALLELISM_PROPERTY = "kogito.eventdriven.parallelism";
+    public static final String BATCH_SIZE_PROPERTY = "kogito.eventdriven.batch.size";
+    public static final String QUEUE_SIZE_PROPERTY = "kogito.eventdriven.queue.size";
+    public static final String ORDERED_PROPERTY = "kogito.eventdriven.ordered";
+    public static final String DEFAULT_PARALLELISM = "0";
+    public static final String DEFAULT_BATCH_SIZE = "64";
+    public static final String DEFAULT_QUEUE_SIZE = "1024";
+    public static final String DEFAULT_ORDERED = "true";
+
+    /**
+     * Settings of a pipeline, as configured by the properties of the same name.
+     */
+    public static final class Config {
+
+        private final int parallelism;
+        private final int batchSize;
+        private final int queueSize;
+        private final boolean ordered;
+
+        public Config(int parallelism, int batchSize, int queueSize, boolean ordered) {
+            this.parallelism = parallelism;
+            this.batchSize = batchSize;
+            this.queueSize = queueSize;
+            this.ordered = ordered;
+        }
+
+        /**
+         * @return the default settings, evaluating requests on the receiving thread
+         */
+        public static Config defaults() {
+            return new Config(Integer.parseInt(DEFAULT_PARALLELISM), Integer.parseInt(DEFAULT_BATCH_SIZE), Integer.parseInt(DEFAULT_QUEUE_SIZE),
+                    Boolean.parseBoolean(DEFAULT_ORDERED));
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventDrivenPipeline.class);
+
+    private final String name;
+    private final Function<CloudEvent, Optional<Map<String, Object>>> processor;
+    private final EventEmitter eventEmitter;
+    private final int parallelism;
+    private final int batchSize;
+    private final boolean ordered;
+    private final BlockingQueue<Request> queue;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private final LongAccumulator maxEvaluationNanos = new LongAccumulator(Math::max, 0L);
+    private volatile int lastBatchSize;
+
+    private ExecutorService evaluators;
+    private Thread dispatcher;
+    private volatile boolean closed;
+
+    public EventDrivenPipeline(String name, Function<CloudEvent, Optional<Map<String, Object>>> processor, EventEmitter eventEmitter, Config config) {
+        this(name, processor, eventEmitter, config.parallelism, config.batchSize, config.queueSize, config.ordered);
+    }
+
+    public EventDrivenPipeline(String name, Function<CloudEvent, Optional<Map<String, Object>>> processor, EventEmitter eventEmitter,
+            int parallelism, int batchSize, int queueSize, boolean ordered) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be positive, was " + queueSize);
+        }
+        this.name = name;
+        this.processor = processor;
+        this.eventEmitter = eventEmitter;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.ordered = ordered;
+        this.queue = parallelism > 0 ? new ArrayBlockingQueue<>(queueSize) : null;
+    }
+
+    /**
+     * Submits a request to the pipeline.
+     *
+     * @param event the request
+     * @return a stage completed once the response to the request, if any, has been emitted
+     */
+    public CompletionStage<Void> submit(CloudEvent event) {
+        Request request = new Request(event);
+        if (queue == null) {
+            record(1);
+            request.evaluate();
+            request.emit();
+            return request.future;
+        }
+        try {
+            start();
+            queue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.future.completeExceptionally(e);
+        } catch (IllegalStateException e) {
+            request.future.completeExceptionally(e);
+        }
+        return request.future;
+    }
+
+    /**
+     * Stops the pipeline, failing every request still waiting in the queue.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            evaluators.shutdown();
+        }
+        if (queue != null) {
+            List<Request> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.forEach(r -> r.future.completeExceptionally(new IllegalStateException("Pipeline " + name + " is closed")));
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) batchedRequests.sum() / count;
+    }
+
+    public long getEvaluationCount() {
+        return evaluations.sum();
+    }
+
+    public Duration getAverageEvaluationLatency() {
+        long count = evaluations.sum();
+        return Duration.ofNanos(count == 0 ? 0 : evaluationNanos.sum() / count);
+    }
+
+    public Duration getMaxEvaluationLatency() {
+        return Duration.ofNanos(maxEvaluationNanos.get());
+    }
+
+    private synchronized void start() {
+        if (closed) {
+            throw new IllegalStateException("Pipeline " + name + " is closed");
+        }
+        if (dispatcher != null) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        evaluators = Executors.newFixedThreadPool(parallelism, r -> daemon(r, name + "-evaluator-" + counter.incrementAndGet()));
+        dispatcher = daemon(this::dispatch, name + "-dispatcher");
+        dispatcher.start();
+    }
+
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Request> batch) {
+        record(batch.size());
+        try {
+            CompletableFuture.allOf(lanes(batch).stream()
+                    .map(lane -> CompletableFuture.runAsync(() -> lane.forEach(Request::evaluate), evaluators))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to evaluate batch of {} requests in pipeline {}", batch.size(), name, e);
+        }
+        batch.forEach(Request::emit);
+    }
+
+    private Collection<List<Request>> lanes(List<Request> batch) {
+        Map<Object, List<Request>> lanes = new LinkedHashMap<>();
+        for (Request request : batch) {
+            String subject = ordered ? request.event.getSubject() : null;
+            lanes.computeIfAbsent(subject == null ? request : subject, k -> new ArrayList<>()).add(request);
+        }
+        return lanes.values();
+    }
+
+    private void record(int size) {
+        batches.increment();
+        batchedRequests.add(size);
+        lastBatchSize = size;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private class Request {
+
+        private final CloudEvent event;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private Optional<Map<String, Object>> response = Optional.empty();
+        private RuntimeException error;
+
+        private Request(CloudEvent event) {
+            this.event = event;
+        }
+
+        private void evaluate() {
+            long start = System.nanoTime();
+            try {
+                response = processor.apply(event);
+            } catch (RuntimeException e) {
+                error = e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                evaluations.increment();
+                evaluationNanos.add(elapsed);
+                maxEvaluationNanos.accumulate(elapsed);
+            }
+        }
+
+        private void emit() {
+            if (error != null) {
+                if (queue == null) {
+                    throw error;
+                }
+                LOG.error("Unable to evaluate CloudEvent(id={} source={} type={})", event.getId(), event.getSource(), event.getType(), error);
+                future.completeExceptionally(error);
+                return;
+            }
+            if (!response.isPresent()) {
+                future.complete(null);
+                return;
+            }
+            Map<String, Object> e = response.get();
+            CompletionStage<Void> emitted = eventEmitter.emit(e, (String) e.get("type"), Optional.empty());
+            if (emitted == null) {
+                future.complete(null);
+            } else {
+                emitted.whenComplete((v, t) -> {
+                    if (t != null) {
+                        future.completeExceptionally(t);
+                    } else {
+                        future.complete(null);
+                    }
+                });
+            }
+        }
+    }
+}
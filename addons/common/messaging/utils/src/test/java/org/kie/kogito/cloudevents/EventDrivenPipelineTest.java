@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloudevents;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventEmitter;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventDrivenPipelineTest {
+
+    private static final URI SOURCE = URI.create("http://test-host");
+
+    @Test
+    void testInline() {
+        EventEmitter emitter = mock(EventEmitter.class);
+        EventDrivenPipeline pipeline = new EventDrivenPipeline("test", EventDrivenPipelineTest::respond, emitter, 0, 16, 16, true);
+
+        CompletableFuture<Void> future = pipeline.submit(request(1, "subject")).toCompletableFuture();
+
+        assertThat(future).isCompleted();
+        verify(emitter).emit(any(), eq("Response"), eq(Optional.empty()));
+        assertThat(pipeline.getQueueDepth()).isZero();
+        assertThat(pipeline.getBatchCount()).isEqualTo(1);
+        assertThat(pipeline.getLastBatchSize()).isEqualTo(1);
+        assertThat(pipeline.getEvaluationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testInlineWithoutResponse() {
+        EventEmitter emitter = mock(EventEmitter.class);
+        EventDrivenPipeline pipeline = new EventDrivenPipeline("test", e -> Optional.empty(), emitter, 0, 16, 16, true);
+
+        assertThat(pipeline.submit(request(1, null)).toCompletableFuture()).isCompleted();
+        verify(emitter, never()).emit(any(), any(), any());
+    }
+
+    @Test
+    void testBatchedPreservesSubjectOrder() {
+        List<String> emitted = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicInteger> running = new HashMap<>();
+        List<String> overlaps = Collections.synchronizedList(new ArrayList<>());
+        EventEmitter emitter = emitter(emitted);
+        EventDrivenPipeline pipeline = new EventDrivenPipeline("test", e -> {
+            AtomicInteger counter;
+            synchronized (running) {
+                counter = running.computeIfAbsent(e.getSubject(), k -> new AtomicInteger());
+            }
+            if (counter.incrementAndGet() > 1) {
+                overlaps.add(e.getId());
+            }
+            try {
+                return respond(e);
+            } finally {
+                counter.decrementAndGet();
+            }
+        }, emitter, 4, 8, 16, true);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(pipeline.submit(request(i, "subject-" + i % 3)).toCompletableFuture());
+            expected.add(Integer.toString(i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).orTimeout(10, TimeUnit.SECONDS).join();
+        pipeline.close();
+
+        assertThat(emitted).containsExactlyElementsOf(expected);
+        assertThat(overlaps).isEmpty();
+        assertThat(pipeline.getEvaluationCount()).isEqualTo(100);
+        assertThat(pipeline.getBatchCount()).isBetween(13L, 100L);
+        assertThat(pipeline.getAverageBatchSize()).isBetween(1.0, 8.0);
+        assertThat(pipeline.getMaxEvaluationLatency()).isGreaterThanOrEqualTo(pipeline.getAverageEvaluationLatency());
+    }
+
+    @Test
+    void testBatchedEvaluationFailure() {
+        List<String> emitted = Collections.synchronizedList(new ArrayList<>());
+        EventDrivenPipeline pipeline = new EventDrivenPipeline("test", e -> {
+            if ("1".equals(e.getId())) {
+                throw new IllegalStateException("boom");
+            }
+            return respond(e);
+        }, emitter(emitted), 2, 8, 16, false);
+
+        CompletableFuture<Void> failed = pipeline.submit(request(1, null)).toCompletableFuture();
+        CompletableFuture<Void> succeeded = pipeline.submit(request(2, null)).toCompletableFuture();
+
+        assertThatThrownBy(() -> failed.orTimeout(10, TimeUnit.SECONDS).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        succeeded.orTimeout(10, TimeUnit.SECONDS).join();
+        pipeline.close();
+
+        assertThat(emitted).containsExactly("2");
+    }
+
+    @Test
+    void testSubmitAfterClose() {
+        EventDrivenPipeline pipeline = new EventDrivenPipeline("test", EventDrivenPipelineTest::respond, mock(EventEmitter.class), 2, 8, 16, true);
+        pipeline.close();
+
+        assertThat(pipeline.submit(request(1, null)).toCompletableFuture()).isCompletedExceptionally();
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        Function<CloudEvent, Optional<Map<String, Object>>> processor = EventDrivenPipelineTest::respond;
+        EventEmitter emitter = mock(EventEmitter.class);
+        assertThatThrownBy(() -> new EventDrivenPipeline("test", processor, emitter, 2, 0, 16, true)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EventDrivenPipeline("test", processor, emitter, 2, 8, 0, true)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventEmitter emitter(List<String> emitted) {
+        EventEmitter emitter = mock(EventEmitter.class);
+        when(emitter.emit(any(), any(), any())).thenAnswer(invocation -> {
+            emitted.add((String) ((Map<String, Object>) invocation.getArgument(0)).get("id"));
+            return CompletableFuture.completedFuture(null);
+        });
+        return emitter;
+    }
+
+    private static Optional<Map<String, Object>> respond(CloudEvent event) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", event.getId());
+        response.put("type", "Response");
+        return Optional.of(response);
+    }
+
+    private static CloudEvent request(int id, String subject) {
+        return CloudEventBuilder.v1()
+                .withId(Integer.toString(id))
+                .withSource(SOURCE)
+                .withType("Request")
+                .withSubject(subject)
+                .build();
+    }
+}
@@ -15,15 +15,23 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
 import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.event.process.ProcessCompletedEvent;
 import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.event.process.SLAViolatedEvent;
 import org.kie.api.runtime.process.NodeInstance;
@@ -36,73 +44,152 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 
 public class MetricsProcessEventListener extends DefaultKogitoProcessEventListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsProcessEventListener.class);
-    private static Map<String, AtomicInteger> gaugeMap = new HashMap<String, AtomicInteger>();
+    // running instances are shared by the listeners reporting to the same registry, as the gauge keeps the first counter registered
+    private static final Map<MeterRegistry, Map<MeterKey, AtomicInteger>> runningGauges = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final String identifier;
-    private final KogitoGAV gav;
     private final MeterRegistry meterRegistry;
+    private final Tags gavTags;
+
+    private final Map<String, Counter> startedCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> completedCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> slaViolatedCounters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, AtomicInteger> runningCounts;
+    private final Map<String, DistributionSummary> processDurationSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> workItemDurationSummaries = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> nodeExecutionTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> nodeWaitTimers = new ConcurrentHashMap<>();
+    // start of the nodes being triggered by the current thread, nested nodes on top
+    private final ThreadLocal<Deque<NodeTrigger>> nodeTriggers = ThreadLocal.withInitial(ArrayDeque::new);
 
     public MetricsProcessEventListener(String identifier, KogitoGAV gav, MeterRegistry meterRegistry) {
         this.identifier = identifier;
-        this.gav = gav;
         this.meterRegistry = meterRegistry;
+        this.gavTags = Tags.of("artifactId", gav.getArtifactId(), "version", gav.getVersion());
+        this.runningCounts = runningGauges.computeIfAbsent(meterRegistry, r -> new ConcurrentHashMap<>());
+    }
+
+    private static final class MeterKey {
+
+        private final String first;
+        private final String second;
+
+        MeterKey(String first, String second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey other = (MeterKey) o;
+            return first.equals(other.first) && Objects.equals(second, other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * first.hashCode() + Objects.hashCode(second);
+        }
+    }
+
+    private static final class NodeTrigger {
+
+        private final NodeInstance nodeInstance;
+        private final long start;
+
+        NodeTrigger(NodeInstance nodeInstance, long start) {
+            this.nodeInstance = nodeInstance;
+            this.start = start;
+        }
+    }
+
+    private Tags processTags(String appId, String processId) {
+        return Tags.of("app_id", appId, "process_id", processId).and(gavTags);
     }
 
     private Counter getNumberOfProcessInstancesStartedCounter(String appId, String processId) {
-        return Counter
+        return startedCounters.computeIfAbsent(processId, k -> Counter
                 .builder("kogito_process_instance_started_total")
                 .description("Started Process Instances")
-                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
+                .tags(processTags(appId, processId))
+                .register(meterRegistry));
     }
 
     private Counter getNumberOfSLAsViolatedCounter(String appId, String processId, String nodeName) {
-        return Counter
+        return slaViolatedCounters.computeIfAbsent(new MeterKey(processId, nodeName), k -> Counter
                 .builder("kogito_process_instance_sla_violated_total")
                 .description("Process Instances SLA Violated")
-                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("node_name", nodeName), Tag.of("artifactId", gav.getArtifactId()),
-                        Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
+                .tags(processTags(appId, processId).and("node_name", nodeName))
+                .register(meterRegistry));
     }
 
     private Counter getNumberOfProcessInstancesCompletedCounter(String appId, String processId, String nodeName) {
-        return Counter
+        return completedCounters.computeIfAbsent(new MeterKey(processId, nodeName), k -> Counter
                 .builder("kogito_process_instance_completed_total")
                 .description("Completed Process Instances")
-                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("node_name", nodeName), Tag.of("artifactId", gav.getArtifactId()),
-                        Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
+                .tags(processTags(appId, processId).and("node_name", nodeName))
+                .register(meterRegistry));
     }
 
     private AtomicInteger getRunningProcessInstancesGauge(String appId, String processId) {
-        if (gaugeMap.containsKey(appId + processId)) {
-            return gaugeMap.get(appId + processId);
-        }
-        AtomicInteger atomicInteger = new AtomicInteger(0);
-        Gauge.builder("kogito_process_instance_running_total", atomicInteger, AtomicInteger::doubleValue)
-                .description("Running Process Instances")
-                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
-        gaugeMap.put(appId + processId, atomicInteger);
-        return atomicInteger;
+        return runningCounts.computeIfAbsent(new MeterKey(appId, processId), k -> {
+            AtomicInteger atomicInteger = new AtomicInteger(0);
+            Gauge.builder("kogito_process_instance_running_total", atomicInteger, AtomicInteger::doubleValue)
+                    .description("Running Process Instances")
+                    .tags(processTags(appId, processId))
+                    .register(meterRegistry);
+            return atomicInteger;
+        });
     }
 
     private DistributionSummary getProcessInstancesDurationSummary(String appId, String processId) {
-        return DistributionSummary.builder("kogito_process_instance_duration_seconds")
+        return processDurationSummaries.computeIfAbsent(processId, k -> DistributionSummary.builder("kogito_process_instance_duration_seconds")
                 .description("Process Instances Duration")
-                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
+                .tags(processTags(appId, processId))
+                .register(meterRegistry));
     }
 
     private DistributionSummary getWorkItemsDurationSummary(String name) {
-        return DistributionSummary.builder("kogito_work_item_duration_seconds")
+        return workItemDurationSummaries.computeIfAbsent(name, k -> DistributionSummary.builder("kogito_work_item_duration_seconds")
                 .description("Work Items Duration")
-                .tags(Arrays.asList(Tag.of("name", name), Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion())))
-                .register(meterRegistry);
+                .tags(Tags.of("name", name).and(gavTags))
+                .register(meterRegistry));
+    }
+
+    private Timer getNodeExecutionTimer(String appId, String processId, NodeInstance nodeInstance) {
+        return nodeExecutionTimers.computeIfAbsent(new MeterKey(processId, nodeId(nodeInstance)), k -> Timer.builder("kogito_node_instance_execution_time")
+                .description("Time spent executing a node when triggered, including the nodes it triggers synchronously")
+                .tags(nodeTags(appId, processId, nodeInstance))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Timer getNodeWaitTimer(String appId, String processId, NodeInstance nodeInstance) {
+        return nodeWaitTimers.computeIfAbsent(new MeterKey(processId, nodeId(nodeInstance)), k -> Timer.builder("kogito_node_instance_wait_time")
+                .description("Time a node stays active from being triggered until it is left")
+                .tags(nodeTags(appId, processId, nodeInstance))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Tags nodeTags(String appId, String processId, NodeInstance nodeInstance) {
+        String nodeName = nodeInstance.getNodeName();
+        return processTags(appId, processId).and("node_id", nodeId(nodeInstance), "node_name", nodeName == null ? "" : nodeName);
+    }
+
+    private static String nodeId(NodeInstance nodeInstance) {
+        return String.valueOf(nodeInstance.getNodeId());
     }
 
     protected void recordRunningProcessInstance(String containerId, String processId) {
@@ -136,10 +223,35 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         }
     }
 
+    @Override
+    public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+        nodeTriggers.get().push(new NodeTrigger(event.getNodeInstance(), System.nanoTime()));
+    }
+
+    @Override
+    public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+        Deque<NodeTrigger> triggers = nodeTriggers.get();
+        // nodes failing while triggered have no after event, discard them
+        while (!triggers.isEmpty()) {
+            NodeTrigger trigger = triggers.pop();
+            if (trigger.nodeInstance == event.getNodeInstance()) {
+                getNodeExecutionTimer(identifier, event.getProcessInstance().getProcessId(), event.getNodeInstance()).record(System.nanoTime() - trigger.start, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+    }
+
     @Override
     public void beforeNodeLeft(ProcessNodeLeftEvent event) {
         LOGGER.debug("Before Node left event: {}", event);
         final NodeInstance nodeInstance = event.getNodeInstance();
+        if (nodeInstance instanceof NodeInstanceImpl) {
+            Date triggerTime = ((NodeInstanceImpl) nodeInstance).getTriggerTime();
+            Date leaveTime = ((NodeInstanceImpl) nodeInstance).getLeaveTime();
+            if (triggerTime != null && leaveTime != null) {
+                getNodeWaitTimer(identifier, event.getProcessInstance().getProcessId(), nodeInstance).record(leaveTime.getTime() - triggerTime.getTime(), TimeUnit.MILLISECONDS);
+            }
+        }
         if (nodeInstance instanceof WorkItemNodeInstance) {
             WorkItemNodeInstance wi = (WorkItemNodeInstance) nodeInstance;
             if (wi.getTriggerTime() != null) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.CachedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstanceCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * Exposes hits, misses, evictions and size of the process instance caches used by the given processes.
+ */
+public class ProcessInstanceCacheMetrics {
+
+    private final KogitoGAV gav;
+    private final MeterRegistry meterRegistry;
+
+    public ProcessInstanceCacheMetrics(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.gav = gav;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void bindTo(Processes processes) {
+        Set<ProcessInstanceCache> caches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String processId : processes.processIds()) {
+            Object instances = processes.processById(processId).instances();
+            if (instances instanceof CachedProcessInstances) {
+                caches.add(((CachedProcessInstances<?>) instances).cache());
+            }
+        }
+        caches.forEach(this::bindTo);
+    }
+
+    public void bindTo(ProcessInstanceCache cache) {
+        Iterable<Tag> tags = Arrays.asList(Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion()));
+        FunctionCounter.builder("kogito_process_instance_cache_hits_total", cache, ProcessInstanceCache::hitCount)
+                .description("Process Instances read from the cache")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("kogito_process_instance_cache_misses_total", cache, ProcessInstanceCache::missCount)
+                .description("Process Instances read from the storage")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("kogito_process_instance_cache_evictions_total", cache, ProcessInstanceCache::evictionCount)
+                .description("Process Instances evicted from the cache")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("kogito_process_instance_cache_size", cache, ProcessInstanceCache::size)
+                .description("Process Instances in the cache")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
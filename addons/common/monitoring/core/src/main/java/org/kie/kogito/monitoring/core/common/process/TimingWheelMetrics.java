@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.timer.impl.TimingWheel;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * Exposes pending and fired timers and the timer lag of a timing wheel running the jobs.
+ */
+public class TimingWheelMetrics {
+
+    private final KogitoGAV gav;
+    private final MeterRegistry meterRegistry;
+
+    public TimingWheelMetrics(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.gav = gav;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void bindTo(TimingWheel timingWheel) {
+        Iterable<Tag> tags = Arrays.asList(Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion()));
+        Gauge.builder("kogito_timing_wheel_pending_timers", timingWheel, TimingWheel::getPendingTimers)
+                .description("Timers waiting on the timing wheel")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("kogito_timing_wheel_fired_timers_total", timingWheel, TimingWheel::getFiredTimers)
+                .description("Timers fired by the timing wheel")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("kogito_timing_wheel_average_lag_milliseconds", timingWheel, TimingWheel::getAverageLag)
+                .description("Average delay between the deadline of the fired timers and their execution")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("kogito_timing_wheel_max_lag_milliseconds", timingWheel, TimingWheel::getMaxLag)
+                .description("Maximum delay between the deadline of a fired timer and its execution")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
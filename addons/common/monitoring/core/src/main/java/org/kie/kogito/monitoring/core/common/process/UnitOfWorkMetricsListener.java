@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the time units of work take to end, that is, to perform the work collected while they were active.
+ */
+public class UnitOfWorkMetricsListener implements UnitOfWorkEventListener {
+
+    private final Timer commitTimer;
+    private final Map<UnitOfWork, Long> ending = new ConcurrentHashMap<>();
+
+    public UnitOfWorkMetricsListener(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.commitTimer = Timer.builder("kogito_unit_of_work_commit_time")
+                .description("Time spent ending units of work")
+                .tags("artifactId", gav.getArtifactId(), "version", gav.getVersion())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onBeforeEndEvent(UnitOfWorkEndEvent event) {
+        ending.put(event.getUnitOfWork(), System.nanoTime());
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        Long start = ending.remove(event.getUnitOfWork());
+        if (start != null) {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        // a unit of work failing to end is aborted
+        ending.remove(event.getUnitOfWork());
+    }
+}
@@ -16,16 +16,20 @@
 package org.kie.kogito.monitoring.core.common.process;
 
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.KogitoGAV;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -57,4 +61,57 @@ public class MetricsProcessEventListenerTest {
                 .gauge()
                 .value());
     }
+
+    @Test
+    public void testGaugeRunningProcessesSharedAcrossListeners() {
+        MetricsProcessEventListener first = new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry);
+        MetricsProcessEventListener second = new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry);
+        ProcessInstance processInstanceMock = mock(WorkflowProcessInstanceImpl.class);
+        when(processInstanceMock.getProcessId()).thenReturn("myProcessId");
+
+        ProcessStartedEvent processStartedEvent = mock(ProcessStartedEvent.class);
+        when(processStartedEvent.getProcessInstance()).thenReturn(processInstanceMock);
+
+        first.afterProcessStarted(processStartedEvent);
+        second.afterProcessStarted(processStartedEvent);
+
+        assertEquals(2, registry.find("kogito_process_instance_running_total")
+                .gauge()
+                .value());
+    }
+
+    @Test
+    public void testNodeExecutionTime() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry);
+        ProcessInstance processInstanceMock = mock(WorkflowProcessInstanceImpl.class);
+        when(processInstanceMock.getProcessId()).thenReturn("myProcessId");
+        WorkItemNodeInstance outer = mock(WorkItemNodeInstance.class);
+        when(outer.getNodeId()).thenReturn(1L);
+        when(outer.getNodeName()).thenReturn("outer");
+        WorkItemNodeInstance inner = mock(WorkItemNodeInstance.class);
+        when(inner.getNodeId()).thenReturn(2L);
+        when(inner.getNodeName()).thenReturn("inner");
+
+        ProcessNodeTriggeredEvent outerEvent = mockNodeTriggeredEvent(processInstanceMock, outer);
+        ProcessNodeTriggeredEvent innerEvent = mockNodeTriggeredEvent(processInstanceMock, inner);
+
+        eventListener.beforeNodeTriggered(outerEvent);
+        eventListener.beforeNodeTriggered(innerEvent);
+        eventListener.afterNodeTriggered(innerEvent);
+        eventListener.afterNodeTriggered(outerEvent);
+
+        Timer outerTimer = registry.find("kogito_node_instance_execution_time").tag("node_name", "outer").timer();
+        Timer innerTimer = registry.find("kogito_node_instance_execution_time").tag("node_name", "inner").timer();
+        assertNotNull(outerTimer);
+        assertNotNull(innerTimer);
+        assertEquals(1, outerTimer.count());
+        assertEquals(1, innerTimer.count());
+    }
+
+    private ProcessNodeTriggeredEvent mockNodeTriggeredEvent(ProcessInstance processInstance, WorkItemNodeInstance nodeInstance) {
+        ProcessNodeTriggeredEvent event = mock(ProcessNodeTriggeredEvent.class);
+        when(event.getProcessInstance()).thenReturn(processInstance);
+        when(event.getNodeInstance()).thenReturn(nodeInstance);
+        return event;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.timer.impl.TimingWheel;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelMetricsTest {
+
+    @Test
+    public void testTimingWheelMeters() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TimingWheel timingWheel = new TimingWheel(1L, 1);
+        try {
+            new TimingWheelMetrics(KogitoGAV.EMPTY_GAV, registry).bindTo(timingWheel);
+            CountDownLatch latch = new CountDownLatch(1);
+            timingWheel.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+            timingWheel.schedule(() -> {
+            }, 1, TimeUnit.HOURS);
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, registry.find("kogito_timing_wheel_pending_timers").gauge().value());
+            assertEquals(1, registry.find("kogito_timing_wheel_fired_timers_total").functionCounter().count());
+            assertEquals(timingWheel.getMaxLag(), registry.find("kogito_timing_wheel_max_lag_milliseconds").gauge().value());
+        } finally {
+            timingWheel.shutdown();
+        }
+    }
+}
@@ -17,20 +17,42 @@ package org.kie.kogito.persistence;
 
 import java.nio.file.Paths;
 
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.persistence.filesystem.FileSystemJobStore;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path()));
+        return new FileSystemProcessInstances(process, Paths.get(path()), maxDeltas());
+    }
+
+    @Override
+    public JobStore createJobStore(Process<?> process) {
+        return jobsEnabled() ? new FileSystemJobStore(process.id(), Paths.get(path())) : null;
     }
 
     public abstract String path();
 
+    /**
+     * @return maximum number of deltas appended to a process instance file before it is rewritten, zero (the
+     *         default) to always rewrite it
+     */
+    public int maxDeltas() {
+        return 0;
+    }
+
+    /**
+     * @return true to store the jobs of the processes next to their instances when no jobs service is configured
+     */
+    public boolean jobsEnabled() {
+        return false;
+    }
+
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.StoredJob;
+
+/**
+ * Job store keeping one file per job in a directory per process. Claims, owned updates and removals are done
+ * while holding a lock on the directory, so several nodes sharing the same file system do not claim the same
+ * jobs and a removed job is never stored again.
+ */
+public class FileSystemJobStore implements JobStore {
+
+    public static final String JOBS_DIRECTORY = ".jobs";
+
+    private static final String LOCK_FILE = ".lock";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String ID = "id";
+    private static final String PROCESS_ID = "processId";
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+    private static final String FIRE_TIME = "fireTime";
+    private static final String REPEAT_INTERVAL = "repeatInterval";
+    private static final String REPEAT_LIMIT = "repeatLimit";
+    private static final String OWNER = "owner";
+    private static final String LEASE_EXPIRATION = "leaseExpiration";
+
+    private final Path storage;
+
+    public FileSystemJobStore(String processId, Path storage) {
+        this.storage = Paths.get(storage.toString(), JOBS_DIRECTORY, processId);
+
+        try {
+            Files.createDirectories(this.storage);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create directories for file based storage of jobs", e);
+        }
+    }
+
+    @Override
+    public void store(StoredJob job) {
+        Path jobStorage = Paths.get(storage.toString(), job.getId());
+        Path tempStorage = Paths.get(storage.toString(), job.getId() + TEMP_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempStorage)) {
+                toProperties(job).store(out, null);
+            }
+            Files.move(tempStorage, jobStorage, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store job with id " + job.getId(), e);
+        }
+    }
+
+    @Override
+    public synchronized boolean update(StoredJob job, String owner) {
+        try (FileChannel channel = lockChannel();
+                FileLock lock = channel.lock()) {
+            if (!isOwnedBy(job.getId(), owner)) {
+                return false;
+            }
+            store(job);
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to update job with id " + job.getId(), e);
+        }
+    }
+
+    @Override
+    public synchronized boolean renew(String id, String owner, long leaseExpiration) {
+        try (FileChannel channel = lockChannel();
+                FileLock lock = channel.lock()) {
+            StoredJob job = read(Paths.get(storage.toString(), id));
+            if (job == null || !owner.equals(job.getOwner())) {
+                return false;
+            }
+            job.setLeaseExpiration(leaseExpiration);
+            store(job);
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to renew lease of job with id " + id, e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(String id) {
+        try (FileChannel channel = lockChannel();
+                FileLock lock = channel.lock()) {
+            Files.deleteIfExists(Paths.get(storage.toString(), id));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to remove job with id " + id, e);
+        }
+    }
+
+    @Override
+    public synchronized List<StoredJob> claim(String processId, String owner, long dueBefore, long leaseExpiration, int max) {
+        long now = System.currentTimeMillis();
+        try (FileChannel channel = lockChannel();
+                FileLock lock = channel.lock()) {
+            List<StoredJob> claimed = new ArrayList<>();
+            for (StoredJob job : due(processId, dueBefore, now)) {
+                if (claimed.size() == max) {
+                    break;
+                }
+                job.setOwner(owner);
+                job.setLeaseExpiration(leaseExpiration);
+                store(job);
+                claimed.add(job);
+            }
+            return claimed;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to claim jobs of process " + processId, e);
+        }
+    }
+
+    private FileChannel lockChannel() throws IOException {
+        return FileChannel.open(Paths.get(storage.toString(), LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private boolean isOwnedBy(String id, String owner) {
+        StoredJob stored = read(Paths.get(storage.toString(), id));
+        return stored != null && owner.equals(stored.getOwner());
+    }
+
+    private List<StoredJob> due(String processId, long dueBefore, long now) throws IOException {
+        try (Stream<Path> files = Files.list(storage)) {
+            return files.filter(file -> !Files.isDirectory(file))
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return !name.equals(LOCK_FILE) && !name.endsWith(TEMP_SUFFIX);
+                    })
+                    .map(this::read)
+                    .filter(job -> job != null && processId.equals(job.getProcessId()) && job.getFireTime() <= dueBefore && job.isClaimable(now))
+                    .sorted(Comparator.comparingLong(StoredJob::getFireTime))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private StoredJob read(Path jobStorage) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(jobStorage)) {
+            properties.load(in);
+        } catch (IOException e) {
+            // removed in the meantime
+            return null;
+        }
+        return fromProperties(properties);
+    }
+
+    private static Properties toProperties(StoredJob job) {
+        Properties properties = new Properties();
+        properties.setProperty(ID, job.getId());
+        properties.setProperty(PROCESS_ID, job.getProcessId());
+        properties.setProperty(PROCESS_INSTANCE_ID, job.getProcessInstanceId());
+        properties.setProperty(FIRE_TIME, String.valueOf(job.getFireTime()));
+        if (job.getRepeatInterval() != null) {
+            properties.setProperty(REPEAT_INTERVAL, String.valueOf(job.getRepeatInterval()));
+        }
+        if (job.getRepeatLimit() != null) {
+            properties.setProperty(REPEAT_LIMIT, String.valueOf(job.getRepeatLimit()));
+        }
+        if (job.getOwner() != null) {
+            properties.setProperty(OWNER, job.getOwner());
+        }
+        properties.setProperty(LEASE_EXPIRATION, String.valueOf(job.getLeaseExpiration()));
+        return properties;
+    }
+
+    private static StoredJob fromProperties(Properties properties) {
+        String repeatInterval = properties.getProperty(REPEAT_INTERVAL);
+        String repeatLimit = properties.getProperty(REPEAT_LIMIT);
+        StoredJob job = new StoredJob(properties.getProperty(ID),
+                properties.getProperty(PROCESS_ID),
+                properties.getProperty(PROCESS_INSTANCE_ID),
+                Long.parseLong(properties.getProperty(FIRE_TIME)),
+                repeatInterval == null ? null : Long.valueOf(repeatInterval),
+                repeatLimit == null ? null : Integer.valueOf(repeatLimit));
+        job.setOwner(properties.getProperty(OWNER));
+        job.setLeaseExpiration(Long.parseLong(properties.getProperty(LEASE_EXPIRATION, "0")));
+        return job;
+    }
+}
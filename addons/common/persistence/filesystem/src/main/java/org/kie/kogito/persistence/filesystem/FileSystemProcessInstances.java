@@ -17,14 +17,17 @@ package org.kie.kogito.persistence.filesystem;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Optional;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +37,9 @@ import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.SerializedProcessInstances;
+import org.kie.kogito.serialization.process.DeltaPayloadCodec;
+import org.kie.kogito.serialization.process.MarshallerContextName;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,26 +47,48 @@ import org.slf4j.LoggerFactory;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({ "rawtypes" })
-public class FileSystemProcessInstances implements MutableProcessInstances {
+public class FileSystemProcessInstances implements MutableProcessInstances, SerializedProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemProcessInstances.class);
 
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
+    public static final String PI_EVENT_TYPES = "ProcessInstanceEventTypes";
+
+    private static final String EVENT_TYPES_SEPARATOR = "|";
 
     private Process<?> process;
     private Path storage;
 
     private ProcessInstanceMarshallerService marshaller;
+    private final DeltaPayloadCodec codec;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
-        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+        this(process, storage, 0);
+    }
+
+    /**
+     * When deltas are enabled the serialized variables and node instances are reused until they change, so variable
+     * values mutated in place must be set again to be stored.
+     *
+     * @param maxDeltas maximum number of deltas appended to a file before it is rewritten, zero to always rewrite it
+     */
+    public FileSystemProcessInstances(Process<?> process, Path storage, int maxDeltas) {
+        this(process, storage, ProcessInstanceMarshallerService.newBuilder()
+                .withDefaultObjectMarshallerStrategies()
+                .withContextEntries(Collections.singletonMap(MarshallerContextName.MARSHALLER_TRACK_CHANGES, maxDeltas > 0))
+                .build(), maxDeltas);
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
+        this(process, storage, marshaller, 0);
+    }
+
+    public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller, int maxDeltas) {
         this.process = process;
         this.storage = Paths.get(storage.toString(), process.id());
         this.marshaller = marshaller;
+        this.codec = new DeltaPayloadCodec(maxDeltas);
 
         try {
             Files.createDirectories(this.storage);
@@ -81,28 +109,73 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     @Override
     public Optional findById(String id, ProcessInstanceReadMode mode) {
+        return findSerializedById(id).map(stored -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(stored.payload(), process)
+                : marshaller.unmarshallReadOnlyProcessInstance(stored.payload(), process));
+    }
+
+    /**
+     * Files do not keep a version, stored process instances are always read with the initial one.
+     */
+    @Override
+    public Optional<SerializedProcessInstance> findSerializedById(String id) {
         Path processInstanceStorage = Paths.get(storage.toString(), id);
 
         if (Files.notExists(processInstanceStorage)) {
             return Optional.empty();
         }
-        byte[] data = readBytesFromFile(processInstanceStorage);
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(new SerializedProcessInstance(readBytesFromFile(processInstanceStorage), 0L));
     }
 
     @Override
     public Collection values(ProcessInstanceReadMode mode) {
-        try (Stream<Path> stream = Files.walk(storage)) {
-            return stream
-                    .filter(file -> !Files.isDirectory(file))
-                    .map(this::readBytesFromFile)
-                    .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                    .collect(Collectors.toList());
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return files()
+                .map(this::readBytesFromFile)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        // file names are the process instance ids, sorting them is cheap compared to reading the payloads
+        return files()
+                .sorted(Comparator.comparing(Path::getFileName))
+                .skip(offset)
+                .limit(limit)
+                .map(this::readBytesFromFile)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        String eventTypeEntry = EVENT_TYPES_SEPARATOR + eventType + EVENT_TYPES_SEPARATOR;
+        return files()
+                .filter(file -> {
+                    // files without metadata (unsupported file store or written by an older version) are always candidates
+                    String eventTypes = getMetadata(file, PI_EVENT_TYPES);
+                    return eventTypes == null || eventTypes.contains(eventTypeEntry);
+                })
+                .map(this::readBytesFromFile)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    private Stream<Path> files() {
+        try {
+            return Files.walk(storage).filter(file -> !Files.isDirectory(file));
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instances ", e);
         }
     }
 
+    private ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process);
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
@@ -126,8 +199,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             Path processInstanceStorage = Paths.get(storage.toString(), id);
             if (Files.exists(processInstanceStorage)) {
-                storeProcessInstance(processInstanceStorage, instance);
-                disconnect(processInstanceStorage, instance);
+                disconnect(instance, storeProcessInstance(processInstanceStorage, instance));
             }
         }
     }
@@ -135,6 +207,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         Path processInstanceStorage = Paths.get(storage.toString(), id);
+        codec.forget(id);
         try {
             Files.deleteIfExists(processInstanceStorage);
         } catch (IOException e) {
@@ -142,29 +215,76 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
-    protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
+    protected byte[] storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
         try {
             byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
+            if (codec.isEnabled() && Files.exists(processInstanceStorage)
+                    && codec.isStored(instance.id(), data, Files.size(processInstanceStorage))) {
+                // nothing changed since the last write, neither the payload nor the metadata derived from it
+                return data;
+            }
+            DeltaPayloadCodec.Write write = codec.encode(instance.id(), data);
+            if (!write.isDelta() || !append(processInstanceStorage, write)) {
+                write = write.isDelta() ? codec.snapshot(instance.id(), data) : write;
+                Files.write(processInstanceStorage, write.data());
+            }
+            codec.written(write);
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
-
+            // unknown event types remove the attribute, so the file is a candidate for every event
+            String eventTypes = ((AbstractProcessInstance<?>) instance).eventTypes()
+                    .map(types -> types.stream().collect(Collectors.joining(EVENT_TYPES_SEPARATOR, EVENT_TYPES_SEPARATOR, EVENT_TYPES_SEPARATOR)))
+                    .orElse(null);
+            if (!setMetadata(processInstanceStorage, PI_EVENT_TYPES, eventTypes) && eventTypes != null) {
+                // never leave event types of a previous state behind
+                setMetadata(processInstanceStorage, PI_EVENT_TYPES, null);
+            }
+            return data;
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
         }
     }
 
+    /**
+     * Appends the delta to the file, unless the file is not the one the delta has been computed against, as it
+     * happens when it has been written by someone else since.
+     */
+    private boolean append(Path processInstanceStorage, DeltaPayloadCodec.Write write) throws IOException {
+        try (FileChannel channel = FileChannel.open(processInstanceStorage, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() != write.expectedLength()) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(DeltaPayloadCodec.HEADER_LENGTH);
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header, header.position());
+            }
+            if (!DeltaPayloadCodec.matches(write, header.array())) {
+                return false;
+            }
+            ByteBuffer data = ByteBuffer.wrap(write.data());
+            while (data.hasRemaining()) {
+                channel.write(data, write.expectedLength() + data.position());
+            }
+            return true;
+        }
+    }
+
     protected byte[] readBytesFromFile(Path processInstanceStorage) {
         try {
-            return Files.readAllBytes(processInstanceStorage);
+            // file names are the process instance ids
+            return codec.decode(processInstanceStorage.getFileName().toString(), Files.readAllBytes(processInstanceStorage));
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instance from " + processInstanceStorage, e);
         }
     }
 
-    protected void disconnect(Path processInstanceStorage, ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> readBytesFromFile(processInstanceStorage);
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+    /**
+     * Disconnects an instance that was just stored, keeping the written data to reload it from instead of
+     * reading the file back.
+     */
+    protected void disconnect(ProcessInstance instance, byte[] data) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> data));
     }
 
     public String getMetadata(Path file, String key) {
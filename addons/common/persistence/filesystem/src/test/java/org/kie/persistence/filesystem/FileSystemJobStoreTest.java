@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.filesystem;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.jobs.StoredJob;
+import org.kie.kogito.persistence.filesystem.FileSystemJobStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemJobStoreTest {
+
+    @TempDir
+    Path storage;
+
+    @Test
+    void testClaimDueJobs() {
+        FileSystemJobStore store = new FileSystemJobStore("process", storage);
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("late", "process", "instance1", now + 5000, null, 1));
+        store.store(new StoredJob("early", "process", "instance2", now + 1000, 1000L, -1));
+        store.store(new StoredJob("future", "process", "instance3", now + 60000, null, 1));
+
+        List<StoredJob> claimed = store.claim("process", "node1", now + 10000, now + 20000, 10);
+
+        assertThat(claimed).extracting(StoredJob::getId).containsExactly("early", "late");
+        assertThat(claimed.get(0).getRepeatInterval()).isEqualTo(1000L);
+        assertThat(claimed.get(0).getRepeatLimit()).isEqualTo(-1);
+        assertThat(claimed).allMatch(job -> "node1".equals(job.getOwner()) && job.getLeaseExpiration() == now + 20000);
+    }
+
+    @Test
+    void testClaimedJobsAreNotClaimedAgainUntilLeaseExpires() {
+        FileSystemJobStore store = new FileSystemJobStore("process", storage);
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("job", "process", "instance", now, null, 1));
+
+        assertThat(store.claim("process", "node1", now + 1000, now + 60000, 10)).hasSize(1);
+        assertThat(store.claim("process", "node2", now + 1000, now + 60000, 10)).isEmpty();
+
+        StoredJob expired = new StoredJob("job", "process", "instance", now, null, 1);
+        expired.setOwner("node1");
+        expired.setLeaseExpiration(now - 1);
+        store.store(expired);
+
+        assertThat(store.claim("process", "node2", now + 1000, now + 60000, 10)).extracting(StoredJob::getOwner).containsExactly("node2");
+    }
+
+    @Test
+    void testClaimLimitAndRemove() {
+        FileSystemJobStore store = new FileSystemJobStore("process", storage);
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("job1", "process", "instance1", now, null, 1));
+        store.store(new StoredJob("job2", "process", "instance2", now + 1, null, 1));
+        store.store(new StoredJob("job3", "process", "instance3", now + 2, null, 1));
+        store.remove("job2");
+
+        assertThat(store.claim("process", "node1", now + 1000, now + 60000, 1)).extracting(StoredJob::getId).containsExactly("job1");
+        assertThat(store.claim("process", "node1", now + 1000, now + 60000, 10)).extracting(StoredJob::getId).containsExactly("job3");
+    }
+
+    @Test
+    void testUpdateOnlyOwnedJobs() {
+        FileSystemJobStore store = new FileSystemJobStore("process", storage);
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("job", "process", "instance", now, 1000L, -1));
+        assertThat(store.claim("process", "node1", now + 1000, now + 60000, 10)).hasSize(1);
+
+        StoredJob next = new StoredJob("job", "process", "instance", now + 1000, 1000L, -1);
+        next.setOwner("node1");
+        next.setLeaseExpiration(now + 61000);
+        assertThat(store.update(next, "node2")).isFalse();
+        assertThat(store.update(next, "node1")).isTrue();
+
+        store.remove("job");
+        assertThat(store.update(next, "node1")).isFalse();
+        assertThat(store.claim("process", "node2", now + 10000, now + 60000, 10)).isEmpty();
+    }
+
+    @Test
+    void testRenewLeaseOfOwnedJobs() {
+        FileSystemJobStore store = new FileSystemJobStore("process", storage);
+        long now = System.currentTimeMillis();
+        store.store(new StoredJob("job", "process", "instance", now, null, 1));
+        assertThat(store.claim("process", "node1", now + 1000, now - 1, 10)).hasSize(1);
+
+        assertThat(store.renew("job", "node2", now + 60000)).isFalse();
+        assertThat(store.renew("job", "node1", now + 60000)).isTrue();
+        assertThat(store.claim("process", "node2", now + 1000, now + 60000, 10)).isEmpty();
+
+        store.remove("job");
+        assertThat(store.renew("job", "node1", now + 60000)).isFalse();
+    }
+}
@@ -15,7 +15,13 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -124,6 +130,31 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testStreamPaging() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i)));
+            processInstance.start();
+            ids.add(processInstance.id());
+        }
+        Collections.sort(ids);
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream()) {
+            assertThat(stream.map(ProcessInstance::id)).containsExactlyInAnyOrderElementsOf(ids);
+        }
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 0, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 2, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 3, 2)).isEmpty();
+
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.MUTABLE)) {
+            stream.forEach(ProcessInstance::abort);
+        }
+        assertThat(instances.size()).isZero();
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -158,6 +189,96 @@ class FileSystemProcessInstancesTest {
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testReloadAfterUpdateUsesWrittenData() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        FileSystemProcessInstances fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
+        verify(fileSystemBasedStorage).update(any(), any());
+        // the instance is reloaded from what the update wrote, so it does not need the file anymore
+        fileSystemBasedStorage.remove(processInstance.id());
+        assertThat(fileSystemBasedStorage.exists(processInstance.id())).isFalse();
+
+        assertThat(processInstance.workItems(securityPolicy)).hasSize(1);
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+    }
+
+    @Test
+    void testUpdateRewritesFileByDefault() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        // deltas are opt-in, the file holds the plain serialized process instance
+        assertThat(Files.readAllBytes(Paths.get("target", process.id(), processInstance.id()))).isNotEmpty().doesNotStartWith((byte) 0);
+
+        processInstance.abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    void testUpdateAppendsDelta() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory(16));
+        process.configure();
+        String value = "test".repeat(64 * 1024);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", value)));
+        processInstance.start();
+
+        Path file = Paths.get("target", process.id(), processInstance.id());
+        long size = Files.size(file);
+        assertThat(size).isGreaterThan(value.length());
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", value + "updated")));
+        // only the delta against the previous update is written, not the whole process instance again
+        assertThat(Files.size(file) - size).isLessThan(1024);
+
+        ProcessInstance<BpmnVariables> readOnlyPi = process.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get();
+        assertThat(readOnlyPi.variables().toMap()).containsEntry("test", value + "updated");
+        assertThat(readOnlyPi.status()).isEqualTo(STATE_ACTIVE);
+
+        processInstance.abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    void testWaitingForEventType() {
+        BpmnProcess process = createProcess(null, "BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+        processInstance.start();
+
+        // the catch event is not reached until the user task completes
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(instances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)).extracting(ProcessInstance::id).containsExactly(processInstance.id());
+        assertThat(instances.waitingForEventType("Unknown", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        processInstance.abort();
+        assertThat(instances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+    }
+
+    @Test
+    void testWaitingForEventTypeWithoutEventTypes() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        // as written by a previous version, the instance is a candidate for every event type
+        ((FileSystemProcessInstances) instances).setMetadata(Paths.get("target", process.id(), processInstance.id()), FileSystemProcessInstances.PI_EVENT_TYPES, null);
+        assertThat(instances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)).extracting(ProcessInstance::id).containsExactly(processInstance.id());
+
+        processInstance.abort();
+    }
+
     @Test
     void testBasicFlowWithStartFrom() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -234,6 +355,16 @@ class FileSystemProcessInstancesTest {
 
     private class FileSystemProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final int maxDeltas;
+
+        FileSystemProcessInstancesFactory() {
+            this(0);
+        }
+
+        FileSystemProcessInstancesFactory(int maxDeltas) {
+            this.maxDeltas = maxDeltas;
+        }
+
         @Override
         public FileSystemProcessInstances createProcessInstances(Process<?> process) {
             FileSystemProcessInstances instances = spy(super.createProcessInstances(process));
@@ -244,5 +375,10 @@ class FileSystemProcessInstancesTest {
         public String path() {
             return "target";
         }
+
+        @Override
+        public int maxDeltas() {
+            return maxDeltas;
+        }
     }
 }
@@ -16,13 +16,20 @@
 package org.kie.kogito.infinispan;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.util.CloseableIterator;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -85,10 +92,17 @@ public class CacheProcessInstances implements MutableProcessInstances {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<? extends ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        CloseableIterator<byte[]> iterator = cache.values().iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close)
+                .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+    }
+
     @Override
     public void update(String id, ProcessInstance instance) {
-        updateStorage(id, instance, false);
-        disconnect(id, instance);
+        disconnect(id, instance, updateStorage(id, instance, false));
     }
 
     @Override
@@ -104,6 +118,31 @@ public class CacheProcessInstances implements MutableProcessInstances {
         }
     }
 
+    /**
+     * Writes all the updated instances with a single putAll, creations and removals are still applied one by one
+     * since Hot Rod offers no bulk variant for them. When lock is enabled every write is version checked individually.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void batch(Collection created, Collection updated, Collection removed) {
+        if (this.lock) {
+            MutableProcessInstances.super.batch(created, updated, removed);
+            return;
+        }
+        ((Collection<ProcessInstance>) created).forEach(instance -> create(instance.id(), instance));
+        Map<String, byte[]> entries = new HashMap<>();
+        for (ProcessInstance instance : (Collection<ProcessInstance>) updated) {
+            if (isActive(instance)) {
+                entries.put(instance.id(), marshaller.marshallProcessInstance(instance));
+            }
+        }
+        if (!entries.isEmpty()) {
+            cache.putAll(entries);
+        }
+        ((Collection<ProcessInstance>) updated).forEach(instance -> disconnect(instance.id(), instance, entries.get(instance.id())));
+        ((Collection<String>) removed).forEach(this::remove);
+    }
+
     protected String ignoreNullOrEmpty(String value) {
         if (value == null || value.trim().isEmpty()) {
             return null;
@@ -117,8 +156,11 @@ public class CacheProcessInstances implements MutableProcessInstances {
         updateStorage(id, instance, true);
     }
 
+    /**
+     * @return the marshalled process instance as stored, or null when it was not stored for not being active
+     */
     @SuppressWarnings("unchecked")
-    protected void updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
+    protected byte[] updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
         if (isActive(instance)) {
             byte[] data = marshaller.marshallProcessInstance(instance);
 
@@ -137,12 +179,20 @@ public class CacheProcessInstances implements MutableProcessInstances {
                     cache.put(id, data);
                 }
             }
+            return data;
         }
+        return null;
     }
 
-    private void disconnect(String id, ProcessInstance instance) {
+    /**
+     * Without lock the instance is reloaded from the data just written when available, instead of reading it back
+     * from the cache. With lock it has to be read back anyway to learn the version assigned by the server.
+     */
+    private void disconnect(String id, ProcessInstance instance, byte[] data) {
         if (this.lock) {
             reloadWithLock(id, instance);
+        } else if (data != null) {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> data));
         } else {
             reload(id, instance);
         }
@@ -18,13 +18,13 @@ package org.kie.kogito.persistence;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.kie.kogito.infinispan.CacheProcessInstances;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     protected RemoteCacheManager cacheManager;
 
@@ -17,15 +17,17 @@ package org.kie.kogito.persistence;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.persistence.jdbc.JDBCJobStore;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     private final boolean autoDDL;
     private final DataSource dataSource;
@@ -41,8 +43,20 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * @return true to store the jobs of the processes next to their instances when no jobs service is configured
+     */
+    public boolean jobsEnabled() {
+        return false;
+    }
+
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
         return new JDBCProcessInstances(process, dataSource, autoDDL, lock());
     }
+
+    @Override
+    public JobStore createJobStore(Process<?> process) {
+        return jobsEnabled() ? new JDBCJobStore(dataSource, autoDDL) : null;
+    }
 }
@@ -15,23 +15,35 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.ID;
 import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.PAYLOAD;
 import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.VERSION;
 
@@ -39,23 +51,29 @@ public class GenericRepository extends Repository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenericRepository.class);
 
-    private enum DatabaseType {
-        ANSI("ansi", "process_instances"),
-        ORACLE("Oracle", "PROCESS_INSTANCES"),
-        POSTGRES("PostgreSQL", "process_instances");
+    enum DatabaseType {
+        ANSI("ansi", "process_instances", "process_jobs"),
+        ORACLE("Oracle", "PROCESS_INSTANCES", "PROCESS_JOBS"),
+        POSTGRES("PostgreSQL", "process_instances", "process_jobs");
 
         private final String dbIdentifier;
         private final String tableNamePattern;
+        private final String jobsTableNamePattern;
 
-        DatabaseType(final String dbIdentifier, final String tableNamePattern) {
+        DatabaseType(final String dbIdentifier, final String tableNamePattern, final String jobsTableNamePattern) {
             this.dbIdentifier = dbIdentifier;
             this.tableNamePattern = tableNamePattern;
+            this.jobsTableNamePattern = jobsTableNamePattern;
         }
 
         String getDbIdentifier() {
             return this.dbIdentifier;
         }
 
+        String getJobsTableNamePattern() {
+            return this.jobsTableNamePattern;
+        }
+
         public static DatabaseType create(final String dbIdentifier) {
             if (ORACLE.getDbIdentifier().equals(dbIdentifier)) {
                 return ORACLE;
@@ -69,7 +87,7 @@ public class GenericRepository extends Repository {
         }
     }
 
-    private DatabaseType getDataBaseType(Connection connection) throws SQLException {
+    static DatabaseType getDataBaseType(Connection connection) throws SQLException {
         final DatabaseMetaData metaData = connection.getMetaData();
         final String dbProductName = metaData.getDatabaseProductName();
         return DatabaseType.create(dbProductName);
@@ -112,13 +130,48 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void insertInternal(DataSource dataSource, String processId, UUID id, byte[] payload) {
+    boolean eventTypesColumnExists(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            String columnNamePattern = databaseType == DatabaseType.ORACLE ? "EVENT_TYPES" : "event_types";
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, databaseType.tableNamePattern, columnNamePattern)) {
+                return columns.next();
+            }
+        } catch (SQLException e) {
+            var msg = "Failed to read column metadata";
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    void addEventTypesColumn(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.dbIdentifier, "add_event_types");
+            for (String s : statements) {
+                if (!s.isBlank()) {
+                    try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                        prepareStatement.execute();
+                    }
+                }
+            }
+            LOGGER.info("DDL successfully done for ProcessInstance event types");
+        } catch (SQLException e) {
+            var msg = "Error adding event_types column to process_instances table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    void insertInternal(DataSource dataSource, String processId, UUID id, byte[] payload, String eventTypes) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(INSERT)) {
             statement.setString(1, id.toString());
             statement.setBytes(2, payload);
             statement.setString(3, processId);
             statement.setLong(4, 0L);
+            statement.setString(5, eventTypes);
             statement.executeUpdate();
         } catch (Exception e) {
             throw uncheckedException(e, "Error inserting process instance %s", id);
@@ -126,11 +179,12 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void updateInternal(DataSource dataSource, UUID id, byte[] payload) {
+    void updateInternal(DataSource dataSource, UUID id, byte[] payload, String eventTypes) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(UPDATE)) {
             statement.setBytes(1, payload);
-            statement.setString(2, id.toString());
+            statement.setString(2, eventTypes);
+            statement.setString(3, id.toString());
             statement.executeUpdate();
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating process instance %s", id);
@@ -138,13 +192,14 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    boolean updateWithLock(DataSource dataSource, UUID id, byte[] payload, long version) {
+    boolean updateWithLock(DataSource dataSource, UUID id, byte[] payload, String eventTypes, long version) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(UPDATE_WITH_LOCK)) {
             statement.setBytes(1, payload);
-            statement.setLong(2, version + 1);
-            statement.setString(3, id.toString());
-            statement.setLong(4, version);
+            statement.setString(2, eventTypes);
+            statement.setLong(3, version + 1);
+            statement.setString(4, id.toString());
+            statement.setLong(5, version);
             int count = statement.executeUpdate();
             return count == 1;
         } catch (Exception e) {
@@ -152,6 +207,18 @@ public class GenericRepository extends Repository {
         }
     }
 
+    private void bindUpdate(PreparedStatement statement, Row row, boolean lock) throws SQLException {
+        statement.setBytes(1, row.payload);
+        statement.setString(2, row.eventTypes);
+        if (lock) {
+            statement.setLong(3, row.version + 1);
+            statement.setString(4, row.id.toString());
+            statement.setLong(5, row.version);
+        } else {
+            statement.setString(3, row.id.toString());
+        }
+    }
+
     @Override
     boolean deleteInternal(DataSource dataSource, UUID id) {
         try (Connection connection = dataSource.getConnection();
@@ -164,6 +231,114 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    void batchInternal(DataSource dataSource, String processId, List<Row> inserts, List<Row> updates, List<UUID> deletes, boolean lock) {
+        try (Connection connection = dataSource.getConnection()) {
+            // only demarcate the transaction when nobody else does, otherwise the batch joins the ongoing one
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                executeBatch(connection, INSERT, inserts, (statement, row) -> {
+                    statement.setString(1, row.id.toString());
+                    statement.setBytes(2, row.payload);
+                    statement.setString(3, processId);
+                    statement.setLong(4, 0L);
+                    statement.setString(5, row.eventTypes);
+                });
+                int[] updated = executeBatch(connection, lock ? UPDATE_WITH_LOCK : UPDATE, updates, (statement, row) -> bindUpdate(statement, row, lock));
+                int[] deleted = executeBatch(connection, DELETE, deletes, (statement, id) -> statement.setString(1, id.toString()));
+                if (lock) {
+                    for (int i = 0; i < updated.length; i++) {
+                        if (!isApplied(connection, updated[i], updates.get(i), this::isUpdated)) {
+                            throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", updates.get(i).id);
+                        }
+                    }
+                    for (int i = 0; i < deleted.length; i++) {
+                        if (!isApplied(connection, deleted[i], deletes.get(i), this::isDeleted)) {
+                            throw uncheckedException(null, "The document with ID: %s was deleted by other request.", deletes.get(i));
+                        }
+                    }
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error executing batch of process instances, for processId %s", processId);
+        }
+    }
+
+    private interface StatementBinder<E> {
+
+        void bind(PreparedStatement statement, E entry) throws SQLException;
+    }
+
+    /**
+     * Executes the statement for every entry as a single batch. A batch some driver did not execute completely is
+     * reported as a whole, naming the entry it failed on, since the transaction is rolled back anyway.
+     */
+    private <E> int[] executeBatch(Connection connection, String query, List<E> entries, StatementBinder<E> binder) throws SQLException {
+        if (entries.isEmpty()) {
+            return new int[0];
+        }
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (E entry : entries) {
+                binder.bind(statement, entry);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+            int failed = 0;
+            while (failed < counts.length && counts[failed] != Statement.EXECUTE_FAILED) {
+                failed++;
+            }
+            throw uncheckedException(e, "Error executing batch of process instances, failed on %s", entries.get(Math.min(failed, entries.size() - 1)));
+        }
+    }
+
+    private interface RowCheck<E> {
+
+        boolean isApplied(Connection connection, E entry) throws SQLException;
+    }
+
+    /**
+     * Drivers may not report how many rows a batched statement affected ({@link Statement#SUCCESS_NO_INFO}), so a
+     * count that is not positive is verified by reading the row back in the ongoing transaction.
+     */
+    private <E> boolean isApplied(Connection connection, int count, E entry, RowCheck<E> check) throws SQLException {
+        return count > 0 || check.isApplied(connection, entry);
+    }
+
+    private boolean isUpdated(Connection connection, Row row) throws SQLException {
+        OptionalLong version = findVersion(connection, row.id);
+        return version.isPresent() && version.getAsLong() == row.version + 1;
+    }
+
+    private boolean isDeleted(Connection connection, UUID id) throws SQLException {
+        return findVersion(connection, id).isEmpty();
+    }
+
+    private OptionalLong findVersion(Connection connection, UUID id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(FIND_VERSION)) {
+            statement.setString(1, id.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? OptionalLong.of(resultSet.getLong(VERSION)) : OptionalLong.empty();
+            }
+        }
+    }
+
     @Override
     Map<String, Object> findByIdInternal(DataSource dataSource, UUID id) {
         Map<String, Object> result = new HashMap<>();
@@ -187,11 +362,105 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    List<byte[]> findAllInternal(DataSource dataSource, String processId) {
-        List<byte[]> result = new ArrayList<>();
+    OptionalLong findVersionInternal(DataSource dataSource, UUID id) {
+        try (Connection connection = dataSource.getConnection()) {
+            return findVersion(connection, id);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding version of process instance %s", id);
+        }
+    }
+
+    @Override
+    Stream<byte[]> findAllInternal(DataSource dataSource, String processId) {
+        return batchedStream((lastId, payloads) -> findBatchInternal(dataSource, lastId == null ? FIND_ALL : FIND_ALL_AFTER, lastId, payloads, processId));
+    }
+
+    @Override
+    Stream<byte[]> findByEventTypeInternal(DataSource dataSource, String processId, String eventType) {
+        String pattern = "%" + EVENT_TYPES_SEPARATOR + escapeLikePattern(eventType) + EVENT_TYPES_SEPARATOR + "%";
+        return batchedStream((lastId, payloads) -> findBatchInternal(dataSource, lastId == null ? FIND_BY_EVENT_TYPE : FIND_BY_EVENT_TYPE_AFTER, lastId, payloads, processId, pattern));
+    }
+
+    static String escapeLikePattern(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == EVENT_TYPES_ESCAPE) {
+                escaped.append(EVENT_TYPES_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private Stream<byte[]> batchedStream(BiFunction<String, List<byte[]>, String> batchReader) {
+        Iterator<byte[]> iterator = new Iterator<>() {
+
+            private Iterator<byte[]> batch = Collections.emptyIterator();
+            private String lastId;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (!batch.hasNext() && !exhausted) {
+                    List<byte[]> payloads = new ArrayList<>(FETCH_SIZE);
+                    lastId = batchReader.apply(lastId, payloads);
+                    exhausted = payloads.size() < FETCH_SIZE;
+                    batch = payloads.iterator();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public byte[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Reads the next batch of payloads using keyset pagination on the process instance id, so each batch is an
+     * index range scan on its own short-lived connection instead of a single result set kept open by the caller.
+     * The query parameters are bound first, followed by the last read id when present.
+     */
+    private String findBatchInternal(DataSource dataSource, String query, String lastId, List<byte[]> payloads, String... parameters) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setMaxRows(FETCH_SIZE);
+            statement.setFetchSize(FETCH_SIZE);
+            int index = 1;
+            for (String parameter : parameters) {
+                statement.setString(index++, parameter);
+            }
+            if (lastId != null) {
+                statement.setString(index, lastId);
+            }
+            String currentId = lastId;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    currentId = resultSet.getString(ID);
+                    payloads.add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return currentId;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances, for processId %s", parameters[0]);
+        }
+    }
+
+    @Override
+    List<byte[]> findPageInternal(DataSource dataSource, String processId, long offset, int limit) {
+        List<byte[]> result = new ArrayList<>(Math.min(limit, FETCH_SIZE));
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
+                PreparedStatement statement = connection.prepareStatement(FIND_PAGE)) {
+            statement.setFetchSize(Math.min(limit, FETCH_SIZE));
             statement.setString(1, processId);
+            statement.setLong(2, offset);
+            statement.setInt(3, limit);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     result.add(resultSet.getBytes(PAYLOAD));
@@ -199,7 +468,7 @@ public class GenericRepository extends Repository {
             }
             return result;
         } catch (Exception e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", processId);
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", processId);
         }
     }
 
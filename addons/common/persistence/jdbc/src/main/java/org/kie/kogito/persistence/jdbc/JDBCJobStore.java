@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.StoredJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job store keeping the jobs in the <code>process_jobs</code> table. Jobs are claimed one by one with a conditional
+ * update, so several nodes sharing the same database never claim the same job.
+ */
+public class JDBCJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCJobStore.class);
+
+    private static final String COLUMNS = "id, process_id, process_instance_id, fire_time, repeat_interval, repeat_limit, owner, lease_expiration";
+    private static final String INSERT = "INSERT INTO process_jobs (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE process_jobs SET process_id = ?, process_instance_id = ?, fire_time = ?, repeat_interval = ?, repeat_limit = ?, owner = ?, "
+            + "lease_expiration = ? WHERE id = ?";
+    private static final String UPDATE_OWNED = "UPDATE process_jobs SET fire_time = ?, repeat_limit = ?, owner = ?, lease_expiration = ? WHERE id = ? AND owner = ?";
+    private static final String RENEW = "UPDATE process_jobs SET lease_expiration = ? WHERE id = ? AND owner = ?";
+    private static final String DELETE = "DELETE FROM process_jobs WHERE id = ?";
+    private static final String FIND_CLAIMABLE = "SELECT " + COLUMNS + " FROM process_jobs WHERE process_id = ? AND fire_time <= ? AND (owner IS NULL OR lease_expiration <= ?) "
+            + "ORDER BY fire_time";
+    private static final String CLAIM = "UPDATE process_jobs SET owner = ?, lease_expiration = ? WHERE id = ? AND (owner IS NULL OR lease_expiration <= ?)";
+
+    private final DataSource dataSource;
+
+    public JDBCJobStore(DataSource dataSource, boolean autoDDL) {
+        this.dataSource = dataSource;
+        if (autoDDL) {
+            init();
+        }
+    }
+
+    private void init() {
+        try (Connection connection = dataSource.getConnection()) {
+            GenericRepository.DatabaseType databaseType = GenericRepository.getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getJobsTableNamePattern(), new String[] { "TABLE" })) {
+                if (tables.next()) {
+                    LOGGER.debug("Found process_jobs table");
+                    return;
+                }
+            }
+            for (String s : FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_job_tables")) {
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for process jobs");
+        } catch (SQLException e) {
+            var msg = "Error creating process_jobs table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    public void store(StoredJob job) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setString(1, job.getProcessId());
+                statement.setString(2, job.getProcessInstanceId());
+                statement.setLong(3, job.getFireTime());
+                setNullableLong(statement, 4, job.getRepeatInterval());
+                setNullableInt(statement, 5, job.getRepeatLimit());
+                statement.setString(6, job.getOwner());
+                statement.setLong(7, job.getLeaseExpiration());
+                statement.setString(8, job.getId());
+                if (statement.executeUpdate() == 1) {
+                    return;
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setString(1, job.getId());
+                statement.setString(2, job.getProcessId());
+                statement.setString(3, job.getProcessInstanceId());
+                statement.setLong(4, job.getFireTime());
+                setNullableLong(statement, 5, job.getRepeatInterval());
+                setNullableInt(statement, 6, job.getRepeatLimit());
+                statement.setString(7, job.getOwner());
+                statement.setLong(8, job.getLeaseExpiration());
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error storing job " + job.getId(), e);
+        }
+    }
+
+    @Override
+    public boolean update(StoredJob job, String owner) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(UPDATE_OWNED)) {
+            statement.setLong(1, job.getFireTime());
+            setNullableInt(statement, 2, job.getRepeatLimit());
+            statement.setString(3, job.getOwner());
+            statement.setLong(4, job.getLeaseExpiration());
+            statement.setString(5, job.getId());
+            statement.setString(6, owner);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating job " + job.getId(), e);
+        }
+    }
+
+    @Override
+    public boolean renew(String id, String owner, long leaseExpiration) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RENEW)) {
+            statement.setLong(1, leaseExpiration);
+            statement.setString(2, id);
+            statement.setString(3, owner);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error renewing lease of job " + id, e);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error removing job " + id, e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> claim(String processId, String owner, long dueBefore, long leaseExpiration, int max) {
+        long now = System.currentTimeMillis();
+        List<StoredJob> claimed = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement find = connection.prepareStatement(FIND_CLAIMABLE);
+                PreparedStatement claim = connection.prepareStatement(CLAIM)) {
+            find.setString(1, processId);
+            find.setLong(2, dueBefore);
+            find.setLong(3, now);
+            find.setMaxRows(max);
+            try (ResultSet resultSet = find.executeQuery()) {
+                while (resultSet.next()) {
+                    StoredJob job = from(resultSet);
+                    claim.setString(1, owner);
+                    claim.setLong(2, leaseExpiration);
+                    claim.setString(3, job.getId());
+                    claim.setLong(4, now);
+                    // another node may have claimed the job since it was read
+                    if (claim.executeUpdate() == 1) {
+                        job.setOwner(owner);
+                        job.setLeaseExpiration(leaseExpiration);
+                        claimed.add(job);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error claiming jobs of process " + processId, e);
+        }
+        return claimed;
+    }
+
+    private static StoredJob from(ResultSet resultSet) throws SQLException {
+        StoredJob job = new StoredJob(resultSet.getString("id"),
+                resultSet.getString("process_id"),
+                resultSet.getString("process_instance_id"),
+                resultSet.getLong("fire_time"),
+                null,
+                null);
+        long repeatInterval = resultSet.getLong("repeat_interval");
+        job.setRepeatInterval(resultSet.wasNull() ? null : repeatInterval);
+        int repeatLimit = resultSet.getInt("repeat_limit");
+        job.setRepeatLimit(resultSet.wasNull() ? null : repeatLimit);
+        job.setOwner(resultSet.getString("owner"));
+        job.setLeaseExpiration(resultSet.getLong("lease_expiration"));
+        return job;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+}
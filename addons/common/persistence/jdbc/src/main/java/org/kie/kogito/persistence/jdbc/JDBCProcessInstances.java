@@ -15,12 +15,17 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -29,14 +34,16 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.SerializedProcessInstances;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
-public class JDBCProcessInstances implements MutableProcessInstances {
+public class JDBCProcessInstances implements MutableProcessInstances, SerializedProcessInstances {
 
+    static final String ID = "id";
     static final String PAYLOAD = "payload";
     static final String VERSION = "version";
 
@@ -68,6 +75,9 @@ public class JDBCProcessInstances implements MutableProcessInstances {
             if (!repository.tableExists(dataSource)) {
                 LOGGER.info("dynamically creating process_instances table");
                 repository.createTable(dataSource);
+            } else if (!repository.eventTypesColumnExists(dataSource)) {
+                LOGGER.info("dynamically adding event_types column to process_instances table");
+                repository.addEventTypesColumn(dataSource);
             }
         } catch (Exception e) {
             // not break the execution flow in case of any missing permission for db application user, for instance.
@@ -84,7 +94,7 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            repository.insertInternal(dataSource, process.id(), UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            repository.insertInternal(dataSource, process.id(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), eventTypes(instance));
         }
     }
 
@@ -92,16 +102,19 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         if (isActive(instance)) {
+            byte[] payload = marshaller.marshallProcessInstance(instance);
             if (lock) {
-                boolean isUpdated = repository.updateWithLock(dataSource, UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+                boolean isUpdated = repository.updateWithLock(dataSource, UUID.fromString(id), payload, eventTypes(instance), instance.version());
                 if (!isUpdated) {
                     throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
                 }
             } else {
-                repository.updateInternal(dataSource, UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+                repository.updateInternal(dataSource, UUID.fromString(id), payload, eventTypes(instance));
             }
+            disconnect(instance, payload);
+        } else {
+            disconnect(instance);
         }
-        disconnect(instance);
     }
 
     @Override
@@ -112,25 +125,98 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void batch(Collection created, Collection updated, Collection removed) {
+        List<Repository.Row> inserts = new ArrayList<>();
+        for (ProcessInstance instance : (Collection<ProcessInstance>) created) {
+            if (isActive(instance)) {
+                inserts.add(row(instance));
+            }
+        }
+        List<ProcessInstance> active = new ArrayList<>();
+        List<Repository.Row> updates = new ArrayList<>();
+        for (ProcessInstance instance : (Collection<ProcessInstance>) updated) {
+            if (isActive(instance)) {
+                active.add(instance);
+                updates.add(row(instance));
+            }
+        }
+        List<UUID> deletes = new ArrayList<>();
+        for (String id : (Collection<String>) removed) {
+            deletes.add(UUID.fromString(id));
+        }
+        repository.batchInternal(dataSource, process.id(), inserts, updates, deletes, lock);
+        for (ProcessInstance instance : (Collection<ProcessInstance>) updated) {
+            if (!isActive(instance)) {
+                disconnect(instance);
+            }
+        }
+        for (int i = 0; i < active.size(); i++) {
+            disconnect(active.get(i), updates.get(i).payload);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Repository.Row row(ProcessInstance instance) {
+        return new Repository.Row(UUID.fromString(instance.id()), marshaller.marshallProcessInstance(instance), eventTypes(instance), instance.version());
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        ProcessInstance<?> instance = null;
+        return findSerializedById(id).map(stored -> {
+            ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(stored.payload(), process)
+                    : marshaller.unmarshallReadOnlyProcessInstance(stored.payload(), process);
+            ((AbstractProcessInstance<?>) instance).setVersion(stored.version());
+            return instance;
+        });
+    }
+
+    @Override
+    public Optional<SerializedProcessInstance> findSerializedById(String id) {
         Map<String, Object> map = repository.findByIdInternal(dataSource, UUID.fromString(id));
         if (map.containsKey(PAYLOAD)) {
-            byte[] b = (byte[]) map.get(PAYLOAD);
-            instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
-                    : marshaller.unmarshallReadOnlyProcessInstance(b, process);
-            ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
-            return Optional.of(instance);
+            return Optional.of(new SerializedProcessInstance((byte[]) map.get(PAYLOAD), (Long) map.get(VERSION)));
         }
         return Optional.empty();
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return repository.findAllInternal(dataSource, process.id()).stream()
-                .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return repository.findAllInternal(dataSource, process.id()).map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        return repository.findPageInternal(dataSource, process.id(), offset, limit).stream().map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return repository.findByEventTypeInternal(dataSource, process.id(), eventType).map(b -> unmarshall(b, mode));
+    }
+
+    /**
+     * Encodes the event types awaited by the instance as a separator delimited string, or null when they are unknown
+     * or do not fit the column, in which case the instance is considered a candidate for every event. The column
+     * length is checked in bytes, the unit some databases (like Oracle) size character columns in.
+     */
+    private String eventTypes(ProcessInstance<?> instance) {
+        return ((AbstractProcessInstance<?>) instance).eventTypes()
+                .map(types -> types.stream().collect(Collectors.joining(Repository.EVENT_TYPES_SEPARATOR, Repository.EVENT_TYPES_SEPARATOR, Repository.EVENT_TYPES_SEPARATOR)))
+                .filter(types -> types.getBytes(StandardCharsets.UTF_8).length <= Repository.EVENT_TYPES_MAX_LENGTH)
+                .orElse(null);
+    }
+
+    private ProcessInstance unmarshall(byte[] payload, ProcessInstanceReadMode mode) {
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process) : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
     }
 
     @Override
@@ -143,6 +229,11 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    @Override
+    public OptionalLong version(String id) {
+        return repository.findVersionInternal(dataSource, UUID.fromString(id));
+    }
+
     private void disconnect(ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
             Map<String, Object> map = repository.findByIdInternal(dataSource, UUID.fromString(instance.id()));
@@ -152,6 +243,17 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
+    /**
+     * Disconnects an instance that was just written, keeping the written payload to reload it from instead of
+     * reading it back from the database. The version is the one the row has been stored with.
+     */
+    private void disconnect(ProcessInstance instance, byte[] payload) {
+        if (lock) {
+            ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
+        }
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> payload));
+    }
+
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
@@ -17,38 +17,102 @@ package org.kie.kogito.persistence.jdbc;
 
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 abstract class Repository {
 
-    static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version) VALUES (?, ?, ?, ?)";
-    static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = ?";
+    static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version, event_types) VALUES (?, ?, ?, ?, ?)";
+    static final String FIND_ALL = "SELECT id, payload FROM process_instances WHERE process_id = ? ORDER BY id";
+    static final String FIND_ALL_AFTER = "SELECT id, payload FROM process_instances WHERE process_id = ? AND id > ? ORDER BY id";
+    /**
+     * The event types are stored as a single separated column, matched with an escaped <code>LIKE</code> pattern
+     * (see {@link #EVENT_TYPES_ESCAPE}). No index can serve a leading wildcard, so the lookup is a scan of the
+     * instances of the process selected through the process_id index: it saves unmarshalling the instances that are not
+     * waiting for the event, not reading their rows.
+     */
+    static final String FIND_BY_EVENT_TYPE =
+            "SELECT id, payload FROM process_instances WHERE process_id = ? AND (event_types IS NULL OR event_types LIKE ? ESCAPE '!') ORDER BY id";
+    static final String FIND_BY_EVENT_TYPE_AFTER =
+            "SELECT id, payload FROM process_instances WHERE process_id = ? AND (event_types IS NULL OR event_types LIKE ? ESCAPE '!') AND id > ? ORDER BY id";
+    static final String FIND_PAGE = "SELECT payload FROM process_instances WHERE process_id = ? ORDER BY id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
     static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE id = ?";
-    static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE id = ?";
-    static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE id = ? and version = ?";
+    static final String FIND_VERSION = "SELECT version FROM process_instances WHERE id = ?";
+    static final String UPDATE = "UPDATE process_instances SET payload = ?, event_types = ? WHERE id = ?";
+    static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, event_types = ?, version = ? WHERE id = ? and version = ?";
     static final String DELETE = "DELETE FROM process_instances WHERE id = ?";
     static final String COUNT = "SELECT COUNT(id) as count FROM process_instances WHERE process_id = ?";
 
+    static final int FETCH_SIZE = 100;
+
+    static final String EVENT_TYPES_SEPARATOR = "|";
+    static final int EVENT_TYPES_MAX_LENGTH = 4000;
+    /**
+     * Escape character of the event type <code>LIKE</code> patterns, not a backslash as some databases also treat it
+     * as an escape within string literals.
+     */
+    static final char EVENT_TYPES_ESCAPE = '!';
+
     abstract boolean tableExists(DataSource dataSource);
 
     abstract void createTable(DataSource dataSource);
 
-    abstract void insertInternal(DataSource dataSource, String processId, UUID id, byte[] payload);
+    abstract boolean eventTypesColumnExists(DataSource dataSource);
+
+    /**
+     * Upgrades a process_instances table created by a previous version, which does not have the event_types column.
+     */
+    abstract void addEventTypesColumn(DataSource dataSource);
+
+    abstract void insertInternal(DataSource dataSource, String processId, UUID id, byte[] payload, String eventTypes);
 
-    abstract void updateInternal(DataSource dataSource, UUID id, byte[] payload);
+    abstract void updateInternal(DataSource dataSource, UUID id, byte[] payload, String eventTypes);
 
-    abstract boolean updateWithLock(DataSource dataSource, UUID id, byte[] payload, long version);
+    abstract boolean updateWithLock(DataSource dataSource, UUID id, byte[] payload, String eventTypes, long version);
 
     abstract boolean deleteInternal(DataSource dataSource, UUID id);
 
+    /**
+     * Executes the given inserts, updates and deletes as JDBC batches on a single connection and transaction.
+     * When lock is enabled, updates are checked against the row version and deletes against the row existence.
+     */
+    abstract void batchInternal(DataSource dataSource, String processId, List<Row> inserts, List<Row> updates, List<UUID> deletes, boolean lock);
+
     abstract Map<String, Object> findByIdInternal(DataSource dataSource, UUID id);
 
-    abstract List<byte[]> findAllInternal(DataSource dataSource, String processId);
+    abstract OptionalLong findVersionInternal(DataSource dataSource, UUID id);
+
+    abstract Stream<byte[]> findAllInternal(DataSource dataSource, String processId);
+
+    abstract Stream<byte[]> findByEventTypeInternal(DataSource dataSource, String processId, String eventType);
+
+    abstract List<byte[]> findPageInternal(DataSource dataSource, String processId, long offset, int limit);
 
     abstract Long countInternal(DataSource dataSource, String processId);
 
+    static class Row {
+
+        final UUID id;
+        final byte[] payload;
+        final String eventTypes;
+        final long version;
+
+        Row(UUID id, byte[] payload, String eventTypes, long version) {
+            this.id = id;
+            this.payload = payload;
+            this.eventTypes = eventTypes;
+            this.version = version;
+        }
+
+        @Override
+        public String toString() {
+            return id.toString();
+        }
+    }
+
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
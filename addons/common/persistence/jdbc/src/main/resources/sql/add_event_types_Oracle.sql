@@ -0,0 +1 @@
+ALTER TABLE process_instances ADD event_types varchar2(4000);
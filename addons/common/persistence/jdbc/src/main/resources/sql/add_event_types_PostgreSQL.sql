@@ -0,0 +1 @@
+ALTER TABLE process_instances ADD COLUMN event_types character varying(4000);
@@ -0,0 +1 @@
+ALTER TABLE process_instances ADD COLUMN event_types VARCHAR(4000);
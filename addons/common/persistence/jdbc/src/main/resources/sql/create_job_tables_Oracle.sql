@@ -0,0 +1,11 @@
+CREATE TABLE process_jobs(
+    id varchar2(255) NOT NULL,
+    process_id varchar2(4000) NOT NULL,
+    process_instance_id varchar2(255) NOT NULL,
+    fire_time number(19) NOT NULL,
+    repeat_interval number(19),
+    repeat_limit number(10),
+    owner varchar2(255),
+    lease_expiration number(19) NOT NULL,
+    CONSTRAINT process_jobs_pkey PRIMARY KEY (id));
+CREATE INDEX idx_process_jobs_fire_time ON process_jobs (process_id, fire_time);
\ No newline at end of file
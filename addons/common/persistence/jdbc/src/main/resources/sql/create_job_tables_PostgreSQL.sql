@@ -0,0 +1,11 @@
+CREATE TABLE process_jobs(
+    id character varying(255) NOT NULL,
+    process_id character varying NOT NULL,
+    process_instance_id character varying(255) NOT NULL,
+    fire_time bigint NOT NULL,
+    repeat_interval bigint,
+    repeat_limit integer,
+    owner character varying(255),
+    lease_expiration bigint NOT NULL,
+    CONSTRAINT process_jobs_pkey PRIMARY KEY (id));
+CREATE INDEX idx_process_jobs_fire_time ON process_jobs (process_id, fire_time);
\ No newline at end of file
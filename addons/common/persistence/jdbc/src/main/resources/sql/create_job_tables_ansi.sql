@@ -0,0 +1,11 @@
+CREATE TABLE process_jobs(
+    id VARCHAR(255) NOT NULL,
+    process_id VARCHAR(4000) NOT NULL,
+    process_instance_id VARCHAR(255) NOT NULL,
+    fire_time BIGINT(19) NOT NULL,
+    repeat_interval BIGINT(19),
+    repeat_limit INTEGER,
+    owner VARCHAR(255),
+    lease_expiration BIGINT(19) NOT NULL,
+    CONSTRAINT process_jobs_pkey PRIMARY KEY (id));
+CREATE INDEX idx_process_jobs_fire_time ON process_jobs (process_id, fire_time);
\ No newline at end of file
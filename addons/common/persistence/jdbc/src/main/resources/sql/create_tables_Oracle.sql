@@ -3,5 +3,6 @@ CREATE TABLE process_instances(
     payload blob NOT NULL,
     process_id varchar2(4000) NOT NULL,
     version number(19),
+    event_types varchar2(4000),
     CONSTRAINT process_instances_pkey PRIMARY KEY (id));
 CREATE INDEX idx_process_instances_proc_id ON process_instances (process_id);
\ No newline at end of file
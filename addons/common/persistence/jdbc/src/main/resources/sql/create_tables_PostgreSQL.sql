@@ -3,5 +3,6 @@ CREATE TABLE process_instances(
     payload bytea NOT NULL,
     process_id character varying NOT NULL,
     version bigint,
+    event_types character varying(4000),
     CONSTRAINT process_instances_pkey PRIMARY KEY (id));
 CREATE INDEX idx_process_instances_process_id ON process_instances (process_id);
\ No newline at end of file
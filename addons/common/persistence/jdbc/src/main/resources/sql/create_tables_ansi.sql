@@ -3,5 +3,6 @@ CREATE TABLE process_instances(
     payload BLOB NOT NULL,
     process_id VARCHAR(4000) NOT NULL,
     version BIGINT(19),
+    event_types VARCHAR(4000),
     CONSTRAINT process_instances_pkey PRIMARY KEY (id));
 CREATE INDEX idx_process_instances_process_id ON process_instances (process_id);
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GenericRepositoryTest {
+
+    private final UUID id = UUID.randomUUID();
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement update;
+    private ResultSet version;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        update = mock(PreparedStatement.class);
+        PreparedStatement findVersion = mock(PreparedStatement.class);
+        version = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(Repository.UPDATE_WITH_LOCK)).thenReturn(update);
+        when(connection.prepareStatement(Repository.FIND_VERSION)).thenReturn(findVersion);
+        when(findVersion.executeQuery()).thenReturn(version);
+    }
+
+    @Test
+    void testUpdateWithoutCountIsCheckedAgainstVersion() throws Exception {
+        when(update.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+        when(version.next()).thenReturn(true);
+        when(version.getLong(JDBCProcessInstances.VERSION)).thenReturn(2L);
+
+        assertThatCode(this::batch).doesNotThrowAnyException();
+        verify(connection).commit();
+    }
+
+    @Test
+    void testUpdateWithoutCountNotApplied() throws Exception {
+        when(update.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+        when(version.next()).thenReturn(true);
+        when(version.getLong(JDBCProcessInstances.VERSION)).thenReturn(1L);
+
+        assertThatThrownBy(this::batch).hasMessageContaining("was updated or deleted by other request");
+        verify(connection).rollback();
+    }
+
+    @Test
+    void testFailedBatch() throws Exception {
+        when(update.executeBatch()).thenThrow(new BatchUpdateException(new int[] { Statement.EXECUTE_FAILED }));
+
+        assertThatThrownBy(this::batch).hasMessageContaining(id.toString());
+        verify(connection).rollback();
+    }
+
+    @Test
+    void testEventTypePatternIsEscaped() throws Exception {
+        PreparedStatement find = mock(PreparedStatement.class);
+        ResultSet empty = mock(ResultSet.class);
+        when(connection.prepareStatement(Repository.FIND_BY_EVENT_TYPE)).thenReturn(find);
+        when(find.executeQuery()).thenReturn(empty);
+
+        assertThat(new GenericRepository().findByEventTypeInternal(dataSource, "process", "Message-50%_off!")).isEmpty();
+        verify(find).setString(2, "%|Message-50!%!_off!!|%");
+    }
+
+    private void batch() {
+        List<Repository.Row> updates = List.of(new Repository.Row(id, new byte[] { 1 }, null, 1L));
+        new GenericRepository().batchInternal(dataSource, "process", Collections.emptyList(), updates, Collections.emptyList(), true);
+    }
+}
@@ -17,8 +17,16 @@ package org.kie.kogito.mongodb;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistries;
@@ -41,13 +49,21 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID_INDEX;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
@@ -55,6 +71,7 @@ import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
     private static final String VERSION = "version";
+    private static final int FETCH_SIZE = 100;
     private org.kie.kogito.process.Process<?> process;
     private ProcessInstanceMarshallerService marshaller;
     private final MongoCollection<Document> collection;
@@ -85,16 +102,46 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
+        try (Stream<ProcessInstance<T>> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return stream(findAll().batchSize(FETCH_SIZE), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        return stream(findAll()
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .skip(Math.toIntExact(offset))
+                .limit(limit)
+                .batchSize(Math.min(limit, FETCH_SIZE)), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        // documents written before event types were tracked do not have the field and are always candidates
+        Bson filter = Filters.or(Filters.eq(EVENT_TYPES, eventType), Filters.exists(EVENT_TYPES, false));
         FindIterable<Document> docs = Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, filter))
+                .orElseGet(() -> collection.find(filter));
+        return stream(docs.batchSize(FETCH_SIZE), mode);
+    }
+
+    private FindIterable<Document> findAll() {
+        return Optional.ofNullable(transactionManager.getClientSession())
                 .map(collection::find)
                 .orElseGet(collection::find);
-        List<ProcessInstance<T>> list = new ArrayList<>();
-        try (MongoCursor<Document> cursor = docs.iterator()) {
-            while (cursor.hasNext()) {
-                list.add(unmarshall(cursor.next(), mode));
-            }
-        }
-        return list;
+    }
+
+    private Stream<ProcessInstance<T>> stream(FindIterable<Document> docs, ProcessInstanceReadMode mode) {
+        MongoCursor<Document> cursor = docs.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close)
+                .map(doc -> unmarshall(doc, mode));
     }
 
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
@@ -110,23 +157,92 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     @Override
     public void update(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
-            updateStorage(id, instance, false);
+            reloadProcessInstance(instance, updateStorage(id, instance, false));
+        } else {
+            reloadProcessInstance(instance, id);
+        }
+    }
+
+    /**
+     * Sends all the writes in a single ordered bulk write, within the current transaction if any.
+     * When lock is enabled the writes are applied one by one, since the bulk write result does not tell which
+     * document failed the version check.
+     */
+    @Override
+    public void batch(Collection<ProcessInstance<T>> created, Collection<ProcessInstance<T>> updated, Collection<String> removed) {
+        if (lock) {
+            MutableProcessInstances.super.batch(created, updated, removed);
+            return;
+        }
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        if (!created.isEmpty()) {
+            Document duplicated = find(Filters.in(PROCESS_INSTANCE_ID, created.stream().map(ProcessInstance::id).collect(Collectors.toList())));
+            if (duplicated != null) {
+                throw new ProcessInstanceDuplicatedException(duplicated.getString(PROCESS_INSTANCE_ID));
+            }
+            for (ProcessInstance<T> instance : created) {
+                Document doc = toDocument(instance);
+                doc.put(VERSION, 0L);
+                writes.add(new InsertOneModel<>(doc));
+            }
+        }
+        Map<ProcessInstance<T>, byte[]> contents = new LinkedHashMap<>();
+        for (ProcessInstance<T> instance : updated) {
+            if (isActive(instance)) {
+                byte[] content = marshaller.marshallProcessInstance(instance);
+                contents.put(instance, content);
+                writes.add(new ReplaceOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, instance.id()), toDocument(instance, content)));
+            }
+        }
+        for (String id : removed) {
+            writes.add(new DeleteOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, id)));
+        }
+        if (!writes.isEmpty()) {
+            ClientSession clientSession = transactionManager.getClientSession();
+            if (clientSession != null) {
+                collection.bulkWrite(clientSession, writes);
+            } else {
+                collection.bulkWrite(writes);
+            }
+        }
+        for (ProcessInstance<T> instance : updated) {
+            byte[] content = contents.get(instance);
+            if (content != null) {
+                reloadProcessInstance(instance, content);
+            } else {
+                reloadProcessInstance(instance, instance.id());
+            }
         }
-        reloadProcessInstance(instance, id);
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
 
-    protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
+    private Document toDocument(ProcessInstance<T> instance) {
+        return toDocument(instance, marshaller.marshallProcessInstance(instance));
+    }
+
+    private Document toDocument(ProcessInstance<T> instance, byte[] content) {
+        Document doc = Document.parse(new String(content));
+        // documents without the field are candidates for every event, as needed when the event types are unknown
+        ((AbstractProcessInstance<?>) instance).eventTypes().ifPresent(eventTypes -> doc.put(EVENT_TYPES, new ArrayList<>(eventTypes)));
+        return doc;
+    }
+
+    /**
+     * @return the marshalled process instance as stored
+     */
+    protected byte[] updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         ClientSession clientSession = transactionManager.getClientSession();
-        Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
+        byte[] content = marshaller.marshallProcessInstance(instance);
+        Document doc = toDocument(instance, content);
         if (checkDuplicates) {
             createInternal(id, clientSession, doc);
         } else {
             updateInternal(id, instance, clientSession, doc);
         }
+        return content;
     }
 
     private void createInternal(String id, ClientSession clientSession, Document doc) {
@@ -160,13 +276,17 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     }
 
     private Document find(String id) {
+        return find(Filters.eq(PROCESS_INSTANCE_ID, id));
+    }
+
+    private Document find(Bson filter) {
         if (transactionManager == null || collection == null) {
             throw new IllegalArgumentException("Transaction manager is null");
         }
 
         return Optional.ofNullable(transactionManager.getClientSession())
-                .map(r -> collection.find(r, Filters.eq(PROCESS_INSTANCE_ID, id)).first())
-                .orElseGet(() -> collection.find(Filters.eq(PROCESS_INSTANCE_ID, id)).first());
+                .map(r -> collection.find(r, filter).first())
+                .orElseGet(() -> collection.find(filter).first());
     }
 
     @Override
@@ -200,6 +320,17 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }));
     }
 
+    /**
+     * Disconnects an instance that was just stored, keeping the written content to reload it from instead of
+     * reading the document back.
+     */
+    private void reloadProcessInstance(ProcessInstance<T> instance, byte[] content) {
+        if (lock) {
+            setVersion(instance, instance.version() + 1);
+        }
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> content));
+    }
+
     private static void setVersion(ProcessInstance<?> instance, Long version) {
         ((AbstractProcessInstance<?>) instance).setVersion(version == null ? 0L : version);
     }
@@ -216,6 +347,20 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return this.lock;
     }
 
+    @Override
+    public OptionalLong version(String id) {
+        Bson filter = Filters.eq(PROCESS_INSTANCE_ID, id);
+        Bson projection = Projections.include(VERSION);
+        Document doc = Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, filter).projection(projection).first())
+                .orElseGet(() -> collection.find(filter).projection(projection).first());
+        if (doc == null) {
+            return OptionalLong.empty();
+        }
+        Long version = doc.getLong(VERSION);
+        return OptionalLong.of(version == null ? 0L : version);
+    }
+
     protected MongoCollection<Document> getCollection() {
         return collection;
     }
@@ -227,6 +372,8 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         //Index creation (if the index already exists it is a no-op)
         collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ID),
                 new IndexOptions().unique(true).name(PROCESS_INSTANCE_ID_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(EVENT_TYPES),
+                new IndexOptions().name(EVENT_TYPES_INDEX).background(true));
         return collection;
     }
 }
@@ -22,6 +22,8 @@ public class DocumentConstants {
     public static final String DOCUMENT_ID = "_id";
     public static final String PROCESS_INSTANCE_ID = "id";
     public static final String PROCESS_INSTANCE_ID_INDEX = "index_process_instance_id";
+    public static final String EVENT_TYPES = "eventTypes";
+    public static final String EVENT_TYPES_INDEX = "index_process_instance_event_types";
     public static final String STRATEGIES = "strategies";
     public static final String NAME = "name";
     public static final String PROCESS_INSTANCE = "processInstance";
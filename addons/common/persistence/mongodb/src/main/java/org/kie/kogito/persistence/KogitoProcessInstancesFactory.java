@@ -18,7 +18,7 @@ package org.kie.kogito.persistence;
 import org.kie.kogito.mongodb.MongoDBProcessInstances;
 import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 
 import com.mongodb.client.MongoClient;
 
@@ -26,7 +26,7 @@ import com.mongodb.client.MongoClient;
  * This class must always have exact FQCN as
  * <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     protected MongoClient mongoClient;
 
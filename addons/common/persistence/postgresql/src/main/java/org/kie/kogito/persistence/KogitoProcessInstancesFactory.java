@@ -15,9 +15,12 @@
  */
 package org.kie.kogito.persistence;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 import org.kie.kogito.persistence.postgresql.PostgreProcessInstances;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 
 import io.vertx.pgclient.PgPool;
 
@@ -25,7 +28,7 @@ import io.vertx.pgclient.PgPool;
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     private final Long queryTimeout;
     private final PgPool client;
@@ -48,8 +51,15 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * @return the executor unmarshalling the instances read asynchronously, off the database client event loop
+     */
+    public Executor executor() {
+        return ForkJoinPool.commonPool();
+    }
+
     @Override
     public PostgreProcessInstances createProcessInstances(Process<?> process) {
-        return new PostgreProcessInstances(process, client(), autoDDL, queryTimeout, lock());
+        return new PostgreProcessInstances(process, client(), autoDDL, queryTimeout, lock(), executor());
     }
 }
@@ -16,47 +16,76 @@
 package org.kie.kogito.persistence.postgresql;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.SerializedProcessInstances;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
 import io.vertx.sqlclient.Tuple;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({ "rawtypes" })
-public class PostgreProcessInstances implements MutableProcessInstances {
+public class PostgreProcessInstances implements ReactiveMutableProcessInstances, SerializedProcessInstances {
+
+    private static final String ID = "id";
 
     private static final String VERSION = "version";
 
     private static final String PAYLOAD = "payload";
 
+    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version, event_types) VALUES ($1, $2, $3, $4, $5)";
+
+    private static final String UPDATE = "UPDATE process_instances SET payload = $1, event_types = $2 WHERE id = $3";
+
+    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, event_types = $2, version = $3 WHERE id = $4 and version = $5";
+
+    private static final String DELETE = "DELETE FROM process_instances WHERE id = $1";
+
+    private static final String FIND_VERSION = "SELECT version FROM process_instances WHERE id = $1";
+
+    private static final int FETCH_SIZE = 100;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgreProcessInstances.class);
 
     private final Process<?> process;
@@ -65,9 +94,20 @@ public class PostgreProcessInstances implements MutableProcessInstances {
     private final boolean autoDDL;
     private final Long queryTimeoutMillis;
     private final boolean lock;
+    private final Executor executor;
 
     public PostgreProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis,
             boolean lock) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the unmarshalling of the instances read by the asynchronous operations, which must not
+     *        happen on the event loop the database client completes them on
+     */
+    public PostgreProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis,
+            boolean lock, Executor executor) {
+        this.executor = executor;
         this.process = process;
         this.client = client;
         this.autoDDL = autoDDL;
@@ -82,63 +122,197 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         return findById(id).isPresent();
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
+        // the calling thread is already allowed to block, it unmarshalls the instance itself
+        return toProcessInstance(findByIdInternal(UUID.fromString(id)), mode);
+    }
+
     @Override
     public void create(String id, ProcessInstance instance) {
+        await(createAsync(id, instance), "Error inserting process instance %s", id);
+    }
+
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        await(updateAsync(id, instance), "Error updating process instance %s", id);
+    }
+
+    @Override
+    public void remove(String id) {
+        await(removeAsync(id), "Error deleting process instance %s", id);
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return findByIdInternalAsync(UUID.fromString(id)).thenApplyAsync(row -> toProcessInstance(row, mode), executor);
+    }
+
+    @Override
+    public Optional<SerializedProcessInstance> findSerializedById(String id) {
+        return findByIdInternal(UUID.fromString(id))
+                .filter(r -> r.getBuffer(PAYLOAD) != null)
+                .map(r -> new SerializedProcessInstance(r.getBuffer(PAYLOAD).getBytes(), r.getLong(VERSION)));
+    }
+
+    private Optional<ProcessInstance> toProcessInstance(Optional<Row> row, ProcessInstanceReadMode mode) {
+        return row
+                .filter(r -> r.getBuffer(PAYLOAD) != null)
+                .map(r -> {
+                    ProcessInstance instance = unmarshall(r.getBuffer(PAYLOAD).getBytes(), mode);
+                    ((AbstractProcessInstance) instance).setVersion(r.getLong(VERSION));
+                    return instance;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+        return withErrorMessage(executeAsync(INSERT, insertTuple(instance)),
+                "Error inserting process instance %s", id)
+                .thenApply(rows -> null);
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public void update(String id, ProcessInstance instance) {
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        CompletableFuture<RowSet<Row>> future;
         if (lock) {
-            updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+            future = executeAsync(UPDATE_WITH_LOCK, updateTuple(instance, payload))
+                    .thenApply(rows -> {
+                        if (rows.rowCount() != 1) {
+                            throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                        }
+                        return rows;
+                    });
         } else {
-            updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            future = executeAsync(UPDATE, updateTuple(instance, payload));
         }
-        disconnect(instance);
+        return withErrorMessage(future, "Error updating process instance %s", id)
+                .thenAccept(rows -> disconnect(instance, payload));
     }
 
     @Override
-    public void remove(String id) {
-        boolean isDeleted = deleteInternal(UUID.fromString(id));
-        if (lock && !isDeleted) {
-            throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-        }
+    public CompletionStage<Void> removeAsync(String id) {
+        return withErrorMessage(executeAsync(DELETE, Tuple.of(UUID.fromString(id))),
+                "Error deleting process instance %s", id)
+                .thenAccept(rows -> {
+                    if (lock && rows.rowCount() != 1) {
+                        throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                    }
+                });
     }
 
+    /**
+     * Sends each kind of statement as a single pipelined batch, all of them within one transaction.
+     */
+    @SuppressWarnings("unchecked")
     @Override
-    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        Optional<Row> row = findByIdInternal(UUID.fromString(id));
+    public void batch(Collection created, Collection updated, Collection removed) {
+        List<Tuple> inserts = ((Collection<ProcessInstance>) created).stream().filter(this::isActive).map(this::insertTuple).collect(Collectors.toList());
+        List<ProcessInstance> active = ((Collection<ProcessInstance>) updated).stream().filter(this::isActive).collect(Collectors.toList());
+        List<byte[]> payloads = active.stream().map(instance -> marshaller.marshallProcessInstance(instance)).collect(Collectors.toList());
+        List<Tuple> updates = new ArrayList<>(active.size());
+        for (int i = 0; i < active.size(); i++) {
+            updates.add(updateTuple(active.get(i), payloads.get(i)));
+        }
+        List<Tuple> deletes = ((Collection<String>) removed).stream().map(id -> Tuple.of(UUID.fromString(id))).collect(Collectors.toList());
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        client.withTransaction(connection -> executeBatch(connection, INSERT, inserts)
+                .compose(rows -> executeBatch(connection, lock ? UPDATE_WITH_LOCK : UPDATE, updates))
+                .map(rows -> checkLock(rows, index -> active.get(index).id()))
+                .compose(rows -> executeBatch(connection, DELETE, deletes))
+                .map(rows -> checkLock(rows, index -> ((UUID) deletes.get(index).getValue(0)).toString())))
+                .onComplete(ar -> {
+                    if (ar.succeeded()) {
+                        future.complete(null);
+                    } else {
+                        future.completeExceptionally(ar.cause());
+                    }
+                });
+        await(withErrorMessage(future, "Error executing batch of process instances, for processId %s", process.id()),
+                "Error executing batch of process instances, for processId %s", process.id());
+        ((Collection<ProcessInstance>) updated).stream().filter(instance -> !isActive(instance)).forEach(this::disconnect);
+        for (int i = 0; i < active.size(); i++) {
+            disconnect(active.get(i), payloads.get(i));
+        }
+    }
 
-        if (row.isPresent()) {
-            Optional<byte[]> payload = row
-                    .map(r -> r.getBuffer(PAYLOAD))
-                    .map(Buffer::getBytes);
-            if (payload.isPresent()) {
-                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload.get(),
-                        process)
-                        : marshaller.unmarshallReadOnlyProcessInstance(payload.get(), process);
-                ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-                return Optional.of(instance);
+    private Future<RowSet<Row>> executeBatch(SqlConnection connection, String query, List<Tuple> tuples) {
+        return tuples.isEmpty() ? Future.succeededFuture() : connection.preparedQuery(query).executeBatch(tuples);
+    }
+
+    /**
+     * Verifies that every statement of a batch, whose results are chained one after the other, affected its row.
+     */
+    private RowSet<Row> checkLock(RowSet<Row> rows, IntFunction<String> id) {
+        if (lock) {
+            int index = 0;
+            for (RowSet<Row> current = rows; current != null; current = current.next()) {
+                if (current.rowCount() != 1) {
+                    throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id.apply(index));
+                }
+                index++;
             }
         }
-        return Optional.empty();
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Tuple insertTuple(ProcessInstance instance) {
+        return Tuple.of(UUID.fromString(instance.id()), Buffer.buffer(marshaller.marshallProcessInstance(instance)), process.id(), 0L, eventTypes(instance));
+    }
+
+    private Tuple updateTuple(ProcessInstance instance, byte[] payload) {
+        if (lock) {
+            long version = instance.version();
+            return Tuple.of(Buffer.buffer(payload), eventTypes(instance), version + 1, UUID.fromString(instance.id()), version);
+        }
+        return Tuple.of(Buffer.buffer(payload), eventTypes(instance), UUID.fromString(instance.id()));
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
-                : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return findAllInternal().map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        return findPageInternal(offset, limit).stream().map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return findByEventTypeInternal(eventType).map(b -> unmarshall(b, mode));
+    }
+
+    /**
+     * @return the event types awaited by the instance, or null when they are unknown, in which case the instance is
+     *         considered a candidate for every event
+     */
+    private String[] eventTypes(ProcessInstance<?> instance) {
+        return ((AbstractProcessInstance<?>) instance).eventTypes().map(types -> types.toArray(String[]::new)).orElse(null);
+    }
+
+    private ProcessInstance unmarshall(byte[] payload, ProcessInstanceReadMode mode) {
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process) : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
     }
 
     @Override
@@ -151,6 +325,17 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    @Override
+    public OptionalLong version(String id) {
+        Optional<Row> row = await(withErrorMessage(executeAsync(FIND_VERSION, Tuple.of(UUID.fromString(id))), "Error finding version of process instance %s", id)
+                .thenApply(rows -> Optional.ofNullable(rows)
+                        .map(RowSet::iterator)
+                        .filter(Iterator::hasNext)
+                        .map(Iterator::next)),
+                "Error finding version of process instance %s", id);
+        return row.map(r -> OptionalLong.of(r.getLong(VERSION))).orElse(OptionalLong.empty());
+    }
+
     private void disconnect(ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
             Optional<Row> row = findByIdInternal(UUID.fromString(instance.id()));
@@ -162,15 +347,15 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
-    private boolean insertInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("INSERT INTO process_instances (id, payload, process_id, version) VALUES ($1, $2, $3, $4)")
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), 0L), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
+    /**
+     * Disconnects an instance that was just written, keeping the written payload to reload it from instead of
+     * reading it back from the database. The version is the one the row has been stored with.
+     */
+    private void disconnect(ProcessInstance instance, byte[] payload) {
+        if (lock) {
+            ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
         }
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> payload));
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
@@ -187,68 +372,147 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         };
     }
 
-    private boolean updateInternal(UUID id, byte[] payload) {
+    private Optional<RowSet<Row>> getResultFromFuture(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
         try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1 WHERE id = $2")
-                    .execute(Tuple.of(Buffer.buffer(payload), id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
+            return Optional.ofNullable(future.get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
         }
     }
 
-    private boolean deleteInternal(UUID id) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("DELETE FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private Optional<Row> findByIdInternal(UUID id) {
+        return await(findByIdInternalAsync(id), "Error finding process instance %s", id);
     }
 
-    private Boolean getExecutedResult(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return getResultFromFuture(future)
-                    .map(RowSet::rowCount)
-                    .map(count -> count == 1)
-                    .orElse(false);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private CompletableFuture<Optional<Row>> findByIdInternalAsync(UUID id) {
+        return withErrorMessage(executeAsync("SELECT payload, version FROM process_instances WHERE id = $1", Tuple.of(id)), "Error finding process instance %s", id)
+                .thenApply(rows -> Optional.ofNullable(rows)
+                        .map(RowSet::iterator)
+                        .filter(Iterator::hasNext)
+                        .map(Iterator::next));
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    private CompletableFuture<RowSet<Row>> executeAsync(String query, Tuple tuple) {
+        final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+        client.preparedQuery(query).execute(tuple, getAsyncResultHandler(future));
+        return future;
+    }
+
+    /**
+     * Fails the returned future with the same exception the blocking operations have always thrown, so both APIs
+     * report errors consistently.
+     */
+    private <R> CompletableFuture<R> withErrorMessage(CompletableFuture<R> future, String message, Object... param) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                result.completeExceptionally(uncheckedException(cause instanceof Exception ? (Exception) cause : new ExecutionException(cause), message, param));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Blocks the calling thread until the asynchronous operation completes, up to the configured query timeout.
+     */
+    private <R> R await(CompletionStage<R> stage, String message, Object... param) {
         try {
-            return Optional.ofNullable(future.get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
+            return stage.toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, message, param);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw uncheckedException(e, message, param);
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, message, param);
         }
     }
 
-    private Optional<Row> findByIdInternal(UUID id) {
+    private Stream<byte[]> findAllInternal() {
+        return batchedStream((lastId, payloads) -> lastId == null
+                ? findBatchInternal("SELECT id, payload FROM process_instances WHERE process_id = $1 ORDER BY id LIMIT $2",
+                        lastId, payloads, process.id())
+                : findBatchInternal("SELECT id, payload FROM process_instances WHERE process_id = $1 AND id > $2 ORDER BY id LIMIT $3",
+                        lastId, payloads, process.id()));
+    }
+
+    private Stream<byte[]> findByEventTypeInternal(String eventType) {
+        return batchedStream((lastId, payloads) -> lastId == null
+                ? findBatchInternal("SELECT id, payload FROM process_instances WHERE process_id = $1 AND (event_types IS NULL OR event_types @> ARRAY[$2]::text[]) ORDER BY id LIMIT $3",
+                        lastId, payloads, process.id(), eventType)
+                : findBatchInternal("SELECT id, payload FROM process_instances WHERE process_id = $1 AND (event_types IS NULL OR event_types @> ARRAY[$2]::text[]) AND id > $3 ORDER BY id LIMIT $4",
+                        lastId, payloads, process.id(), eventType));
+    }
+
+    private Stream<byte[]> batchedStream(BiFunction<UUID, List<byte[]>, UUID> batchReader) {
+        Iterator<byte[]> iterator = new Iterator<>() {
+
+            private Iterator<byte[]> batch = Collections.emptyIterator();
+            private UUID lastId;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (!batch.hasNext() && !exhausted) {
+                    List<byte[]> payloads = new ArrayList<>(FETCH_SIZE);
+                    lastId = batchReader.apply(lastId, payloads);
+                    exhausted = payloads.size() < FETCH_SIZE;
+                    batch = payloads.iterator();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public byte[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Reads the next batch of payloads using keyset pagination on the process instance id, so that only
+     * {@link #FETCH_SIZE} rows are held in memory at any time while the caller consumes the stream.
+     * The query parameters are bound first, followed by the last read id when present and the batch size.
+     */
+    private UUID findBatchInternal(String query, UUID lastId, List<byte[]> payloads, Object... parameters) {
         try {
             final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload, version FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
-                    .map(RowSet::iterator)
-                    .filter(Iterator::hasNext)
-                    .map(Iterator::next);
+            Tuple tuple = Tuple.tuple();
+            for (Object parameter : parameters) {
+                tuple.addValue(parameter);
+            }
+            if (lastId != null) {
+                tuple.addValue(lastId);
+            }
+            tuple.addValue(FETCH_SIZE);
+            client.preparedQuery(query).execute(tuple, getAsyncResultHandler(future));
+            UUID currentId = lastId;
+            for (Row row : getResultFromFuture(future).orElseThrow()) {
+                currentId = row.getUUID(ID);
+                payloads.add(row.getBuffer(PAYLOAD).getBytes());
+            }
+            return currentId;
         } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
+            throw uncheckedException(e, "Error finding process instances, for processId %s", process.id());
         }
     }
 
-    private List<byte[]> findAllInternal() {
+    private List<byte[]> findPageInternal(long offset, int limit) {
         try {
             final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload FROM process_instances WHERE process_id = $1")
-                    .execute(Tuple.of(process.id()), getAsyncResultHandler(future));
+            client.preparedQuery("SELECT payload FROM process_instances WHERE process_id = $1 ORDER BY id OFFSET $2 LIMIT $3")
+                    .execute(Tuple.of(process.id(), offset, limit), getAsyncResultHandler(future));
             return getResultFromFuture(future)
                     .map(r -> StreamSupport.stream(r.spliterator(), false)
                             .map(row -> row.getBuffer(PAYLOAD))
@@ -256,7 +520,7 @@ public class PostgreProcessInstances implements MutableProcessInstances {
                             .collect(Collectors.toList()))
                     .orElseGet(Collections::emptyList);
         } catch (Exception e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
         }
     }
 
@@ -308,8 +572,9 @@ public class PostgreProcessInstances implements MutableProcessInstances {
                             return futureCreate;
                         })
                         .orElseGet(() -> {
-                            futureCreate.complete(null);
-                            LOGGER.info("Table process_instances already exists.");
+                            // tables created by a previous version lack the event_types column
+                            client.query(getQueryFromFile("runtime_add_event_types")).execute(getAsyncResultHandler(futureCreate));
+                            LOGGER.info("Table process_instances already exists, adding event_types column if missing.");
                             return futureCreate;
                         });
             });
@@ -341,21 +606,4 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1, version = $2 WHERE id = $3 and version = $4")
-                    .execute(Tuple.of(Buffer.buffer(payload), version + 1, id, version), getAsyncResultHandler(future));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
 }
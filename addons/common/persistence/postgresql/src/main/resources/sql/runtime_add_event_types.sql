@@ -0,0 +1,5 @@
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS event_types text[];
+CREATE INDEX IF NOT EXISTS idx_process_instances_event_types ON process_instances USING GIN
+    (
+     event_types
+    );
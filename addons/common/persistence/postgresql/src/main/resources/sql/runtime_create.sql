@@ -2,9 +2,14 @@ CREATE TABLE process_instances(id uuid NOT NULL,
                                       payload bytea NOT NULL,
                                       process_id character varying NOT NULL,
                                       version bigint,
+                                      event_types text[],
                                       CONSTRAINT process_instances_pkey PRIMARY KEY (id)
                                       );
 CREATE INDEX idx_process_instances_process_id ON process_instances
     (
      process_id
+    );
+CREATE INDEX idx_process_instances_event_types ON process_instances USING GIN
+    (
+     event_types
     );
\ No newline at end of file
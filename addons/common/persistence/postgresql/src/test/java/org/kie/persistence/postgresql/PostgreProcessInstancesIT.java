@@ -16,6 +16,11 @@
 package org.kie.persistence.postgresql;
 
 import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.junit.jupiter.api.AfterAll;
@@ -119,6 +124,57 @@ class PostgreProcessInstancesIT {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    void testAsyncOperations() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        AtomicInteger unmarshalled = new AtomicInteger();
+        PostgreProcessInstances instances = new PostgreProcessInstances(process, client, true, 10000L, false, command -> {
+            unmarshalled.incrementAndGet();
+            command.run();
+        });
+
+        ProcessInstance<?> readOnlyPI = await(instances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY)).get();
+        assertThat(readOnlyPI.status()).isEqualTo(STATE_ACTIVE);
+        // unmarshalling is handed off to the executor instead of running on the event loop
+        assertThat(unmarshalled).hasValue(1);
+        assertThat(await(instances.findByIdAsync(UUID.randomUUID().toString(), ProcessInstanceReadMode.READ_ONLY))).isEmpty();
+
+        ProcessInstance<?> mutablePI = await(instances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.MUTABLE)).get();
+        await(instances.updateAsync(mutablePI.id(), mutablePI));
+        assertThat(instances.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY)).hasValueSatisfying(pi -> assertThat(pi.status()).isEqualTo(STATE_ACTIVE));
+
+        await(instances.removeAsync(processInstance.id()));
+        assertThat(await(instances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY))).isEmpty();
+
+        ProcessInstance<BpmnVariables> created = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        created.start();
+        await(instances.removeAsync(created.id()));
+        await(instances.createAsync(created.id(), created));
+        assertThat(await(instances.findByIdAsync(created.id(), ProcessInstanceReadMode.READ_ONLY))).isPresent();
+
+        created.abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    void testAsyncOperationFailure() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        PostgreProcessInstances instances = new PostgreProcessInstances(process, client, true, 10000L, true);
+
+        // the version check of the locking mode reports the missing row as the blocking operation does
+        assertThat(instances.removeAsync(UUID.randomUUID().toString()).toCompletableFuture())
+                .failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withMessageContaining("was updated or deleted by other request");
+    }
+
+    private static <T> T await(CompletionStage<T> stage) throws Exception {
+        return stage.toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
     private class PostgreProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public PostgreProcessInstancesFactory(PgPool client) {
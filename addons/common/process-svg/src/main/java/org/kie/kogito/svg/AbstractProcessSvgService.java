@@ -16,29 +16,35 @@
 
 package org.kie.kogito.svg;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.kie.kogito.svg.dataindex.DataIndexClient;
 import org.kie.kogito.svg.dataindex.NodeInstance;
-import org.kie.kogito.svg.processor.SVGProcessor;
+import org.kie.kogito.svg.processor.SVGTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toCollection;
 
 public abstract class AbstractProcessSvgService implements ProcessSvgService {
     public static final String DEFAULT_COMPLETED_COLOR = "#C0C0C0";
     public static final String DEFAULT_COMPLETED_BORDER_COLOR = "#030303";
     public static final String DEFAULT_ACTIVE_BORDER_COLOR = "#FF0000";
+    public static final int RENDERED_SVG_CACHE_SIZE = 256;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProcessSvgService.class);
     private static Path svgDir = Paths.get("META-INF", "processSVG");
@@ -48,6 +54,14 @@ public abstract class AbstractProcessSvgService implements ProcessSvgService {
     protected String completedBorderColor;
     protected String activeBorderColor;
 
+    private final Map<String, SVGTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, String> renderedSvgs = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > RENDERED_SVG_CACHE_SIZE;
+        }
+    };
+
     public AbstractProcessSvgService() {
     }
 
@@ -61,6 +75,10 @@ public abstract class AbstractProcessSvgService implements ProcessSvgService {
 
     public void setSvgResourcesPath(Optional<String> svgResourcesPath) {
         this.svgResourcesPath = svgResourcesPath;
+        templates.clear();
+        synchronized (renderedSvgs) {
+            renderedSvgs.clear();
+        }
     }
 
     @Override
@@ -103,11 +121,27 @@ public abstract class AbstractProcessSvgService implements ProcessSvgService {
             return Optional.of(svg);
         }
 
-        try (InputStream svgStream = new ByteArrayInputStream(svg.getBytes())) {
-            SVGProcessor processor = new SVGImageProcessor(svgStream).getProcessor();
-            completedNodes.forEach(nodeId -> processor.defaultCompletedTransformation(nodeId, completedColor, completedBorderColor));
-            activeNodes.forEach(nodeId -> processor.defaultActiveTransformation(nodeId, activeBorderColor));
-            return Optional.of(processor.getSVG());
+        return Optional.of(parseTemplate(svg).render(completedNodes, activeNodes, completedColor, completedBorderColor, activeBorderColor));
+    }
+
+    /**
+     * @return the parsed SVG of the given process, parsed on first use and then cached
+     */
+    protected Optional<SVGTemplate> getProcessSvgTemplate(String processId) {
+        SVGTemplate template = templates.get(processId);
+        if (template == null) {
+            Optional<String> processSvg = getProcessSvg(processId).filter(svg -> !svg.isEmpty());
+            if (!processSvg.isPresent()) {
+                return Optional.empty();
+            }
+            template = templates.computeIfAbsent(processId, k -> parseTemplate(processSvg.get()));
+        }
+        return Optional.of(template);
+    }
+
+    private SVGTemplate parseTemplate(String svg) {
+        try {
+            return SVGTemplate.parse(svg);
         } catch (Exception e) {
             throw new ProcessSVGException("Failed to annotated SVG for process instance", e);
         }
@@ -115,14 +149,37 @@ public abstract class AbstractProcessSvgService implements ProcessSvgService {
 
     @Override
     public Optional<String> getProcessInstanceSvg(String processId, String processInstanceId, String authHeader) {
-        Optional<String> processSvg = getProcessSvg(processId);
-        if (processSvg.isPresent()) {
-            List<NodeInstance> nodes = dataIndexClient.getNodeInstancesFromProcessInstance(processInstanceId, authHeader);
-            List<String> completedNodes = nodes.stream().filter(NodeInstance::isCompleted).map(NodeInstance::getDefinitionId).collect(toList());
-            List<String> activeNodes = nodes.stream().filter(n -> !n.isCompleted()).map(NodeInstance::getDefinitionId).collect(toList());
-            return annotateExecutedPath(processSvg.get(), completedNodes, activeNodes);
-        } else {
+        return getTaggedProcessInstanceSvg(processId, processInstanceId, authHeader).map(ProcessInstanceSVG::getSvg);
+    }
+
+    @Override
+    public Optional<ProcessInstanceSVG> getTaggedProcessInstanceSvg(String processId, String processInstanceId, String authHeader) {
+        Optional<SVGTemplate> template = getProcessSvgTemplate(processId);
+        if (!template.isPresent()) {
             return Optional.empty();
         }
+        List<NodeInstance> nodes = dataIndexClient.getNodeInstancesFromProcessInstance(processInstanceId, authHeader);
+        Set<String> completedNodes = nodes.stream().filter(NodeInstance::isCompleted).map(NodeInstance::getDefinitionId).collect(toCollection(TreeSet::new));
+        Set<String> activeNodes = nodes.stream().filter(n -> !n.isCompleted()).map(NodeInstance::getDefinitionId).collect(toCollection(TreeSet::new));
+        String eTag = UUID.nameUUIDFromBytes(String.join("|", template.get().getTag(), completedColor, completedBorderColor, activeBorderColor,
+                completedNodes.toString(), activeNodes.toString()).getBytes(StandardCharsets.UTF_8)).toString();
+        return Optional.of(new ProcessInstanceSVG(eTag, () -> render(processId, eTag, template.get(), completedNodes, activeNodes)));
+    }
+
+    private String render(String processId, String eTag, SVGTemplate template, Set<String> completedNodes, Set<String> activeNodes) {
+        if (completedNodes.isEmpty() && activeNodes.isEmpty()) {
+            return getProcessSvg(processId).orElseThrow(() -> new ProcessSVGException("Could not find SVG of process " + processId));
+        }
+        synchronized (renderedSvgs) {
+            String svg = renderedSvgs.get(eTag);
+            if (svg != null) {
+                return svg;
+            }
+        }
+        String svg = template.render(completedNodes, activeNodes, completedColor, completedBorderColor, activeBorderColor);
+        synchronized (renderedSvgs) {
+            renderedSvgs.put(eTag, svg);
+        }
+        return svg;
     }
 }
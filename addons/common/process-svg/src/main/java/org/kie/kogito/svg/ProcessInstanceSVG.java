@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.svg;
+
+import java.util.function.Supplier;
+
+/**
+ * Annotated SVG of a process instance together with an entity tag identifying its content, so that
+ * clients that already have it can be answered without rendering it again.
+ */
+public class ProcessInstanceSVG {
+
+    private final String eTag;
+    private final Supplier<String> svg;
+
+    public ProcessInstanceSVG(String eTag, Supplier<String> svg) {
+        this.eTag = eTag;
+        this.svg = svg;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getSvg() {
+        return svg.get();
+    }
+
+    /**
+     * @param ifNoneMatch value of the <code>If-None-Match</code> request header, may be <code>null</code>
+     * @return whether the header matches the entity tag of this SVG
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
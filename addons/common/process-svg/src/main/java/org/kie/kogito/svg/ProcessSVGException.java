@@ -18,6 +18,10 @@ package org.kie.kogito.svg;
 
 public class ProcessSVGException extends RuntimeException {
 
+    public ProcessSVGException(String message) {
+        super(message);
+    }
+
     public ProcessSVGException(String message, Throwable cause) {
         super(message, cause);
     }
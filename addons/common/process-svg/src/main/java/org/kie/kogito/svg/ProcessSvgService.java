@@ -22,5 +22,7 @@ public interface ProcessSvgService {
 
     Optional<String> getProcessInstanceSvg(String processId, String processInstanceId, String authHeader);
 
+    Optional<ProcessInstanceSVG> getTaggedProcessInstanceSvg(String processId, String processInstanceId, String authHeader);
+
     Optional<String> getProcessSvg(String processId);
 }
\ No newline at end of file
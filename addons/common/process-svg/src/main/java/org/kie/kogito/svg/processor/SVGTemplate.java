@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.svg.processor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.kie.kogito.svg.ProcessSVGException;
+import org.kie.kogito.svg.SVGImageProcessor;
+import org.kie.kogito.svg.model.NodeSummary;
+import org.kie.kogito.svg.model.RenderType;
+import org.w3c.dom.Element;
+
+/**
+ * Process SVG parsed once and rendered many times with the completed and active nodes of each process instance.
+ * <p>
+ * Parsing marks every attribute the default completed and active transformations may change with a placeholder and
+ * serializes the document, so rendering only has to fill the placeholders in, without parsing or searching the document
+ * again. The result is the same {@link DefaultSVGProcessor} would produce for the same nodes.
+ */
+public class SVGTemplate {
+
+    private static final String PLACEHOLDER = "kogito-svg-slot-";
+    private static final Pattern PLACEHOLDER_ATTRIBUTE = Pattern.compile(" ([\\w:-]+)=\"" + PLACEHOLDER + "(\\d+)\"");
+
+    private final String tag;
+    private final String[] fragments;
+    private final Slot[] slots;
+    private final int length;
+
+    private SVGTemplate(String tag, String[] fragments, Slot[] slots) {
+        this.tag = tag;
+        this.fragments = fragments;
+        this.slots = slots;
+        int total = 0;
+        for (String fragment : fragments) {
+            total += fragment.length();
+        }
+        this.length = total;
+    }
+
+    public static SVGTemplate parse(String svg) {
+        byte[] bytes = svg.getBytes(StandardCharsets.UTF_8);
+        AbstractSVGProcessor processor = (AbstractSVGProcessor) new SVGImageProcessor(new ByteArrayInputStream(bytes)).getProcessor();
+
+        List<Slot> slots = new ArrayList<>();
+        for (NodeSummary node : processor.summary.getNodesMap().values()) {
+            boolean background = node.getBackground() != null;
+            if (background) {
+                slots.add(slot(slots.size(), node.getBackground(), "fill", node.getNodeId(), SlotType.BACKGROUND, true));
+            }
+            if (node.getBorder() != null) {
+                if (node.getRenderType().orElse(RenderType.STROKE) == RenderType.STROKE) {
+                    slots.add(slot(slots.size(), node.getBorder(), "stroke-width", node.getNodeId(), SlotType.BORDER_WIDTH, background));
+                    slots.add(slot(slots.size(), node.getBorder(), "stroke", node.getNodeId(), SlotType.BORDER, background));
+                } else {
+                    slots.add(slot(slots.size(), node.getBorder(), "fill", node.getNodeId(), SlotType.BORDER, background));
+                }
+            }
+        }
+
+        String serialized = processor.getSVG();
+        List<String> fragments = new ArrayList<>(slots.size() + 1);
+        Slot[] ordered = new Slot[slots.size()];
+        Matcher matcher = PLACEHOLDER_ATTRIBUTE.matcher(serialized);
+        int position = 0;
+        int count = 0;
+        while (matcher.find()) {
+            Slot slot = slots.get(Integer.parseInt(matcher.group(2)));
+            if (count == ordered.length || !slot.name.equals(matcher.group(1))) {
+                throw new ProcessSVGException("Unexpected attribute " + matcher.group() + " in SVG template");
+            }
+            fragments.add(serialized.substring(position, matcher.start()));
+            ordered[count++] = slot;
+            position = matcher.end();
+        }
+        if (count != ordered.length) {
+            throw new ProcessSVGException("Found " + count + " SVG template placeholders, expected " + ordered.length);
+        }
+        fragments.add(serialized.substring(position));
+        return new SVGTemplate(UUID.nameUUIDFromBytes(bytes).toString(), fragments.toArray(new String[0]), ordered);
+    }
+
+    private static Slot slot(int index, Element element, String name, String nodeId, SlotType type, boolean background) {
+        String original = element.hasAttribute(name) ? element.getAttribute(name) : null;
+        element.setAttribute(name, PLACEHOLDER + index);
+        return new Slot(name, nodeId, type, background, original);
+    }
+
+    /**
+     * @return an identifier of the SVG the template was parsed from
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Renders the SVG, applying the default completed transformation to the completed nodes and then the default
+     * active transformation to the active ones.
+     */
+    public String render(Collection<String> completedNodes, Collection<String> activeNodes,
+            String completedNodeColor, String completedNodeBorderColor, String activeNodeBorderColor) {
+        StringBuilder svg = new StringBuilder(length + slots.length * 32);
+        for (int i = 0; i < slots.length; i++) {
+            svg.append(fragments[i]);
+            Slot slot = slots[i];
+            boolean active = activeNodes.contains(slot.nodeId);
+            boolean completed = slot.background && completedNodes.contains(slot.nodeId);
+            String value;
+            switch (slot.type) {
+                case BACKGROUND:
+                    value = completed ? completedNodeColor : slot.original;
+                    break;
+                case BORDER_WIDTH:
+                    value = active || completed ? "2" : slot.original;
+                    break;
+                default:
+                    value = active ? activeNodeBorderColor : completed ? completedNodeBorderColor : slot.original;
+                    break;
+            }
+            if (value != null) {
+                svg.append(' ').append(slot.name).append("=\"");
+                escape(value, svg);
+                svg.append('"');
+            }
+        }
+        return svg.append(fragments[slots.length]).toString();
+    }
+
+    private static void escape(String value, StringBuilder svg) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    svg.append("&amp;");
+                    break;
+                case '<':
+                    svg.append("&lt;");
+                    break;
+                case '>':
+                    svg.append("&gt;");
+                    break;
+                case '"':
+                    svg.append("&quot;");
+                    break;
+                case '\n':
+                    svg.append("&#10;");
+                    break;
+                case '\r':
+                    svg.append("&#13;");
+                    break;
+                case '\t':
+                    svg.append("&#9;");
+                    break;
+                default:
+                    svg.append(c);
+            }
+        }
+    }
+
+    private enum SlotType {
+        BACKGROUND,
+        BORDER_WIDTH,
+        BORDER
+    }
+
+    private static class Slot {
+
+        private final String name;
+        private final String nodeId;
+        private final SlotType type;
+        private final boolean background;
+        private final String original;
+
+        private Slot(String name, String nodeId, SlotType type, boolean background, String original) {
+            this.name = name;
+            this.nodeId = nodeId;
+            this.type = type;
+            this.background = background;
+            this.original = original;
+        }
+    }
+}
@@ -26,13 +26,17 @@ import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.svg.dataindex.NodeInstance;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public abstract class ProcessSvgServiceTest {
 
     private final static String PROCESS_ID = "travels";
+    private final static String AUTH_HEADER = "Bearer: token";
 
     public static String readFileContent(String file) throws URISyntaxException, IOException {
         Path path = Paths.get(Thread.currentThread().getContextClassLoader().getResource(file).toURI());
@@ -95,6 +99,40 @@ public abstract class ProcessSvgServiceTest {
         }
     }
 
+    @Test
+    public void getTaggedProcessInstanceSvgTest() throws Exception {
+        AbstractProcessSvgService testedProcessSvgService = getTestedProcessSvgService();
+        List<NodeInstance> completed = Arrays.asList(new NodeInstance(true, "_1A708F87-11C0-42A0-A464-0B7E259C426F"));
+        when(testedProcessSvgService.dataIndexClient.getNodeInstancesFromProcessInstance("pi1", AUTH_HEADER)).thenReturn(completed);
+        when(testedProcessSvgService.dataIndexClient.getNodeInstancesFromProcessInstance("pi2", AUTH_HEADER)).thenReturn(completed);
+        when(testedProcessSvgService.dataIndexClient.getNodeInstancesFromProcessInstance("pi3", AUTH_HEADER))
+                .thenReturn(Arrays.asList(new NodeInstance(false, "_1A708F87-11C0-42A0-A464-0B7E259C426F")));
+
+        Optional<ProcessInstanceSVG> svg = testedProcessSvgService.getTaggedProcessInstanceSvg(PROCESS_ID, "pi1", AUTH_HEADER);
+        assertThat(svg).isPresent();
+        assertThat(svg.get().getSvg()).isEqualTo(readFileContent("travels-expected.svg"));
+        assertThat(svg.get().matches("\"" + svg.get().getETag() + "\"")).isTrue();
+        assertThat(svg.get().matches("W/\"other\", \"" + svg.get().getETag() + "\"")).isTrue();
+        assertThat(svg.get().matches("*")).isTrue();
+        assertThat(svg.get().matches("\"other\"")).isFalse();
+        assertThat(svg.get().matches(null)).isFalse();
+
+        Optional<ProcessInstanceSVG> sameNodes = testedProcessSvgService.getTaggedProcessInstanceSvg(PROCESS_ID, "pi2", AUTH_HEADER);
+        assertThat(sameNodes.get().getETag()).isEqualTo(svg.get().getETag());
+        assertThat(sameNodes.get().getSvg()).isEqualTo(svg.get().getSvg());
+
+        Optional<ProcessInstanceSVG> otherNodes = testedProcessSvgService.getTaggedProcessInstanceSvg(PROCESS_ID, "pi3", AUTH_HEADER);
+        assertThat(otherNodes.get().getETag()).isNotEqualTo(svg.get().getETag());
+
+        // the process SVG is read and parsed only once
+        verify(testedProcessSvgService).getProcessSvg(PROCESS_ID);
+    }
+
+    @Test
+    public void getTaggedProcessInstanceSvgUnknownProcessTest() {
+        assertThat(getTestedProcessSvgService().getTaggedProcessInstanceSvg("UnexistingProcessId", "pi1", AUTH_HEADER)).isEmpty();
+    }
+
     public String getTravelsSVGFile() throws Exception {
         return readFileContent("META-INF/processSVG/travels.svg");
     }
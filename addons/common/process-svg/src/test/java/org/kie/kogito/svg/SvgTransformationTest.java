@@ -15,10 +15,14 @@
  */
 package org.kie.kogito.svg;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +37,7 @@ import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.svg.processor.SVGProcessor;
+import org.kie.kogito.svg.processor.SVGTemplate;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -119,6 +124,28 @@ public class SvgTransformationTest {
         assertEquals("0 0 1748 632", svgDocument.getFirstChild().getAttributes().getNamedItem("viewBox").getNodeValue());
     }
 
+    @Test
+    public void testTemplateRendersLikeProcessor() throws Exception {
+        String svg = new String(readTestFileContent().readAllBytes(), StandardCharsets.UTF_8);
+        SVGTemplate template = SVGTemplate.parse(svg);
+
+        assertTemplateRendersLikeProcessor(svg, template, Collections.emptyList(), Collections.emptyList());
+        assertTemplateRendersLikeProcessor(svg, template,
+                Arrays.asList("_1A708F87-11C0-42A0-A464-0B7E259C426F", "_24FBB8D6-EF2D-4DCC-846D-D8C5E21849D2", "unknown"),
+                Arrays.asList("_24FBB8D6-EF2D-4DCC-846D-D8C5E21849D2", "_1B11BEC9-402A-4E73-959A-296BD334CAB0"));
+        assertTemplateRendersLikeProcessor(svg, template,
+                Arrays.asList("_1B11BEC9-402A-4E73-959A-296BD334CAB0", "_5EA95D17-59A6-4567-92DF-74D36CE7F35A"),
+                Collections.emptyList());
+    }
+
+    private void assertTemplateRendersLikeProcessor(String svg, SVGTemplate template, List<String> completed, List<String> active) {
+        SVGProcessor processor = new SVGImageProcessor(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8))).getProcessor();
+        completed.forEach(nodeId -> processor.defaultCompletedTransformation(nodeId, "#888888", "#888887"));
+        active.forEach(nodeId -> processor.defaultActiveTransformation(nodeId, "#888886"));
+
+        assertEquals(processor.getSVG(), template.render(completed, active, "#888888", "#888887", "#888886"));
+    }
+
     private void validateNodesMarkedAsActive(Document svgDocument, List<String> activeNodes, String activeNodeBorderColor) throws XPathExpressionException {
         for (String activeNode : activeNodes) {
 
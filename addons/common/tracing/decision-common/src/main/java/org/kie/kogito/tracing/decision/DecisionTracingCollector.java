@@ -15,18 +15,20 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.cloudevents.CloudEventUtils;
 import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.Aggregator;
 import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -35,20 +37,41 @@ import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the {@link EvaluateEvent}s of each evaluation and emits the aggregated trace event when the
+ * {@link TerminationDetector} detects its end.
+ *
+ * Events are folded into the evaluation {@link Aggregation} as they arrive. Evaluations that produce more than
+ * {@code maxEventsPerExecution} events are dropped, and evaluations that receive no event for {@code executionTtlMillis}
+ * (e.g. because they were aborted) are expired. Expired evaluations are removed while handling the following events.
+ */
 public class DecisionTracingCollector {
 
+    public static final long DEFAULT_EXECUTION_TTL_MILLIS = 300000L;
+    public static final int DEFAULT_MAX_EVENTS_PER_EXECUTION = 10000;
+
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    private final Map<String, Execution> executions;
     private final Aggregator aggregator;
     private final Consumer<String> payloadConsumer;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final long executionTtlMillis;
+    private final int maxEventsPerExecution;
+    private final LongSupplier clock;
+    private final AtomicLong droppedExecutions = new AtomicLong();
+    private final AtomicLong expiredExecutions = new AtomicLong();
+    private volatile long nextExpiration;
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
-        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
+        this(payloadConsumer, modelSupplier, configBean, DEFAULT_EXECUTION_TTL_MILLIS, DEFAULT_MAX_EVENTS_PER_EXECUTION);
+    }
+
+    public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean,
+            long executionTtlMillis, int maxEventsPerExecution) {
+        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean, executionTtlMillis, maxEventsPerExecution, System::currentTimeMillis);
     }
 
     public DecisionTracingCollector(
@@ -57,47 +80,124 @@ public class DecisionTracingCollector {
             BiFunction<String, String, DMNModel> modelSupplier,
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, DEFAULT_EXECUTION_TTL_MILLIS, DEFAULT_MAX_EVENTS_PER_EXECUTION,
+                System::currentTimeMillis);
+    }
+
+    DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            long executionTtlMillis,
+            int maxEventsPerExecution,
+            LongSupplier clock) {
+        this.executions = new ConcurrentHashMap<>();
         this.aggregator = aggregator;
         this.payloadConsumer = payloadConsumer;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.executionTtlMillis = executionTtlMillis;
+        this.maxEventsPerExecution = maxEventsPerExecution;
+        this.clock = clock;
+        this.nextExpiration = clock.getAsLong() + executionTtlMillis;
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
+        long now = clock.getAsLong();
+        removeExpiredExecutions(now);
+
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+        Execution execution = executions.computeIfAbsent(executionId, id -> {
+            DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
+            LOG.trace("Added evaluation {} to cache (current size: {})", id, executions.size());
+            return new Execution(terminationDetectorSupplier.get(), aggregator.newAggregation(dmnModel, id, configBean), now);
+        });
+
+        execution.lastEventTime = now;
+        execution.terminationDetector.add(event);
+        if (execution.aggregation != null) {
+            if (++execution.events > maxEventsPerExecution) {
+                execution.aggregation = null;
+                droppedExecutions.incrementAndGet();
+                LOG.warn("Dropped evaluation {} because it exceeded the limit of {} events", executionId, maxEventsPerExecution);
+            } else {
+                execution.aggregation.add(event);
+            }
         }
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+        if (execution.terminationDetector.isTerminated()) {
+            executions.remove(executionId);
+            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, executions.size());
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
-            DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
+            if (execution.aggregation != null) {
+                Optional<String> optPayload = execution.aggregation.complete().flatMap(CloudEventUtils::encode);
 
-            if (optPayload.isPresent()) {
-                String payload = optPayload.get();
-                payloadConsumer.accept(payload);
-                LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length());
-            } else {
-                LOG.error("Failed aggregating data for evaluation {}", executionId);
+                if (optPayload.isPresent()) {
+                    String payload = optPayload.get();
+                    payloadConsumer.accept(payload);
+                    LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length());
+                } else {
+                    LOG.error("Failed aggregating data for evaluation {}", executionId);
+                }
             }
+        }
+    }
+
+    /**
+     * @return the number of evaluations dropped because they exceeded the maximum number of events
+     */
+    public long getDroppedExecutions() {
+        return droppedExecutions.get();
+    }
+
+    /**
+     * @return the number of evaluations expired before their end was detected
+     */
+    public long getExpiredExecutions() {
+        return expiredExecutions.get();
+    }
 
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+    /**
+     * @return the number of evaluations whose end has not been detected yet
+     */
+    public int getPendingExecutions() {
+        return executions.size();
+    }
+
+    private void removeExpiredExecutions(long now) {
+        // a full scan is done at most every half TTL, so an evaluation is expired within 1.5 TTL of its last event
+        if (now < nextExpiration) {
+            return;
+        }
+        nextExpiration = now + Math.max(executionTtlMillis / 2, 1);
+        Iterator<Map.Entry<String, Execution>> iterator = executions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Execution> entry = iterator.next();
+            if (now - entry.getValue().lastEventTime >= executionTtlMillis) {
+                iterator.remove();
+                expiredExecutions.incrementAndGet();
+                LOG.warn("Expired evaluation {} after {} ms without events", entry.getKey(), executionTtlMillis);
+            }
         }
     }
 
-    private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
+    private static class Execution {
+
+        private final TerminationDetector terminationDetector;
+        private Aggregation aggregation;
+        private int events;
+        private volatile long lastEventTime;
+
+        private Execution(TerminationDetector terminationDetector, Aggregation aggregation, long lastEventTime) {
+            this.terminationDetector = terminationDetector;
+            this.aggregation = aggregation;
+            // set before the execution is visible to a concurrent expiration scan
+            this.lastEventTime = lastEventTime;
+        }
     }
 }
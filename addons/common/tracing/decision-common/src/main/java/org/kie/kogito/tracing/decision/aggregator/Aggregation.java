@@ -13,17 +13,22 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.kie.kogito.addons.k8s;
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.util.Optional;
+
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+
+import io.cloudevents.CloudEvent;
 
 /**
- * Cache names for the discovery API.
+ * Aggregation of the {@link EvaluateEvent}s of a single evaluation, fed one event at a time.
+ *
+ * Instances are created by {@link Aggregator#newAggregation} and are not thread safe.
  */
-public final class CacheNames {
-
-    public static final String CACHE_BY_NAME = "endpoint-by-name";
-    public static final String CACHE_BY_LABELS = "endpoint-by-labels";
+public interface Aggregation {
 
-    private CacheNames() {
-    }
+    void add(EvaluateEvent event);
 
+    Optional<CloudEvent> complete();
 }
@@ -28,4 +28,13 @@ import io.cloudevents.CloudEvent;
 public interface Aggregator {
 
     Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean);
+
+    /**
+     * Starts the aggregation of a single evaluation. The default implementation buffers all the events
+     * and calls {@link #aggregate} on completion: implementations able to fold events one at a time
+     * should override it to avoid retaining them.
+     */
+    default Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        return new ListAggregation(this, model, executionId, configBean);
+    }
 }
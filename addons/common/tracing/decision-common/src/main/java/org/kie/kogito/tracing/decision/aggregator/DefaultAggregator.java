@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -78,9 +79,16 @@ public class DefaultAggregator implements Aggregator {
 
     @Override
     public Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        return events == null || events.isEmpty()
-                ? buildNotEnoughDataCloudEvent(model, executionId, configBean)
-                : buildDefaultCloudEvent(model, executionId, events, configBean);
+        Aggregation aggregation = newAggregation(model, executionId, configBean);
+        if (events != null) {
+            events.forEach(aggregation::add);
+        }
+        return aggregation.complete();
+    }
+
+    @Override
+    public Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        return new IncrementalAggregation(model, executionId, configBean);
     }
 
     private static Optional<CloudEvent> buildNotEnoughDataCloudEvent(DMNModel model, String executionId, ConfigBean configBean) {
@@ -100,16 +108,12 @@ public class DefaultAggregator implements Aggregator {
                 .build(executionId, buildSource(configBean.getServiceUrl(), null), event, TraceEvent.class);
     }
 
-    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean) {
-        EvaluateEvent firstEvent = events.get(0);
-        EvaluateEvent lastEvent = events.get(events.size() - 1);
-
+    private static Optional<CloudEvent> buildDefaultCloudEvent(DMNModel model, String executionId, EvaluateEvent firstEvent, EvaluateEvent lastEvent,
+            Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair, ConfigBean configBean) {
         List<TraceInputValue> inputs = buildTraceInputValues(model, firstEvent);
 
         List<TraceOutputValue> outputs = buildTraceOutputValues(model, lastEvent);
 
-        Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = buildTraceExecutionSteps(model, executionId, events);
-
         TraceHeader header = new TraceHeader(
                 TraceEventType.DMN,
                 executionId,
@@ -197,27 +201,6 @@ public class DefaultAggregator implements Aggregator {
                 .collect(Collectors.toList());
     }
 
-    private static Pair<List<TraceExecutionStep>, List<Message>> buildTraceExecutionSteps(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        try {
-            return new Pair<>(buildTraceExecutionStepsHierarchy(model, events), Collections.emptyList());
-        } catch (IllegalStateException e) {
-            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
-            return new Pair<>(buildTraceExecutionStepsList(model, events), Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, e)));
-        }
-    }
-
-    private static List<TraceExecutionStep> buildTraceExecutionStepsHierarchy(DMNModel model, List<EvaluateEvent> events) {
-        List<TraceExecutionStep> executionSteps = new ArrayList<>(events.size() / 2);
-        Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>(events.size() / 2);
-        for (int i = 1; i < events.size() - 1; i++) {
-            processEvaluateEventInHierarchy(model, stack, executionSteps, events.get(i));
-        }
-        if (!stack.isEmpty()) {
-            throw new IllegalStateException("Can't match all after events with corresponding before events");
-        }
-        return executionSteps;
-    }
-
     private static void processEvaluateEventInHierarchy(DMNModel model, Deque<DefaultAggregatorStackEntry> stack, List<TraceExecutionStep> executionSteps, EvaluateEvent event) {
         LOG.trace("Started aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
         if (event.getType().isBefore()) {
@@ -226,11 +209,12 @@ public class DefaultAggregator implements Aggregator {
             if (stack.isEmpty() || !stack.peek().isValidAfterEvent(event)) {
                 throw new IllegalStateException(String.format("Can't match %s after event with corresponding before event", event.getType()));
             }
-            DefaultAggregatorStackEntry stackEntry = stack.pop();
-            TraceExecutionStep step = buildTraceExecutionStep(model, stackEntry, event);
+            // the entry is popped only once its step is built, so that a failure leaves its children on the stack
+            TraceExecutionStep step = buildTraceExecutionStep(model, stack.peek(), event);
             if (step == null) {
                 throw new IllegalStateException(String.format("Can't build TraceExecutionStep for a %s event", event.getType()));
             }
+            stack.pop();
             if (stack.isEmpty()) {
                 executionSteps.add(step);
             } else {
@@ -240,12 +224,10 @@ public class DefaultAggregator implements Aggregator {
         LOG.trace("Finished aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
     }
 
-    private static List<TraceExecutionStep> buildTraceExecutionStepsList(DMNModel model, List<EvaluateEvent> events) {
-        return events.stream()
-                .filter(e -> e.getType().isAfter())
-                .map(e -> buildTraceExecutionStep(model, null, e))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private static void flattenTraceExecutionStep(TraceExecutionStep step, List<TraceExecutionStep> flatSteps) {
+        // children complete before their parent, so a post-order visit follows the order of the after events
+        step.getChildren().forEach(child -> flattenTraceExecutionStep(child, flatSteps));
+        flatSteps.add(new TraceExecutionStep(step.getType(), 0L, step.getName(), step.getResult(), step.getMessages(), step.getAdditionalData(), Collections.emptyList()));
     }
 
     private static TraceExecutionStep buildTraceExecutionStep(DMNModel model, DefaultAggregatorStackEntry stackEntry, EvaluateEvent afterEvent) {
@@ -403,4 +385,95 @@ public class DefaultAggregator implements Aggregator {
         return null;
     }
 
+    /**
+     * Folds the events of an evaluation into the execution steps hierarchy as they arrive, retaining only
+     * the first and the last event and the "before" events that are still waiting for their "after" event.
+     *
+     * If the hierarchy can't be built, the steps computed so far are flattened and the remaining "after"
+     * events are appended as a flat list, like the hierarchy was never attempted.
+     */
+    private static class IncrementalAggregation implements Aggregation {
+
+        private final DMNModel model;
+        private final String executionId;
+        private final ConfigBean configBean;
+        private final Deque<DefaultAggregatorStackEntry> stack = new ArrayDeque<>();
+        private List<TraceExecutionStep> executionSteps = new ArrayList<>();
+        private List<TraceExecutionStep> flatSteps;
+        private IllegalStateException hierarchyException;
+        private EvaluateEvent firstEvent;
+        private EvaluateEvent lastEvent;
+
+        IncrementalAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+            this.model = model;
+            this.executionId = executionId;
+            this.configBean = configBean;
+        }
+
+        @Override
+        public void add(EvaluateEvent event) {
+            if (firstEvent == null) {
+                firstEvent = event;
+                return;
+            }
+            // first and last events are the boundaries of the evaluation and are not part of the hierarchy
+            if (lastEvent != null) {
+                fold(lastEvent);
+            }
+            lastEvent = event;
+        }
+
+        @Override
+        public Optional<CloudEvent> complete() {
+            if (firstEvent == null) {
+                return buildNotEnoughDataCloudEvent(model, executionId, configBean);
+            }
+            if (flatSteps == null && !stack.isEmpty()) {
+                fallbackToFlatSteps(new IllegalStateException("Can't match all after events with corresponding before events"));
+            }
+            if (lastEvent != null && flatSteps != null) {
+                addFlatStep(lastEvent);
+            }
+            Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = flatSteps == null
+                    ? new Pair<>(executionSteps, Collections.emptyList())
+                    : new Pair<>(flatSteps, Arrays.asList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, hierarchyException)));
+            return buildDefaultCloudEvent(model, executionId, firstEvent, lastEvent == null ? firstEvent : lastEvent, executionStepsPair, configBean);
+        }
+
+        private void fold(EvaluateEvent event) {
+            if (flatSteps == null) {
+                try {
+                    processEvaluateEventInHierarchy(model, stack, executionSteps, event);
+                    return;
+                } catch (IllegalStateException e) {
+                    fallbackToFlatSteps(e);
+                }
+            }
+            addFlatStep(event);
+        }
+
+        private void fallbackToFlatSteps(IllegalStateException e) {
+            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
+            hierarchyException = e;
+            flatSteps = new ArrayList<>();
+            addFlatStep(firstEvent);
+            executionSteps.forEach(step -> flattenTraceExecutionStep(step, flatSteps));
+            // steps still on the stack completed after the top level ones, from the bottom of the stack up
+            Iterator<DefaultAggregatorStackEntry> openEntries = stack.descendingIterator();
+            while (openEntries.hasNext()) {
+                openEntries.next().getChildren().forEach(step -> flattenTraceExecutionStep(step, flatSteps));
+            }
+            executionSteps = null;
+            stack.clear();
+        }
+
+        private void addFlatStep(EvaluateEvent event) {
+            if (event.getType().isAfter()) {
+                TraceExecutionStep step = buildTraceExecutionStep(model, null, event);
+                if (step != null) {
+                    flatSteps.add(step);
+                }
+            }
+        }
+    }
 }
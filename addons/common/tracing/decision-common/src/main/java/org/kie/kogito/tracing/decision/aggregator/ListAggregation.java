@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * {@link Aggregation} that buffers every event and hands the full list to {@link Aggregator#aggregate}
+ * on completion. Used for aggregators that can't fold events incrementally.
+ */
+class ListAggregation implements Aggregation {
+
+    private final Aggregator aggregator;
+    private final DMNModel model;
+    private final String executionId;
+    private final ConfigBean configBean;
+    private final List<EvaluateEvent> events = new ArrayList<>();
+
+    ListAggregation(Aggregator aggregator, DMNModel model, String executionId, ConfigBean configBean) {
+        this.aggregator = aggregator;
+        this.model = model;
+        this.executionId = executionId;
+        this.configBean = configBean;
+    }
+
+    @Override
+    public void add(EvaluateEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public Optional<CloudEvent> complete() {
+        return aggregator.aggregate(model, executionId, events, configBean);
+    }
+}
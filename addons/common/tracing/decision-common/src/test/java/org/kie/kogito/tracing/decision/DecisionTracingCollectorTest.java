@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -39,6 +40,7 @@ import org.mockito.ArgumentCaptor;
 import io.cloudevents.CloudEvent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_ALL_EXECUTION_ID;
 import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_DECISION_SERVICE_EXECUTION_ID;
@@ -46,7 +48,9 @@ import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -116,6 +120,59 @@ class DecisionTracingCollectorTest {
         assertEquals(expectedEvaluateDecisionService, payloads.get(evaluateDecisionServiceIndex));
     }
 
+    @Test
+    void testCollectorDropsEvaluationsExceedingMaxEvents() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+
+        DecisionTracingCollector collector = new DecisionTracingCollector(
+                new MockDefaultAggregator(),
+                payloadConsumer,
+                (namespace, name) -> model,
+                CounterTerminationDetector::new,
+                configBean,
+                DecisionTracingCollector.DEFAULT_EXECUTION_TTL_MILLIS,
+                evaluateAllEvents.size() - 1,
+                System::currentTimeMillis);
+
+        evaluateAllEvents.forEach(collector::addEvent);
+
+        verify(payloadConsumer, never()).accept(any());
+        assertEquals(1, collector.getDroppedExecutions());
+        assertEquals(0, collector.getPendingExecutions());
+    }
+
+    @Test
+    void testCollectorExpiresIncompleteEvaluations() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        AtomicLong clock = new AtomicLong();
+        long ttl = 1000L;
+
+        DecisionTracingCollector collector = new DecisionTracingCollector(
+                aggregator,
+                payloadConsumer,
+                (namespace, name) -> model,
+                CounterTerminationDetector::new,
+                configBean,
+                ttl,
+                DecisionTracingCollector.DEFAULT_MAX_EVENTS_PER_EXECUTION,
+                clock::get);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        evaluateAllEvents.subList(0, evaluateAllEvents.size() - 1).forEach(collector::addEvent);
+        assertEquals(1, collector.getPendingExecutions());
+
+        clock.addAndGet(ttl);
+        readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE).forEach(collector::addEvent);
+
+        verify(payloadConsumer, times(1)).accept(any());
+        assertEquals(1, collector.getExpiredExecutions());
+        assertEquals(0, collector.getPendingExecutions());
+        assertFalse(aggregator.getCalls().containsKey(EVALUATE_ALL_EXECUTION_ID));
+        assertTrue(aggregator.getCalls().containsKey(EVALUATE_DECISION_SERVICE_EXECUTION_ID));
+    }
+
     private static String encodeFromCall(Map<String, Pair<List<EvaluateEvent>, CloudEvent>> aggregatorCalls, String key) {
         return Optional.ofNullable(aggregatorCalls.get(key))
                 .map(Pair::getRight)
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs;
+
+import java.util.List;
+
+/**
+ * Durable storage of the process instance jobs scheduled by the embedded jobs service, so they survive
+ * restarts of the application. Jobs are claimed by the node that is going to fire them for a limited time
+ * (lease) so that several nodes sharing the same store do not fire the same job twice.
+ */
+public interface JobStore {
+
+    /**
+     * Stores the given job, replacing the job with the same id if there is one.
+     * 
+     * @param job job to store
+     */
+    void store(StoredJob job);
+
+    /**
+     * Updates the given job only if it is still stored and owned by the given owner, never storing it again
+     * once it was removed.
+     * 
+     * @param job job to update, with its new owner and lease expiration
+     * @param owner identifier of the node expected to own the job
+     * @return true if the job was updated, false if it was removed or claimed by another node in the meantime
+     */
+    boolean update(StoredJob job, String owner);
+
+    /**
+     * Extends the lease of a job still owned by the given owner.
+     * 
+     * @param id id of the job
+     * @param owner identifier of the node expected to own the job
+     * @param leaseExpiration time in milliseconds until which the job belongs to the owner
+     * @return true if the lease was extended, false if the job was removed or claimed by another node in the meantime
+     */
+    boolean renew(String id, String owner, long leaseExpiration);
+
+    /**
+     * Removes the job with the given id, doing nothing if there is none.
+     * 
+     * @param id id of the job to remove
+     */
+    void remove(String id);
+
+    /**
+     * Claims the jobs of the given process that are due before the given time and that are either not owned
+     * or whose lease has already expired. Claimed jobs are stored with the given owner and lease expiration.
+     * 
+     * @param processId id of the process the jobs belong to
+     * @param owner identifier of the node claiming the jobs
+     * @param dueBefore time in milliseconds before which jobs are due
+     * @param leaseExpiration time in milliseconds until which the claimed jobs belong to the owner
+     * @param max maximum number of jobs to claim
+     * @return claimed jobs
+     */
+    List<StoredJob> claim(String processId, String owner, long dueBefore, long leaseExpiration, int max);
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.jobs;
+
+import java.util.StringJoiner;
+
+/**
+ * Process instance job as kept by a {@link JobStore}.
+ */
+public class StoredJob {
+
+    private String id;
+    private String processId;
+    private String processInstanceId;
+    private long fireTime;
+    private Long repeatInterval;
+    private Integer repeatLimit;
+    private String owner;
+    private long leaseExpiration;
+
+    public StoredJob() {
+    }
+
+    public StoredJob(String id, String processId, String processInstanceId, long fireTime, Long repeatInterval, Integer repeatLimit) {
+        this.id = id;
+        this.processId = processId;
+        this.processInstanceId = processInstanceId;
+        this.fireTime = fireTime;
+        this.repeatInterval = repeatInterval;
+        this.repeatLimit = repeatLimit;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(String processId) {
+        this.processId = processId;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(String processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    /**
+     * @return time in milliseconds the job fires next
+     */
+    public long getFireTime() {
+        return fireTime;
+    }
+
+    public void setFireTime(long fireTime) {
+        this.fireTime = fireTime;
+    }
+
+    /**
+     * @return interval in milliseconds between two firings, null when the job fires only once
+     */
+    public Long getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(Long repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    /**
+     * @return remaining number of firings
+     */
+    public Integer getRepeatLimit() {
+        return repeatLimit;
+    }
+
+    public void setRepeatLimit(Integer repeatLimit) {
+        this.repeatLimit = repeatLimit;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return time in milliseconds until which the job belongs to its owner
+     */
+    public long getLeaseExpiration() {
+        return leaseExpiration;
+    }
+
+    public void setLeaseExpiration(long leaseExpiration) {
+        this.leaseExpiration = leaseExpiration;
+    }
+
+    /**
+     * @param now current time in milliseconds
+     * @return true if the job is not owned by any node at the given time
+     */
+    public boolean isClaimable(long now) {
+        return owner == null || leaseExpiration <= now;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StoredJob.class.getSimpleName() + "[", "]")
+                .add("id='" + id + "'")
+                .add("processId='" + processId + "'")
+                .add("processInstanceId='" + processInstanceId + "'")
+                .add("fireTime=" + fireTime)
+                .add("repeatInterval=" + repeatInterval)
+                .add("repeatLimit=" + repeatLimit)
+                .add("owner='" + owner + "'")
+                .add("leaseExpiration=" + leaseExpiration)
+                .toString();
+    }
+}
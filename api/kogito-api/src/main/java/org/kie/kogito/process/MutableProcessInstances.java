@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Collection;
+import java.util.OptionalLong;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     boolean exists(String id);
@@ -25,6 +28,20 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     void remove(String id);
 
+    /**
+     * Applies the given creations, updates and removals as a single batch. Stores able to do so execute the whole batch
+     * in one round trip and one transaction, by default they are applied one by one in that order.
+     *
+     * @param created instances to be created
+     * @param updated instances to be updated
+     * @param removed ids of the instances to be removed
+     */
+    default void batch(Collection<ProcessInstance<T>> created, Collection<ProcessInstance<T>> updated, Collection<String> removed) {
+        created.forEach(instance -> create(instance.id(), instance));
+        updated.forEach(instance -> update(instance.id(), instance));
+        removed.forEach(this::remove);
+    }
+
     default boolean isActive(ProcessInstance<T> instance) {
         return instance.status() == ProcessInstance.STATE_ACTIVE || instance.status() == ProcessInstance.STATE_ERROR;
     }
@@ -32,4 +49,14 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     default boolean lock() {
         return false;
     }
+
+    /**
+     * Reads only the version of the stored process instance, as maintained for optimistic locking.
+     *
+     * @param id the process instance id
+     * @return the stored version, or empty when the instance does not exist or the store cannot read it on its own
+     */
+    default OptionalLong version(String id) {
+        return OptionalLong.empty();
+    }
 }
@@ -30,4 +30,12 @@ public interface ProcessConfig extends KogitoConfig {
     UnitOfWorkManager unitOfWorkManager();
 
     JobsService jobsService();
+
+    /**
+     * @return true if the jobs are run on a timing wheel instead of the default in memory jobs service when no
+     *         jobs service is configured
+     */
+    default boolean timingWheelJobsEnabled() {
+        return false;
+    }
 }
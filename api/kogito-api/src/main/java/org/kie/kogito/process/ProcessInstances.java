@@ -16,7 +16,10 @@
 package org.kie.kogito.process;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
@@ -32,5 +35,57 @@ public interface ProcessInstances<T> {
 
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
 
+    default Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, long offset, int limit) {
+        try (Stream<ProcessInstance<T>> stream = stream(mode, offset, limit)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    default Stream<ProcessInstance<T>> stream() {
+        return stream(ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    /**
+     * Returns a lazy stream over the process instances of the process. Implementations backed by a persistent store
+     * load and unmarshall instances only while the stream is consumed, so the returned stream must be closed
+     * (e.g. with try-with-resources) to release the underlying resources.
+     *
+     * @param mode read mode used to unmarshall the instances
+     * @return stream of process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return values(mode).stream();
+    }
+
+    /**
+     * Returns a lazy stream over a page of the process instances of the process, ordered by process instance id.
+     * The returned stream must be closed to release the underlying resources.
+     * <p>
+     * The default reads and sorts every instance before skipping to the page, stores able to page by id should
+     * override it.
+     *
+     * @param mode read mode used to unmarshall the instances
+     * @param offset number of instances to skip
+     * @param limit maximum number of instances to return
+     * @return stream of process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        return stream(mode).sorted(Comparator.comparing(ProcessInstance::id)).skip(offset).limit(limit);
+    }
+
+    /**
+     * Returns a lazy stream over the process instances that may be waiting for the given event type. Implementations
+     * that persist the event types awaited by each instance return only the subscribed instances (plus any instance
+     * whose subscriptions are unknown); the default returns every instance and leaves the filtering to the engine.
+     * The returned stream must be closed to release the underlying resources.
+     *
+     * @param eventType type of the event (signal or message) to be delivered
+     * @param mode read mode used to unmarshall the instances
+     * @return stream of process instances candidate to receive the event
+     */
+    default Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return stream(mode);
+    }
+
     Integer size();
 }
@@ -15,7 +15,27 @@
  */
 package org.kie.kogito.process;
 
+import org.kie.kogito.jobs.JobStore;
+
 public interface ProcessInstancesFactory {
 
     MutableProcessInstances<?> createProcessInstances(Process<?> process);
+
+    /**
+     * Creates the process instances used by the given process. By default they are the ones created by
+     * {@link #createProcessInstances(Process)}, factories may override it to decorate them, for instance with a cache.
+     */
+    default MutableProcessInstances<?> processInstances(Process<?> process) {
+        return createProcessInstances(process);
+    }
+
+    /**
+     * Creates the store keeping the jobs of the given process when no jobs service is configured, so they
+     * survive restarts. By default jobs are not stored and live only in memory.
+     *
+     * @return job store, or null if jobs are not stored
+     */
+    default JobStore createJobStore(Process<?> process) {
+        return null;
+    }
 }
@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -30,6 +31,13 @@ import org.kie.kogito.process.workitem.Comment;
 
 public interface ProcessService {
 
+    /**
+     * Configuration property limiting the number of process instances a page requested through the generated REST
+     * endpoints can hold
+     */
+    String MAX_PAGE_SIZE = "kogito.process.instances.max-page-size";
+    int DEFAULT_MAX_PAGE_SIZE = 1000;
+
     <T extends Model> ProcessInstance<T> createProcessInstance(Process<T> process, String businessKey,
             T model,
             String startFromNodeId);
@@ -41,8 +49,12 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int page, int size);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id);
+
     <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> update(Process<T> process, String id, T resource);
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non blocking variant of {@link MutableProcessInstances} for stores backed by asynchronous clients.
+ * Implementations are expected to build the blocking operations on top of the asynchronous ones, so both
+ * report the same results and errors.
+ *
+ * @param <T> process model type
+ */
+public interface ReactiveMutableProcessInstances<T> extends MutableProcessInstances<T> {
+
+    default CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id) {
+        return findByIdAsync(id, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+}
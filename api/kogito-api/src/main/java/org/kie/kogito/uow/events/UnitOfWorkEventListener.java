@@ -22,6 +22,10 @@ public interface UnitOfWorkEventListener {
         //NO-OP
     }
 
+    default void onBeforeEndEvent(UnitOfWorkEndEvent event) {
+        //NO-OP
+    }
+
     default void onAfterEndEvent(UnitOfWorkEndEvent event) {
         //NO-OP
     }
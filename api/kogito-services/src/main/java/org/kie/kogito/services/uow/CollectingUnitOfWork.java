@@ -17,12 +17,17 @@ package org.kie.kogito.services.uow;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -56,15 +61,51 @@ public class CollectingUnitOfWork implements UnitOfWork {
     public void end() {
         checkStarted();
         EventBatch batch = eventManager.newBatch();
+        Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> pending = new LinkedHashMap<>();
 
         for (WorkUnit<?> work : sorted()) {
             batch.append(work.data());
-            work.perform();
+            if (work instanceof ProcessInstanceWorkUnit && ((ProcessInstanceWorkUnit<?>) work).instances() != null) {
+                pending.computeIfAbsent(((ProcessInstanceWorkUnit<?>) work).instances(), k -> new ArrayList<>()).add((ProcessInstanceWorkUnit<?>) work);
+            } else {
+                flush(pending);
+                work.perform();
+            }
         }
+        flush(pending);
         eventManager.publish(batch);
         done();
     }
 
+    /**
+     * Writes the pending process instance work units collected so far, issuing one batch per store instead of
+     * one write per process instance.
+     */
+    protected void flush(Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> pending) {
+        for (List<ProcessInstanceWorkUnit<?>> units : pending.values()) {
+            if (units.size() == 1) {
+                units.get(0).perform();
+            } else {
+                flush(units);
+            }
+        }
+        pending.clear();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void flush(List<ProcessInstanceWorkUnit<?>> units) {
+        List<ProcessInstance> updated = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (ProcessInstanceWorkUnit<?> unit : units) {
+            if (unit.operation() == ProcessInstanceWorkUnit.Operation.REMOVE) {
+                removed.add(unit.data().id());
+            } else {
+                updated.add(unit.data());
+            }
+        }
+        ((MutableProcessInstances) units.get(0).instances()).batch(Collections.emptyList(), updated, removed);
+    }
+
     @Override
     public void abort() {
         checkStarted();
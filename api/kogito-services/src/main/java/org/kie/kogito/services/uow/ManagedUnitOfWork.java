@@ -29,13 +29,20 @@ public class ManagedUnitOfWork implements UnitOfWork {
 
     private UnitOfWork delegate;
     private Consumer<UnitOfWork> onStart;
+    private Consumer<UnitOfWork> onBeforeEnd;
     private Consumer<UnitOfWork> onEnd;
     private Consumer<UnitOfWork> onAbort;
 
     public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onEnd, Consumer<UnitOfWork> onAbort) {
+        this(delegate, onStart, unit -> {
+        }, onEnd, onAbort);
+    }
+
+    public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onBeforeEnd, Consumer<UnitOfWork> onEnd, Consumer<UnitOfWork> onAbort) {
         super();
         this.delegate = delegate;
         this.onStart = onStart;
+        this.onBeforeEnd = onBeforeEnd;
         this.onEnd = onEnd;
         this.onAbort = onAbort;
     }
@@ -48,6 +55,7 @@ public class ManagedUnitOfWork implements UnitOfWork {
 
     @Override
     public void end() {
+        onBeforeEnd.accept(delegate);
         delegate.end();
         onEnd.accept(delegate);
     }
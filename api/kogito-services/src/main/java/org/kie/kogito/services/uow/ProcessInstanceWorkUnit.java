@@ -17,14 +17,22 @@ package org.kie.kogito.services.uow;
 
 import java.util.function.Consumer;
 
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.uow.WorkUnit;
 
 public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>> {
 
+    public enum Operation {
+        UPDATE,
+        REMOVE
+    }
+
     private ProcessInstance<T> data;
     private Consumer<Object> action;
     private Consumer<Object> compensation;
+    private MutableProcessInstances<T> instances;
+    private Operation operation;
 
     public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action) {
         this.data = data;
@@ -37,11 +45,33 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         this.compensation = compensation;
     }
 
+    /**
+     * Creates a work unit that applies the given operation to the store, letting the unit of work batch it together
+     * with the other operations targeting the same store.
+     */
+    public ProcessInstanceWorkUnit(ProcessInstance<T> data, MutableProcessInstances<T> instances, Operation operation) {
+        this.data = data;
+        this.instances = instances;
+        this.operation = operation;
+        this.action = operation == Operation.REMOVE ? pi -> instances.remove(data.id()) : pi -> instances.update(data.id(), data);
+    }
+
     @Override
     public ProcessInstance<T> data() {
         return data;
     }
 
+    /**
+     * @return the store this unit writes to, or null when it performs a custom action
+     */
+    public MutableProcessInstances<T> instances() {
+        return instances;
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
     @Override
     public void perform() {
         action.accept(data());
@@ -18,32 +18,72 @@ package org.kie.services.jobs.impl;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.jobs.StoredJob;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.Signal;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.timer.TimerInstance;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Jobs service running the jobs within the application.
+ * <p>
+ * By default jobs live only in memory. When created with a {@link JobStore} for a given process, the process
+ * instance jobs are also stored, and the jobs due soon are periodically claimed from the store and scheduled
+ * in memory, so they survive restarts and are shared by all the nodes using the same store. The lease of a job
+ * is renewed for as long as it is being fired, and a repeating job is only stored again if this node still owns
+ * it, so a job cancelled or taken over by another node in the meantime is dropped. Process jobs
+ * (timer start events) are always kept in memory as they are scheduled again whenever the process is activated.
+ * <p>
+ * The instances using a store share the same daemon threads, one claiming jobs and renewing leases and a pool
+ * firing the jobs, which are created on first use and stopped by {@link #shutdownStoredJobs()} when the
+ * application shuts down.
+ */
 public class InMemoryJobService implements JobsService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
     private static final String TRIGGER = "timer";
 
+    public static final long DEFAULT_POLL_INTERVAL = 10000L;
+    public static final long DEFAULT_LEASE = 60000L;
+    private static final int CLAIM_BATCH_SIZE = 100;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static ScheduledThreadPoolExecutor storedJobsScheduler;
+    private static ScheduledExecutorService storedJobsMaintenance;
+
     protected final ScheduledThreadPoolExecutor scheduler;
     protected final KogitoProcessRuntime processRuntime;
     protected final UnitOfWorkManager unitOfWorkManager;
 
+    protected final Process<?> process;
+    protected final JobStore jobStore;
+    private final ScheduledExecutorService maintenance;
+    private final String owner = UUID.randomUUID().toString();
+    private final long pollInterval;
+    private final long lease;
+
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
 
     public InMemoryJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
@@ -51,9 +91,74 @@ public class InMemoryJobService implements JobsService {
     }
 
     public InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
-        this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        this(threadPoolSize, processRuntime, unitOfWorkManager, null, null, DEFAULT_POLL_INTERVAL, DEFAULT_LEASE);
+    }
+
+    /**
+     * Creates a jobs service storing the process instance jobs of the given process in the given store.
+     */
+    public InMemoryJobService(Process<?> process, JobStore jobStore, UnitOfWorkManager unitOfWorkManager) {
+        this(1, null, unitOfWorkManager, process, jobStore, DEFAULT_POLL_INTERVAL, DEFAULT_LEASE);
+    }
+
+    protected InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager,
+            Process<?> process, JobStore jobStore, long pollInterval, long lease) {
         this.processRuntime = processRuntime;
         this.unitOfWorkManager = unitOfWorkManager;
+        this.process = process;
+        this.jobStore = jobStore;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        if (jobStore != null) {
+            this.scheduler = storedJobsScheduler();
+            this.maintenance = storedJobsMaintenance();
+            maintenance.scheduleWithFixedDelay(this::loadStoredJobs, 0, pollInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+            this.maintenance = null;
+        }
+    }
+
+    /**
+     * Stops the threads shared by the instances using a store, interrupting the jobs being fired, which stay claimed
+     * in the store until their lease expires. Instances created afterwards use new threads.
+     */
+    public static synchronized void shutdownStoredJobs() {
+        if (storedJobsScheduler != null) {
+            storedJobsScheduler.shutdownNow();
+            storedJobsScheduler = null;
+        }
+        if (storedJobsMaintenance != null) {
+            storedJobsMaintenance.shutdownNow();
+            storedJobsMaintenance = null;
+        }
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor storedJobsScheduler() {
+        if (storedJobsScheduler == null) {
+            storedJobsScheduler = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(), daemonThreads("kogito-stored-jobs-"));
+            // cancelled jobs of all the processes would otherwise pile up until they are due
+            storedJobsScheduler.setRemoveOnCancelPolicy(true);
+        }
+        return storedJobsScheduler;
+    }
+
+    /**
+     * Claiming jobs and renewing leases use their own thread, so they are never delayed by the jobs being fired.
+     */
+    private static synchronized ScheduledExecutorService storedJobsMaintenance() {
+        if (storedJobsMaintenance == null) {
+            storedJobsMaintenance = Executors.newSingleThreadScheduledExecutor(daemonThreads("kogito-stored-jobs-lease-"));
+        }
+        return storedJobsMaintenance;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     @Override
@@ -71,6 +176,9 @@ public class InMemoryJobService implements JobsService {
 
     @Override
     public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        if (jobStore != null) {
+            return storeProcessInstanceJob(description);
+        }
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
             future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
@@ -86,6 +194,11 @@ public class InMemoryJobService implements JobsService {
     @Override
     public boolean cancelJob(String id) {
         LOGGER.debug("Cancel Job: {}", id);
+        if (jobStore != null) {
+            jobStore.remove(id);
+            ScheduledFuture<?> future = scheduledJobs.remove(id);
+            return future == null || future.cancel(false);
+        }
         if (scheduledJobs.containsKey(id)) {
             return scheduledJobs.remove(id).cancel(true);
         }
@@ -111,17 +224,80 @@ public class InMemoryJobService implements JobsService {
         return Duration.between(ZonedDateTime.now(), description.expirationTime().get()).toMillis();
     }
 
+    protected String storeProcessInstanceJob(ProcessInstanceJobDescription description) {
+        Long repeatInterval = description.expirationTime().repeatInterval();
+        StoredJob job = new StoredJob(description.id(),
+                description.processId(),
+                description.processInstanceId(),
+                description.expirationTime().get().toInstant().toEpochMilli(),
+                repeatInterval,
+                repeatInterval != null ? description.expirationTime().repeatLimit() : 1);
+        storeAndSchedule(job, System.currentTimeMillis());
+        return job.getId();
+    }
+
+    /**
+     * Stores the given job, keeping it for this node and scheduling it right away if it is due before the next
+     * claim of stored jobs, releasing it so any node can claim it otherwise.
+     */
+    private void storeAndSchedule(StoredJob job, long now) {
+        boolean dueSoon = assignOwner(job, now);
+        jobStore.store(job);
+        if (dueSoon) {
+            schedule(job, now);
+        }
+    }
+
+    private boolean assignOwner(StoredJob job, long now) {
+        boolean dueSoon = job.getFireTime() <= now + pollInterval;
+        job.setOwner(dueSoon ? owner : null);
+        job.setLeaseExpiration(dueSoon ? Math.max(job.getFireTime(), now) + lease : 0L);
+        return dueSoon;
+    }
+
+    private void schedule(StoredJob job, long now) {
+        scheduledJobs.computeIfAbsent(job.getId(),
+                id -> scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(job), job.getFireTime() - now, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Claims the stored jobs due before the next claim that are not owned by any node, or whose owner did not
+     * fire them in time, and schedules them.
+     */
+    protected void loadStoredJobs() {
+        try {
+            long now = System.currentTimeMillis();
+            for (StoredJob job : jobStore.claim(process.id(), owner, now + pollInterval, now + pollInterval + lease, CLAIM_BATCH_SIZE)) {
+                LOGGER.debug("Claimed stored job {}", job);
+                schedule(job, now);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to claim stored jobs of process {}", process.id(), e);
+        }
+    }
+
+    /**
+     * @return the process the job starts, which is the process of this service when the job only gives its id and
+     *         there is no process runtime to start it by id, as for the instances using a store
+     */
+    private Process<?> processOf(ProcessJobDescription description) {
+        if (description.process() == null && processRuntime == null && process != null && process.id().equals(description.processId())) {
+            return process;
+        }
+        return description.process();
+    }
+
     protected Runnable processJobByDescription(ProcessJobDescription description) {
-        if (description.process() != null) {
-            return new StartProcessOnExpiredTimer(description.id(), description.process(), true, -1);
+        if (processOf(description) != null) {
+            return new StartProcessOnExpiredTimer(description.id(), processOf(description), true, -1);
         } else {
             return new LegacyStartProcessOnExpiredTimer(description.id(), description.processId(), true, -1);
         }
     }
 
     protected Runnable repeatableProcessJobByDescription(ProcessJobDescription description) {
-        if (description.process() != null) {
-            return new StartProcessOnExpiredTimer(description.id(), description.process(), false, description.expirationTime().repeatLimit());
+        if (processOf(description) != null) {
+            return new StartProcessOnExpiredTimer(description.id(), processOf(description), false, description.expirationTime().repeatLimit());
         } else {
             return new LegacyStartProcessOnExpiredTimer(description.id(), description.processId(), false, description.expirationTime().repeatLimit());
         }
@@ -133,6 +309,7 @@ public class InMemoryJobService implements JobsService {
         private boolean removeAtExecution;
         private String processInstanceId;
         private Integer limit;
+        private StoredJob storedJob;
 
         private SignalProcessInstanceOnExpiredTimer(String id, String processInstanceId, boolean removeAtExecution, Integer limit) {
             this.id = id;
@@ -141,8 +318,17 @@ public class InMemoryJobService implements JobsService {
             this.limit = limit;
         }
 
+        private SignalProcessInstanceOnExpiredTimer(StoredJob storedJob) {
+            this(storedJob.getId(), storedJob.getProcessInstanceId(), true, storedJob.getRepeatLimit());
+            this.storedJob = storedJob;
+        }
+
         @Override
         public void run() {
+            if (storedJob != null) {
+                runStoredJob();
+                return;
+            }
             try {
                 LOGGER.debug("Job {} started", id);
                 UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
@@ -168,6 +354,91 @@ public class InMemoryJobService implements JobsService {
                 }
             }
         }
+
+        private void runStoredJob() {
+            LOGGER.debug("Job {} started", id);
+            long renewalInterval = Math.max(1L, lease / 2);
+            ScheduledFuture<?> renewal = maintenance.scheduleAtFixedRate(this::renewLease, renewalInterval, renewalInterval, TimeUnit.MILLISECONDS);
+            boolean signaled;
+            try {
+                signaled = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, this::signalStoredProcessInstance);
+            } catch (RuntimeException e) {
+                // the job stays claimed in the store and is fired again once its lease expires
+                scheduledJobs.remove(id);
+                LOGGER.error("Job {} failed", id, e);
+                return;
+            } finally {
+                renewal.cancel(false);
+            }
+            // a job cancelled while being fired is not scheduled anymore
+            if (scheduledJobs.remove(id) != null) {
+                rescheduleStoredJob(signaled);
+            }
+            LOGGER.debug("Job {} completed", id);
+        }
+
+        private boolean signalStoredProcessInstance() {
+            Optional<? extends ProcessInstance<?>> pi = process.instances().findById(processInstanceId);
+            if (pi.isPresent()) {
+                String[] ids = id.split("_");
+                limit--;
+                pi.get().send(new TimerTriggered(TimerInstance.with(Long.valueOf(ids[1]), id, limit)));
+                return true;
+            }
+            return false;
+        }
+
+        private void renewLease() {
+            try {
+                if (!jobStore.renew(id, owner, System.currentTimeMillis() + lease)) {
+                    LOGGER.warn("Job {} was cancelled or claimed by another node while being fired", id);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to renew the lease of job {}", id, e);
+            }
+        }
+
+        private void rescheduleStoredJob(boolean signaled) {
+            if (signaled && limit != 0 && storedJob.getRepeatInterval() != null) {
+                long now = System.currentTimeMillis();
+                storedJob.setFireTime(storedJob.getFireTime() + storedJob.getRepeatInterval());
+                storedJob.setRepeatLimit(limit);
+                boolean dueSoon = assignOwner(storedJob, now);
+                // a job removed, or claimed by another node, while being fired is not stored again
+                if (!jobStore.update(storedJob, owner)) {
+                    LOGGER.debug("Job {} was cancelled or claimed by another node, it is not rescheduled", id);
+                } else if (dueSoon) {
+                    schedule(storedJob, now);
+                }
+            } else {
+                // either the last firing or the owning process instance does not exist anymore
+                jobStore.remove(id);
+            }
+        }
+    }
+
+    private static class TimerTriggered implements Signal<TimerInstance> {
+
+        private final TimerInstance timerInstance;
+
+        private TimerTriggered(TimerInstance timerInstance) {
+            this.timerInstance = timerInstance;
+        }
+
+        @Override
+        public String channel() {
+            return "timerTriggered";
+        }
+
+        @Override
+        public TimerInstance payload() {
+            return timerInstance;
+        }
+
+        @Override
+        public String referenceId() {
+            return null;
+        }
     }
 
     private void cancel(String timerId) {
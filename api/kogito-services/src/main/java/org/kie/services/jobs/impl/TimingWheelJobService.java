@@ -0,0 +1,264 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.timer.impl.TimingWheel;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Jobs service running the jobs within the application on a {@link TimingWheel}, scheduling and cancelling jobs in
+ * constant time whatever the number of pending jobs.
+ * <p>
+ * Unless given a wheel, all the instances share the same one, so an application with many processes still uses a
+ * single ticker thread and a single pool of threads executing the jobs.
+ */
+public class TimingWheelJobService implements JobsService {
+
+    /**
+     * Configuration property enabling this jobs service in place of {@link InMemoryJobService} when no jobs service
+     * is configured
+     */
+    public static final String TIMING_WHEEL_ENABLED = "kogito.jobs.timing-wheel.enabled";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheelJobService.class);
+    private static final String TRIGGER = "timer";
+
+    protected final TimingWheel timingWheel;
+    protected final KogitoProcessRuntime processRuntime;
+    protected final UnitOfWorkManager unitOfWorkManager;
+
+    protected final ConcurrentHashMap<String, ScheduledJob> scheduledJobs = new ConcurrentHashMap<>();
+
+    public TimingWheelJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this(SharedTimingWheel.INSTANCE, processRuntime, unitOfWorkManager);
+    }
+
+    public TimingWheelJobService(TimingWheel timingWheel, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this.timingWheel = timingWheel;
+        this.processRuntime = processRuntime;
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    /**
+     * @return the wheel shared by the instances created without a wheel, created on first use
+     */
+    public static TimingWheel sharedTimingWheel() {
+        return SharedTimingWheel.INSTANCE;
+    }
+
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    @Override
+    public String scheduleProcessJob(ProcessJobDescription description) {
+        LOGGER.debug("ScheduleProcessJob: {}", description);
+        boolean repeatable = description.expirationTime().repeatInterval() != null;
+        schedule(new StartProcessJob(description, repeatable ? description.expirationTime().repeatLimit() : -1));
+        return description.id();
+    }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        boolean repeatable = description.expirationTime().repeatInterval() != null;
+        schedule(new SignalProcessInstanceJob(description, repeatable ? description.expirationTime().repeatLimit() : 1));
+        return description.id();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        LOGGER.debug("Cancel Job: {}", id);
+        ScheduledJob job = scheduledJobs.remove(id);
+        return job != null && job.cancel();
+    }
+
+    @Override
+    public ZonedDateTime getScheduledTime(String id) {
+        ScheduledJob job = scheduledJobs.get(id);
+        if (job != null) {
+            long deadline = job.getDeadline();
+            if (deadline > System.currentTimeMillis()) {
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(deadline), ZoneId.systemDefault());
+            }
+        }
+        return null;
+    }
+
+    private void schedule(ScheduledJob job) {
+        ScheduledJob previous = scheduledJobs.put(job.id, job);
+        if (previous != null) {
+            previous.cancel();
+        }
+        job.schedule();
+    }
+
+    private void cancelScheduledJob(ScheduledJob job) {
+        scheduledJobs.remove(job.id, job);
+        job.cancel();
+    }
+
+    /**
+     * Job kept on the wheel until it was fired as many times as its limit, a negative limit meaning no limit.
+     */
+    protected abstract class ScheduledJob implements Runnable {
+
+        protected final String id;
+        private final Long repeatInterval;
+        protected int limit;
+        private long fireTime;
+        private long timerId;
+        private boolean cancelled;
+
+        protected ScheduledJob(JobDescription description, int limit) {
+            this.id = description.id();
+            this.repeatInterval = description.expirationTime().repeatInterval();
+            this.limit = limit;
+            this.fireTime = description.expirationTime().get().toInstant().toEpochMilli();
+        }
+
+        private synchronized void schedule() {
+            if (!cancelled) {
+                timerId = timingWheel.scheduleAt(this, fireTime);
+            }
+        }
+
+        private synchronized boolean cancel() {
+            // a job being fired is not on the wheel, it is simply not scheduled again
+            boolean wasScheduled = !cancelled;
+            cancelled = true;
+            timingWheel.cancel(timerId);
+            return wasScheduled;
+        }
+
+        private synchronized long getDeadline() {
+            return fireTime;
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return;
+            }
+            LOGGER.debug("Job {} started", id);
+            try {
+                execute();
+            } finally {
+                synchronized (this) {
+                    if (repeatInterval != null && limit != 0) {
+                        fireTime += repeatInterval;
+                        schedule();
+                    } else {
+                        scheduledJobs.remove(id, this);
+                    }
+                }
+            }
+            LOGGER.debug("Job {} completed", id);
+        }
+
+        protected abstract void execute();
+    }
+
+    private class SignalProcessInstanceJob extends ScheduledJob {
+
+        private final String processInstanceId;
+
+        private SignalProcessInstanceJob(ProcessInstanceJobDescription description, int limit) {
+            super(description, limit);
+            this.processInstanceId = description.processInstanceId();
+        }
+
+        @Override
+        protected void execute() {
+            UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                KogitoProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
+                if (pi != null) {
+                    String[] ids = id.split("_");
+                    limit--;
+                    pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, limit));
+                    if (limit == 0) {
+                        cancelScheduledJob(this);
+                    }
+                } else {
+                    // since owning process instance does not exist cancel timers
+                    cancelScheduledJob(this);
+                }
+
+                return null;
+            });
+        }
+    }
+
+    private class StartProcessJob extends ScheduledJob {
+
+        @SuppressWarnings("rawtypes")
+        private final org.kie.kogito.process.Process process;
+        private final String processId;
+
+        private StartProcessJob(ProcessJobDescription description, int limit) {
+            super(description, limit);
+            this.process = description.process();
+            this.processId = description.processId();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void execute() {
+            UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                if (process != null) {
+                    org.kie.kogito.process.ProcessInstance<?> pi = process.createInstance(process.createModel());
+                    if (pi != null) {
+                        pi.start(TRIGGER, null);
+                    }
+                } else {
+                    KogitoProcessInstance pi = processRuntime.createProcessInstance(processId, null);
+                    if (pi != null) {
+                        processRuntime.startProcessInstance(pi.getStringId(), TRIGGER);
+                    }
+                }
+
+                return null;
+            });
+            limit--;
+            if (limit == 0) {
+                cancelScheduledJob(this);
+            }
+        }
+    }
+
+    private static class SharedTimingWheel {
+
+        private static final TimingWheel INSTANCE = new TimingWheel();
+    }
+}
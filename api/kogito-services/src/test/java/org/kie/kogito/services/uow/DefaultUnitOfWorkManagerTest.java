@@ -15,10 +15,15 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -30,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DefaultUnitOfWorkManagerTest {
 
@@ -146,4 +152,32 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessInstanceWorkUnitsBatchedPerStore() {
+        MutableProcessInstances<Object> batched = mock(MutableProcessInstances.class);
+        MutableProcessInstances<Object> single = mock(MutableProcessInstances.class);
+        ProcessInstance<Object> updated = mock(ProcessInstance.class);
+        ProcessInstance<Object> removed = mock(ProcessInstance.class);
+        ProcessInstance<Object> other = mock(ProcessInstance.class);
+        when(updated.id()).thenReturn("updated");
+        when(removed.id()).thenReturn("removed");
+        when(other.id()).thenReturn("other");
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unit.intercept(new ProcessInstanceWorkUnit<>(updated, batched, Operation.UPDATE));
+        unit.intercept(new ProcessInstanceWorkUnit<>(removed, batched, Operation.UPDATE));
+        // last operation registered for an instance wins
+        unit.intercept(new ProcessInstanceWorkUnit<>(removed, batched, Operation.REMOVE));
+        unit.intercept(new ProcessInstanceWorkUnit<>(other, single, Operation.UPDATE));
+        unit.end();
+
+        verify(batched).batch(Collections.emptyList(), List.of(updated), List.of("removed"));
+        verify(batched, never()).update(any(), any());
+        verify(batched, never()).remove(any());
+        verify(single).update("other", other);
+        verify(single, never()).batch(any(), any(), any());
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryJobServiceTest {
+
+    private static final String PROCESS_ID = "processId";
+
+    private final JobStore jobStore = mock(JobStore.class);
+
+    @AfterEach
+    void shutdown() {
+        InMemoryJobService.shutdownStoredJobs();
+    }
+
+    @Test
+    void testStoredJobsShareDaemonThreads() {
+        InMemoryJobService first = storedJobService(process(PROCESS_ID));
+        InMemoryJobService second = storedJobService(process("otherProcessId"));
+
+        assertThat(first.scheduler).isSameAs(second.scheduler);
+        assertThat(first.scheduler.getThreadFactory().newThread(() -> {
+        }).isDaemon()).isTrue();
+        verify(jobStore, timeout(5000)).claim(eq(PROCESS_ID), any(), anyLong(), anyLong(), anyInt());
+        verify(jobStore, timeout(5000)).claim(eq("otherProcessId"), any(), anyLong(), anyLong(), anyInt());
+
+        InMemoryJobService.shutdownStoredJobs();
+        assertThat(first.scheduler.isShutdown()).isTrue();
+        assertThat(storedJobService(process(PROCESS_ID)).scheduler).isNotSameAs(first.scheduler);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void testStartTimerGivenByProcessIdStartsTheStoredProcess() {
+        Process process = process(PROCESS_ID);
+        Model model = mock(Model.class);
+        ProcessInstance processInstance = mock(ProcessInstance.class);
+        when(process.createModel()).thenReturn(model);
+        when(process.createInstance(model)).thenReturn(processInstance);
+
+        storedJobService(process).scheduleProcessJob(ProcessJobDescription.of(DurationExpirationTime.after(10), PROCESS_ID));
+
+        verify(processInstance, timeout(5000)).start("timer", null);
+    }
+
+    private InMemoryJobService storedJobService(Process<?> process) {
+        return new InMemoryJobService(process, jobStore, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Process<Model> process(String id) {
+        Process<Model> process = mock(Process.class);
+        when(process.id()).thenReturn(id);
+        return process;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.timer.impl.TimingWheel;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimingWheelJobServiceTest {
+
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+
+    private final TimingWheel timingWheel = new TimingWheel(1L, 2);
+    private final KogitoProcessRuntime processRuntime = mock(KogitoProcessRuntime.class);
+    private final KogitoProcessInstance processInstance = mock(KogitoProcessInstance.class);
+    private final TimingWheelJobService tested = new TimingWheelJobService(timingWheel, processRuntime,
+            new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+
+    @AfterEach
+    void shutdown() {
+        timingWheel.shutdown();
+    }
+
+    @Test
+    void testJobFiresOnce() {
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+        ProcessInstanceJobDescription description = description(DurationExpirationTime.after(50));
+
+        tested.scheduleProcessInstanceJob(description);
+        assertThat(tested.getScheduledTime(description.id())).isNotNull();
+
+        verify(processInstance, timeout(5000)).signalEvent(eq("timerTriggered"), any());
+        verify(processInstance, after(200).times(1)).signalEvent(eq("timerTriggered"), any());
+        assertThat(tested.getScheduledTime(description.id())).isNull();
+        assertThat(tested.cancelJob(description.id())).isFalse();
+        assertThat(timingWheel.getPendingTimers()).isZero();
+    }
+
+    @Test
+    void testRepeatingJobFiresUpToItsLimit() {
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+        ProcessInstanceJobDescription description = description(DurationExpirationTime.repeat(10, 20L, 3));
+
+        tested.scheduleProcessInstanceJob(description);
+
+        ArgumentCaptor<Object> timers = ArgumentCaptor.forClass(Object.class);
+        verify(processInstance, timeout(5000).times(3)).signalEvent(eq("timerTriggered"), timers.capture());
+        verify(processInstance, after(200).times(3)).signalEvent(eq("timerTriggered"), any());
+        assertThat(timers.getAllValues()).extracting(timer -> ((TimerInstance) timer).getRepeatLimit()).containsExactly(2, 1, 0);
+        assertThat(tested.cancelJob(description.id())).isFalse();
+        assertThat(timingWheel.getPendingTimers()).isZero();
+    }
+
+    @Test
+    void testCancelledRepeatingJobStopsFiring() {
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+        ProcessInstanceJobDescription description = description(DurationExpirationTime.repeat(10, 20L));
+
+        tested.scheduleProcessInstanceJob(description);
+        verify(processInstance, timeout(5000).times(2)).signalEvent(eq("timerTriggered"), any());
+
+        assertThat(tested.cancelJob(description.id())).isTrue();
+        assertThat(tested.cancelJob(description.id())).isFalse();
+        assertThat(tested.getScheduledTime(description.id())).isNull();
+
+        ArgumentCaptor<Object> timers = ArgumentCaptor.forClass(Object.class);
+        verify(processInstance, after(100).atLeast(2)).signalEvent(eq("timerTriggered"), timers.capture());
+        int fired = timers.getAllValues().size();
+        verify(processInstance, after(200).times(fired)).signalEvent(eq("timerTriggered"), any());
+        assertThat(timingWheel.getPendingTimers()).isZero();
+    }
+
+    @Test
+    void testJobOfMissingProcessInstanceIsCancelled() {
+        ProcessInstanceJobDescription description = description(DurationExpirationTime.repeat(10, 20L));
+
+        tested.scheduleProcessInstanceJob(description);
+
+        verify(processRuntime, timeout(5000)).getProcessInstance(PROCESS_INSTANCE_ID);
+        verify(processRuntime, after(200).times(1)).getProcessInstance(PROCESS_INSTANCE_ID);
+        assertThat(tested.getScheduledTime(description.id())).isNull();
+        assertThat(timingWheel.getPendingTimers()).isZero();
+    }
+
+    private static ProcessInstanceJobDescription description(DurationExpirationTime expirationTime) {
+        return ProcessInstanceJobDescription.of(123, expirationTime, PROCESS_INSTANCE_ID, "processId");
+    }
+}
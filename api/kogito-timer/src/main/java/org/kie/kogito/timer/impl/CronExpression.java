@@ -17,6 +17,7 @@ package org.kie.kogito.timer.impl;
 
 import java.io.Serializable;
 import java.text.ParseException;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -245,6 +246,9 @@ public class CronExpression implements Serializable, Cloneable {
     protected transient boolean nearestWeekday = false;
     protected transient boolean expressionParsed = false;
 
+    private transient CronSchedule schedule;
+    private transient ZoneId zoneId;
+
     /**
      * Constructs a new <CODE>CronExpression</CODE> based on the specified
      * parameter.
@@ -354,6 +358,7 @@ public class CronExpression implements Serializable, Cloneable {
      */
     public void setTimeZone(TimeZone timeZone) {
         this.timeZone = timeZone;
+        this.zoneId = null;
     }
 
     /**
@@ -463,6 +468,8 @@ public class CronExpression implements Serializable, Cloneable {
                 throw new ParseException(
                         "Support for specifying both or none of day-of-week AND a day-of-month parameters is not implemented.", 0);
             }
+
+            schedule = new CronSchedule(this);
         } catch (ParseException pe) {
             throw pe;
         } catch (Exception e) {
@@ -1113,6 +1120,18 @@ public class CronExpression implements Serializable, Cloneable {
     ////////////////////////////////////////////////////////////////////////////
 
     protected Date getTimeAfter(Date afterTime) {
+        if (zoneId == null) {
+            zoneId = getTimeZone().toZoneId();
+        }
+        return schedule.getTimeAfter(afterTime, zoneId);
+    }
+
+    /**
+     * Computes the next time after the given one by walking the values of the fields with a {@link Calendar}.
+     * This is the evaluation used before {@link #getTimeAfter(Date)} relied on the bitmask based
+     * {@link CronSchedule}, kept as a reference to check and benchmark the latter against.
+     */
+    protected Date getTimeAfterByCalendar(Date afterTime) {
 
         Calendar cl = Calendar.getInstance(getTimeZone());
 
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.timer.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Bitmask based evaluator of a parsed {@link CronExpression}.
+ * <p>
+ * Each field is compiled into a <code>long</code> holding one bit per allowed value, so the next allowed value of a
+ * field is found with a single bit operation, and the days matching the day-of-week field are precomputed for each
+ * day of the week a month can start on. The next fire time is searched on the local date and time fields without
+ * any intermediate calendar, the time zone rules being only involved to convert from and to instants.
+ */
+final class CronSchedule {
+
+    private static final int FIRST_YEAR = 1969;
+    private static final int LAST_YEAR = CronTrigger.YEAR_TO_GIVEUP_SCHEDULING_AT;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int SUNDAY = 1;
+    private static final int SATURDAY = 7;
+    private static final int[] DAY_OF_WEEK_OFFSETS = { 0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4 };
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long[] years;
+
+    private final boolean dayOfMonthSpec;
+    private final boolean lastDayOfMonth;
+    private final boolean nearestWeekday;
+    private final int firstDayOfMonth;
+    private final boolean lastDayOfWeek;
+    private final int nthDayOfWeek;
+    private final int firstDayOfWeek;
+    // days of the month matching the day-of-week field, indexed by the day of the week of the first of the month
+    private final long[] daysOfWeekByFirstDay = new long[7];
+
+    CronSchedule(CronExpression expression) {
+        this.seconds = toMask(expression.seconds);
+        this.minutes = toMask(expression.minutes);
+        this.hours = toMask(expression.hours);
+        this.daysOfMonth = toMask(expression.daysOfMonth);
+        this.months = toMask(expression.months);
+        this.years = new long[(LAST_YEAR - FIRST_YEAR) / Long.SIZE + 1];
+        for (Object value : expression.years) {
+            int year = (Integer) value;
+            if (year >= FIRST_YEAR && year <= LAST_YEAR) {
+                years[(year - FIRST_YEAR) / Long.SIZE] |= 1L << (year - FIRST_YEAR);
+            }
+        }
+
+        this.dayOfMonthSpec = !expression.daysOfMonth.contains(CronExpression.NO_SPEC);
+        this.lastDayOfMonth = expression.lastdayOfMonth;
+        this.nearestWeekday = expression.nearestWeekday;
+        this.firstDayOfMonth = first(daysOfMonth);
+        this.lastDayOfWeek = expression.lastdayOfWeek;
+        this.nthDayOfWeek = expression.nthdayOfWeek;
+        long daysOfWeek = toMask(expression.daysOfWeek);
+        this.firstDayOfWeek = first(daysOfWeek);
+        for (int firstDay = SUNDAY; firstDay <= SATURDAY; firstDay++) {
+            for (int day = 1; day <= 31; day++) {
+                if ((daysOfWeek & (1L << ((firstDay - 1 + day - 1) % 7 + 1))) != 0) {
+                    daysOfWeekByFirstDay[firstDay - 1] |= 1L << day;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the first time, with a precision of one second, strictly after the given one that matches the
+     * expression in the given time zone, or <code>null</code> if there is none before the year the scheduling
+     * is given up at.
+     */
+    Date getTimeAfter(Date afterTime, ZoneId zoneId) {
+        ZoneRules rules = zoneId.getRules();
+        long start = Math.floorDiv(afterTime.getTime(), 1000L) + 1;
+        while (true) {
+            long local = nextLocalTime(start + rules.getOffset(Instant.ofEpochSecond(start)).getTotalSeconds());
+            if (local < 0) {
+                return null;
+            }
+            if (rules.isFixedOffset()) {
+                return toDate(local - rules.getOffset(Instant.EPOCH).getTotalSeconds());
+            }
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = rules.getTransition(dateTime);
+            if (transition == null) {
+                return toDate(local - rules.getOffset(dateTime).getTotalSeconds());
+            }
+            if (transition.isGap()) {
+                // the local time does not exist, search again from the end of the gap
+                start = transition.toEpochSecond();
+                continue;
+            }
+            // the local time exists twice, resolved to the standard time like a lenient calendar does
+            return toDate(local - transition.getOffsetAfter().getTotalSeconds());
+        }
+    }
+
+    /**
+     * Returns the first local time at or after the given one matching the expression, both expressed in seconds
+     * since the local epoch, or -1 if there is none.
+     */
+    long nextLocalTime(long localTime) {
+        long epochDay = Math.floorDiv(localTime, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localTime, SECONDS_PER_DAY);
+        // civil date from the epoch day, see http://howardhinnant.github.io/date_algorithms.html
+        long shifted = epochDay + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        while (true) {
+            int nextYear = nextYear(year);
+            if (nextYear < 0) {
+                return -1;
+            }
+            if (nextYear != year) {
+                year = nextYear;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+            }
+
+            int nextMonth = next(months, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+
+            int nextDay = next(daysOf(year, month), day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+
+            int nextHour = next(hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+
+            int nextMinute = next(minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+
+            int nextSecond = next(seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            return toEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + nextSecond;
+        }
+    }
+
+    /**
+     * Returns the days of the given month matching the day-of-month and day-of-week fields, bit <i>n</i> being set
+     * when day <i>n</i> matches.
+     */
+    long daysOf(int year, int month) {
+        int length = Month.of(month).length(Year.isLeap(year));
+        long monthDays = ((1L << length) - 1) << 1;
+        if (dayOfMonthSpec) {
+            if (lastDayOfMonth) {
+                return 1L << (nearestWeekday ? nearestWeekday(year, month, length, length) : length);
+            }
+            if (nearestWeekday) {
+                // months shorter than the given day never fire
+                return firstDayOfMonth <= length ? 1L << nearestWeekday(year, month, firstDayOfMonth, length) : 0L;
+            }
+            return daysOfMonth & monthDays;
+        }
+        int firstDay = dayOfWeek(year, month, 1);
+        if (lastDayOfWeek || nthDayOfWeek != 0) {
+            int first = 1 + (firstDayOfWeek - firstDay + 7) % 7;
+            int day = lastDayOfWeek ? first + (length - first) / 7 * 7 : first + (nthDayOfWeek - 1) * 7;
+            return day <= length ? 1L << day : 0L;
+        }
+        return daysOfWeekByFirstDay[firstDay - 1] & monthDays;
+    }
+
+    private static int nearestWeekday(int year, int month, int day, int length) {
+        int dayOfWeek = dayOfWeek(year, month, day);
+        if (dayOfWeek == SATURDAY) {
+            return day == 1 ? day + 2 : day - 1;
+        }
+        if (dayOfWeek == SUNDAY) {
+            return day == length ? day - 2 : day + 1;
+        }
+        return day;
+    }
+
+    /**
+     * @return the day of the week of the given date, from 1 for Sunday to 7 for Saturday
+     */
+    static int dayOfWeek(int year, int month, int day) {
+        int y = month < 3 ? year - 1 : year;
+        return (y + y / 4 - y / 100 + y / 400 + DAY_OF_WEEK_OFFSETS[month - 1] + day) % 7 + 1;
+    }
+
+    private static long toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private int nextYear(int year) {
+        if (year < FIRST_YEAR) {
+            year = FIRST_YEAR;
+        }
+        for (int index = year - FIRST_YEAR; index <= LAST_YEAR - FIRST_YEAR;) {
+            long word = years[index / Long.SIZE] & (-1L << index);
+            if (word != 0) {
+                return FIRST_YEAR + (index / Long.SIZE) * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            index = (index / Long.SIZE + 1) * Long.SIZE;
+        }
+        return -1;
+    }
+
+    private static int next(long mask, int from) {
+        if (from >= Long.SIZE) {
+            return -1;
+        }
+        long candidates = mask & (-1L << from);
+        return candidates == 0 ? -1 : Long.numberOfTrailingZeros(candidates);
+    }
+
+    private static int first(long mask) {
+        return mask == 0 ? -1 : Long.numberOfTrailingZeros(mask);
+    }
+
+    private static long toMask(Set<?> values) {
+        long mask = 0L;
+        for (Object value : values) {
+            int bit = (Integer) value;
+            // skips the '*' and '?' markers
+            if (bit >= 0 && bit < Long.SIZE && bit != CronExpression.ALL_SPEC_INT && bit != CronExpression.NO_SPEC_INT) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    private static Date toDate(long epochSecond) {
+        return new Date(epochSecond * 1000L);
+    }
+}
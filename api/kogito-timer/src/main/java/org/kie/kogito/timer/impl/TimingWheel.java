@@ -0,0 +1,363 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.timer.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hierarchical timing wheel scheduling one shot tasks in constant time.
+ * <p>
+ * Pending timers are kept in primitive arrays and linked in the buckets of {@value #LEVELS} wheels of
+ * {@value #WHEEL_SIZE} buckets each, the first wheel having one bucket per tick and each following wheel one
+ * bucket per turn of the previous one. Scheduling and cancelling a timer only link or unlink it from its bucket,
+ * while a single ticker thread moves the timers down the wheels as time goes by and hands the expired ones
+ * over to a separate pool of threads, so a slow task never delays the firing of the others.
+ * <p>
+ * Timers never fire before their deadline, but may fire up to one tick after it. The delay between the deadline
+ * of a timer and the actual execution of its task is measured as the timer lag.
+ */
+public class TimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    public static final long DEFAULT_TICK = 10L;
+
+    static final int WHEEL_BITS = 8;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int LEVELS = 4;
+
+    private static final long WHEEL_MASK = WHEEL_SIZE - 1L;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+
+    private static final AtomicInteger wheelCounter = new AtomicInteger();
+
+    private final long tick;
+    private final long start;
+    private final ExecutorService executor;
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    // timers, indexed by slot, all guarded by this
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private Runnable[] tasks = new Runnable[INITIAL_CAPACITY];
+    private int[] buckets = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private final int[] heads = new int[LEVELS * WHEEL_SIZE];
+    private int free = NONE;
+    private int used;
+    private int pending;
+    private long currentTick;
+
+    private final LongAdder firedTimers = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    public TimingWheel() {
+        this(DEFAULT_TICK, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param tick the duration of a tick in milliseconds, that is the precision of the timers
+     * @param poolSize the number of threads executing the tasks of the expired timers
+     */
+    public TimingWheel(long tick, int poolSize) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive but was " + tick);
+        }
+        this.tick = tick;
+        this.start = System.currentTimeMillis();
+        String name = "kogito-timing-wheel-" + wheelCounter.incrementAndGet();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory(name + "-job-"));
+        Arrays.fill(heads, NONE);
+        this.ticker = new Thread(this::run, name + "-ticker");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules the given task to be executed after the given delay.
+     *
+     * @return the id of the timer, to be used to cancel it
+     */
+    public long schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, System.currentTimeMillis() + unit.toMillis(Math.max(delay, 0L)));
+    }
+
+    /**
+     * Schedules the given task to be executed at the given time, in milliseconds since the epoch.
+     *
+     * @return the id of the timer, to be used to cancel it
+     */
+    public synchronized long scheduleAt(Runnable task, long deadline) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel has been shut down");
+        }
+        int timer = allocate();
+        deadlines[timer] = deadline;
+        tasks[timer] = task;
+        link(timer);
+        pending++;
+        return ((long) generations[timer] << 32) | timer;
+    }
+
+    /**
+     * Cancels the given timer.
+     *
+     * @return true if the timer was pending, false if it already fired or was cancelled
+     */
+    public synchronized boolean cancel(long timerId) {
+        int timer = indexOf(timerId);
+        if (timer == NONE) {
+            return false;
+        }
+        unlink(timer);
+        release(timer);
+        pending--;
+        return true;
+    }
+
+    /**
+     * @return the deadline of the given timer, in milliseconds since the epoch, or -1 if it is not pending anymore
+     */
+    public synchronized long getDeadline(long timerId) {
+        int timer = indexOf(timerId);
+        return timer == NONE ? -1L : deadlines[timer];
+    }
+
+    public synchronized int getPendingTimers() {
+        return pending;
+    }
+
+    public long getFiredTimers() {
+        return firedTimers.sum();
+    }
+
+    /**
+     * @return the average delay, in milliseconds, between the deadline of the fired timers and the execution of
+     *         their task
+     */
+    public long getAverageLag() {
+        long fired = firedTimers.sum();
+        return fired == 0 ? 0L : totalLag.sum() / fired;
+    }
+
+    /**
+     * @return the maximum delay, in milliseconds, between the deadline of a fired timer and the execution of its task
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    public void shutdown() {
+        running = false;
+        ticker.interrupt();
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            for (Runnable expired : advance(now)) {
+                executor.execute(expired);
+            }
+            try {
+                Thread.sleep(tick - (System.currentTimeMillis() - start) % tick);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fires the timers of all the ticks elapsed until the given time, moving the timers of the upper wheels down
+     * whenever a wheel completes a turn.
+     */
+    synchronized List<Runnable> advance(long now) {
+        List<Runnable> expired = new ArrayList<>();
+        long nowTick = (now - start) / tick;
+        while (currentTick < nowTick) {
+            long firing = currentTick + 1;
+            cascade(firing);
+            expire((int) (firing & WHEEL_MASK), expired);
+            currentTick = firing;
+        }
+        return expired;
+    }
+
+    private void cascade(long firing) {
+        int level = 0;
+        while (level + 1 < LEVELS && (firing & ((1L << ((level + 1) * WHEEL_BITS)) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            int bucket = level * WHEEL_SIZE + (int) ((firing >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+            int timer = heads[bucket];
+            heads[bucket] = NONE;
+            while (timer != NONE) {
+                int following = next[timer];
+                link(timer);
+                timer = following;
+            }
+        }
+    }
+
+    private void expire(int bucket, List<Runnable> expired) {
+        int timer = heads[bucket];
+        heads[bucket] = NONE;
+        while (timer != NONE) {
+            int following = next[timer];
+            expired.add(new ExpiredTimer(tasks[timer], deadlines[timer]));
+            release(timer);
+            pending--;
+            timer = following;
+        }
+    }
+
+    /**
+     * Links the given timer in the bucket of the lowest wheel covering its deadline, counting from the next tick
+     * to be fired. Deadlines already passed are fired on the next tick, deadlines beyond the range of the wheels
+     * are parked in the last bucket of the upper wheel and linked again when reached.
+     */
+    private void link(int timer) {
+        long base = currentTick + 1;
+        long deadlineTick = Math.max(ticksOf(deadlines[timer]), base);
+        long delta = Math.min(deadlineTick - base, MAX_TICKS);
+        deadlineTick = base + delta;
+        int level = (63 - Long.numberOfLeadingZeros(delta | 1)) / WHEEL_BITS;
+        int bucket = level * WHEEL_SIZE + (int) ((deadlineTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+
+        int head = heads[bucket];
+        buckets[timer] = bucket;
+        previous[timer] = NONE;
+        next[timer] = head;
+        if (head != NONE) {
+            previous[head] = timer;
+        }
+        heads[bucket] = timer;
+    }
+
+    private void unlink(int timer) {
+        int before = previous[timer];
+        int after = next[timer];
+        if (before == NONE) {
+            heads[buckets[timer]] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NONE) {
+            previous[after] = before;
+        }
+    }
+
+    private long ticksOf(long deadline) {
+        long elapsed = deadline - start;
+        return elapsed <= 0 ? 0L : (elapsed + tick - 1) / tick;
+    }
+
+    private int indexOf(long timerId) {
+        int timer = (int) timerId;
+        if (timer < 0 || timer >= used || buckets[timer] == NONE || generations[timer] != (int) (timerId >>> 32)) {
+            return NONE;
+        }
+        return timer;
+    }
+
+    private int allocate() {
+        int timer = free;
+        if (timer != NONE) {
+            free = next[timer];
+            return timer;
+        }
+        if (used == deadlines.length) {
+            int capacity = deadlines.length * 2;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int timer) {
+        // bumping the generation makes the ids of fired or cancelled timers stale
+        generations[timer]++;
+        tasks[timer] = null;
+        buckets[timer] = NONE;
+        next[timer] = free;
+        free = timer;
+    }
+
+    private class ExpiredTimer implements Runnable {
+
+        private final Runnable task;
+        private final long deadline;
+
+        private ExpiredTimer(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            long lag = Math.max(System.currentTimeMillis() - deadline, 0L);
+            firedTimers.increment();
+            totalLag.add(lag);
+            maxLag.accumulateAndGet(lag, Math::max);
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("Unable to execute timer task!", e);
+            }
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        private DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.timer.impl;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CronExpressionTest {
+
+    private static final String[] ZONES = { "UTC", "America/New_York", "Europe/Paris", "Australia/Lord_Howe" };
+    private static final String[] EXPRESSIONS = { "0 0/5 9-17 ? * MON-FRI", "*/20 10,40 22-3 ? * SAT,SUN", "0 15 10 L * ?", "0 0 12 LW 2/3 ?",
+            "0 0 12 15W * ?", "0 0 12 ? * 6#3", "0 0 12 ? * 2L", "0 0 0/6 1-10 NOV-FEB ?", "0 30 1 * * ? 2020-2030", "15 0/45 * * * ?" };
+
+    @Test
+    void testNextFireTimes() throws ParseException {
+        assertThat(next("0 0/30 9-17 ? * MON-FRI", "2021-10-15T17:45:00")).isEqualTo("2021-10-18T09:00");
+        assertThat(next("0 15 10 L * ?", "2021-02-01T00:00:00")).isEqualTo("2021-02-28T10:15");
+        assertThat(next("0 0 12 LW * ?", "2021-10-01T00:00:00")).isEqualTo("2021-10-29T12:00");
+        assertThat(next("0 0 12 15W * ?", "2021-05-01T00:00:00")).isEqualTo("2021-05-14T12:00");
+        assertThat(next("0 0 12 1W * ?", "2021-04-30T13:00:00")).isEqualTo("2021-05-03T12:00");
+        assertThat(next("0 0 12 ? * 6#3", "2021-10-16T00:00:00")).isEqualTo("2021-11-19T12:00");
+        assertThat(next("0 0 12 ? * 2L", "2021-10-01T00:00:00")).isEqualTo("2021-10-25T12:00");
+        assertThat(next("0 0 0 29 2 ?", "2021-03-01T00:00:00")).isEqualTo("2024-02-29T00:00");
+        assertThat(next("0 0 0 1 1 ? 2030", "2031-01-01T00:00:00")).isNull();
+    }
+
+    @Test
+    void testDaylightSavingTime() throws ParseException {
+        CronExpression cronExpression = new CronExpression("0 30 2 * * ?");
+        cronExpression.setTimeZone(TimeZone.getTimeZone("Europe/Paris"));
+        Date after = Date.from(ZonedDateTime.of(2021, 3, 27, 3, 0, 0, 0, ZoneId.of("Europe/Paris")).toInstant());
+
+        // 2:30 does not exist on the 28th of March
+        assertThat(cronExpression.getTimeAfter(after)).isEqualTo(Date.from(ZonedDateTime.of(2021, 3, 29, 2, 30, 0, 0, ZoneId.of("Europe/Paris")).toInstant()));
+    }
+
+    @Test
+    void testSameFireTimesAsCalendarEvaluation() throws ParseException {
+        Random random = new Random(42);
+        for (String expression : EXPRESSIONS) {
+            CronExpression cronExpression = new CronExpression(expression);
+            for (String zone : ZONES) {
+                cronExpression.setTimeZone(TimeZone.getTimeZone(zone));
+                Date after = new Date(946684800000L + (long) (random.nextDouble() * 1000000000000L));
+                for (int i = 0; i < 500 && after != null; i++) {
+                    Date next = cronExpression.getTimeAfter(after);
+                    assertThat(next).as("%s in %s after %s", expression, zone, after).isEqualTo(cronExpression.getTimeAfterByCalendar(after));
+                    after = next;
+                }
+            }
+        }
+    }
+
+    private static String next(String expression, String after) throws ParseException {
+        CronExpression cronExpression = new CronExpression(expression);
+        cronExpression.setTimeZone(TimeZone.getTimeZone("UTC"));
+        Date next = cronExpression.getTimeAfter(Date.from(LocalDateTime.parse(after).toInstant(ZoneOffset.UTC)));
+        return next == null ? null : next.toInstant().atZone(ZoneId.of("UTC")).toLocalDateTime().toString();
+    }
+}
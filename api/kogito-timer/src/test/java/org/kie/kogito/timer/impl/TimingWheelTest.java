@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.timer.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final TimingWheel timingWheel = new TimingWheel(1L, 2);
+
+    @AfterEach
+    void shutdown() {
+        timingWheel.shutdown();
+    }
+
+    @Test
+    void testTimersFireInDeadlineOrder() throws Exception {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        long now = System.currentTimeMillis();
+        timingWheel.scheduleAt(() -> {
+            fired.add(3);
+            latch.countDown();
+        }, now + 300);
+        timingWheel.scheduleAt(() -> {
+            fired.add(1);
+            latch.countDown();
+        }, now + 100);
+        timingWheel.scheduleAt(() -> {
+            fired.add(2);
+            latch.countDown();
+        }, now + 200);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly(1, 2, 3);
+        assertThat(System.currentTimeMillis()).isGreaterThanOrEqualTo(now + 300);
+        assertThat(timingWheel.getPendingTimers()).isZero();
+        assertThat(timingWheel.getFiredTimers()).isEqualTo(3);
+    }
+
+    @Test
+    void testCancelledTimerDoesNotFire() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        long cancelled = timingWheel.schedule(fired::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        timingWheel.schedule(latch::countDown, 200, TimeUnit.MILLISECONDS);
+
+        assertThat(timingWheel.getPendingTimers()).isEqualTo(2);
+        assertThat(timingWheel.getDeadline(cancelled)).isPositive();
+        assertThat(timingWheel.cancel(cancelled)).isTrue();
+        assertThat(timingWheel.cancel(cancelled)).isFalse();
+        assertThat(timingWheel.getDeadline(cancelled)).isEqualTo(-1L);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired.get()).isZero();
+    }
+
+    @Test
+    void testFiredTimerCannotBeCancelled() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long timerId = timingWheel.schedule(latch::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timingWheel.cancel(timerId)).isFalse();
+    }
+
+    @Test
+    void testTimerIdsOfReusedSlotsAreDistinct() {
+        long first = timingWheel.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        assertThat(timingWheel.cancel(first)).isTrue();
+        long second = timingWheel.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(timingWheel.cancel(first)).isFalse();
+        assertThat(timingWheel.cancel(second)).isTrue();
+    }
+
+    @Test
+    void testAdvanceCascadesTimersOfUpperWheels() {
+        TimingWheel wheel = new TimingWheel(1000L, 1);
+        try {
+            long now = System.currentTimeMillis();
+            int count = 10000;
+            for (int i = 0; i < count; i++) {
+                wheel.scheduleAt(() -> {
+                }, now + 3600_000L + i * 1000L);
+            }
+            long elapsed = 0;
+            int expired = 0;
+            while (elapsed <= 3600_000L + count * 1000L) {
+                elapsed += 60_000L;
+                expired += wheel.advance(now + elapsed).size();
+                assertThat(expired).isLessThanOrEqualTo((int) Math.max(0, (elapsed - 3600_000L) / 1000L + 1));
+            }
+            assertThat(expired).isEqualTo(count);
+            assertThat(wheel.getPendingTimers()).isZero();
+        } finally {
+            wheel.shutdown();
+        }
+    }
+}
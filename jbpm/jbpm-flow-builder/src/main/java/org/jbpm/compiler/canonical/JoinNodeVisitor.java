@@ -21,6 +21,7 @@ import org.jbpm.workflow.core.node.Join;
 
 import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 
 import static org.jbpm.ruleflow.core.factory.JoinFactory.METHOD_TYPE;
@@ -37,6 +38,9 @@ public class JoinNodeVisitor extends AbstractNodeVisitor<Join> {
         body.addStatement(getAssignedFactoryMethod(factoryField, JoinFactory.class, getNodeId(node), getNodeKey(), new LongLiteralExpr(node.getId())));
         body.addStatement(getNameMethod(node, "Join"));
         body.addStatement(getFactoryMethod(getNodeId(node), METHOD_TYPE, new IntegerLiteralExpr(node.getType())));
+        if (node.getN() != null) {
+            body.addStatement(getFactoryMethod(getNodeId(node), METHOD_TYPE, new StringLiteralExpr(node.getN())));
+        }
 
         visitMetaData(node.getMetaData(), body, getNodeId(node));
         body.addStatement(getDoneMethod(getNodeId(node)));
@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -63,6 +66,9 @@ import org.slf4j.LoggerFactory;
  * 
  * Weekend days should be given as integer that corresponds to <code>java.util.Calendar</code> constants.
  * <br/>
+ * The configuration is compiled once into a {@link BusinessCalendarIndex} of working periods, shared by all
+ * calendars with the same configuration, so calculations do not depend on the length of the given duration.
+ * <br/>
  * 
  */
 public class BusinessCalendarImpl implements BusinessCalendar {
@@ -82,6 +88,7 @@ public class BusinessCalendarImpl implements BusinessCalendar {
     private List<TimePeriod> holidays;
     private List<Integer> weekendDays = new ArrayList<Integer>();
     private SessionClock clock;
+    private BusinessCalendarIndex index;
 
     private static final int SIM_WEEK = 3;
     private static final int SIM_DAY = 5;
@@ -147,9 +154,26 @@ public class BusinessCalendarImpl implements BusinessCalendar {
         holidays = parseHolidays();
         parseWeekendDays();
         this.timezone = businessCalendarConfiguration.getProperty(TIMEZONE);
+        ZoneId zone = timezone != null ? TimeZone.getTimeZone(timezone).toZoneId() : ZoneId.systemDefault();
+        index = BusinessCalendarIndex.of(zone, startHour, endHour, weekendDays, toEpochDays(holidays, zone));
+    }
+
+    private static long[] toEpochDays(List<TimePeriod> periods, ZoneId zone) {
+        long[] days = new long[periods.size() * 2];
+        int i = 0;
+        for (TimePeriod period : periods) {
+            days[i++] = period.getFrom().toInstant().atZone(zone).toLocalDate().toEpochDay();
+            ZonedDateTime to = period.getTo().toInstant().atZone(zone);
+            days[i++] = to.toLocalDate().toEpochDay() + (to.toLocalTime().equals(LocalTime.MIDNIGHT) ? 0 : 1);
+        }
+        return days;
     }
 
     protected String adoptISOFormat(String timeExpression) {
+        if (timeExpression != null && PatternConstants.SIMPLE_TIME_DATE_MATCHER.matcher(timeExpression).matches()) {
+            // already in the simple format, spare the date time parsing attempt and its exception
+            return timeExpression;
+        }
 
         try {
             Duration p = null;
@@ -200,25 +224,33 @@ public class BusinessCalendarImpl implements BusinessCalendar {
     }
 
     public Date calculateBusinessTimeAsDate(String timeExpression) {
-        timeExpression = adoptISOFormat(timeExpression);
+        int[] time = parseTimeExpression(timeExpression);
+        int days = time[1];
+        int hours = time[2];
 
-        String trimmed = timeExpression.trim();
-        int weeks = 0;
-        int days = 0;
-        int hours = 0;
-        int min = 0;
-        int sec = 0;
+        // whole weeks move the calendar, the rest is spent as working days and working time
+        int numberOfWeeks = days / daysPerWeek + time[0];
+        hours += (days - (days / daysPerWeek) * daysPerWeek) * hoursInDay;
+        long millis = (hours % hoursInDay) * HOUR_IN_MILLIS + time[3] * 60000L + time[4] * 1000L;
 
-        if (trimmed.length() > 0) {
-            Matcher mat = PatternConstants.SIMPLE_TIME_DATE_MATCHER.matcher(trimmed);
-            if (mat.matches()) {
-                weeks = (mat.group(SIM_WEEK) != null) ? Integer.parseInt(mat.group(SIM_WEEK)) : 0;
-                days = (mat.group(SIM_DAY) != null) ? Integer.parseInt(mat.group(SIM_DAY)) : 0;
-                hours = (mat.group(SIM_HOU) != null) ? Integer.parseInt(mat.group(SIM_HOU)) : 0;
-                min = (mat.group(SIM_MIN) != null) ? Integer.parseInt(mat.group(SIM_MIN)) : 0;
-                sec = (mat.group(SIM_SEC) != null) ? Integer.parseInt(mat.group(SIM_SEC)) : 0;
-            }
-        }
+        return new Date(index.addWorkingTime(getCurrentTime(), numberOfWeeks, hours / hoursInDay, millis));
+    }
+
+    /**
+     * Calculates the target date by walking a calendar step by step, checking weekends and holidays on the way.
+     * This was the implementation of {@link #calculateBusinessTimeAsDate(String)} before working time was
+     * compiled into {@link BusinessCalendarIndex}, kept as a reference for checking and benchmarking it.
+     *
+     * @param timeExpression time expression that is supported by business calendar implementation.
+     * @return date when given time expression will match in the future
+     */
+    protected Date calculateBusinessTimeAsDateByCalendar(String timeExpression) {
+        int[] parsed = parseTimeExpression(timeExpression);
+        int weeks = parsed[0];
+        int days = parsed[1];
+        int hours = parsed[2];
+        int min = parsed[3];
+        int sec = parsed[4];
         int time = 0;
 
         Calendar c = new GregorianCalendar();
@@ -306,6 +338,23 @@ public class BusinessCalendarImpl implements BusinessCalendar {
         return c.getTime();
     }
 
+    private int[] parseTimeExpression(String timeExpression) {
+        String trimmed = adoptISOFormat(timeExpression).trim();
+        int[] time = new int[5];
+
+        if (trimmed.length() > 0) {
+            Matcher mat = PatternConstants.SIMPLE_TIME_DATE_MATCHER.matcher(trimmed);
+            if (mat.matches()) {
+                time[0] = (mat.group(SIM_WEEK) != null) ? Integer.parseInt(mat.group(SIM_WEEK)) : 0;
+                time[1] = (mat.group(SIM_DAY) != null) ? Integer.parseInt(mat.group(SIM_DAY)) : 0;
+                time[2] = (mat.group(SIM_HOU) != null) ? Integer.parseInt(mat.group(SIM_HOU)) : 0;
+                time[3] = (mat.group(SIM_MIN) != null) ? Integer.parseInt(mat.group(SIM_MIN)) : 0;
+                time[4] = (mat.group(SIM_SEC) != null) ? Integer.parseInt(mat.group(SIM_SEC)) : 0;
+            }
+        }
+        return time;
+    }
+
     protected void handleHoliday(Calendar c, boolean resetTime) {
         if (!holidays.isEmpty()) {
             Date current = c.getTime();
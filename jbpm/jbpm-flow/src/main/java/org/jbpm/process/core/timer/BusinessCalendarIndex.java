@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.core.timer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled form of a business calendar configuration. Working time is modelled as one period per working day,
+ * from the start hour to the end hour, where working days are the days that are neither weekend days nor within
+ * a holiday. Days are handled as epoch days in the calendar time zone: weekend days are counted arithmetically
+ * per week and holidays are kept as sorted, merged day ranges with prefix sums of the working days they cover,
+ * so the number of working days before any day is found with a binary search and locating the n-th working day
+ * is a binary search over that count.
+ * <p>
+ * Instances are immutable and shared between calendars with the same configuration, see
+ * {@link #of(ZoneId, int, int, Collection, long[])}.
+ */
+final class BusinessCalendarIndex {
+
+    private static final long HOUR_IN_MILLIS = 60 * 60 * 1000L;
+    private static final long NANOS_IN_MILLI = 1000000L;
+    // 1970-01-01 was a Thursday, shifting epoch days by three makes weeks start on Monday
+    private static final int MONDAY_SHIFT = 3;
+
+    private static final Map<String, BusinessCalendarIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    private final int startHour;
+    private final long dayLength;
+    // indexed by day of week, Monday first
+    private final boolean[] workingDaysOfWeek = new boolean[7];
+    // number of working days among the first n days of a week
+    private final int[] workingDaysInWeekBefore = new int[8];
+    private final long[] holidayFrom;
+    private final long[] holidayTo;
+    // number of working days covered by the holiday ranges before the given one
+    private final long[] holidayWorkingDaysBefore;
+
+    /**
+     * Returns the index for the given configuration, compiling it only if no calendar with the same configuration
+     * did it before.
+     *
+     * @param zone time zone working hours and holidays are expressed in
+     * @param startHour first working hour of a day
+     * @param endHour hour the working day ends at
+     * @param weekendDays weekend days as <code>java.util.Calendar</code> day of week constants
+     * @param holidays holidays as pairs of epoch days, first day inclusive and last day exclusive
+     * @return compiled calendar
+     */
+    static BusinessCalendarIndex of(ZoneId zone, int startHour, int endHour, Collection<Integer> weekendDays, long[] holidays) {
+        String key = zone.getId() + '|' + startHour + '|' + endHour + '|' + weekendDays + '|' + Arrays.toString(holidays);
+        return INDEXES.computeIfAbsent(key, k -> new BusinessCalendarIndex(zone, startHour, endHour, weekendDays, holidays));
+    }
+
+    private BusinessCalendarIndex(ZoneId zone, int startHour, int endHour, Collection<Integer> weekendDays, long[] holidays) {
+        if (endHour <= startHour) {
+            throw new IllegalArgumentException("Business calendar end hour " + endHour + " must be after start hour " + startHour);
+        }
+        this.zone = zone;
+        this.startHour = startHour;
+        this.dayLength = (endHour - startHour) * HOUR_IN_MILLIS;
+
+        Arrays.fill(workingDaysOfWeek, true);
+        for (Integer weekendDay : weekendDays) {
+            // Calendar.SUNDAY is 1, Calendar.MONDAY is 2 and so on
+            workingDaysOfWeek[(weekendDay + 5) % 7] = false;
+        }
+        for (int i = 0; i < 7; i++) {
+            workingDaysInWeekBefore[i + 1] = workingDaysInWeekBefore[i] + (workingDaysOfWeek[i] ? 1 : 0);
+        }
+        if (workingDaysInWeekBefore[7] == 0) {
+            throw new IllegalArgumentException("Business calendar has no working days, weekend days are " + weekendDays);
+        }
+
+        long[][] ranges = new long[holidays.length / 2][];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = new long[] { holidays[2 * i], holidays[2 * i + 1] };
+        }
+        Arrays.sort(ranges, (a, b) -> Long.compare(a[0], b[0]));
+        long[] from = new long[ranges.length];
+        long[] to = new long[ranges.length];
+        int count = 0;
+        for (long[] range : ranges) {
+            if (range[1] <= range[0]) {
+                continue;
+            }
+            if (count > 0 && range[0] <= to[count - 1]) {
+                to[count - 1] = Math.max(to[count - 1], range[1]);
+            } else {
+                from[count] = range[0];
+                to[count] = range[1];
+                count++;
+            }
+        }
+        this.holidayFrom = Arrays.copyOf(from, count);
+        this.holidayTo = Arrays.copyOf(to, count);
+        this.holidayWorkingDaysBefore = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            holidayWorkingDaysBefore[i + 1] = holidayWorkingDaysBefore[i] + weekDaysBefore(holidayTo[i]) - weekDaysBefore(holidayFrom[i]);
+        }
+    }
+
+    /**
+     * Adds working time to the given instant. The instant is first moved by whole calendar weeks and then to the
+     * closest working time, from there whole working days are added keeping the time of day and finally the
+     * remaining working time, continuing on the next working days when the working day ends.
+     * <p>
+     * As with the calendar walk this replaces, only weekend days are skipped before adding whole days: when the
+     * calculation starts on a holiday that falls on a week day, the holiday counts as the first working day added.
+     *
+     * @param currentTime instant to start from, in milliseconds
+     * @param weeks calendar weeks to add
+     * @param days working days to add
+     * @param millis working time to add, in milliseconds
+     * @return resulting instant, in milliseconds
+     */
+    long addWorkingTime(long currentTime, int weeks, int days, long millis) {
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(currentTime), zone).plusWeeks(weeks);
+        long day = start.toLocalDate().toEpochDay();
+        long offset = start.toLocalTime().toNanoOfDay() / NANOS_IN_MILLI - startHour * HOUR_IN_MILLIS;
+        long ordinal;
+        if (offset >= dayLength) {
+            day = nextWorkingDay(day + 1);
+            ordinal = workingDaysBefore(day) + days;
+            offset = 0;
+        } else {
+            long weekDay = day;
+            while (!workingDaysOfWeek[dayOfWeek(weekDay)]) {
+                weekDay++;
+            }
+            if (weekDay != day || offset < 0) {
+                offset = 0;
+            }
+            day = nextWorkingDay(weekDay);
+            ordinal = workingDaysBefore(day) + days;
+            if (day != weekDay) {
+                if (days > 0) {
+                    ordinal--;
+                } else {
+                    offset = 0;
+                }
+            }
+        }
+        offset += millis;
+        day = workingDayAt(ordinal + offset / dayLength, day);
+        offset %= dayLength;
+        return LocalDate.ofEpochDay(day).atTime(startHour, 0).plus(offset, ChronoUnit.MILLIS).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    boolean isWorkingDay(long day) {
+        if (!workingDaysOfWeek[dayOfWeek(day)]) {
+            return false;
+        }
+        int i = holidaysStartingBefore(day + 1);
+        return i == 0 || day >= holidayTo[i - 1];
+    }
+
+    /**
+     * @return the given day if it is a working day, the first working day after it otherwise
+     */
+    long nextWorkingDay(long day) {
+        return workingDayAt(workingDaysBefore(day), day);
+    }
+
+    /**
+     * @return number of working days before the given epoch day, counted from the epoch (negative before it)
+     */
+    long workingDaysBefore(long day) {
+        long count = weekDaysBefore(day);
+        int i = holidaysStartingBefore(day);
+        if (i > 0) {
+            count -= holidayWorkingDaysBefore[i - 1] + weekDaysBefore(Math.min(day, holidayTo[i - 1])) - weekDaysBefore(holidayFrom[i - 1]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the working day that has the given number of working days before it.
+     *
+     * @param ordinal number of working days before the one to find
+     * @param from day the one to find is known not to be before
+     * @return epoch day of the working day
+     */
+    private long workingDayAt(long ordinal, long from) {
+        long low = from;
+        long step = 8;
+        long high = low + step;
+        while (workingDaysBefore(high) <= ordinal) {
+            low = high;
+            step <<= 1;
+            high = low + step;
+        }
+        while (low < high) {
+            long middle = low + (high - low) / 2;
+            if (workingDaysBefore(middle + 1) > ordinal) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int dayOfWeek(long day) {
+        return Math.floorMod(day + MONDAY_SHIFT, 7);
+    }
+
+    private long weekDaysBefore(long day) {
+        long shifted = day + MONDAY_SHIFT;
+        return Math.floorDiv(shifted, 7) * workingDaysInWeekBefore[7] + workingDaysInWeekBefore[Math.floorMod(shifted, 7)];
+    }
+
+    private int holidaysStartingBefore(long day) {
+        int low = 0;
+        int high = holidayFrom.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (holidayFrom[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -39,13 +39,24 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     private final KogitoWorkItemManager workItemManager;
     private final KogitoProcessEventSupportImpl eventSupport;
     private final UnitOfWorkManager unitOfWorkManager;
+    private final boolean timingWheelJobsEnabled;
 
     public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
             WorkItemHandlerConfig workItemHandlerProvider,
             ProcessEventListenerConfig processEventListenerProvider,
             SignalManagerHub compositeSignalManager,
             UnitOfWorkManager unitOfWorkManager) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, false);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+            WorkItemHandlerConfig workItemHandlerProvider,
+            ProcessEventListenerConfig processEventListenerProvider,
+            SignalManagerHub compositeSignalManager,
+            UnitOfWorkManager unitOfWorkManager,
+            boolean timingWheelJobsEnabled) {
         this.unitOfWorkManager = unitOfWorkManager;
+        this.timingWheelJobsEnabled = timingWheelJobsEnabled;
         processInstanceManager = new DefaultProcessInstanceManager();
         signalManager = new LightSignalManager(
                 id -> Optional.ofNullable(
@@ -94,4 +105,9 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     public UnitOfWorkManager getUnitOfWorkManager() {
         return unitOfWorkManager;
     }
+
+    @Override
+    public boolean isTimingWheelJobsEnabled() {
+        return timingWheelJobsEnabled;
+    }
 }
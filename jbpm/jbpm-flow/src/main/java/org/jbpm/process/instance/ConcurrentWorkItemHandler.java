@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.instance;
+
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
+
+/**
+ * Handler whose work items may be executed on another thread while the branches of a concurrent split, or the
+ * iterations of a parallel multi-instance, keep being triggered.
+ *
+ * The other thread is not bound to the unit of work, the transaction or the contexts of the thread running the
+ * process instance, so a handler must only opt in for work items it executes with pure I/O, like a remote call,
+ * completing them through the given manager.
+ */
+public interface ConcurrentWorkItemHandler extends KogitoWorkItemHandler {
+
+    /**
+     * @return whether the given work item can be executed on another thread
+     */
+    default boolean isConcurrent(KogitoWorkItem workItem) {
+        return true;
+    }
+}
@@ -56,9 +56,11 @@ import org.kie.kogito.jobs.ExactExpirationTime;
 import org.kie.kogito.jobs.ExpirationTime;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.services.jobs.impl.InMemoryJobService;
+import org.kie.services.jobs.impl.TimingWheelJobService;
 
 public class LightProcessRuntime extends AbstractProcessRuntime {
 
@@ -86,7 +88,7 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         this.runtimeContext = runtimeContext;
         this.processInstanceManager = services.getProcessInstanceManager();
         this.signalManager = services.getSignalManager();
-        this.jobService = services.getJobsService() == null ? new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager) : services.getJobsService();
+        this.jobService = services.getJobsService() == null ? createJobsService(services) : services.getJobsService();
         this.processEventSupport = services.getEventSupport();
         this.workItemManager = services.getKogitoWorkItemManager();
         if (isActive()) {
@@ -96,6 +98,13 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         initProcessActivationListener();
     }
 
+    private JobsService createJobsService(ProcessRuntimeServiceProvider services) {
+        if (services.isTimingWheelJobsEnabled()) {
+            return new TimingWheelJobService(kogitoProcessRuntime, this.unitOfWorkManager);
+        }
+        return new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager);
+    }
+
     public void initStartTimers() {
         Collection<Process> processes = runtimeContext.getProcesses();
         for (Process process : processes) {
@@ -104,15 +113,23 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
             if (startNodes != null && !startNodes.isEmpty()) {
                 for (StartNode startNode : startNodes) {
                     if (startNode != null && startNode.getTimer() != null) {
-
-                        jobService.scheduleProcessJob(ProcessJobDescription.of(createTimerInstance(startNode.getTimer(), knowledgeRuntime), p.getId()));
-
+                        jobService.scheduleProcessJob(startTimerJob(createTimerInstance(startNode.getTimer(), knowledgeRuntime), p.getId()));
                     }
                 }
             }
         }
     }
 
+    /**
+     * Start timer jobs carry the process when the application knows it, so jobs services without a process runtime,
+     * like the ones storing their jobs, can start it.
+     */
+    private ProcessJobDescription startTimerJob(ExpirationTime expirationTime, String processId) {
+        Processes processes = getApplication() != null ? getApplication().get(Processes.class) : null;
+        org.kie.kogito.process.Process<?> process = processes != null ? processes.processById(processId) : null;
+        return process != null ? ProcessJobDescription.of(expirationTime, process) : ProcessJobDescription.of(expirationTime, processId);
+    }
+
     @Override
     public ProcessInstance startProcess(String processId) {
         return startProcess(processId, null, null, null);
@@ -15,6 +15,7 @@
  */
 package org.jbpm.process.instance;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -23,16 +24,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.drools.core.process.instance.WorkItem;
 import org.jbpm.process.instance.impl.workitem.Abort;
 import org.jbpm.process.instance.impl.workitem.Active;
 import org.jbpm.process.instance.impl.workitem.Complete;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
 import org.kie.kogito.process.workitem.NotAuthorizedException;
 import org.kie.kogito.process.workitem.Policy;
@@ -85,6 +92,52 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         }
     }
 
+    /**
+     * @return whether the handler of the work item opted in to be executed on another thread
+     */
+    public boolean isConcurrent(KogitoWorkItem workItem) {
+        KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        return handler instanceof ConcurrentWorkItemHandler && ((ConcurrentWorkItemHandler) handler).isConcurrent(workItem);
+    }
+
+    /**
+     * Executes the handler of the work item on the given executor rather than on the calling thread.
+     * The calls the handler makes on the manager are recorded and only applied, on the calling thread, when the
+     * returned completion is run, so the handler must not expect them to take effect while it is executing.
+     *
+     * @return completion applying the outcome of the handler, failed with the exception thrown by the handler if any
+     */
+    public CompletableFuture<Runnable> internalExecuteWorkItem(InternalKogitoWorkItem workItem, Executor executor) {
+        ((KogitoWorkItemImpl) workItem).setId(UUID.randomUUID().toString());
+        internalAddWorkItem(workItem);
+        KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        if (handler == null) {
+            throw new KogitoWorkItemHandlerNotFoundException(workItem.getName());
+        }
+        KogitoProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceStringId());
+        Transition<?> transition = new TransitionToActive();
+        eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
+
+        RecordingWorkItemManager recorder = new RecordingWorkItemManager();
+        return CompletableFuture.supplyAsync(() -> {
+            handler.executeWorkItem(workItem, recorder);
+            return () -> {
+                recorder.replay(this);
+                eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
+            };
+        }, executor);
+    }
+
+    /**
+     * The work item is serialized along with its node instance, whose serialized form is discarded before the work
+     * item changes.
+     */
+    private static void markChanged(KogitoWorkItem workItem) {
+        if (workItem.getNodeInstance() instanceof NodeInstanceImpl) {
+            ((NodeInstanceImpl) workItem.getNodeInstance()).markChanged();
+        }
+    }
+
     @Override
     public void internalAddWorkItem(InternalKogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
@@ -95,6 +148,7 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         KogitoWorkItemImpl workItem = (KogitoWorkItemImpl) workItems.get(id);
         // work item may have been aborted
         if (workItem != null) {
+            markChanged(workItem);
             workItem.setCompleteDate(new Date());
             KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
             if (handler != null) {
@@ -132,6 +186,7 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
 
     private void retryWorkItem(InternalKogitoWorkItem workItem) {
         if (workItem != null) {
+            markChanged(workItem);
             KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
             if (handler != null) {
                 handler.executeWorkItem(workItem, this);
@@ -164,6 +219,7 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
             if (!workItem.enforce(policies)) {
                 throw new NotAuthorizedException("User is not authorized to access task instance with id " + id);
             }
+            markChanged(workItem);
             T results = updater.apply(workItem);
             eventSupport.fireAfterWorkItemTransition(processInstanceManager.getProcessInstance(workItem
                     .getProcessInstanceStringId()), workItem, null, null);
@@ -176,6 +232,7 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
     @Override
     public void internalCompleteWorkItem(InternalKogitoWorkItem workItem) {
         KogitoProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceStringId());
+        markChanged(workItem);
         workItem.setState(COMPLETED);
         workItem.setCompleteDate(new Date());
 
@@ -202,6 +259,7 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         // work item may have been aborted
         KogitoWorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
         if (handler != null) {
+            markChanged(workItem);
             KogitoProcessInstance processInstance = processInstanceManager
                     .getProcessInstance(workItem.getProcessInstanceStringId());
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
@@ -295,6 +353,46 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Manager given to handlers executed on another thread, recording the outcome of the work item to replay it
+     * on the actual manager.
+     */
+    private static class RecordingWorkItemManager implements KogitoWorkItemManager {
+
+        private final List<Consumer<LightWorkItemManager>> calls = new ArrayList<>();
+
+        @Override
+        public synchronized void completeWorkItem(String id, Map<String, Object> results, Policy<?>... policies) {
+            calls.add(manager -> manager.completeWorkItem(id, results, policies));
+        }
+
+        @Override
+        public synchronized void abortWorkItem(String id, Policy<?>... policies) {
+            calls.add(manager -> manager.abortWorkItem(id, policies));
+        }
+
+        @Override
+        public synchronized void transitionWorkItem(String id, Transition<?> transition) {
+            calls.add(manager -> manager.transitionWorkItem(id, transition));
+        }
+
+        @Override
+        public <T> T updateWorkItem(String id, Function<KogitoWorkItem, T> updater, Policy<?>... policies) {
+            throw new UnsupportedOperationException("Work items executed concurrently cannot be updated by their handler");
+        }
+
+        @Override
+        public void registerWorkItemHandler(String workItemName, KogitoWorkItemHandler handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        synchronized void replay(LightWorkItemManager manager) {
+            for (Consumer<LightWorkItemManager> call : calls) {
+                call.accept(manager);
+            }
+        }
+    }
+
     private static class TransitionToActive implements Transition<Void> {
 
         @Override
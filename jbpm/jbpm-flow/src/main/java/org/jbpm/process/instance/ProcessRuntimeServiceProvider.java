@@ -34,4 +34,12 @@ public interface ProcessRuntimeServiceProvider {
     KogitoProcessEventSupport getEventSupport();
 
     UnitOfWorkManager getUnitOfWorkManager();
+
+    /**
+     * @return true if the runtime creates a timing wheel jobs service instead of the in memory one when no jobs
+     *         service is given
+     */
+    default boolean isTimingWheelJobsEnabled() {
+        return false;
+    }
 }
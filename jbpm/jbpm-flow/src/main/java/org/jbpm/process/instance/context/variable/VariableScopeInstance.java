@@ -25,6 +25,7 @@ import org.jbpm.process.instance.ContextInstanceContainer;
 import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.context.AbstractContextInstance;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.node.CompositeContextNodeInstance;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
@@ -40,6 +41,7 @@ public class VariableScopeInstance extends AbstractContextInstance {
     private Map<String, Object> variables = new HashMap<String, Object>();
     private transient String variableIdPrefix = null;
     private transient String variableInstanceIdPrefix = null;
+    private transient Map<String, Object> marshalledVariables;
 
     public String getContextType() {
         return VariableScope.VARIABLE_SCOPE;
@@ -115,6 +117,30 @@ public class VariableScopeInstance extends AbstractContextInstance {
     public void internalSetVariable(String name, Object value) {
         // not a case, store it in normal variables
         variables.put(name, value);
+        if (marshalledVariables != null) {
+            marshalledVariables.remove(name);
+        }
+        if (getContextInstanceContainer() instanceof NodeInstanceImpl) {
+            ((NodeInstanceImpl) getContextInstanceContainer()).markChanged();
+        }
+    }
+
+    /**
+     * Keeps the serialized form of the current value of a variable, as read or written by the marshaller, so it can
+     * be reused until the variable is set again. Values mutated in place without being set again are not detected.
+     */
+    public void setMarshalledVariable(String name, Object marshalled) {
+        if (marshalledVariables == null) {
+            marshalledVariables = new HashMap<>();
+        }
+        marshalledVariables.put(name, marshalled);
+    }
+
+    /**
+     * @return the serialized form of the variable, or null when the variable has been set since
+     */
+    public Object getMarshalledVariable(String name) {
+        return marshalledVariables == null ? null : marshalledVariables.get(name);
     }
 
     public VariableScope getVariableScope() {
@@ -549,6 +549,14 @@ public class RuleFlowProcessValidator implements ProcessValidator {
                             errors,
                             "ForEach has no collection expression");
                 }
+                try {
+                    forEachNode.getMaxConcurrency();
+                } catch (IllegalArgumentException e) {
+                    addErrorMessage(process,
+                            node,
+                            errors,
+                            "ForEach has an invalid maximum concurrency: " + e.getMessage());
+                }
                 if (forEachNode.getDefaultIncomingConnections().isEmpty() && !acceptsNoIncomingConnections(node)) {
                     addErrorMessage(process,
                             node,
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.util.PatternConstants;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.DynamicNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Immutable index of the top level nodes of a process that may accept a given event type, used to dispatch
+ * signals without checking every node of the process.
+ *
+ * The event types a node accepts are derived from its event filters, mirroring the <code>acceptsEvent</code>
+ * implementations. Nodes whose accepted types can't be known before the event is signaled (filters with
+ * expressions, broadcast or custom filters) are candidates for every event type. The index only narrows the
+ * candidates: <code>acceptsEvent</code> must still be checked on each of them. Candidates are returned in the
+ * same order as the nodes of the process.
+ */
+public class EventNodeIndex {
+
+    private final Map<String, List<Node>> nodesByEventType;
+    private final Map<Node, Set<String>> eventTypesByNode;
+    private final Set<String> startEventTypes;
+    private final List<BoundaryEventNode> boundaryEventNodes;
+    private final List<Node> anyEventTypeNodes;
+    private final List<Node> dynamicNodes;
+    private final boolean acceptsAnyEventType;
+
+    public EventNodeIndex(Node[] nodes) {
+        Map<Node, Set<String>> eventTypesByNode = new IdentityHashMap<>();
+        Set<String> eventTypes = new LinkedHashSet<>();
+        Set<String> startTypes = new LinkedHashSet<>();
+        List<BoundaryEventNode> boundaries = new ArrayList<>();
+        for (Node node : nodes) {
+            if (node instanceof EventNodeInterface) {
+                Set<String> nodeEventTypes = acceptedEventTypes(node, true);
+                eventTypesByNode.put(node, nodeEventTypes);
+                if (nodeEventTypes != null) {
+                    eventTypes.addAll(nodeEventTypes);
+                }
+                if (node instanceof BoundaryEventNode) {
+                    boundaries.add((BoundaryEventNode) node);
+                } else if (node instanceof EventSubProcessNode) {
+                    for (EventTypeFilter filter : ((EventSubProcessNode) node).getEventTypeFilters()) {
+                        addAll(startTypes, acceptedEventTypes(filter, true));
+                    }
+                } else if (node instanceof EventNode && node.getIncomingConnections().isEmpty() && nodeEventTypes != null) {
+                    startTypes.addAll(nodeEventTypes);
+                }
+            }
+        }
+
+        Map<String, List<Node>> byEventType = new HashMap<>();
+        eventTypes.forEach(eventType -> byEventType.put(eventType, new ArrayList<>()));
+        List<Node> anyEventType = new ArrayList<>();
+        List<Node> dynamic = new ArrayList<>();
+        for (Node node : nodes) {
+            if (eventTypesByNode.containsKey(node)) {
+                Set<String> nodeEventTypes = eventTypesByNode.get(node);
+                if (nodeEventTypes == null) {
+                    anyEventType.add(node);
+                    byEventType.values().forEach(candidates -> candidates.add(node));
+                } else {
+                    nodeEventTypes.forEach(eventType -> byEventType.get(eventType).add(node));
+                }
+            }
+            if (node instanceof CompositeNode || node.getIncomingConnections().isEmpty()) {
+                dynamic.add(node);
+            }
+        }
+        byEventType.replaceAll((eventType, candidates) -> Collections.unmodifiableList(candidates));
+        this.nodesByEventType = byEventType;
+        this.eventTypesByNode = eventTypesByNode;
+        this.startEventTypes = Collections.unmodifiableSet(startTypes);
+        this.boundaryEventNodes = Collections.unmodifiableList(boundaries);
+        this.anyEventTypeNodes = Collections.unmodifiableList(anyEventType);
+        this.dynamicNodes = Collections.unmodifiableList(dynamic);
+        this.acceptsAnyEventType = !anyEventType.isEmpty() || containsAdHocNodes(nodes)
+                || eventTypes.stream().anyMatch(eventType -> PatternConstants.PARAMETER_MATCHER.matcher(eventType).find());
+    }
+
+    /**
+     * @return the nodes that may accept the given event type
+     */
+    public List<Node> getEventNodes(String eventType) {
+        return nodesByEventType.getOrDefault(eventType, anyEventTypeNodes);
+    }
+
+    /**
+     * @return the nodes that may react to an event in a dynamic process, either because they have no incoming
+     *         connections (and are triggered by name) or because they are composite nodes
+     */
+    public List<Node> getDynamicNodes() {
+        return dynamicNodes;
+    }
+
+    /**
+     * @return the event types accepted by the nodes of the process, exhaustive only when {@link #acceptsAnyEventType()}
+     *         is false
+     */
+    public Set<String> getEventTypes() {
+        return Collections.unmodifiableSet(nodesByEventType.keySet());
+    }
+
+    /**
+     * @return the event types accepted by the nodes that react to an event without being reached first, that is the
+     *         starts of event sub-processes and the catch events without incoming connections
+     */
+    public Set<String> getStartEventTypes() {
+        return startEventTypes;
+    }
+
+    /**
+     * @return the event types the given top level node, or the nodes it contains, may accept, empty when the node is
+     *         not an event node of the process
+     */
+    public Set<String> getEventTypes(Node node) {
+        Set<String> eventTypes = eventTypesByNode.get(node);
+        return eventTypes == null ? Collections.emptySet() : Collections.unmodifiableSet(eventTypes);
+    }
+
+    /**
+     * @return the top level boundary events, which only react while the node they are attached to is active, or once it
+     *         completed for compensations
+     */
+    public List<BoundaryEventNode> getBoundaryEventNodes() {
+        return boundaryEventNodes;
+    }
+
+    /**
+     * @return whether the nodes of the process may accept event types not known before the event is signaled, as
+     *         done by filters that can't be determined statically, by types resolved from variables or by the nodes of
+     *         ad hoc sub-processes, which are triggered by name
+     */
+    public boolean acceptsAnyEventType() {
+        return acceptsAnyEventType;
+    }
+
+    private static boolean containsAdHocNodes(Node[] nodes) {
+        for (Node node : nodes) {
+            if (node instanceof DynamicNode || node instanceof CompositeNode && containsAdHocNodes(((CompositeNode) node).internalGetNodes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param resolved whether the node is asked to accept the event with a variable resolver, as done for top level nodes
+     * @return the event types the node may accept, or null when they can't be determined statically
+     */
+    private static Set<String> acceptedEventTypes(Node node, boolean resolved) {
+        if (node instanceof EventSubProcessNode) {
+            Set<String> eventTypes = new HashSet<>();
+            for (EventTypeFilter filter : ((EventSubProcessNode) node).getEventTypeFilters()) {
+                if (!addAll(eventTypes, acceptedEventTypes(filter, resolved))) {
+                    return null;
+                }
+            }
+            return addAll(eventTypes, nestedEventTypes((CompositeNode) node)) ? eventTypes : null;
+        } else if (node instanceof CompositeNode) {
+            return nestedEventTypes((CompositeNode) node);
+        } else if (node instanceof BoundaryEventNode && resolved) {
+            // accepts the event if any filter does, or if all of them do without resolving variables
+            Set<String> eventTypes = new HashSet<>();
+            for (EventFilter filter : ((EventNode) node).getEventFilters()) {
+                if (!addAll(eventTypes, acceptedEventTypes(filter, true))) {
+                    return null;
+                }
+            }
+            return addAll(eventTypes, allFiltersEventTypes((EventNode) node)) ? eventTypes : null;
+        } else if (node instanceof EventNode) {
+            return allFiltersEventTypes((EventNode) node);
+        }
+        return null;
+    }
+
+    private static Set<String> nestedEventTypes(CompositeNode node) {
+        Set<String> eventTypes = new HashSet<>();
+        for (Node nested : node.internalGetNodes()) {
+            if (nested instanceof EventNodeInterface && !addAll(eventTypes, acceptedEventTypes(nested, false))) {
+                return null;
+            }
+        }
+        return eventTypes;
+    }
+
+    /**
+     * Event types accepted by all the filters of the node, which is a subset of the types accepted by any of them.
+     */
+    private static Set<String> allFiltersEventTypes(EventNode node) {
+        List<EventFilter> filters = node.getEventFilters();
+        if (filters.isEmpty()) {
+            return null;
+        }
+        for (EventFilter filter : filters) {
+            Set<String> eventTypes = acceptedEventTypes(filter, false);
+            if (eventTypes != null) {
+                return eventTypes;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> acceptedEventTypes(EventFilter filter, boolean resolved) {
+        if (filter instanceof NonAcceptingEventTypeFilter) {
+            return Collections.emptySet();
+        }
+        if (filter.getClass() != EventTypeFilter.class) {
+            return null;
+        }
+        String eventType = ((EventTypeFilter) filter).getType();
+        if (eventType == null) {
+            return Collections.emptySet();
+        }
+        if (resolved && PatternConstants.PARAMETER_MATCHER.matcher(eventType).find()) {
+            return null;
+        }
+        return Collections.singleton(eventType);
+    }
+
+    private static boolean addAll(Set<String> eventTypes, Set<String> added) {
+        if (added == null) {
+            return false;
+        }
+        eventTypes.addAll(added);
+        return true;
+    }
+}
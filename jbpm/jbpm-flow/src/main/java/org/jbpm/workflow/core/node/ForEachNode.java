@@ -23,6 +23,7 @@ import org.jbpm.process.core.context.AbstractContext;
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.core.datatype.DataType;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.impl.ConnectionImpl;
 import org.jbpm.workflow.core.impl.ExtendedNodeImpl;
@@ -242,6 +243,27 @@ public class ForEachNode extends CompositeContextNode {
         this.waitForCompletion = waitForCompletion;
     }
 
+    /**
+     * @return the maximum number of iterations whose work items are executed at the same time when they are executed
+     *         concurrently, 0 when unbounded
+     * @throws IllegalArgumentException if the {@link Metadata#CUSTOM_MAX_CONCURRENCY} metadata is not a positive integer
+     */
+    public int getMaxConcurrency() {
+        Object maxConcurrency = getMetaData().get(Metadata.CUSTOM_MAX_CONCURRENCY);
+        if (maxConcurrency == null) {
+            return 0;
+        }
+        try {
+            int value = Integer.parseInt(maxConcurrency.toString().trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(Metadata.CUSTOM_MAX_CONCURRENCY + " must be a positive integer, got " + maxConcurrency);
+    }
+
     public static class ForEachSplitNode extends ExtendedNodeImpl {
         private static final long serialVersionUID = 510l;
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per process instance agenda of node triggers.
+ *
+ * Triggers are executed right away, so that synchronous paths of a process keep running depth first, until
+ * <code>maxDepth</code> triggers are nested on the stack. Deeper triggers are queued as continuations and
+ * executed in order by the outermost trigger once it returns, so long chains of synchronous nodes and loops
+ * no longer grow the stack without bound.
+ */
+class ExecutionAgenda {
+
+    static final String MAX_DEPTH_PROPERTY = "jbpm.trigger.max.depth";
+
+    private static final int DEFAULT_MAX_DEPTH = Integer.getInteger(MAX_DEPTH_PROPERTY, 100);
+
+    private final Deque<Runnable> continuations = new ArrayDeque<>();
+    private final int maxDepth;
+    private int depth;
+
+    ExecutionAgenda() {
+        this(DEFAULT_MAX_DEPTH);
+    }
+
+    ExecutionAgenda(int maxDepth) {
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    /**
+     * @return whether the next trigger will be queued instead of executed right away
+     */
+    boolean isSaturated() {
+        return depth >= maxDepth;
+    }
+
+    void execute(Runnable trigger) {
+        if (isSaturated()) {
+            continuations.addLast(trigger);
+            return;
+        }
+        run(trigger);
+        if (depth == 0) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        Runnable continuation;
+        while ((continuation = continuations.pollFirst()) != null) {
+            run(continuation);
+        }
+    }
+
+    private void run(Runnable trigger) {
+        depth++;
+        try {
+            trigger.run();
+        } catch (RuntimeException | Error e) {
+            if (depth == 1) {
+                continuations.clear();
+            }
+            throw e;
+        } finally {
+            depth--;
+        }
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isEmpty() {
+        return continuations.isEmpty();
+    }
+}
@@ -83,6 +83,7 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     protected Date leaveTime;
 
     protected transient Map<String, Object> dynamicParameters;
+    private transient Object marshalledState;
 
     public void setId(final String id) {
         this.id = id;
@@ -177,6 +178,7 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
 
     public final void trigger(KogitoNodeInstance from, String type) {
+        markChanged();
         boolean hidden = false;
         if (getNode().getMetaData().get(HIDDEN) != null) {
             hidden = true;
@@ -392,6 +394,24 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
 
     protected void triggerNodeInstance(org.jbpm.workflow.instance.NodeInstance nodeInstance, String type, boolean fireEvents) {
+        if (processInstance instanceof WorkflowProcessInstanceImpl) {
+            ExecutionAgenda agenda = ((WorkflowProcessInstanceImpl) processInstance).getExecutionAgenda();
+            if (agenda.isSaturated()) {
+                // deferred until the outermost trigger returns, by then this container might no longer be active
+                agenda.execute(() -> {
+                    if (((org.jbpm.workflow.instance.NodeInstanceContainer) getNodeInstanceContainer()).getState() == STATE_ACTIVE) {
+                        internalTriggerNodeInstance(nodeInstance, type, fireEvents);
+                    }
+                });
+            } else {
+                agenda.execute(() -> internalTriggerNodeInstance(nodeInstance, type, fireEvents));
+            }
+        } else {
+            internalTriggerNodeInstance(nodeInstance, type, fireEvents);
+        }
+    }
+
+    private void internalTriggerNodeInstance(org.jbpm.workflow.instance.NodeInstance nodeInstance, String type, boolean fireEvents) {
         leaveTime = new Date();
         boolean hidden = false;
         if (getNode().getMetaData().get(HIDDEN) != null) {
@@ -534,6 +554,33 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
 
     public void setMetaData(String name, Object data) {
         this.metaData.put(name, data);
+        markChanged();
+    }
+
+    /**
+     * Keeps the serialized form of this node instance, as read or written by the marshaller, so it can be reused
+     * as long as the node instance does not change.
+     */
+    public void setMarshalledState(Object marshalledState) {
+        this.marshalledState = marshalledState;
+    }
+
+    /**
+     * @return the serialized form of this node instance, or null when it changed since it has been set
+     */
+    public Object getMarshalledState() {
+        return marshalledState;
+    }
+
+    /**
+     * Records that this node instance changed, or one of the node instances or variables it contains, which discards
+     * its serialized form along with the one of the node instances containing it.
+     */
+    public void markChanged() {
+        marshalledState = null;
+        if (nodeInstanceContainer instanceof NodeInstanceImpl) {
+            ((NodeInstanceImpl) nodeInstanceContainer).markChanged();
+        }
     }
 
     protected static class NodeInstanceTrigger {
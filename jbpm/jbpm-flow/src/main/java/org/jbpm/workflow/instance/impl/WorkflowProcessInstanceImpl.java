@@ -16,6 +16,7 @@
 package org.jbpm.workflow.instance.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -50,7 +51,9 @@ import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.EventNodeIndex;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.ActionNode;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeNode;
@@ -148,6 +151,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     private AgendaFilter agendaFilter;
 
+    private transient ExecutionAgenda executionAgenda;
+
     @Override
     public NodeContainer getNodeContainer() {
         return getWorkflowProcess();
@@ -163,6 +168,13 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         this.nodeInstances.add(nodeInstance);
     }
 
+    ExecutionAgenda getExecutionAgenda() {
+        if (executionAgenda == null) {
+            executionAgenda = new ExecutionAgenda();
+        }
+        return executionAgenda;
+    }
+
     @Override
     public int getLevelForNode(String uniqueID) {
         if (Boolean.parseBoolean(System.getProperty("jbpm.loop.level.disabled"))) {
@@ -419,6 +431,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                 List<KogitoEventListener> listeners = eventListeners.get("processInstanceCompleted:" + getStringId());
                 if (listeners != null) {
                     for (KogitoEventListener listener : listeners) {
+                        markChanged(listener);
                         listener.signalEvent("processInstanceCompleted:" + getStringId(), this);
                     }
                 }
@@ -602,23 +615,27 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                 return;
             }
 
-            List<NodeInstance> currentView = new ArrayList<>(this.nodeInstances);
+            Map<Long, List<NodeInstance>> currentView = groupByNodeId(this.nodeInstances);
+            EventNodeIndex eventNodeIndex = getWorkflowProcess() instanceof WorkflowProcessImpl ? ((WorkflowProcessImpl) getWorkflowProcess()).getEventNodeIndex() : null;
 
             try {
                 this.activatingNodeIds = new ArrayList<>();
                 List<KogitoEventListener> listeners = eventListeners.get(type);
                 if (listeners != null) {
                     for (KogitoEventListener listener : listeners) {
+                        markChanged(listener);
                         listener.signalEvent(type, event);
                     }
                 }
                 listeners = externalEventListeners.get(type);
                 if (listeners != null) {
                     for (KogitoEventListener listener : listeners) {
+                        markChanged(listener);
                         listener.signalEvent(type, event);
                     }
                 }
-                for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                Iterable<org.kie.api.definition.process.Node> eventNodes = eventNodeIndex == null ? Arrays.asList(getWorkflowProcess().getNodes()) : eventNodeIndex.getEventNodes(type);
+                for (org.kie.api.definition.process.Node node : eventNodes) {
                     if (node instanceof EventNodeInterface
                             && ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
                         if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
@@ -627,20 +644,20 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                         } else {
                             if (node instanceof EventSubProcessNode && (resolveVariables(((EventSubProcessNode) node).getEvents()).contains(type))) {
                                 EventSubProcessNodeInstance eventNodeInstance = (EventSubProcessNodeInstance) getNodeInstance(node);
+                                eventNodeInstance.markChanged();
                                 eventNodeInstance.signalEvent(type, event);
                             } else {
-                                List<NodeInstance> nodeInstances = getNodeInstances(node.getId(), currentView);
-                                if (nodeInstances != null && !nodeInstances.isEmpty()) {
-                                    for (NodeInstance nodeInstance : nodeInstances) {
-                                        ((EventNodeInstanceInterface) nodeInstance).signalEvent(type, event);
-                                    }
+                                for (NodeInstance nodeInstance : currentView.getOrDefault(node.getId(), Collections.emptyList())) {
+                                    markChanged(nodeInstance);
+                                    ((EventNodeInstanceInterface) nodeInstance).signalEvent(type, event);
                                 }
                             }
                         }
                     }
                 }
                 if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
-                    for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                    Iterable<org.kie.api.definition.process.Node> dynamicNodes = eventNodeIndex == null ? Arrays.asList(getWorkflowProcess().getNodes()) : eventNodeIndex.getDynamicNodes();
+                    for (org.kie.api.definition.process.Node node : dynamicNodes) {
                         if (type.equals(node.getName()) && node.getIncomingConnections().isEmpty()) {
                             NodeInstance nodeInstance = getNodeInstance(node);
                             if (event != null) {
@@ -655,7 +672,10 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                             nodeInstance.trigger(null, Node.CONNECTION_DEFAULT_TYPE);
                         } else if (node instanceof CompositeNode) {
                             Optional<NodeInstance> instance = this.nodeInstances.stream().filter(ni -> ni.getNodeId() == node.getId()).findFirst();
-                            instance.ifPresent(n -> ((CompositeNodeInstance) n).signalEvent(type, event));
+                            instance.ifPresent(n -> {
+                                markChanged(n);
+                                ((CompositeNodeInstance) n).signalEvent(type, event);
+                            });
                         }
                     }
                 }
@@ -668,12 +688,29 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
-    private Function<String, String> getResolver(org.kie.api.definition.process.Node node, List<NodeInstance> currentView) {
+    /**
+     * Node instances receiving an event may change in any way, so their serialized form is discarded beforehand.
+     */
+    private static void markChanged(Object receiver) {
+        if (receiver instanceof NodeInstanceImpl) {
+            ((NodeInstanceImpl) receiver).markChanged();
+        }
+    }
+
+    private static Map<Long, List<NodeInstance>> groupByNodeId(List<NodeInstance> nodeInstances) {
+        Map<Long, List<NodeInstance>> nodeInstancesByNodeId = new HashMap<>();
+        for (NodeInstance nodeInstance : nodeInstances) {
+            nodeInstancesByNodeId.computeIfAbsent(nodeInstance.getNodeId(), id -> new ArrayList<>()).add(nodeInstance);
+        }
+        return nodeInstancesByNodeId;
+    }
+
+    private Function<String, String> getResolver(org.kie.api.definition.process.Node node, Map<Long, List<NodeInstance>> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
             // instead of just relying on process instance's variables
             return e -> {
-                List<NodeInstance> nodeInstances = getNodeInstances(node.getId(), currentView);
+                List<NodeInstance> nodeInstances = currentView.get(node.getId());
                 if (nodeInstances != null && !nodeInstances.isEmpty()) {
                     StringBuilder st = new StringBuilder();
                     for (NodeInstance ni : nodeInstances) {
@@ -770,6 +807,15 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return externalEventListeners.keySet().stream().map(this::resolveVariable).collect(Collectors.toList()).toArray(new String[externalEventListeners.size()]);
     }
 
+    /**
+     * @return the event types of every registered listener, internal or external, the latter with variables resolved
+     */
+    public Set<String> getListenedEventTypes() {
+        Set<String> eventTypes = new LinkedHashSet<>(eventListeners.keySet());
+        eventTypes.addAll(Arrays.asList(getEventTypes()));
+        return eventTypes;
+    }
+
     @Override
     public Set<EventDescription<?>> getEventDescriptions() {
         if (getState() == KogitoProcessInstance.STATE_COMPLETED || getState() == KogitoProcessInstance.STATE_ABORTED) {
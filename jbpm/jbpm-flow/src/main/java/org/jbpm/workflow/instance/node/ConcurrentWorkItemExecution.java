@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Scope in which the handlers of the work items triggered on the current thread are executed concurrently.
+ *
+ * Handlers run on a bounded, shared executor while the branches of a concurrent split, or the iterations of a
+ * parallel multi-instance, keep being triggered. Once every branch has been triggered, the outcome of each handler
+ * is applied on the calling thread, in the order the work items were triggered, so process instance state is still
+ * only updated by a single thread.
+ *
+ * Only the handlers implementing {@link org.jbpm.process.instance.ConcurrentWorkItemHandler} are executed on the
+ * executor; the others keep running on the calling thread. The size of the executor and how long the outcome of a
+ * handler is awaited are set by the runtime through {@link #configure(int, long)}.
+ */
+public class ConcurrentWorkItemExecution {
+
+    public static final String THREADS_PROPERTY = "jbpm.concurrent.workitem.threads";
+    public static final String TIMEOUT_PROPERTY = "jbpm.concurrent.workitem.timeout.millis";
+    public static final int DEFAULT_THREADS_INT = 8;
+    public static final String DEFAULT_THREADS = "8";
+    public static final long DEFAULT_TIMEOUT_MILLIS_LONG = 60000L;
+    public static final String DEFAULT_TIMEOUT_MILLIS = "60000";
+
+    private static final ThreadLocal<ConcurrentWorkItemExecution> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static int threads = DEFAULT_THREADS_INT;
+    private static volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS_LONG;
+    private static ExecutorService executor;
+
+    private final Deque<PendingWorkItem> pending = new ArrayDeque<>();
+    // limits of the outermost call and of the nested ones still running, innermost first
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+
+    /**
+     * Runs the given action, executing concurrently the handlers of the work items it triggers, and applies their
+     * outcome before returning. Nested calls join the outermost one, which applies the outcome of every handler.
+     */
+    public static void execute(Runnable action) {
+        execute(0, action);
+    }
+
+    /**
+     * Same as {@link #execute(Runnable)}, with at most <code>maxConcurrency</code> of the handlers triggered by the
+     * action executing at the same time when positive: once the limit is reached, the outcome of the oldest handler is
+     * awaited and applied before the next work item is submitted. The limits of enclosing calls still apply.
+     */
+    public static void execute(int maxConcurrency, Runnable action) {
+        ConcurrentWorkItemExecution current = CURRENT.get();
+        if (current != null) {
+            current.scopes.push(new Scope(maxConcurrency));
+            try {
+                action.run();
+            } finally {
+                current.scopes.pop();
+            }
+            return;
+        }
+        ConcurrentWorkItemExecution execution = new ConcurrentWorkItemExecution();
+        execution.scopes.push(new Scope(maxConcurrency));
+        CURRENT.set(execution);
+        try {
+            action.run();
+        } finally {
+            CURRENT.remove();
+        }
+        execution.complete();
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Sets the number of threads executing handlers and how long the outcome of a handler is awaited once every
+     * branch has been triggered. The executor is created again on first use if it already existed.
+     */
+    public static synchronized void configure(int threads, long timeoutMillis) {
+        if (threads <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Concurrent work item threads and timeout must be positive, got " + threads + " and " + timeoutMillis);
+        }
+        shutdown();
+        ConcurrentWorkItemExecution.threads = threads;
+        ConcurrentWorkItemExecution.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Stops the executor, interrupting the handlers still executing.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    static synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "jbpm-concurrent-workitem-" + COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * @param completion outcome of the handler execution
+     * @param completer applies the outcome of the handler, given a runnable replaying it or throwing the exception
+     *        raised by the handler
+     */
+    static void submit(CompletableFuture<Runnable> completion, Consumer<Runnable> completer) {
+        ConcurrentWorkItemExecution execution = CURRENT.get();
+        List<Scope> scopes = new ArrayList<>(execution.scopes);
+        scopes.forEach(scope -> scope.pending++);
+        execution.pending.add(new PendingWorkItem(completion, completer, scopes));
+        while (scopes.stream().anyMatch(Scope::isFull)) {
+            execution.completeNext();
+        }
+    }
+
+    private void complete() {
+        while (!pending.isEmpty()) {
+            completeNext();
+        }
+    }
+
+    private void completeNext() {
+        PendingWorkItem workItem = pending.poll();
+        workItem.scopes.forEach(scope -> scope.pending--);
+        Runnable outcome;
+        try {
+            outcome = workItem.completion.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            outcome = failure(e.getCause() == null ? e : e.getCause());
+        } catch (TimeoutException e) {
+            workItem.completion.cancel(true);
+            outcome = failure(new IllegalStateException("Work item handler did not complete within " + timeoutMillis + " ms", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workItem.completion.cancel(true);
+            outcome = failure(new IllegalStateException("Interrupted waiting for work item handler", e));
+        }
+        workItem.completer.accept(outcome);
+    }
+
+    private static Runnable failure(Throwable cause) {
+        return () -> {
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        };
+    }
+
+    private static class PendingWorkItem {
+
+        private final CompletableFuture<Runnable> completion;
+        private final Consumer<Runnable> completer;
+        private final List<Scope> scopes;
+
+        private PendingWorkItem(CompletableFuture<Runnable> completion, Consumer<Runnable> completer, List<Scope> scopes) {
+            this.completion = completion;
+            this.completer = completer;
+            this.scopes = scopes;
+        }
+    }
+
+    private static class Scope {
+
+        private final int maxConcurrency;
+        private int pending;
+
+        private Scope(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        private boolean isFull() {
+            return maxConcurrency > 0 && pending >= maxConcurrency;
+        }
+    }
+}
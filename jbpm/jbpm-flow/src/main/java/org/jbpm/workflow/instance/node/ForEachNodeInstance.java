@@ -27,6 +27,7 @@ import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.ContextInstance;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.ForEachNode;
 import org.jbpm.workflow.core.node.ForEachNode.ForEachJoinNode;
@@ -145,15 +146,27 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                     variableScopeInstance.setVariable(this, variableName, o);
                     nodeInstances.add(nodeInstance);
                 }
-                for (NodeInstance nodeInstance : nodeInstances) {
-                    logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
-                    nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+                if (isConcurrent()) {
+                    ConcurrentWorkItemExecution.execute(getForEachNode().getMaxConcurrency(), () -> triggerNodeInstances(nodeInstances));
+                } else {
+                    triggerNodeInstances(nodeInstances);
                 }
                 if (!getForEachNode().isWaitForCompletion()) {
                     ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, false);
                 }
             }
         }
+
+        private void triggerNodeInstances(List<NodeInstance> nodeInstances) {
+            for (NodeInstance nodeInstance : nodeInstances) {
+                logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+                nodeInstance.trigger(this, getForEachSplitNode().getTo().getToType());
+            }
+        }
+
+        private boolean isConcurrent() {
+            return Boolean.parseBoolean(String.valueOf(getForEachNode().getMetaData().get(Metadata.CUSTOM_CONCURRENT)));
+        }
     }
 
     public class ForEachJoinNodeInstance extends NodeInstanceImpl {
@@ -31,6 +31,7 @@ import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.process.instance.context.exclusive.ExclusiveGroupInstance;
 import org.jbpm.process.instance.impl.ConstraintEvaluator;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.Split;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
@@ -72,7 +73,11 @@ public class SplitInstance extends NodeInstanceImpl {
         // TODO make different strategies for each type
         switch (split.getType()) {
             case Split.TYPE_AND:
-                triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                if (Boolean.parseBoolean(String.valueOf(split.getMetaData().get(Metadata.CUSTOM_CONCURRENT)))) {
+                    ConcurrentWorkItemExecution.execute(() -> triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true));
+                } else {
+                    triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                }
                 break;
             case Split.TYPE_XOR:
                 List<Connection> outgoing = split.getDefaultOutgoingConnections();
@@ -42,6 +42,7 @@ import org.jbpm.process.core.datatype.DataType;
 import org.jbpm.process.core.impl.DataTransformerRegistry;
 import org.jbpm.process.instance.ContextInstance;
 import org.jbpm.process.instance.ContextInstanceContainer;
+import org.jbpm.process.instance.LightWorkItemManager;
 import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.process.instance.context.exception.ExceptionScopeInstance;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
@@ -162,14 +163,39 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         workItem.setNodeId(getNodeId());
         workItem.setNodeInstance(this);
         workItem.setProcessInstance(getProcessInstance());
-        processWorkItemHandler(() -> ((InternalKogitoWorkItemManager) KogitoProcessRuntime.asKogitoProcessRuntime(getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager())
-                .internalExecuteWorkItem(workItem));
+        InternalKogitoWorkItemManager workItemManager =
+                (InternalKogitoWorkItemManager) KogitoProcessRuntime.asKogitoProcessRuntime(getProcessInstance().getKnowledgeRuntime()).getKogitoWorkItemManager();
+        if (isConcurrent(workItemNode, workItemManager)) {
+            processWorkItemHandler(() -> ConcurrentWorkItemExecution.submit(
+                    ((LightWorkItemManager) workItemManager).internalExecuteWorkItem(workItem, ConcurrentWorkItemExecution.executor()),
+                    this::completeConcurrentWorkItem));
+        } else {
+            processWorkItemHandler(() -> workItemManager.internalExecuteWorkItem(workItem));
+        }
         if (!workItemNode.isWaitForCompletion()) {
             triggerCompleted();
         }
         this.workItemId = workItem.getStringId();
     }
 
+    /**
+     * Handlers of work items triggered while a concurrent split dispatches its branches run on another thread when
+     * they opted in, unless they need to interact with the process instance, like human tasks, or the node does not
+     * wait for the result.
+     */
+    private boolean isConcurrent(WorkItemNode workItemNode, InternalKogitoWorkItemManager workItemManager) {
+        return ConcurrentWorkItemExecution.isActive() && workItemNode.isWaitForCompletion() && !isInversionOfControl()
+                && !(this instanceof HumanTaskNodeInstance) && workItemManager instanceof LightWorkItemManager
+                && ((LightWorkItemManager) workItemManager).isConcurrent(workItem);
+    }
+
+    private void completeConcurrentWorkItem(Runnable outcome) {
+        // node instance might have been cancelled while the handler was running
+        if (getNodeInstanceContainer().getNodeInstance(getStringId()) != null) {
+            processWorkItemHandler(outcome);
+        }
+    }
+
     private void processWorkItemHandler(Runnable handler) {
         if (isInversionOfControl()) {
             ((ProcessInstance) getProcessInstance()).getKnowledgeRuntime()
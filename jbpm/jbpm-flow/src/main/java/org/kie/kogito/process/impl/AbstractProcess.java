@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 import org.jbpm.process.core.ProcessSupplier;
 import org.jbpm.process.core.timer.DateTimeUtils;
@@ -28,6 +29,7 @@ import org.jbpm.process.core.timer.Timer;
 import org.jbpm.process.instance.InternalProcessRuntime;
 import org.jbpm.process.instance.LightProcessRuntime;
 import org.jbpm.process.instance.LightProcessRuntimeServiceProvider;
+import org.jbpm.process.instance.ProcessInstanceManager;
 import org.jbpm.process.instance.ProcessRuntimeServiceProvider;
 import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.StartNode;
@@ -35,6 +37,7 @@ import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.WorkflowProcessInstance;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
@@ -42,6 +45,8 @@ import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.jobs.DurationExpirationTime;
 import org.kie.kogito.jobs.ExactExpirationTime;
 import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
@@ -51,6 +56,9 @@ import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.Signal;
+import org.kie.kogito.signal.SignalManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.services.jobs.impl.InMemoryJobService;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractProcess<T extends Model> implements Process<T>, ProcessSupplier {
@@ -69,6 +77,9 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
     private org.kie.api.definition.process.Process process;
     private Lock processInitLock = new ReentrantLock();
 
+    private boolean jobStoreConfigured;
+    private ProcessRuntimeServiceProvider storedJobsServices;
+
     protected AbstractProcess() {
         this(new LightProcessRuntimeServiceProvider());
     }
@@ -131,19 +142,39 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
 
     @Override
     public <S> void send(Signal<S> signal) {
-        instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        try (Stream<ProcessInstance<T>> stream = instances().waitingForEventType(signal.channel(), ProcessInstanceReadMode.MUTABLE)) {
+            stream.forEach(pi -> pi.send(signal));
+        }
     }
 
     public Process<T> configure() {
 
         registerListeners();
         if (isProcessFactorySet()) {
-            this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
+            this.instances = (MutableProcessInstances<T>) processInstancesFactory.processInstances(this);
+            configureJobStore();
         }
 
         return this;
     }
 
+    /**
+     * When no jobs service is configured, stores the jobs of this process in the job store of the persistence,
+     * if it provides one, instead of keeping them only in memory.
+     */
+    private synchronized void configureJobStore() {
+        if (jobStoreConfigured) {
+            return;
+        }
+        jobStoreConfigured = true;
+        if (services.getJobsService() == null) {
+            JobStore jobStore = processInstancesFactory.createJobStore(this);
+            if (jobStore != null) {
+                storedJobsServices = new StoredJobsServices(services, new InMemoryJobService(this, jobStore, services.getUnitOfWorkManager()));
+            }
+        }
+    }
+
     protected void registerListeners() {
 
     }
@@ -222,7 +253,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
     public abstract org.kie.api.definition.process.Process process();
 
     protected InternalProcessRuntime createProcessRuntime() {
-        return LightProcessRuntime.of(app, Collections.singletonList(get()), services);
+        return LightProcessRuntime.of(app, Collections.singletonList(get()), storedJobsServices == null ? services : storedJobsServices);
     }
 
     protected boolean isProcessFactorySet() {
@@ -258,4 +289,50 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
             return new String[0];
         }
     }
+
+    private static class StoredJobsServices implements ProcessRuntimeServiceProvider {
+
+        private final ProcessRuntimeServiceProvider delegate;
+        private final JobsService jobsService;
+
+        private StoredJobsServices(ProcessRuntimeServiceProvider delegate, JobsService jobsService) {
+            this.delegate = delegate;
+            this.jobsService = jobsService;
+        }
+
+        @Override
+        public JobsService getJobsService() {
+            return jobsService;
+        }
+
+        @Override
+        public ProcessInstanceManager getProcessInstanceManager() {
+            return delegate.getProcessInstanceManager();
+        }
+
+        @Override
+        public SignalManager getSignalManager() {
+            return delegate.getSignalManager();
+        }
+
+        @Override
+        public KogitoWorkItemManager getKogitoWorkItemManager() {
+            return delegate.getKogitoWorkItemManager();
+        }
+
+        @Override
+        public KogitoProcessEventSupport getEventSupport() {
+            return delegate.getEventSupport();
+        }
+
+        @Override
+        public UnitOfWorkManager getUnitOfWorkManager() {
+            return delegate.getUnitOfWorkManager();
+        }
+
+        @Override
+        public boolean isTimingWheelJobsEnabled() {
+            return delegate.isTimingWheelJobsEnabled();
+        }
+    }
 }
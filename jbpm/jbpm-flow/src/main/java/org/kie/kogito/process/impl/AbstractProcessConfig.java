@@ -43,6 +43,7 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
     private final ProcessEventListenerConfig processEventListenerConfig;
     private final UnitOfWorkManager unitOfWorkManager;
     private final JobsService jobsService;
+    private final boolean timingWheelJobsEnabled;
 
     protected AbstractProcessConfig(
             Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
@@ -53,6 +54,20 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
             Iterable<EventPublisher> eventPublishers,
             String kogitoService,
             Iterable<UnitOfWorkEventListener> unitOfWorkListeners) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService,
+                unitOfWorkListeners, false);
+    }
+
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            boolean timingWheelJobsEnabled) {
 
         this.workItemHandlerConfig = orDefault(workItemHandlerConfig, DefaultWorkItemHandlerConfig::new);
         this.processEventListenerConfig = merge(processEventListenerConfigs, processEventListeners);
@@ -60,6 +75,7 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
                 () -> new DefaultUnitOfWorkManager(
                         new CollectingUnitOfWorkFactory()));
         this.jobsService = orDefault(jobsService, () -> null);
+        this.timingWheelJobsEnabled = timingWheelJobsEnabled;
 
         eventPublishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
         unitOfWorkListeners.forEach(listener -> unitOfWorkManager().register(listener));
@@ -91,6 +107,11 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         return jobsService;
     }
 
+    @Override
+    public boolean timingWheelJobsEnabled() {
+        return timingWheelJobsEnabled;
+    }
+
     public org.kie.kogito.Addons addons() {
         return new org.kie.kogito.Addons(Arrays.asList());
     }
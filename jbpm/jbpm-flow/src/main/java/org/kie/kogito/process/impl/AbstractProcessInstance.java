@@ -31,8 +31,12 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.EventNodeIndex;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.instance.NodeInstance;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
@@ -64,6 +68,7 @@ import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit.Operation;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
@@ -231,7 +236,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         ((MutableProcessInstances<T>) process.instances()).create(id, this);
         KogitoProcessInstance kogitoProcessInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
         if (kogitoProcessInstance.getState() != STATE_ABORTED && kogitoProcessInstance.getState() != STATE_COMPLETED) {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(Operation.UPDATE);
         }
         unbind(variables, kogitoProcessInstance.getVariables());
         if (this.processInstance != null) {
@@ -244,13 +249,17 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    protected void addToUnitOfWork(Operation operation) {
+        getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit<>(this, (MutableProcessInstances<T>) process.instances(), operation));
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
         unbind(variables, processInstance().getVariables());
         getProcessRuntime().getKogitoProcessRuntime().abortProcessInstance(pid);
         this.status = processInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+        addToUnitOfWork(Operation.REMOVE);
     }
 
     private InternalProcessRuntime getProcessRuntime() {
@@ -322,7 +331,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
         this.variables.update(map);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
         return variables;
     }
 
@@ -372,7 +381,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
         nodeInstanceContainerNode.getNodeInstance(node).trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
     }
 
     @Override
@@ -469,7 +478,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy<?>... policies) {
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater,
                 policies);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addToUnitOfWork(Operation.UPDATE);
         return result;
     }
 
@@ -490,6 +499,51 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         return processInstance().getEventDescriptions();
     }
 
+    /**
+     * Returns the event types (signals, messages, timers...) this process instance may currently react to, that is
+     * the types of its registered listeners, of the nodes it is currently in, of the boundary events of those nodes
+     * and of the nodes that react without being reached first (event sub-process starts, catch events without
+     * incoming connections). Event nodes no token has reached yet are left out. Persistence stores keep them
+     * alongside the payload so broadcast signals can be delivered only to the subscribed instances.
+     *
+     * @return the event types, or empty when they can't be known before the event is signaled (dynamic processes,
+     *         ad hoc sub-processes, event types resolved from variables...), in which case the instance must be
+     *         considered subscribed to every event type
+     */
+    public Optional<Set<String>> eventTypes() {
+        WorkflowProcessInstanceImpl instance = (WorkflowProcessInstanceImpl) processInstance();
+        if (!(instance.getProcess() instanceof WorkflowProcessImpl)) {
+            return Optional.empty();
+        }
+        WorkflowProcessImpl workflow = (WorkflowProcessImpl) instance.getProcess();
+        EventNodeIndex eventNodeIndex = workflow.getEventNodeIndex();
+        if (workflow.isDynamic() || eventNodeIndex.acceptsAnyEventType()) {
+            return Optional.empty();
+        }
+        Set<String> eventTypes = instance.getListenedEventTypes();
+        eventTypes.addAll(eventNodeIndex.getStartEventTypes());
+        for (org.kie.api.runtime.process.NodeInstance nodeInstance : instance.getNodeInstances()) {
+            eventTypes.addAll(eventNodeIndex.getEventTypes(nodeInstance.getNode()));
+        }
+        if (!eventNodeIndex.getBoundaryEventNodes().isEmpty()) {
+            Set<Object> activeNodeIds = instance.getNodeInstances(true).stream()
+                    .map(nodeInstance -> nodeInstance.getNode().getMetaData().get(Metadata.UNIQUE_ID))
+                    .collect(Collectors.toSet());
+            for (BoundaryEventNode boundaryEventNode : eventNodeIndex.getBoundaryEventNodes()) {
+                String attachedTo = boundaryEventNode.getAttachedToNodeId();
+                if (activeNodeIds.contains(attachedTo)) {
+                    eventTypes.addAll(eventNodeIndex.getEventTypes(boundaryEventNode));
+                } else if (instance.getCompletedNodeIds().contains(attachedTo)) {
+                    // compensations are handled once the node they are attached to completed
+                    eventNodeIndex.getEventTypes(boundaryEventNode).stream()
+                            .filter(eventType -> eventType.startsWith(Metadata.EVENT_TYPE_COMPENSATION))
+                            .forEach(eventTypes::add);
+                }
+            }
+        }
+        return Optional.of(eventTypes);
+    }
+
     @Override
     public Collection<Milestone> milestones() {
         return processInstance.milestones();
@@ -504,9 +558,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         if (processInstance.getState() != KogitoProcessInstance.STATE_ACTIVE && processInstance.getState() != KogitoProcessInstance.STATE_ERROR) {
             removeCompletionListener();
             syncProcessInstance(processInstance);
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+            addToUnitOfWork(Operation.REMOVE);
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addToUnitOfWork(Operation.UPDATE);
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+
+/**
+ * Puts a {@link ProcessInstanceCache} in front of the process instances of a process. Only lookups by id are served
+ * from the cache, every write goes to the underlying store and invalidates the cached entry. When the store uses
+ * optimistic locking, a cached entry is only used if its version is still the stored one. Stores implementing
+ * {@link SerializedProcessInstances} let the cache keep the payload they read instead of marshalling it again.
+ */
+public class CachedProcessInstances<T> implements MutableProcessInstances<T> {
+
+    private final MutableProcessInstances<T> delegate;
+    private final ProcessInstanceCache cache;
+    private final String processId;
+    private final Function<ProcessInstance<T>, byte[]> marshaller;
+    private final BiFunction<byte[], ProcessInstanceReadMode, ProcessInstance<T>> unmarshaller;
+
+    public CachedProcessInstances(MutableProcessInstances<T> delegate, ProcessInstanceCache cache, String processId,
+            Function<ProcessInstance<T>, byte[]> marshaller, BiFunction<byte[], ProcessInstanceReadMode, ProcessInstance<T>> unmarshaller) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.processId = processId;
+        this.marshaller = marshaller;
+        this.unmarshaller = unmarshaller;
+    }
+
+    public MutableProcessInstances<T> delegate() {
+        return delegate;
+    }
+
+    public ProcessInstanceCache cache() {
+        return cache;
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        ProcessInstanceCache.Entry entry = cache.get(processId, id);
+        if (entry != null && isCurrent(id, entry)) {
+            cache.recordHit();
+            return Optional.of(unmarshall(entry.payload(), entry.version(), mode));
+        }
+        cache.recordMiss();
+        // taken before reading, so that what is read is not cached if it has been written meanwhile
+        long stamp = cache.stamp(processId, id);
+        if (delegate instanceof SerializedProcessInstances) {
+            return ((SerializedProcessInstances) delegate).findSerializedById(id).map(stored -> {
+                cache.put(processId, id, stored.payload(), stored.version(), stamp);
+                return unmarshall(stored.payload(), stored.version(), mode);
+            });
+        }
+        Optional<ProcessInstance<T>> instance = delegate.findById(id, mode);
+        instance.ifPresent(pi -> cache.put(processId, id, marshaller.apply(pi), pi.version(), stamp));
+        return instance;
+    }
+
+    private ProcessInstance<T> unmarshall(byte[] payload, long version, ProcessInstanceReadMode mode) {
+        ProcessInstance<T> instance = unmarshaller.apply(payload, mode);
+        ((AbstractProcessInstance<?>) instance).setVersion(version);
+        return instance;
+    }
+
+    private boolean isCurrent(String id, ProcessInstanceCache.Entry entry) {
+        if (!delegate.lock()) {
+            return true;
+        }
+        OptionalLong version = delegate.version(id);
+        if (version.isPresent() && version.getAsLong() == entry.version()) {
+            return true;
+        }
+        cache.invalidate(processId, id);
+        return false;
+    }
+
+    /**
+     * Always asks the underlying store, as a cached entry may outlive the process instance when it is removed by
+     * another application instance. With optimistic locking only the stored version is read.
+     */
+    @Override
+    public boolean exists(String id) {
+        OptionalLong version = delegate.lock() ? delegate.version(id) : OptionalLong.empty();
+        boolean exists = version.isPresent() || delegate.exists(id);
+        if (!exists) {
+            cache.invalidate(processId, id);
+        }
+        return exists;
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        try {
+            delegate.create(id, instance);
+        } finally {
+            cache.invalidate(processId, id);
+        }
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        try {
+            delegate.update(id, instance);
+        } finally {
+            cache.invalidate(processId, id);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        try {
+            delegate.remove(id);
+        } finally {
+            cache.invalidate(processId, id);
+        }
+    }
+
+    @Override
+    public void batch(Collection<ProcessInstance<T>> created, Collection<ProcessInstance<T>> updated, Collection<String> removed) {
+        try {
+            delegate.batch(created, updated, removed);
+        } finally {
+            created.forEach(instance -> cache.invalidate(processId, instance.id()));
+            updated.forEach(instance -> cache.invalidate(processId, instance.id()));
+            removed.forEach(id -> cache.invalidate(processId, id));
+        }
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
+        return delegate.values(mode);
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, long offset, int limit) {
+        return delegate.values(mode, offset, limit);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return delegate.stream(mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, long offset, int limit) {
+        return delegate.stream(mode, offset, limit);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return delegate.waitingForEventType(eventType, mode);
+    }
+
+    @Override
+    public Integer size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean lock() {
+        return delegate.lock();
+    }
+
+    @Override
+    public OptionalLong version(String id) {
+        return delegate.version(id);
+    }
+}
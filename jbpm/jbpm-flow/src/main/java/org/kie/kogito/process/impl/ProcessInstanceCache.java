@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, access ordered cache of serialized process instances shared by the processes of an application.
+ * Entries are keyed by process and process instance id, keep the version the payload was read with and expire
+ * after a fixed time to live, bounding how stale an entry can be when it cannot be validated against the storage.
+ */
+public class ProcessInstanceCache {
+
+    public static final long DEFAULT_TTL_MILLIS = 60000L;
+
+    private static final int STAMP_STRIPES = 64;
+
+    public static final class Entry {
+
+        private final byte[] payload;
+        private final long version;
+        private final long expiresAt;
+
+        Entry(byte[] payload, long version, long expiresAt) {
+            this.payload = payload;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+
+        public long version() {
+            return version;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    // invalidation counters, striped by key so that they are bounded while rarely shared by two instances
+    private final long[] stamps = new long[STAMP_STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ProcessInstanceCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    ProcessInstanceCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Process instance cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ProcessInstanceCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the live entry for the process instance, or null when there is none or it has expired
+     */
+    public Entry get(String processId, String id) {
+        String key = key(processId, id);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= clock.getAsLong()) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    public void put(String processId, String id, byte[] payload, long version) {
+        Entry entry = new Entry(payload, version, clock.getAsLong() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key(processId, id), entry);
+        }
+    }
+
+    /**
+     * Caches the payload read from the storage, unless the process instance has been invalidated since the given
+     * stamp was taken, as what has been read may then predate what has been written meanwhile.
+     *
+     * @param stamp the stamp taken with {@link #stamp(String, String)} before reading the payload
+     * @return whether the payload has been cached
+     */
+    public boolean put(String processId, String id, byte[] payload, long version, long stamp) {
+        String key = key(processId, id);
+        Entry entry = new Entry(payload, version, clock.getAsLong() + ttlMillis);
+        synchronized (entries) {
+            if (stamps[stripe(key)] != stamp) {
+                return false;
+            }
+            entries.put(key, entry);
+            return true;
+        }
+    }
+
+    /**
+     * @return the invalidation stamp of the process instance, to take before reading it from the storage
+     */
+    public long stamp(String processId, String id) {
+        String key = key(processId, id);
+        synchronized (entries) {
+            return stamps[stripe(key)];
+        }
+    }
+
+    public void invalidate(String processId, String id) {
+        String key = key(processId, id);
+        synchronized (entries) {
+            entries.remove(key);
+            stamps[stripe(key)]++;
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of entries removed for exceeding the maximum size or the time to live
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String key(String processId, String id) {
+        return processId + '/' + id;
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % STAMP_STRIPES;
+    }
+}
@@ -20,8 +20,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.process.instance.impl.humantask.HumanTaskHelper;
 import org.jbpm.process.instance.impl.humantask.HumanTaskTransition;
@@ -35,7 +38,9 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessService;
+import org.kie.kogito.process.ReactiveMutableProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.workitem.Attachment;
 import org.kie.kogito.process.workitem.AttachmentInfo;
@@ -88,10 +93,25 @@ public class ProcessServiceImpl implements ProcessService {
 
     @Override
     public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process) {
-        return process.instances().values().stream()
-                .map(ProcessInstance::variables)
-                .map(MappableToModel::toModel)
-                .collect(Collectors.toList());
+        try (Stream<ProcessInstance<T>> stream = process.instances().stream()) {
+            return stream
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Invalid page " + page + " or size " + size + ", page must not be negative and size must be positive");
+        }
+        try (Stream<ProcessInstance<T>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY, (long) page * size, size)) {
+            return stream
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
     }
 
     @Override
@@ -102,6 +122,19 @@ public class ProcessServiceImpl implements ProcessService {
                 .map(MappableToModel::toModel);
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        ProcessInstances<T> instances = process.instances();
+        if (instances instanceof ReactiveMutableProcessInstances) {
+            return ((ReactiveMutableProcessInstances<T>) instances)
+                    .findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+                    .thenApply(pi -> pi
+                            .map(ProcessInstance::variables)
+                            .map(MappableToModel::toModel));
+        }
+        return CompletableFuture.supplyAsync(() -> findById(process, id));
+    }
+
     @Override
     public <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id) {
         return UnitOfWorkExecutor.executeInUnitOfWork(
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+
+/**
+ * Implemented by the process instance stores able to read a process instance as stored, without unmarshalling it,
+ * which lets {@link CachedProcessInstances} keep the payload it has just read instead of marshalling the instance
+ * again.
+ */
+public interface SerializedProcessInstances {
+
+    /**
+     * @param id the process instance id
+     * @return the marshalled process instance along with its version, or empty when it does not exist
+     */
+    Optional<SerializedProcessInstance> findSerializedById(String id);
+
+    final class SerializedProcessInstance {
+
+        private final byte[] payload;
+        private final long version;
+
+        public SerializedProcessInstance(byte[] payload, long version) {
+            this.payload = payload;
+            this.version = version;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+
+        public long version() {
+            return version;
+        }
+    }
+}
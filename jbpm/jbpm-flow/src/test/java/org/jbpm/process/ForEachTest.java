@@ -16,17 +16,32 @@
 package org.jbpm.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.instance.ConcurrentWorkItemHandler;
+import org.jbpm.ruleflow.core.Metadata;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
 import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.slf4j.LoggerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class ForEachTest extends AbstractBaseTest {
 
     public void addLogger() {
@@ -90,4 +105,97 @@ public class ForEachTest extends AbstractBaseTest {
         kruntime.startProcess("ParentProcess", parameters);
     }
 
+    @Test
+    public void testConcurrentWorkItems() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createWorkItemProcess(null));
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", new UpperCaseWorkItemHandler(() -> {
+            // only passes when every iteration is executing at the same time
+            barrier.await(5, TimeUnit.SECONDS);
+        }));
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("ParentProcess", workItemParameters());
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(((WorkflowProcessInstance) processInstance).getVariable("listOut")).isEqualTo(Arrays.asList("FIRST", "SECOND", "THIRD"));
+    }
+
+    @Test
+    public void testConcurrentWorkItemsMaxConcurrency() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createWorkItemProcess(2));
+        AtomicInteger executing = new AtomicInteger();
+        AtomicInteger maxExecuting = new AtomicInteger();
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", new UpperCaseWorkItemHandler(() -> {
+            maxExecuting.accumulateAndGet(executing.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            executing.decrementAndGet();
+        }));
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("ParentProcess", workItemParameters());
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(((WorkflowProcessInstance) processInstance).getVariable("listOut")).isEqualTo(Arrays.asList("FIRST", "SECOND", "THIRD"));
+        assertThat(maxExecuting.get()).isBetween(1, 2);
+    }
+
+    private static RuleFlowProcess createWorkItemProcess(Integer maxConcurrency) {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("ParentProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Parent Process");
+        factory.packageName("org.drools.bpmn2");
+        factory.startNode(1).name("StartProcess").done();
+        ForEachNodeFactory<RuleFlowProcessFactory> forEachNode = factory.forEachNode(2);
+        forEachNode.metaData(Metadata.CUSTOM_CONCURRENT, "true");
+        if (maxConcurrency != null) {
+            forEachNode.metaData(Metadata.CUSTOM_MAX_CONCURRENCY, maxConcurrency.toString());
+        }
+        forEachNode.collectionExpression("list");
+        forEachNode.variable("x", new ObjectDataType("java.lang.String"));
+        forEachNode.outputCollectionExpression("listOut");
+        forEachNode.outputVariable("y", new ObjectDataType("java.lang.String"));
+        forEachNode.workItemNode(5).name("Service").workName("Service").inMapping("Input", "x").outMapping("Result", "y").done();
+        forEachNode.linkIncomingConnections(5);
+        forEachNode.linkOutgoingConnections(5);
+        forEachNode.done();
+        factory.endNode(3).name("EndProcess").done();
+        factory.connection(1, 2);
+        factory.connection(2, 3);
+        return factory.validate().getProcess();
+    }
+
+    private static Map<String, Object> workItemParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", Arrays.asList("first", "second", "third"));
+        parameters.put("listOut", new ArrayList<String>());
+        return parameters;
+    }
+
+    private interface Execution {
+        void run() throws Exception;
+    }
+
+    private static class UpperCaseWorkItemHandler implements ConcurrentWorkItemHandler {
+
+        private final Execution execution;
+
+        private UpperCaseWorkItemHandler(Execution execution) {
+            this.execution = execution;
+        }
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            try {
+                execution.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            String input = (String) workItem.getParameter("Input");
+            manager.completeWorkItem(workItem.getStringId(), Collections.singletonMap("Result", input.toUpperCase()));
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
 }
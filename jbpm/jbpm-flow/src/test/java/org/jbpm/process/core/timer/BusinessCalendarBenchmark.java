@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.core.timer;
+
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the indexed business time calculation with the calendar walk it replaced. Not run with the tests,
+ * launch {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessCalendarBenchmark {
+
+    @Param({ "3h", "1d4h20m", "30d", "200h" })
+    private String timeExpression;
+
+    private BusinessCalendarImpl businessCalendar;
+
+    @Setup
+    public void setup() {
+        Properties config = new Properties();
+        config.setProperty(BusinessCalendarImpl.TIMEZONE, "Europe/Paris");
+        config.setProperty(BusinessCalendarImpl.HOLIDAYS, "2021-01-01,2021-04-05,2021-05-01:2021-05-09,2021-05-13,2021-05-24,2021-07-14,"
+                + "2021-08-02:2021-08-20,2021-11-01,2021-11-11,2021-12-24:2021-12-31");
+        businessCalendar = new BusinessCalendarImpl(config, () -> 1619690400000L);
+    }
+
+    @Benchmark
+    public Date indexed() {
+        return businessCalendar.calculateBusinessTimeAsDate(timeExpression);
+    }
+
+    @Benchmark
+    public Date calendar() {
+        return businessCalendar.calculateBusinessTimeAsDateByCalendar(timeExpression);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BusinessCalendarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
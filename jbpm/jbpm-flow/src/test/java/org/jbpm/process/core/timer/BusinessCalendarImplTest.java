@@ -17,6 +17,8 @@ package org.jbpm.process.core.timer;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Properties;
@@ -371,6 +373,41 @@ public class BusinessCalendarImplTest extends AbstractBaseTest {
         assertEquals(expectedDate, formatDate("yyyy-MM-dd HH:mm:ss", result));
     }
 
+    @Test
+    public void testCalculateHoursSpanningDaysPassingOverHoliday() {
+        Properties config = new Properties();
+        config.setProperty(BusinessCalendarImpl.HOLIDAYS, "2012-05-28,2012-06-11:2012-06-15");
+        String expectedDate = "2012-05-31 14:30";
+
+        SessionPseudoClock clock = new StaticPseudoClock(parseToDateWithTime("2012-05-21 10:30").getTime());
+        BusinessCalendarImpl businessCal = new BusinessCalendarImpl(config, clock);
+
+        Date result = businessCal.calculateBusinessTimeAsDate("60h");
+
+        assertEquals(expectedDate, formatDate("yyyy-MM-dd HH:mm", result));
+    }
+
+    @Test
+    public void testCalculateHoursPassingOverDaylightSavingTimeChange() {
+        Properties config = new Properties();
+        config.setProperty(BusinessCalendarImpl.TIMEZONE, "Europe/Paris");
+        ZoneId zone = ZoneId.of("Europe/Paris");
+
+        SessionPseudoClock clock = new StaticPseudoClock(ZonedDateTime.of(2021, 3, 26, 15, 0, 0, 0, zone).toInstant().toEpochMilli());
+        BusinessCalendarImpl businessCal = new BusinessCalendarImpl(config, clock);
+
+        Date result = businessCal.calculateBusinessTimeAsDate("4h");
+
+        assertEquals(ZonedDateTime.of(2021, 3, 29, 11, 0, 0, 0, zone).toInstant(), result.toInstant());
+    }
+
+    @Test
+    public void testWeekendOnlyConfiguration() {
+        Properties config = new Properties();
+        config.setProperty(BusinessCalendarImpl.WEEKEND_DAYS, "1,2,3,4,5,6,7");
+        assertThrows(IllegalArgumentException.class, () -> new BusinessCalendarImpl(config));
+    }
+
     private Date parseToDate(String dateString) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
 
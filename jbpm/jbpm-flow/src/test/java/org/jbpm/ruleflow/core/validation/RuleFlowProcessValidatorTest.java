@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.jbpm.process.core.validation.ProcessValidationError;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
@@ -210,6 +211,23 @@ public class RuleFlowProcessValidatorTest {
         testNodeOnEntryOnExit(new CompositeNode());
     }
 
+    @Test
+    void testForEachMaxConcurrency() {
+        ForEachNode forEachNode = new ForEachNode();
+        forEachNode.setName("name");
+        forEachNode.setId(1);
+
+        forEachNode.setMetaData(Metadata.CUSTOM_MAX_CONCURRENCY, "2");
+        List<ProcessValidationError> errors = new ArrayList<>();
+        validator.validateNodes(new org.kie.api.definition.process.Node[] { forEachNode }, errors, process);
+        assertThat(errors).extracting("message").noneMatch(message -> message.toString().contains("maximum concurrency"));
+
+        forEachNode.setMetaData(Metadata.CUSTOM_MAX_CONCURRENCY, "two");
+        validator.validateNodes(new org.kie.api.definition.process.Node[] { forEachNode }, errors, process);
+        assertThat(errors).extracting("message").contains(
+                "Node 'name' [1] ForEach has an invalid maximum concurrency: customMaxConcurrency must be a positive integer, got two");
+    }
+
     private void testNodeOnEntryOnExit(ExtendedNodeImpl node) {
         List<ProcessValidationError> errors = new ArrayList<>();
         node.setName("name");
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.DynamicNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventNodeIndexTest {
+
+    @Test
+    public void testEventNodesByType() {
+        EventNode first = eventNode(1, "first");
+        EventNode second = eventNode(2, "second");
+        ActionNode action = new ActionNode();
+        action.setId(3);
+
+        EventNodeIndex index = new EventNodeIndex(new Node[] { first, second, action });
+
+        assertThat(index.getEventNodes("first")).containsExactly(first);
+        assertThat(index.getEventNodes("second")).containsExactly(second);
+        assertThat(index.getEventNodes("unknown")).isEmpty();
+        assertThat(index.getDynamicNodes()).containsExactly(first, second, action);
+        assertThat(index.getEventTypes()).containsExactlyInAnyOrder("first", "second");
+        assertThat(index.acceptsAnyEventType()).isFalse();
+    }
+
+    @Test
+    public void testExpressionIsCandidateForEveryType() {
+        EventNode first = eventNode(1, "first");
+        BoundaryEventNode expression = new BoundaryEventNode();
+        expression.setId(2);
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType("Message-#{correlation}");
+        expression.addEventFilter(filter);
+        EventNode last = eventNode(3, "first");
+
+        EventNodeIndex index = new EventNodeIndex(new Node[] { first, expression, last });
+
+        assertThat(index.getEventNodes("first")).containsExactly(first, expression, last);
+        assertThat(index.getEventNodes("Message-1")).containsExactly(expression);
+        assertThat(index.acceptsAnyEventType()).isTrue();
+    }
+
+    @Test
+    public void testAdHocSubProcessAcceptsAnyEventType() {
+        EventNode first = eventNode(1, "first");
+        DynamicNode adHoc = new DynamicNode();
+        adHoc.setId(2);
+        ActionNode action = new ActionNode();
+        action.setId(3);
+        action.setName("triggeredByName");
+        adHoc.addNode(action);
+
+        EventNodeIndex index = new EventNodeIndex(new Node[] { first, adHoc });
+
+        // nodes of ad hoc sub-processes are triggered by their name, which is not an event type of the index
+        assertThat(index.getEventTypes()).doesNotContain("triggeredByName");
+        assertThat(index.acceptsAnyEventType()).isTrue();
+    }
+
+    @Test
+    public void testStartEventTypes() {
+        EventNode start = eventNode(1, "start");
+        ActionNode action = new ActionNode();
+        action.setId(2);
+        EventNode reached = eventNode(3, "reached");
+        new ConnectionImpl(action, Node.CONNECTION_DEFAULT_TYPE, reached, Node.CONNECTION_DEFAULT_TYPE);
+        BoundaryEventNode boundary = new BoundaryEventNode();
+        boundary.setId(4);
+        boundary.setAttachedToNodeId("2");
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType("boundary");
+        boundary.addEventFilter(filter);
+
+        EventNodeIndex index = new EventNodeIndex(new Node[] { start, action, reached, boundary });
+
+        // catch events with incoming connections and boundary events only react once their node is reached
+        assertThat(index.getStartEventTypes()).containsExactly("start");
+        assertThat(index.getEventTypes(reached)).containsExactly("reached");
+        assertThat(index.getEventTypes(action)).isEmpty();
+        assertThat(index.getBoundaryEventNodes()).containsExactly(boundary);
+        assertThat(index.getEventTypes(boundary)).containsExactly("boundary");
+    }
+
+    private static EventNode eventNode(long id, String type) {
+        EventNode node = new EventNode();
+        node.setId(id);
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        node.addEventFilter(filter);
+        return node;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jbpm.process.instance.impl.Action;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.DroolsAction;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.ConnectionImpl;
+import org.jbpm.workflow.core.impl.DroolsConsequenceAction;
+import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.StartNode;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExecutionAgendaTest extends AbstractBaseTest {
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testNestedTriggersRunDepthFirst() {
+        ExecutionAgenda agenda = new ExecutionAgenda(10);
+        List<String> executed = new ArrayList<>();
+
+        agenda.execute(() -> {
+            executed.add("a");
+            agenda.execute(() -> executed.add("b"));
+            executed.add("c");
+        });
+
+        assertThat(executed).containsExactly("a", "b", "c");
+        assertThat(agenda.getDepth()).isZero();
+        assertThat(agenda.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testTriggersBeyondMaxDepthAreQueued() {
+        ExecutionAgenda agenda = new ExecutionAgenda(2);
+        List<String> executed = new ArrayList<>();
+
+        agenda.execute(() -> agenda.execute(() -> {
+            agenda.execute(() -> executed.add("deferred"));
+            executed.add("nested");
+        }));
+
+        assertThat(executed).containsExactly("nested", "deferred");
+        assertThat(agenda.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testFailureDiscardsQueuedTriggers() {
+        ExecutionAgenda agenda = new ExecutionAgenda(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        assertThatThrownBy(() -> agenda.execute(() -> {
+            agenda.execute(executed::incrementAndGet);
+            throw new IllegalStateException("failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(executed).hasValue(0);
+        assertThat(agenda.getDepth()).isZero();
+        assertThat(agenda.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testLongChainOfActionNodes() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId("org.jbpm.process.chain");
+        process.setName("Chain Process");
+
+        AtomicInteger executed = new AtomicInteger();
+        StartNode startNode = new StartNode();
+        startNode.setName("Start");
+        startNode.setId(1);
+        process.addNode(startNode);
+
+        NodeImpl previous = startNode;
+        int actions = 5000;
+        for (int i = 0; i < actions; i++) {
+            ActionNode actionNode = new ActionNode();
+            actionNode.setName("Action" + i);
+            DroolsAction action = new DroolsConsequenceAction("java", null);
+            action.setMetaData("Action", (Action) context -> executed.incrementAndGet());
+            actionNode.setAction(action);
+            actionNode.setId(i + 2L);
+            process.addNode(actionNode);
+            new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, actionNode, Node.CONNECTION_DEFAULT_TYPE);
+            previous = actionNode;
+        }
+
+        EndNode endNode = new EndNode();
+        endNode.setName("End");
+        endNode.setId(actions + 2L);
+        process.addNode(endNode);
+        new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, endNode, Node.CONNECTION_DEFAULT_TYPE);
+
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(process);
+        KogitoProcessInstance processInstance = kruntime.startProcess("org.jbpm.process.chain");
+
+        assertThat(executed).hasValue(actions);
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.process.instance.ConcurrentWorkItemHandler;
+import org.jbpm.ruleflow.core.Metadata;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.Split;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentSplitInstanceTest extends AbstractBaseTest {
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testConcurrentBranches() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createProcess(true));
+        BarrierWorkItemHandler handler = new BarrierWorkItemHandler(2);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", handler);
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("org.jbpm.process.concurrent");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(handler.threads).hasSize(2).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testSequentialBranches() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createProcess(false));
+        BarrierWorkItemHandler handler = new BarrierWorkItemHandler(1);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", handler);
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("org.jbpm.process.concurrent");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(handler.threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testBranchesNotOptedInRunOnCallingThread() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createProcess(true));
+        BarrierWorkItemHandler handler = new BarrierWorkItemHandler(1, false);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", handler);
+
+        KogitoProcessInstance processInstance = kruntime.startProcess("org.jbpm.process.concurrent");
+
+        assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_COMPLETED);
+        assertThat(handler.threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testConcurrentBranchTimeout() {
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(createProcess(true));
+        CountDownLatch release = new CountDownLatch(1);
+        kruntime.getKogitoWorkItemManager().registerWorkItemHandler("Service", new ConcurrentWorkItemHandler() {
+            @Override
+            public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            }
+        });
+        ConcurrentWorkItemExecution.configure(2, 100);
+        try {
+            KogitoProcessInstance processInstance = kruntime.startProcess("org.jbpm.process.concurrent");
+
+            assertThat(processInstance.getState()).isEqualTo(KogitoProcessInstance.STATE_ERROR);
+        } finally {
+            release.countDown();
+            ConcurrentWorkItemExecution.configure(ConcurrentWorkItemExecution.DEFAULT_THREADS_INT, ConcurrentWorkItemExecution.DEFAULT_TIMEOUT_MILLIS_LONG);
+        }
+    }
+
+    private static RuleFlowProcess createProcess(boolean concurrent) {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.process.concurrent");
+        factory.name("Concurrent Process").packageName("org.jbpm")
+                .startNode(1).name("Start").done()
+                .splitNode(2).name("Split").type(Split.TYPE_AND).metaData(Metadata.CUSTOM_CONCURRENT, Boolean.toString(concurrent)).done()
+                .workItemNode(3).name("Task1").workName("Service").done()
+                .workItemNode(4).name("Task2").workName("Service").done()
+                .joinNode(5).name("Join").type(Join.TYPE_AND).done()
+                .endNode(6).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(2, 4)
+                .connection(3, 5)
+                .connection(4, 5)
+                .connection(5, 6);
+        return factory.validate().getProcess();
+    }
+
+    private static class BarrierWorkItemHandler implements ConcurrentWorkItemHandler {
+
+        private final CyclicBarrier barrier;
+        private final boolean concurrent;
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        private BarrierWorkItemHandler(int parties) {
+            this(parties, true);
+        }
+
+        private BarrierWorkItemHandler(int parties, boolean concurrent) {
+            this.barrier = new CyclicBarrier(parties);
+            this.concurrent = concurrent;
+        }
+
+        @Override
+        public boolean isConcurrent(KogitoWorkItem workItem) {
+            return concurrent;
+        }
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            threads.add(Thread.currentThread().getName());
+            try {
+                // only passes when every branch is executing at the same time
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            manager.completeWorkItem(workItem.getStringId(), Collections.emptyMap());
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentWorkItemExecutionTest {
+
+    private final List<String> applied = new ArrayList<>();
+
+    @Test
+    public void testOutcomesAppliedOnceEveryBranchIsTriggered() {
+        ConcurrentWorkItemExecution.execute(() -> {
+            submit("first");
+            submit("second");
+            assertThat(applied).isEmpty();
+        });
+
+        assertThat(applied).containsExactly("first", "second");
+    }
+
+    @Test
+    public void testNestedMaxConcurrency() {
+        ConcurrentWorkItemExecution.execute(() -> {
+            ConcurrentWorkItemExecution.execute(1, () -> {
+                submit("first");
+                assertThat(applied).containsExactly("first");
+                submit("second");
+                assertThat(applied).containsExactly("first", "second");
+            });
+            // the limit of the nested call no longer applies
+            submit("third");
+            submit("fourth");
+            assertThat(applied).containsExactly("first", "second");
+        });
+
+        assertThat(applied).containsExactly("first", "second", "third", "fourth");
+    }
+
+    @Test
+    public void testEnclosingMaxConcurrency() {
+        ConcurrentWorkItemExecution.execute(2, () -> {
+            submit("first");
+            ConcurrentWorkItemExecution.execute(() -> submit("second"));
+            assertThat(applied).containsExactly("first");
+        });
+
+        assertThat(applied).containsExactly("first", "second");
+    }
+
+    private void submit(String name) {
+        ConcurrentWorkItemExecution.submit(CompletableFuture.completedFuture(() -> applied.add(name)), Runnable::run);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.SerializedProcessInstances.SerializedProcessInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class CachedProcessInstancesTest {
+
+    private static final String PROCESS_ID = "test";
+    private static final String ID = "1";
+
+    private final AtomicInteger marshalled = new AtomicInteger();
+
+    private MutableProcessInstances<Object> delegate;
+    private ProcessInstanceCache cache;
+    private CachedProcessInstances<Object> instances;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        delegate = mock(MutableProcessInstances.class, withSettings().extraInterfaces(SerializedProcessInstances.class));
+        cache = new ProcessInstanceCache(10, 60000L);
+        instances = new CachedProcessInstances<>(delegate, cache, PROCESS_ID, instance -> {
+            marshalled.incrementAndGet();
+            return new byte[0];
+        }, (payload, mode) -> mock(AbstractProcessInstance.class));
+    }
+
+    @Test
+    public void testMissKeepsReadPayload() {
+        when(serialized().findSerializedById(ID)).thenReturn(Optional.of(new SerializedProcessInstance(new byte[] { 1 }, 2L)));
+
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+
+        verify(serialized(), times(1)).findSerializedById(ID);
+        assertThat(marshalled).hasValue(0);
+        assertThat(cache.get(PROCESS_ID, ID).payload()).containsExactly(1);
+        assertThat(cache.hitCount()).isEqualTo(1L);
+        assertThat(cache.missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testReadRacingWithWriteNotCached() {
+        when(serialized().findSerializedById(ID)).thenAnswer(invocation -> {
+            // the instance is written while it is being read
+            instances.update(ID, mock(ProcessInstance.class));
+            return Optional.of(new SerializedProcessInstance(new byte[] { 1 }, 0L));
+        });
+
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        assertThat(cache.get(PROCESS_ID, ID)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMissWithoutSerializedPayloadMarshalls() {
+        MutableProcessInstances<Object> plain = mock(MutableProcessInstances.class);
+        ProcessInstance<Object> instance = mock(ProcessInstance.class);
+        when(plain.findById(ID, ProcessInstanceReadMode.READ_ONLY)).thenReturn(Optional.of(instance));
+        instances = new CachedProcessInstances<>(plain, cache, PROCESS_ID, pi -> {
+            marshalled.incrementAndGet();
+            return new byte[0];
+        }, (payload, mode) -> mock(AbstractProcessInstance.class));
+
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.READ_ONLY)).contains(instance);
+        assertThat(marshalled).hasValue(1);
+        assertThat(cache.get(PROCESS_ID, ID)).isNotNull();
+    }
+
+    @Test
+    public void testExistsAsksStore() {
+        cache.put(PROCESS_ID, ID, new byte[0], 0L);
+        when(delegate.exists(ID)).thenReturn(false);
+
+        // the instance has been removed by someone else, the cached entry is stale
+        assertThat(instances.exists(ID)).isFalse();
+        assertThat(cache.get(PROCESS_ID, ID)).isNull();
+    }
+
+    @Test
+    public void testExistsWithLockReadsVersion() {
+        when(delegate.lock()).thenReturn(true);
+        when(delegate.version(ID)).thenReturn(OptionalLong.of(3L));
+
+        assertThat(instances.exists(ID)).isTrue();
+        verify(delegate, times(0)).exists(ID);
+    }
+
+    private SerializedProcessInstances serialized() {
+        return (SerializedProcessInstances) delegate;
+    }
+}
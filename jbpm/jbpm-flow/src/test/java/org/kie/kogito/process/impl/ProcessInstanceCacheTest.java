@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProcessInstanceCacheTest {
+
+    private static final String PROCESS_ID = "test";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testPutAndGet() {
+        ProcessInstanceCache cache = new ProcessInstanceCache(2, 1000L, clock::get);
+        cache.put(PROCESS_ID, "1", new byte[] { 1 }, 3L);
+
+        ProcessInstanceCache.Entry entry = cache.get(PROCESS_ID, "1");
+        assertThat(entry).isNotNull();
+        assertThat(entry.payload()).containsExactly(1);
+        assertThat(entry.version()).isEqualTo(3L);
+        assertThat(cache.get("other", "1")).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ProcessInstanceCache cache = new ProcessInstanceCache(2, 1000L, clock::get);
+        cache.put(PROCESS_ID, "1", new byte[0], 0L);
+        cache.put(PROCESS_ID, "2", new byte[0], 0L);
+        cache.get(PROCESS_ID, "1");
+        cache.put(PROCESS_ID, "3", new byte[0], 0L);
+
+        assertThat(cache.get(PROCESS_ID, "1")).isNotNull();
+        assertThat(cache.get(PROCESS_ID, "2")).isNull();
+        assertThat(cache.get(PROCESS_ID, "3")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testExpiredEntryEvicted() {
+        ProcessInstanceCache cache = new ProcessInstanceCache(2, 1000L, clock::get);
+        cache.put(PROCESS_ID, "1", new byte[0], 0L);
+        clock.set(999L);
+        assertThat(cache.get(PROCESS_ID, "1")).isNotNull();
+        clock.set(1000L);
+        assertThat(cache.get(PROCESS_ID, "1")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testInvalidate() {
+        ProcessInstanceCache cache = new ProcessInstanceCache(2, 1000L, clock::get);
+        cache.put(PROCESS_ID, "1", new byte[0], 0L);
+        cache.invalidate(PROCESS_ID, "1");
+        assertThat(cache.get(PROCESS_ID, "1")).isNull();
+        assertThat(cache.evictionCount()).isZero();
+    }
+
+    @Test
+    public void testPutIgnoredWhenInvalidatedSinceStamp() {
+        ProcessInstanceCache cache = new ProcessInstanceCache(2, 1000L, clock::get);
+        long stamp = cache.stamp(PROCESS_ID, "1");
+        cache.invalidate(PROCESS_ID, "1");
+        assertThat(cache.put(PROCESS_ID, "1", new byte[0], 0L, stamp)).isFalse();
+        assertThat(cache.get(PROCESS_ID, "1")).isNull();
+
+        stamp = cache.stamp(PROCESS_ID, "1");
+        assertThat(cache.put(PROCESS_ID, "1", new byte[0], 0L, stamp)).isTrue();
+        assertThat(cache.get(PROCESS_ID, "1")).isNotNull();
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThatThrownBy(() -> new ProcessInstanceCache(0, 1000L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.MappableToModel;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class ProcessServiceImplTest {
+
+    private ProcessInstances<TestModel> instances;
+    private Process<TestModel> process;
+    private ProcessServiceImpl processService;
+
+    @BeforeEach
+    void setup() {
+        List<ProcessInstance<TestModel>> values = Stream.of("a", "b", "c", "d", "e")
+                .map(ProcessServiceImplTest::instance)
+                .collect(Collectors.toList());
+        instances = mock(ProcessInstances.class, CALLS_REAL_METHODS);
+        when(instances.values(any())).thenReturn(values);
+        process = mock(Process.class);
+        when(process.instances()).thenReturn(instances);
+        processService = new ProcessServiceImpl(mock(Application.class));
+    }
+
+    @Test
+    void testUnpagedOutputReturnsAllInstances() {
+        List<String> output = processService.getProcessInstanceOutput(process);
+
+        assertThat(output).containsExactly("a", "b", "c", "d", "e");
+        verify(instances, never()).stream(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testPagedOutput() {
+        assertThat(processService.<TestModel, String> getProcessInstanceOutput(process, 0, 2)).containsExactly("a", "b");
+        assertThat(processService.<TestModel, String> getProcessInstanceOutput(process, 2, 2)).containsExactly("e");
+        assertThat(processService.<TestModel, String> getProcessInstanceOutput(process, 3, 2)).isEmpty();
+        verify(instances).stream(ProcessInstanceReadMode.READ_ONLY, 4L, 2);
+    }
+
+    @Test
+    void testInvalidPage() {
+        assertThatThrownBy(() -> processService.getProcessInstanceOutput(process, -1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> processService.getProcessInstanceOutput(process, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testDefaultPagedValues() {
+        when(instances.values(any())).thenReturn(Stream.of("d", "a", "e", "c", "b")
+                .map(ProcessServiceImplTest::instance)
+                .collect(Collectors.toList()));
+
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 1, 3)).extracting(pi -> pi.variables().toModel())
+                .containsExactlyElementsOf(Arrays.asList("b", "c", "d"));
+    }
+
+    private static ProcessInstance<TestModel> instance(String name) {
+        ProcessInstance<TestModel> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn(name);
+        when(instance.variables()).thenReturn(new TestModel(name));
+        return instance;
+    }
+
+    static class TestModel implements Model, MappableToModel<String> {
+
+        private final String name;
+
+        TestModel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toModel() {
+            return name;
+        }
+    }
+}
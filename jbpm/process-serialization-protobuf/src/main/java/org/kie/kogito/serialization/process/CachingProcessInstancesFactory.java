@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.CachedProcessInstances;
+import org.kie.kogito.process.impl.ProcessInstanceCache;
+
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+
+/**
+ * Base class for persistence factories that can put a {@link ProcessInstanceCache} in front of the process instances
+ * they create. The cache is disabled unless {@link #cacheMaxSize()} is positive, and when enabled it is shared by
+ * the process instances of all the processes created by this factory.
+ */
+public abstract class CachingProcessInstancesFactory implements ProcessInstancesFactory {
+
+    private ProcessInstanceCache cache;
+    private ProcessInstanceMarshallerService marshaller;
+
+    /**
+     * @return maximum number of process instances kept in the cache, zero or negative to disable it
+     */
+    public int cacheMaxSize() {
+        return 0;
+    }
+
+    /**
+     * @return time in milliseconds a cached process instance is used without being read again
+     */
+    public long cacheTtlMillis() {
+        return ProcessInstanceCache.DEFAULT_TTL_MILLIS;
+    }
+
+    @Override
+    public MutableProcessInstances<?> processInstances(Process<?> process) {
+        MutableProcessInstances<?> instances = createProcessInstances(process);
+        ProcessInstanceCache sharedCache = cache();
+        return sharedCache == null ? instances : cached(instances, process, sharedCache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedProcessInstances<T> cached(MutableProcessInstances<T> instances, Process<?> process, ProcessInstanceCache sharedCache) {
+        return new CachedProcessInstances<>(instances, sharedCache, process.id(), marshaller::marshallProcessInstance,
+                (data, mode) -> (ProcessInstance<T>) (mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process)
+                        : marshaller.unmarshallReadOnlyProcessInstance(data, process)));
+    }
+
+    /**
+     * @return the cache shared by all processes, or null when caching is disabled
+     */
+    public synchronized ProcessInstanceCache cache() {
+        if (cache == null && cacheMaxSize() > 0) {
+            cache = new ProcessInstanceCache(cacheMaxSize(), cacheTtlMillis());
+            marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.kogito.serialization.process.impl.BinaryDelta;
+
+/**
+ * Storage format that persists a process instance as a base snapshot followed by the deltas of the updates made
+ * after it, so an update only appends the bytes that changed instead of overwriting the whole payload.
+ * <p>
+ * A stored payload starts with a zero byte, which a serialized process instance never does, then the format version
+ * and a random generation identifying the snapshot, followed by length prefixed frames: the snapshot first and then
+ * the {@link BinaryDelta} of every update against the payload before it. Payloads without the leading zero byte
+ * are plain serialized process instances, as written before this format existed, and are read as they are.
+ * <p>
+ * The codec remembers, per process instance, the last payload it has stored along with the generation and length
+ * of the stored data, so the next update can be encoded as a delta. Stores must only append a delta when the stored
+ * data still has the expected generation and length, and otherwise write a snapshot. The chain is compacted into a
+ * new snapshot once it reaches the maximum number of deltas or grows larger than the snapshot itself.
+ * <p>
+ * Deltas only pay off on stores that truly append to the stored data, like files. Databases that rewrite the whole
+ * value on update gain nothing from them, which is why the codec is disabled unless a maximum number of deltas is
+ * configured, and why reads go through {@link #decode(String, byte[])} to avoid replaying the deltas of the data
+ * this codec has written itself.
+ */
+public class DeltaPayloadCodec {
+
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    static final byte MAGIC = 0;
+    static final byte FORMAT_VERSION = 1;
+    static final int GENERATION_OFFSET = 2;
+    static final int GENERATION_LENGTH = 8;
+    public static final int HEADER_LENGTH = GENERATION_OFFSET + GENERATION_LENGTH;
+
+    /**
+     * Data to be written for a process instance, either a whole snapshot or a delta frame to append.
+     */
+    public static final class Write {
+
+        private final String id;
+        private final byte[] payload;
+        private final byte[] data;
+        private final byte[] generation;
+        private final long expectedLength;
+        private final int deltas;
+        private final long deltaBytes;
+
+        private Write(String id, byte[] payload, byte[] data, byte[] generation, long expectedLength, int deltas, long deltaBytes) {
+            this.id = id;
+            this.payload = payload;
+            this.data = data;
+            this.generation = generation;
+            this.expectedLength = expectedLength;
+            this.deltas = deltas;
+            this.deltaBytes = deltaBytes;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        /**
+         * @return the serialized process instance
+         */
+        public byte[] payload() {
+            return payload;
+        }
+
+        /**
+         * @return the bytes to store, replacing the stored data for a snapshot or appended to it for a delta
+         */
+        public byte[] data() {
+            return data;
+        }
+
+        public boolean isDelta() {
+            return expectedLength >= 0;
+        }
+
+        /**
+         * @return the generation the stored data must start with for the delta to be appended
+         */
+        public byte[] generation() {
+            return generation;
+        }
+
+        /**
+         * @return the length the stored data must have for the delta to be appended, or -1 for a snapshot
+         */
+        public long expectedLength() {
+            return expectedLength;
+        }
+
+        /**
+         * @return the length of the stored data once written
+         */
+        public long length() {
+            return isDelta() ? expectedLength + data.length : data.length;
+        }
+    }
+
+    private static final class State {
+
+        private final byte[] payload;
+        private final byte[] generation;
+        private final long length;
+        private final int deltas;
+        private final long deltaBytes;
+
+        State(Write write) {
+            this.payload = write.payload;
+            this.generation = write.generation;
+            this.length = write.length();
+            this.deltas = write.deltas;
+            this.deltaBytes = write.deltaBytes;
+        }
+    }
+
+    private final int maxDeltas;
+    private final Map<String, State> states;
+
+    /**
+     * @param maxDeltas maximum number of deltas after a snapshot, zero or negative to always write plain payloads
+     */
+    public DeltaPayloadCodec(int maxDeltas) {
+        this(maxDeltas, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param maxDeltas maximum number of deltas after a snapshot, zero or negative to always write plain payloads
+     * @param cacheSize maximum number of process instances whose last stored payload is remembered
+     */
+    public DeltaPayloadCodec(int maxDeltas, int cacheSize) {
+        this.maxDeltas = cacheSize > 0 ? maxDeltas : 0;
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, State> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @return a codec that always writes plain payloads
+     */
+    public static DeltaPayloadCodec disabled() {
+        return new DeltaPayloadCodec(0, 0);
+    }
+
+    public boolean isEnabled() {
+        return maxDeltas > 0;
+    }
+
+    /**
+     * Encodes the payload as a delta against the last payload stored for the process instance, or as a snapshot
+     * when there is none, the delta chain has to be compacted or the delta would not be smaller than the payload.
+     */
+    public Write encode(String id, byte[] payload) {
+        State state = isEnabled() ? state(id) : null;
+        if (state != null && state.deltas < maxDeltas) {
+            byte[] delta = BinaryDelta.diff(state.payload, payload);
+            long deltaBytes = state.deltaBytes + delta.length;
+            if (delta.length < payload.length / 2 && deltaBytes < payload.length) {
+                ByteArrayOutputStream frame = new ByteArrayOutputStream(delta.length + 5);
+                BinaryDelta.writeVarint(frame, delta.length);
+                frame.write(delta, 0, delta.length);
+                return new Write(id, payload, frame.toByteArray(), state.generation, state.length, state.deltas + 1, deltaBytes);
+            }
+        }
+        return snapshot(id, payload);
+    }
+
+    /**
+     * Encodes the payload as a snapshot with a new generation, or as the plain payload when the codec is disabled.
+     */
+    public Write snapshot(String id, byte[] payload) {
+        if (!isEnabled()) {
+            return new Write(id, payload, payload, null, -1, 0, 0);
+        }
+        byte[] generation = new byte[GENERATION_LENGTH];
+        ThreadLocalRandom.current().nextBytes(generation);
+        ByteArrayOutputStream data = new ByteArrayOutputStream(HEADER_LENGTH + payload.length + 5);
+        data.write(MAGIC);
+        data.write(FORMAT_VERSION);
+        data.write(generation, 0, generation.length);
+        BinaryDelta.writeVarint(data, payload.length);
+        data.write(payload, 0, payload.length);
+        return new Write(id, payload, data.toByteArray(), generation, -1, 0, 0);
+    }
+
+    /**
+     * Records that the write has been stored, so the next update of the process instance is encoded against it.
+     */
+    public void written(Write write) {
+        if (isEnabled()) {
+            synchronized (states) {
+                states.put(write.id, new State(write));
+            }
+        }
+    }
+
+    /**
+     * @return whether the payload is the last one written for the process instance and the stored data still has
+     *         the length it had then, so there is nothing to write
+     */
+    public boolean isStored(String id, byte[] payload, long storedLength) {
+        State state = isEnabled() ? state(id) : null;
+        return state != null && state.length == storedLength && Arrays.equals(state.payload, payload);
+    }
+
+    public void forget(String id) {
+        synchronized (states) {
+            states.remove(id);
+        }
+    }
+
+    /**
+     * @return whether the stored data starts with the header of the generation the write has been encoded against
+     */
+    public static boolean matches(Write write, byte[] header) {
+        return header.length >= HEADER_LENGTH
+                && Arrays.equals(Arrays.copyOfRange(header, GENERATION_OFFSET, HEADER_LENGTH), write.generation());
+    }
+
+    /**
+     * Decodes data stored for the process instance, returning the last payload written by this codec when the data
+     * is still the one it has written, so the deltas are only applied to data written by someone else.
+     */
+    public byte[] decode(String id, byte[] data) {
+        if (isEnabled() && data != null && data.length >= HEADER_LENGTH && data[0] == MAGIC) {
+            State state = state(id);
+            if (state != null && state.length == data.length
+                    && Arrays.equals(state.generation, 0, GENERATION_LENGTH, data, GENERATION_OFFSET, HEADER_LENGTH)) {
+                return state.payload;
+            }
+        }
+        return decode(data);
+    }
+
+    /**
+     * Decodes stored data into the serialized process instance, applying the deltas to the snapshot.
+     */
+    public static byte[] decode(byte[] data) {
+        if (data == null || data.length == 0 || data[0] != MAGIC) {
+            return data;
+        }
+        try {
+            ByteBuffer input = ByteBuffer.wrap(data);
+            input.position(1);
+            byte version = input.get();
+            if (version != FORMAT_VERSION) {
+                throw new ProcessInstanceMarshallerException("Unsupported process instance format version " + version);
+            }
+            input.position(HEADER_LENGTH);
+            byte[] payload = frame(input);
+            while (input.hasRemaining()) {
+                payload = BinaryDelta.patch(payload, frame(input));
+            }
+            return payload;
+        } catch (BufferUnderflowException e) {
+            throw new ProcessInstanceMarshallerException("Truncated process instance data", e);
+        }
+    }
+
+    private static byte[] frame(ByteBuffer input) {
+        byte[] frame = new byte[BinaryDelta.readVarint(input)];
+        input.get(frame);
+        return frame;
+    }
+
+    private State state(String id) {
+        synchronized (states) {
+            return states.get(id);
+        }
+    }
+}
@@ -23,6 +23,11 @@ public final class MarshallerContextName<T> {
     public static final MarshallerContextName<String> MARSHALLER_FORMAT = new MarshallerContextName<>("FORMAT");
     public static final MarshallerContextName<Process<?>> MARSHALLER_PROCESS = new MarshallerContextName<>("PROCESS");
     public static final MarshallerContextName<Boolean> MARSHALLER_INSTANCE_READ_ONLY = new MarshallerContextName<>("READ_ONLY");
+    /**
+     * Keeps the serialized form of the variables and top level node instances on the process instances read, so they
+     * are only serialized again once changed. Variable values mutated in place must be set again to be written.
+     */
+    public static final MarshallerContextName<Boolean> MARSHALLER_TRACK_CHANGES = new MarshallerContextName<>("TRACK_CHANGES");
 
     public static final String MARSHALLER_FORMAT_JSON = "json";
 
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+
+/**
+ * Copy/add binary delta between two payloads. The common prefix and suffix of both payloads are copied as they are,
+ * then the span of the base in between is indexed by the hash of its aligned blocks and the span of the target is
+ * scanned with a rolling hash, so regions that only moved because a length prefix before them changed are still
+ * copied from the base. A delta starts with the length and CRC32 of the target, followed by the operations, each
+ * one a varint of its length shifted left by one with the lowest bit telling a copy (followed by the varint base
+ * offset) from an add (followed by the literal bytes).
+ */
+public final class BinaryDelta {
+
+    static final int BLOCK_SIZE = 32;
+    private static final int SUFFIX_CHUNK = 4096;
+
+    private static final int MULTIPLIER = 31;
+    private static final int OUT_FACTOR = pow(MULTIPLIER, BLOCK_SIZE - 1);
+
+    private BinaryDelta() {
+    }
+
+    public static byte[] diff(byte[] base, byte[] target) {
+        Delta delta = new Delta(target);
+        // the common prefix and suffix are copied as they are, so only the span in between is indexed and scanned,
+        // which is small when a few parts of a large payload changed
+        int prefix = Arrays.mismatch(base, target);
+        if (prefix < 0) {
+            if (target.length > 0) {
+                delta.copy(0, target.length);
+            }
+            return delta.toByteArray();
+        }
+        int suffix = 0;
+        int maxSuffix = Math.min(base.length, target.length) - prefix;
+        while (suffix + SUFFIX_CHUNK <= maxSuffix && Arrays.equals(base, base.length - suffix - SUFFIX_CHUNK, base.length - suffix,
+                target, target.length - suffix - SUFFIX_CHUNK, target.length - suffix)) {
+            suffix += SUFFIX_CHUNK;
+        }
+        while (suffix < maxSuffix && base[base.length - suffix - 1] == target[target.length - suffix - 1]) {
+            suffix++;
+        }
+        if (prefix > 0) {
+            delta.copy(0, prefix);
+        }
+        diff(base, prefix, base.length - suffix, target, prefix, target.length - suffix, delta);
+        if (suffix > 0) {
+            delta.copy(base.length - suffix, suffix);
+        }
+        return delta.toByteArray();
+    }
+
+    private static void diff(byte[] base, int baseFrom, int baseTo, byte[] target, int targetFrom, int targetTo, Delta delta) {
+        if (baseTo - baseFrom < BLOCK_SIZE || targetTo - targetFrom < BLOCK_SIZE) {
+            delta.add(target, targetFrom, targetTo);
+            return;
+        }
+        BlockIndex index = new BlockIndex(base, baseFrom, baseTo);
+        int literal = targetFrom;
+        int position = targetFrom;
+        int hash = hash(target, position);
+        while (position + BLOCK_SIZE <= targetTo) {
+            int offset = index.find(hash, target, position);
+            if (offset >= 0) {
+                int start = position;
+                int baseStart = offset;
+                while (start > literal && baseStart > baseFrom && target[start - 1] == base[baseStart - 1]) {
+                    start--;
+                    baseStart--;
+                }
+                int end = position + BLOCK_SIZE;
+                int baseEnd = offset + BLOCK_SIZE;
+                while (end < targetTo && baseEnd < baseTo && target[end] == base[baseEnd]) {
+                    end++;
+                    baseEnd++;
+                }
+                delta.add(target, literal, start);
+                delta.copy(baseStart, end - start);
+                literal = end;
+                position = end;
+                if (position + BLOCK_SIZE <= targetTo) {
+                    hash = hash(target, position);
+                }
+            } else {
+                if (position + BLOCK_SIZE < targetTo) {
+                    hash = (hash - (target[position] & 0xff) * OUT_FACTOR) * MULTIPLIER + (target[position + BLOCK_SIZE] & 0xff);
+                }
+                position++;
+            }
+        }
+        delta.add(target, literal, targetTo);
+    }
+
+    public static byte[] patch(byte[] base, byte[] delta) {
+        try {
+            ByteBuffer input = ByteBuffer.wrap(delta);
+            byte[] target = new byte[readVarint(input)];
+            long checksum = input.getInt() & 0xffffffffL;
+            int position = 0;
+            while (input.hasRemaining()) {
+                int operation = readVarint(input);
+                int length = operation >>> 1;
+                if ((operation & 1) == 1) {
+                    System.arraycopy(base, readVarint(input), target, position, length);
+                } else {
+                    input.get(target, position, length);
+                }
+                position += length;
+            }
+            if (position != target.length || checksum(target) != checksum) {
+                throw new ProcessInstanceMarshallerException("Delta does not apply to the given base payload");
+            }
+            return target;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new ProcessInstanceMarshallerException("Malformed delta", e);
+        }
+    }
+
+    public static void writeVarint(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7fL) != 0) {
+            output.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    public static int readVarint(ByteBuffer input) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.get();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                if (value > Integer.MAX_VALUE) {
+                    throw new ProcessInstanceMarshallerException("Varint out of range " + value);
+                }
+                return (int) value;
+            }
+        }
+        throw new ProcessInstanceMarshallerException("Malformed varint");
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            hash = hash * MULTIPLIER + (data[i] & 0xff);
+        }
+        return hash;
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private static boolean equals(byte[] a, int aOffset, byte[] b, int bOffset) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            if (a[aOffset + i] != b[bOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open addressing table from block hash to the offset of the first base block with that hash.
+     */
+    private static class BlockIndex {
+
+        private final byte[] base;
+        private final int[] hashes;
+        private final int[] offsets;
+        private final int mask;
+
+        BlockIndex(byte[] base, int from, int to) {
+            this.base = base;
+            int blocks = (to - from) / BLOCK_SIZE;
+            int capacity = Integer.highestOneBit(Math.max(blocks, 1) * 2 - 1) << 1;
+            this.hashes = new int[capacity];
+            this.offsets = new int[capacity];
+            this.mask = capacity - 1;
+            for (int block = 0; block < blocks; block++) {
+                int offset = from + block * BLOCK_SIZE;
+                int hash = hash(base, offset);
+                int slot = hash & mask;
+                while (offsets[slot] != 0 && hashes[slot] != hash) {
+                    slot = (slot + 1) & mask;
+                }
+                if (offsets[slot] == 0) {
+                    hashes[slot] = hash;
+                    offsets[slot] = offset + 1;
+                }
+            }
+        }
+
+        int find(int hash, byte[] target, int position) {
+            for (int slot = hash & mask; offsets[slot] != 0; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash) {
+                    int offset = offsets[slot] - 1;
+                    return BinaryDelta.equals(base, offset, target, position) ? offset : -1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static class Delta {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Delta(byte[] target) {
+            writeVarint(output, target.length);
+            long checksum = checksum(target);
+            output.write((int) (checksum >>> 24));
+            output.write((int) (checksum >>> 16));
+            output.write((int) (checksum >>> 8));
+            output.write((int) checksum);
+        }
+
+        void add(byte[] target, int from, int to) {
+            if (to > from) {
+                writeVarint(output, (long) (to - from) << 1);
+                output.write(target, from, to - from);
+            }
+        }
+
+        void copy(int offset, int length) {
+            writeVarint(output, ((long) length << 1) | 1);
+            writeVarint(output, offset);
+        }
+
+        byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -156,8 +157,10 @@ public class ProtobufProcessInstanceReader {
         }
 
         WorkflowContext workflowContext = processInstanceProtobuf.getContext();
+        Map<NodeInstanceImpl, KogitoTypesProtobuf.NodeInstance> marshalledNodeInstances = new IdentityHashMap<>();
         for (KogitoTypesProtobuf.NodeInstance nodeInstanceProtobuf : workflowContext.getNodeInstanceList()) {
             NodeInstanceImpl nodeInstanceImpl = buildNodeInstance(nodeInstanceProtobuf.getContent());
+            marshalledNodeInstances.put(nodeInstanceImpl, nodeInstanceProtobuf);
 
             nodeInstanceImpl.setId(nodeInstanceProtobuf.getId());
             nodeInstanceImpl.setNodeId(nodeInstanceProtobuf.getNodeId());
@@ -185,15 +188,27 @@ public class ProtobufProcessInstanceReader {
         if (workflowContext.getVariableCount() > 0) {
             VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
             varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
+            if (isTrackingChanges()) {
+                workflowContext.getVariableList().forEach(v -> variableScopeInstance.setMarshalledVariable(v.getName(), v));
+            }
         }
 
         if (workflowContext.getIterationLevelsCount() > 0) {
             processInstance.getIterationLevels().putAll(buildIterationLevels(workflowContext.getIterationLevelsList()));
         }
 
+        // once fully built, as building the contents of a node instance discards its serialized form
+        if (isTrackingChanges()) {
+            marshalledNodeInstances.forEach(NodeInstanceImpl::setMarshalledState);
+        }
+
         return processInstance;
     }
 
+    private boolean isTrackingChanges() {
+        return Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_TRACK_CHANGES));
+    }
+
     protected NodeInstanceImpl buildNodeInstance(com.google.protobuf.Any nodeContentProtobuf) {
         try {
             if (nodeContentProtobuf.is(RuleSetNodeInstanceContent.class)) {
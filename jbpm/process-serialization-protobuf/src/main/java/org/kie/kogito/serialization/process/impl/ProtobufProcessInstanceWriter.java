@@ -36,6 +36,7 @@ import org.jbpm.process.instance.context.exclusive.ExclusiveGroupInstance;
 import org.jbpm.process.instance.context.swimlane.SwimlaneContextInstance;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.process.instance.impl.humantask.Reassignment;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.CompositeContextNodeInstance;
 import org.jbpm.workflow.instance.node.DynamicNodeInstance;
@@ -83,6 +84,7 @@ import com.google.protobuf.util.JsonFormat;
 
 import static org.kie.kogito.serialization.process.MarshallerContextName.MARSHALLER_FORMAT;
 import static org.kie.kogito.serialization.process.MarshallerContextName.MARSHALLER_FORMAT_JSON;
+import static org.kie.kogito.serialization.process.MarshallerContextName.MARSHALLER_TRACK_CHANGES;
 import static org.kie.kogito.serialization.process.protobuf.ProtobufTypeRegistryFactory.protobufTypeRegistryFactoryInstance;
 
 public class ProtobufProcessInstanceWriter {
@@ -146,7 +148,8 @@ public class ProtobufProcessInstanceWriter {
         VariableScopeInstance variableScopeInstance = (VariableScopeInstance) workFlow.getContextInstance(VariableScope.VARIABLE_SCOPE);
         List<Map.Entry<String, Object>> variables = new ArrayList<>(variableScopeInstance.getVariables().entrySet());
         List<Map.Entry<String, Integer>> iterationlevels = new ArrayList<>(workFlow.getIterationLevels().entrySet());
-        instance.setContext(buildWorkflowContext(nodeInstances, exclusiveGroupInstances, variables, iterationlevels));
+        boolean trackChanges = Boolean.TRUE.equals(context.get(MARSHALLER_TRACK_CHANGES));
+        instance.setContext(buildWorkflowContext(nodeInstances, exclusiveGroupInstances, variables, iterationlevels, trackChanges ? variableScopeInstance : null));
 
         KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
 
@@ -191,22 +194,39 @@ public class ProtobufProcessInstanceWriter {
             List<ContextInstance> exclusiveGroupInstances,
             List<Entry<String, Object>> variables,
             List<Entry<String, Integer>> iterationlevels) {
+        return buildWorkflowContext(nodeInstances, exclusiveGroupInstances, variables, iterationlevels, null);
+    }
+
+    /**
+     * @param trackedScope variable scope of the process instance when tracking changes, in which case the serialized
+     *        form of its variables and node instances is reused until they change, null to serialize everything
+     */
+    private KogitoTypesProtobuf.WorkflowContext buildWorkflowContext(List<NodeInstance> nodeInstances,
+            List<ContextInstance> exclusiveGroupInstances,
+            List<Entry<String, Object>> variables,
+            List<Entry<String, Integer>> iterationlevels,
+            VariableScopeInstance trackedScope) {
 
         KogitoTypesProtobuf.WorkflowContext.Builder workflowContextBuilder = KogitoTypesProtobuf.WorkflowContext.newBuilder();
-        workflowContextBuilder.addAllNodeInstance(buildNodeInstances(nodeInstances));
+        workflowContextBuilder.addAllNodeInstance(buildNodeInstances(nodeInstances, trackedScope != null));
         workflowContextBuilder.addAllExclusiveGroup(buildGroups(exclusiveGroupInstances));
-        workflowContextBuilder.addAllVariable(varWriter.buildVariables(variables));
+        workflowContextBuilder.addAllVariable(varWriter.buildVariables(variables, trackedScope));
         workflowContextBuilder.addAllIterationLevels(buildIterationLevels(iterationlevels));
         return workflowContextBuilder.build();
 
     }
 
-    private List<org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.NodeInstance> buildNodeInstances(List<NodeInstance> nodeInstances) {
+    private List<org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.NodeInstance> buildNodeInstances(List<NodeInstance> nodeInstances, boolean trackChanges) {
         Comparator<NodeInstance> comparator = (o1, o2) -> ((KogitoNodeInstance) o1).getStringId().compareTo(((KogitoNodeInstance) o2).getStringId());
         Collections.sort(nodeInstances, comparator);
 
         List<KogitoTypesProtobuf.NodeInstance> nodeInstancesProtobuf = new ArrayList<>();
         for (NodeInstance nodeInstance : nodeInstances) {
+            Object marshalled = trackChanges ? ((NodeInstanceImpl) nodeInstance).getMarshalledState() : null;
+            if (marshalled instanceof KogitoTypesProtobuf.NodeInstance) {
+                nodeInstancesProtobuf.add((KogitoTypesProtobuf.NodeInstance) marshalled);
+                continue;
+            }
             KogitoTypesProtobuf.NodeInstance.Builder node = KogitoTypesProtobuf.NodeInstance.newBuilder()
                     .setId(((KogitoNodeInstance) nodeInstance).getStringId())
                     .setNodeId(nodeInstance.getNodeId())
@@ -223,7 +243,11 @@ public class ProtobufProcessInstanceWriter {
 
             node.setContent(buildNodeInstanceContent(nodeInstance));
 
-            nodeInstancesProtobuf.add(node.build());
+            KogitoTypesProtobuf.NodeInstance built = node.build();
+            if (trackChanges) {
+                ((NodeInstanceImpl) nodeInstance).setMarshalledState(built);
+            }
+            nodeInstancesProtobuf.add(built);
         }
         return nodeInstancesProtobuf;
     }
@@ -22,6 +22,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.kie.kogito.serialization.process.MarshallerWriterContext;
 import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
 import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
@@ -39,11 +40,24 @@ public class ProtobufVariableWriter {
     }
 
     public List<KogitoTypesProtobuf.Variable> buildVariables(List<Map.Entry<String, Object>> variables) {
+        return buildVariables(variables, null);
+    }
+
+    /**
+     * @param trackedScope scope of the variables when tracking changes, whose serialized variables are reused until
+     *        they are set again, null to serialize every variable
+     */
+    public List<KogitoTypesProtobuf.Variable> buildVariables(List<Map.Entry<String, Object>> variables, VariableScopeInstance trackedScope) {
         Comparator<Map.Entry<String, Object>> comparator = (o1, o2) -> o1.getKey().compareTo(o2.getKey());
         Collections.sort(variables, comparator);
 
         List<KogitoTypesProtobuf.Variable> variablesProtobuf = new ArrayList<>();
         for (Map.Entry<String, Object> entry : variables) {
+            Object marshalled = trackedScope != null ? trackedScope.getMarshalledVariable(entry.getKey()) : null;
+            if (marshalled instanceof KogitoTypesProtobuf.Variable) {
+                variablesProtobuf.add((KogitoTypesProtobuf.Variable) marshalled);
+                continue;
+            }
             KogitoTypesProtobuf.Variable.Builder variableBuilder = KogitoTypesProtobuf.Variable.newBuilder();
             variableBuilder.setName(entry.getKey());
             if (entry.getValue() != null) {
@@ -53,7 +67,11 @@ public class ProtobufVariableWriter {
             } else {
                 variableBuilder.setValue(Any.pack(BytesValue.of(ByteString.EMPTY)));
             }
-            variablesProtobuf.add(variableBuilder.build());
+            KogitoTypesProtobuf.Variable variable = variableBuilder.build();
+            if (trackedScope != null) {
+                trackedScope.setMarshalledVariable(entry.getKey(), variable);
+            }
+            variablesProtobuf.add(variable);
         }
         return variablesProtobuf;
     }
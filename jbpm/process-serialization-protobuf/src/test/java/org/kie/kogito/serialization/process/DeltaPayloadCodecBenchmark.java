@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares writing a process instance update as a snapshot with encoding it as a delta, and reading data holding
+ * a chain of deltas by replaying them with reading it from the payload the codec has written. Not run with the tests,
+ * launch {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaPayloadCodecBenchmark {
+
+    private static final String ID = "id";
+
+    @Param({ "16384", "1048576" })
+    private int size;
+
+    @Param({ "4", "16" })
+    private int deltas;
+
+    private DeltaPayloadCodec codec;
+    private byte[] payload;
+    private byte[] stored;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        byte[] base = new byte[size];
+        random.nextBytes(base);
+        codec = new DeltaPayloadCodec(deltas + 1, 1);
+        DeltaPayloadCodec.Write write = codec.encode(ID, base);
+        stored = write.data();
+        codec.written(write);
+        payload = base;
+        for (int i = 0; i < deltas; i++) {
+            payload = change(payload, random);
+            write = codec.encode(ID, payload);
+            stored = append(stored, write.data());
+            codec.written(write);
+        }
+        payload = change(payload, random);
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return codec.snapshot(ID, payload).data();
+    }
+
+    @Benchmark
+    public byte[] delta() {
+        return codec.encode(ID, payload).data();
+    }
+
+    @Benchmark
+    public byte[] decodeChain() {
+        return DeltaPayloadCodec.decode(stored);
+    }
+
+    @Benchmark
+    public byte[] decodeWritten() {
+        return codec.decode(ID, stored);
+    }
+
+    private static byte[] change(byte[] payload, Random random) {
+        byte[] changed = Arrays.copyOf(payload, payload.length + 1);
+        changed[random.nextInt(changed.length)] ^= 1;
+        return changed;
+    }
+
+    private static byte[] append(byte[] data, byte[] frame) {
+        byte[] result = Arrays.copyOf(data, data.length + frame.length);
+        System.arraycopy(frame, 0, result, data.length, frame.length);
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DeltaPayloadCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
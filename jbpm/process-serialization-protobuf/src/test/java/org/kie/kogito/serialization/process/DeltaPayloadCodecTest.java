@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class DeltaPayloadCodecTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testPlainPayloadIsReadAsIs() {
+        byte[] payload = { 0x0a, 0x03, 'a', 'b', 'c' };
+        assertThat(DeltaPayloadCodec.decode(payload)).isSameAs(payload);
+    }
+
+    @Test
+    public void testDisabledCodecWritesPlainPayloads() {
+        DeltaPayloadCodec codec = DeltaPayloadCodec.disabled();
+        byte[] payload = randomPayload(1024);
+        DeltaPayloadCodec.Write write = codec.encode("id", payload);
+        codec.written(write);
+
+        write = codec.encode("id", change(payload));
+        assertThat(write.isDelta()).isFalse();
+        assertThat(write.data()).isSameAs(write.payload());
+    }
+
+    @Test
+    public void testBytesWrittenPerUpdate() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(2 * 1024 * 1024);
+        DeltaPayloadCodec.Write write = codec.encode("id", payload);
+        assertThat(write.isDelta()).isFalse();
+        codec.written(write);
+        byte[] stored = write.data();
+
+        for (int i = 0; i < 16; i++) {
+            payload = change(payload);
+            write = codec.encode("id", payload);
+            assertThat(write.isDelta()).isTrue();
+            assertThat(write.expectedLength()).isEqualTo(stored.length);
+            assertThat(write.data().length).isLessThan(64);
+            stored = append(stored, write.data());
+            codec.written(write);
+            assertThat(DeltaPayloadCodec.decode(stored)).isEqualTo(payload);
+        }
+
+        payload = change(payload);
+        write = codec.encode("id", payload);
+        assertThat(write.isDelta()).as("the chain is compacted after the maximum number of deltas").isFalse();
+        assertThat(DeltaPayloadCodec.decode(write.data())).isEqualTo(payload);
+    }
+
+    @Test
+    public void testSnapshotWhenDeltaIsNotWorthIt() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        codec.written(codec.encode("id", randomPayload(4096)));
+        assertThat(codec.encode("id", randomPayload(4096)).isDelta()).isFalse();
+    }
+
+    @Test
+    public void testForgottenInstanceIsWrittenAsSnapshot() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        codec.written(codec.encode("id", payload));
+        codec.forget("id");
+        assertThat(codec.encode("id", change(payload)).isDelta()).isFalse();
+    }
+
+    @Test
+    public void testEvictedInstanceIsWrittenAsSnapshot() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 1);
+        byte[] payload = randomPayload(4096);
+        codec.written(codec.encode("first", payload));
+        codec.written(codec.encode("second", payload));
+        assertThat(codec.encode("first", change(payload)).isDelta()).isFalse();
+        assertThat(codec.encode("second", change(payload)).isDelta()).isTrue();
+    }
+
+    @Test
+    public void testMatchesGeneration() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        DeltaPayloadCodec.Write snapshot = codec.encode("id", payload);
+        codec.written(snapshot);
+        DeltaPayloadCodec.Write delta = codec.encode("id", change(payload));
+
+        assertThat(DeltaPayloadCodec.matches(delta, snapshot.data())).isTrue();
+        assertThat(DeltaPayloadCodec.matches(delta, codec.snapshot("id", payload).data())).isFalse();
+    }
+
+    @Test
+    public void testDeltaAgainstWrongBaseIsDetected() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        DeltaPayloadCodec.Write snapshot = codec.encode("id", payload);
+        codec.written(snapshot);
+        DeltaPayloadCodec.Write delta = codec.encode("id", change(payload));
+
+        byte[] other = snapshot.data().clone();
+        for (int i = DeltaPayloadCodec.HEADER_LENGTH + 2; i < other.length; i += 64) {
+            other[i] ^= 1;
+        }
+        assertThatExceptionOfType(ProcessInstanceMarshallerException.class).isThrownBy(() -> DeltaPayloadCodec.decode(append(other, delta.data())));
+    }
+
+    @Test
+    public void testDecodeReturnsWrittenPayload() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        DeltaPayloadCodec.Write snapshot = codec.encode("id", payload);
+        codec.written(snapshot);
+        payload = change(payload);
+        DeltaPayloadCodec.Write delta = codec.encode("id", payload);
+        codec.written(delta);
+
+        byte[] stored = append(snapshot.data(), delta.data());
+        assertThat(codec.decode("id", stored)).isSameAs(payload);
+        assertThat(codec.decode("other", stored)).isEqualTo(payload).isNotSameAs(payload);
+    }
+
+    @Test
+    public void testUnchangedPayloadIsStored() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        DeltaPayloadCodec.Write snapshot = codec.encode("id", payload);
+        codec.written(snapshot);
+
+        assertThat(codec.isStored("id", payload.clone(), snapshot.length())).isTrue();
+        assertThat(codec.isStored("id", change(payload), snapshot.length())).isFalse();
+        assertThat(codec.isStored("id", payload, snapshot.length() + 1)).isFalse();
+        assertThat(codec.isStored("other", payload, snapshot.length())).isFalse();
+        assertThat(DeltaPayloadCodec.disabled().isStored("id", payload, payload.length)).isFalse();
+    }
+
+    @Test
+    public void testDecodeAppliesDeltasWrittenBySomeoneElse() {
+        DeltaPayloadCodec codec = new DeltaPayloadCodec(16, 10);
+        byte[] payload = randomPayload(4096);
+        DeltaPayloadCodec.Write snapshot = codec.encode("id", payload);
+        codec.written(snapshot);
+
+        DeltaPayloadCodec other = new DeltaPayloadCodec(16, 10);
+        other.written(snapshot);
+        byte[] changed = change(payload);
+        byte[] stored = append(snapshot.data(), other.encode("id", changed).data());
+        assertThat(codec.decode("id", stored)).isEqualTo(changed);
+        assertThat(codec.decode("id", codec.snapshot("id", changed).data())).isEqualTo(changed);
+    }
+
+    private byte[] randomPayload(int size) {
+        byte[] payload = new byte[size];
+        random.nextBytes(payload);
+        return payload;
+    }
+
+    /**
+     * Changes a byte and inserts another one, shifting the rest of the payload as a growing length prefix would.
+     */
+    private byte[] change(byte[] payload) {
+        int position = random.nextInt(payload.length);
+        byte[] changed = new byte[payload.length + 1];
+        System.arraycopy(payload, 0, changed, 0, position);
+        changed[position] = (byte) random.nextInt();
+        System.arraycopy(payload, position, changed, position + 1, payload.length - position);
+        changed[random.nextInt(changed.length)] ^= 1;
+        return changed;
+    }
+
+    private static byte[] append(byte[] data, byte[] frame) {
+        byte[] result = Arrays.copyOf(data, data.length + frame.length);
+        System.arraycopy(frame, 0, result, data.length, frame.length);
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.workitems.impl.expr;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the expressions parsed by another handler, so every distinct expression is compiled once.
+ * Parsed expressions must therefore be thread safe. Once the cache is full, further expressions are parsed on every call.
+ */
+public class CachedExpressionHandler implements ExpressionHandler {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final ExpressionHandler delegate;
+    private final int maxSize;
+    private final Map<String, ParsedExpression> expressions = new ConcurrentHashMap<>();
+
+    public CachedExpressionHandler(ExpressionHandler delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    public CachedExpressionHandler(ExpressionHandler delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean isExpr(String expr) {
+        return delegate.isExpr(expr);
+    }
+
+    @Override
+    public ParsedExpression parse(String expr) {
+        ParsedExpression parsed = expressions.get(expr);
+        if (parsed == null) {
+            parsed = delegate.parse(expr);
+            if (expressions.size() < maxSize) {
+                ParsedExpression previous = expressions.putIfAbsent(expr, parsed);
+                if (previous != null) {
+                    parsed = previous;
+                }
+            }
+        }
+        return parsed;
+    }
+
+    public int size() {
+        return expressions.size();
+    }
+}
@@ -41,7 +41,8 @@ public class ExpressionHandlerFactory {
     public static ExpressionHandler get(String lang) {
         return expHandlerInstances.computeIfAbsent(lang, c -> {
             try {
-                return Class.forName(expHandlerClasses.getOrDefault(c, JSONPATH_CLASSNAME)).asSubclass(ExpressionHandler.class).getConstructor().newInstance();
+                return new CachedExpressionHandler(
+                        Class.forName(expHandlerClasses.getOrDefault(c, JSONPATH_CLASSNAME)).asSubclass(ExpressionHandler.class).getConstructor().newInstance());
             } catch (ReflectiveOperationException e) {
                 throw new IllegalStateException(e);
             }
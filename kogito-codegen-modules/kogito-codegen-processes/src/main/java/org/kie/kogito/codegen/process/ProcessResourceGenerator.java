@@ -34,6 +34,7 @@ import org.kie.kogito.codegen.core.BodyDeclarationComparator;
 import org.kie.kogito.codegen.core.CodegenUtils;
 import org.kie.kogito.codegen.core.GeneratorConfig;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess;
+import org.kie.kogito.process.ProcessService;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier.Keyword;
@@ -265,6 +266,8 @@ public class ProcessResourceGenerator {
         if (context.hasDI()) {
             template.findAll(FieldDeclaration.class,
                     CodegenUtils::isProcessField).forEach(fd -> context.getDependencyInjectionAnnotator().withNamedInjection(fd, processId));
+            template.getFieldByName("maxPageSize").ifPresent(fd -> context.getDependencyInjectionAnnotator()
+                    .withConfigInjection(fd, ProcessService.MAX_PAGE_SIZE, String.valueOf(ProcessService.DEFAULT_MAX_PAGE_SIZE)));
         } else {
             template.findAll(FieldDeclaration.class,
                     CodegenUtils::isProcessField).forEach(this::initializeProcessField);
@@ -29,7 +29,8 @@ public class StaticDependencyInjectionProducerGenerator {
 
     private final KogitoBuildContext context;
     //All available Producer templates for dependency injection
-    private static final List<String> producerTemplates = Arrays.asList("ProcessServiceProducer", "EventMarshallerProducer", "KogitoEventExecutorProducer", "EventConverterProducer");
+    private static final List<String> producerTemplates = Arrays.asList("ProcessServiceProducer", "EventMarshallerProducer", "KogitoEventExecutorProducer", "EventConverterProducer",
+            "ConcurrentWorkItemExecutionProducer", "InMemoryJobServiceProducer");
 
     private StaticDependencyInjectionProducerGenerator(
             KogitoBuildContext context) {
@@ -58,6 +58,8 @@ import com.github.javaparser.ast.expr.ConditionalExpr;
 import com.github.javaparser.ast.expr.EnclosedExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
@@ -97,6 +99,10 @@ public class PersistenceGenerator extends AbstractGenerator {
     public static final String KOGITO_PERSISTENCE_TYPE = "kogito.persistence.type";
     public static final String KOGITO_PERSISTENCE_OPTIMISTIC_LOCK = "kogito.persistence.optimistic.lock";
     public static final String KOGITO_PERSISTENCE_AUTO_DDL = "kogito.persistence.auto.ddl";
+    public static final String KOGITO_PERSISTENCE_CACHE_MAX_SIZE = "kogito.persistence.cache.max.size";
+    public static final String KOGITO_PERSISTENCE_CACHE_TTL = "kogito.persistence.cache.ttl.millis";
+    public static final String KOGITO_PERSISTENCE_KAFKA_TRANSACTIONAL_ID = "kogito.persistence.kafka.transactional.id";
+    public static final String KOGITO_PERSISTENCE_JOBS_ENABLED = "kogito.persistence.jobs.enabled";
     // PostgreSQL specific
     public static final String KOGITO_PERSISTENCE_QUERY_TIMEOUT = "kogito.persistence.query.timeout.millis";
     public static final String KOGITO_PERSISTENCE_POSTGRESQL_CONNECTION_URI = "kogito.persistence.postgresql.connection.uri";
@@ -106,8 +112,10 @@ public class PersistenceGenerator extends AbstractGenerator {
     public static final String KOGITO_PERSISTENCE_TRANSACTION_ENABLED = "kogito.persistence.transaction.enabled";
     // File System specific
     public static final String KOGITO_PERSISTENCE_FILESYSTEM_PATH = "kogito.persistence.filesystem.path";
+    public static final String KOGITO_PERSISTENCE_FILESYSTEM_DELTA_MAX = "kogito.persistence.filesystem.delta.max";
     // Kafka specific
     public static final String QUARKUS_KAFKA_STREAMS_TOPICS_PROP = "quarkus.kafka-streams.topics";
+    public static final String KAFKA_STREAMS_GLOBAL_CONSUMER_ISOLATION_LEVEL_PROP = "kafka-streams.global.consumer.isolation.level";
 
     /**
      * Constants used during codegen
@@ -122,7 +130,12 @@ public class PersistenceGenerator extends AbstractGenerator {
     protected static final String OR_ELSE = "orElse";
     protected static final String JAVA = ".java";
     protected static final String OPTIMISTIC_LOCK = "lock";
+    protected static final String CACHE_MAX_SIZE = "cacheMaxSize";
+    protected static final String CACHE_TTL = "cacheTtlMillis";
+    protected static final String KAFKA_TRANSACTIONAL_ID = "transactionalId";
+    protected static final String JOBS_ENABLED = "jobsEnabled";
     protected static final String PATH_NAME = "path";
+    protected static final String MAX_DELTAS = "maxDeltas";
     protected static final String MONGODB_DB_NAME = "dbName";
     protected static final String TRANSACTION_ENABLED = "enabled";
     protected static final String TEMPLATE_NAME = "templateName";
@@ -227,6 +240,7 @@ public class PersistenceGenerator extends AbstractGenerator {
         CompilationUnit compilationUnit = new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE);
         compilationUnit.getTypes().add(persistenceProviderClazz);
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCacheConfig(persistenceProviderClazz);
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit).ifPresent(generatedFiles::add);
         return generatedFiles;
     }
@@ -265,6 +279,8 @@ public class PersistenceGenerator extends AbstractGenerator {
 
         CompilationUnit compilationUnit = new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE);
         compilationUnit.getTypes().add(persistenceProviderClazz);
+        addCacheConfig(persistenceProviderClazz);
+        addKafkaTransactionalIdConfig(persistenceProviderClazz);
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit).ifPresent(generatedFiles::add);
         return generatedFiles;
     }
@@ -466,6 +482,9 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+            addMaxDeltasConfig(persistenceProviderClazz);
+            addCacheConfig(persistenceProviderClazz);
+            addJobsConfig(persistenceProviderClazz);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -513,6 +532,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             persistenceProviderClazz.addMember(dbNameMethod);
             generatedTMFile = mongodbBasedTransaction(persistenceProviderClazz);
             addOptimisticLockFlag(persistenceProviderClazz);
+            addCacheConfig(persistenceProviderClazz);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -593,6 +613,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             }
         }
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCacheConfig(persistenceProviderClazz);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -627,6 +648,8 @@ public class PersistenceGenerator extends AbstractGenerator {
         }
 
         addOptimisticLockFlag(persistenceProviderClazz);
+        addCacheConfig(persistenceProviderClazz);
+        addJobsConfig(persistenceProviderClazz);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -653,6 +676,111 @@ public class PersistenceGenerator extends AbstractGenerator {
         persistenceProviderClazz.addMember(enabledMethod);
     }
 
+    /**
+     * Overrides the process instance cache settings of the factory with the configured ones, the cache being
+     * disabled unless a maximum size is configured
+     */
+    private void addCacheConfig(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        if (!context().hasDI()) {
+            return;
+        }
+        FieldDeclaration maxSizeField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Integer.class.getCanonicalName()))))
+                .setName(CACHE_MAX_SIZE));
+        context().getDependencyInjectionAnnotator().withConfigInjection(maxSizeField, KOGITO_PERSISTENCE_CACHE_MAX_SIZE);
+        FieldDeclaration ttlField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Long.class.getCanonicalName()))))
+                .setName(CACHE_TTL));
+        context().getDependencyInjectionAnnotator().withConfigInjection(ttlField, KOGITO_PERSISTENCE_CACHE_TTL);
+
+        BlockStmt maxSizeMethodBody = new BlockStmt();
+        maxSizeMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(CACHE_MAX_SIZE), OR_ELSE).addArgument(new IntegerLiteralExpr("0"))));
+        MethodDeclaration maxSizeMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(CACHE_MAX_SIZE)
+                .setType("int")
+                .setBody(maxSizeMethodBody);
+        BlockStmt ttlMethodBody = new BlockStmt();
+        ttlMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(CACHE_TTL), OR_ELSE).addArgument(new LongLiteralExpr("60000L"))));
+        MethodDeclaration ttlMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(CACHE_TTL)
+                .setType("long")
+                .setBody(ttlMethodBody);
+
+        persistenceProviderClazz.addMember(maxSizeField);
+        persistenceProviderClazz.addMember(ttlField);
+        persistenceProviderClazz.addMember(maxSizeMethod);
+        persistenceProviderClazz.addMember(ttlMethod);
+    }
+
+    /**
+     * Overrides the maximum number of deltas appended to a process instance file with the configured one, files
+     * being rewritten on every update unless it is configured
+     */
+    private void addMaxDeltasConfig(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        FieldDeclaration maxDeltasField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Integer.class.getCanonicalName()))))
+                .setName(MAX_DELTAS));
+        context().getDependencyInjectionAnnotator().withConfigInjection(maxDeltasField, KOGITO_PERSISTENCE_FILESYSTEM_DELTA_MAX);
+
+        BlockStmt maxDeltasMethodBody = new BlockStmt();
+        maxDeltasMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(MAX_DELTAS), OR_ELSE).addArgument(new IntegerLiteralExpr("0"))));
+        MethodDeclaration maxDeltasMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(MAX_DELTAS)
+                .setType("int")
+                .setBody(maxDeltasMethodBody);
+
+        persistenceProviderClazz.addMember(maxDeltasField);
+        persistenceProviderClazz.addMember(maxDeltasMethod);
+    }
+
+    /**
+     * Overrides the flag of the factory telling whether the jobs of the processes are stored with their instances
+     */
+    private void addJobsConfig(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        if (!context().hasDI()) {
+            return;
+        }
+        FieldDeclaration jobsEnabledField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Boolean.class.getCanonicalName()))))
+                .setName(JOBS_ENABLED));
+        context().getDependencyInjectionAnnotator().withConfigInjection(jobsEnabledField, KOGITO_PERSISTENCE_JOBS_ENABLED);
+
+        BlockStmt jobsEnabledMethodBody = new BlockStmt();
+        jobsEnabledMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(JOBS_ENABLED), OR_ELSE).addArgument(new BooleanLiteralExpr(false))));
+        MethodDeclaration jobsEnabledMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(JOBS_ENABLED)
+                .setType("boolean")
+                .setBody(jobsEnabledMethodBody);
+
+        persistenceProviderClazz.addMember(jobsEnabledField);
+        persistenceProviderClazz.addMember(jobsEnabledMethod);
+    }
+
+    private void addKafkaTransactionalIdConfig(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        if (!context().hasDI()) {
+            return;
+        }
+        FieldDeclaration transactionalIdField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, String.class.getCanonicalName()))))
+                .setName(KAFKA_TRANSACTIONAL_ID));
+        context().getDependencyInjectionAnnotator().withConfigInjection(transactionalIdField, KOGITO_PERSISTENCE_KAFKA_TRANSACTIONAL_ID);
+
+        BlockStmt transactionalIdMethodBody = new BlockStmt();
+        transactionalIdMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(KAFKA_TRANSACTIONAL_ID), OR_ELSE).addArgument(new NullLiteralExpr())));
+        MethodDeclaration transactionalIdMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(KAFKA_TRANSACTIONAL_ID)
+                .setType(String.class.getCanonicalName())
+                .setBody(transactionalIdMethodBody);
+
+        persistenceProviderClazz.addMember(transactionalIdField);
+        persistenceProviderClazz.addMember(transactionalIdMethod);
+    }
+
     private Optional<GeneratedFile> mongodbBasedTransaction(ClassOrInterfaceDeclaration persistenceProviderClazz) {
         FieldDeclaration transactionManagerField = new FieldDeclaration().addVariable(new VariableDeclarator()
                 .setType(new ClassOrInterfaceType(null, MONGODB_TRANSACTION_MANAGER_FULLNAME))
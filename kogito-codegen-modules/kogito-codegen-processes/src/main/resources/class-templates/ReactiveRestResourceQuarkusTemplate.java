@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -56,6 +57,8 @@ public class $Type$ReactiveResource {
 
     Application application;
 
+    int maxPageSize = ProcessService.DEFAULT_MAX_PAGE_SIZE;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -77,15 +80,25 @@ public class $Type$ReactiveResource {
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("page") Integer page,
+                                                                   @QueryParam("size") Integer size) {
+        if (page == null && size == null) {
+            return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+        }
+        if ((page != null && page < 0) || (size != null && size <= 0)) {
+            throw new BadRequestException("Page must not be negative and size must be positive");
+        }
+        if (size != null && size > maxPageSize) {
+            throw new BadRequestException("Size must not exceed " + maxPageSize);
+        }
+        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process, page == null ? 0 : page, size == null ? 10 : size));
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -63,6 +64,8 @@ public class $Type$Resource {
     @Inject
     ProcessService processService;
 
+    int maxPageSize = ProcessService.DEFAULT_MAX_PAGE_SIZE;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -81,8 +84,18 @@ public class $Type$Resource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("page") Integer page,
+                                                  @QueryParam("size") Integer size) {
+        if (page == null && size == null) {
+            return processService.getProcessInstanceOutput(process);
+        }
+        if ((page != null && page < 0) || (size != null && size <= 0)) {
+            throw new BadRequestException("Page must not be negative and size must be positive");
+        }
+        if (size != null && size > maxPageSize) {
+            throw new BadRequestException("Size must not exceed " + maxPageSize);
+        }
+        return processService.getProcessInstanceOutput(process, page == null ? 0 : page, size == null ? 10 : size);
     }
 
     @GET
@@ -64,6 +64,8 @@ public class $Type$Resource {
     @Autowired
     ProcessService processService;
 
+    int maxPageSize = ProcessService.DEFAULT_MAX_PAGE_SIZE;
+
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<$Type$Output> createResource_$name$(@RequestHeader HttpHeaders httpHeaders,
                                                               @RequestParam(value = "businessKey", required = false) String businessKey,
@@ -78,8 +80,18 @@ public class $Type$Resource {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "page", required = false) Integer page,
+                                                  @RequestParam(value = "size", required = false) Integer size) {
+        if (page == null && size == null) {
+            return processService.getProcessInstanceOutput(process);
+        }
+        if ((page != null && page < 0) || (size != null && size <= 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must not be negative and size must be positive");
+        }
+        if (size != null && size > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must not exceed " + maxPageSize);
+        }
+        return processService.getProcessInstanceOutput(process, page == null ? 0 : page, size == null ? 10 : size);
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
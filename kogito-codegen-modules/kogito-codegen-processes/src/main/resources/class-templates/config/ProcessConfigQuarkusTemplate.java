@@ -15,6 +15,7 @@
  */
 package $Package$;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
@@ -22,6 +23,7 @@ import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.services.jobs.impl.TimingWheelJobService;
 
 import javax.enterprise.inject.Instance;
 
@@ -37,7 +39,8 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             Instance<ProcessEventListener> processEventListeners,
             Instance<EventPublisher> eventPublishers,
             ConfigBean configBean,
-            Instance<UnitOfWorkEventListener> unitOfWorkEventListeners) {
+            Instance<UnitOfWorkEventListener> unitOfWorkEventListeners,
+            @ConfigProperty(name = TimingWheelJobService.TIMING_WHEEL_ENABLED, defaultValue = "false") boolean timingWheelJobsEnabled) {
 
         super(workItemHandlerConfig,
               processEventListenerConfigs,
@@ -46,7 +49,8 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               jobsService,
               eventPublishers,
               configBean.getServiceUrl(),
-              unitOfWorkEventListeners);
+              unitOfWorkEventListeners,
+              timingWheelJobsEnabled);
     }
 
 }
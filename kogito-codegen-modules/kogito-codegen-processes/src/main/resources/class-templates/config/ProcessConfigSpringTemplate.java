@@ -24,6 +24,7 @@ import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.services.jobs.impl.TimingWheelJobService;
 
 @org.springframework.stereotype.Component
 public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessConfig {
@@ -37,7 +38,8 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             List<ProcessEventListener> processEventListeners,
             List<EventPublisher> eventPublishers,
             ConfigBean configBean,
-            List<UnitOfWorkEventListener> unitOfWorkEventListeners) {
+            List<UnitOfWorkEventListener> unitOfWorkEventListeners,
+            @org.springframework.beans.factory.annotation.Value("${" + TimingWheelJobService.TIMING_WHEEL_ENABLED + ":false}") boolean timingWheelJobsEnabled) {
 
         super(workItemHandlerConfig,
               processEventListenerConfigs,
@@ -46,6 +48,7 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               jobsService,
               eventPublishers,
               configBean.getServiceUrl(),
-              unitOfWorkEventListeners);
+              unitOfWorkEventListeners,
+              timingWheelJobsEnabled);
     }
 }
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package $Package$;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.jbpm.workflow.instance.node.ConcurrentWorkItemExecution;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkus.runtime.Startup;
+
+@Startup
+@ApplicationScoped
+public class ConcurrentWorkItemExecutionProducer {
+
+    @ConfigProperty(name = ConcurrentWorkItemExecution.THREADS_PROPERTY, defaultValue = ConcurrentWorkItemExecution.DEFAULT_THREADS)
+    int numThreads;
+
+    @ConfigProperty(name = ConcurrentWorkItemExecution.TIMEOUT_PROPERTY, defaultValue = ConcurrentWorkItemExecution.DEFAULT_TIMEOUT_MILLIS)
+    long timeoutMillis;
+
+    @PostConstruct
+    public void init() {
+        ConcurrentWorkItemExecution.configure(numThreads, timeoutMillis);
+    }
+
+    @PreDestroy
+    public void close() {
+        ConcurrentWorkItemExecution.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package $Package$;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.jbpm.workflow.instance.node.ConcurrentWorkItemExecution;
+
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrentWorkItemExecutionProducer {
+
+    @org.springframework.beans.factory.annotation.Value("${"+ConcurrentWorkItemExecution.THREADS_PROPERTY+":#{"+ConcurrentWorkItemExecution.DEFAULT_THREADS_INT+"}}")
+    int numThreads;
+
+    @org.springframework.beans.factory.annotation.Value("${"+ConcurrentWorkItemExecution.TIMEOUT_PROPERTY+":#{"+ConcurrentWorkItemExecution.DEFAULT_TIMEOUT_MILLIS_LONG+"}}")
+    long timeoutMillis;
+
+    @PostConstruct
+    public void init() {
+        ConcurrentWorkItemExecution.configure(numThreads, timeoutMillis);
+    }
+
+    @PreDestroy
+    public void close() {
+        ConcurrentWorkItemExecution.shutdown();
+    }
+}
@@ -36,6 +36,7 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import static com.github.javaparser.StaticJavaParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.KAFKA_PERSISTENCE_TYPE;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.KAFKA_TRANSACTIONAL_ID;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.KOGITO_PERSISTENCE_TYPE;
 import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.hasProtoMarshaller;
 
@@ -68,9 +69,12 @@ class KafkaPersistenceGeneratorTest extends AbstractPersistenceGeneratorTest {
 
             final CompilationUnit compilationUnit = parse(new ByteArrayInputStream(persistenceFactoryImpl.get().contents()));
 
-            compilationUnit
+            ClassOrInterfaceDeclaration classDeclaration = compilationUnit
                     .findFirst(ClassOrInterfaceDeclaration.class)
                     .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
+
+            assertThat(classDeclaration.getFieldByName(KAFKA_TRANSACTIONAL_ID)).isPresent();
+            assertThat(classDeclaration.getMethodsByName(KAFKA_TRANSACTIONAL_ID)).hasSize(1);
         }
     }
 
@@ -30,8 +30,8 @@ import net.thisptr.jackson.jq.exception.JsonQueryException;
 
 public class JqParsedExpression implements ParsedExpression {
 
-    private Scope scope;
-    private JsonQuery query;
+    private final Scope scope;
+    private final JsonQuery query;
 
     public JqParsedExpression(Scope scope, String expr) {
         this.scope = scope;
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JqExpressionHandlerTest {
@@ -73,4 +74,8 @@ class JqExpressionHandlerTest {
         assertEquals("Javierito Pepito Fulanito", parsedExpression.eval(node, String.class));
     }
 
+    @Test
+    void testExpressionCompiledOnce() {
+        assertSame(ExpressionHandlerFactory.get("jq").parse(".foo"), ExpressionHandlerFactory.get("jq").parse(".foo"));
+    }
 }
@@ -15,9 +15,11 @@
  */
 package org.kie.kogito.serverless.workflow.parser.handlers;
 
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowNodeContainerFactory;
 import org.jbpm.ruleflow.core.factory.JoinFactory;
 import org.jbpm.ruleflow.core.factory.SplitFactory;
+import org.jbpm.workflow.core.node.Join;
 import org.jbpm.workflow.core.node.Split;
 import org.kie.kogito.serverless.workflow.parser.NodeIdGenerator;
 import org.kie.kogito.serverless.workflow.parser.ServerlessWorkflowParser;
@@ -28,6 +30,15 @@ import io.serverlessworkflow.api.states.ParallelState;
 
 public class ParallelHandler<P extends RuleFlowNodeContainerFactory<P, ?>> extends StateHandler<ParallelState, SplitFactory<P>, P> {
 
+    /**
+     * State metadata enabling the concurrent execution of the service calls the branches start with
+     */
+    public static final String CONCURRENT = "concurrent";
+
+    private static final String COMPLETION_XOR = "xor";
+    private static final String COMPLETION_N_OF_M = "n_of_m";
+    private static final String COMPLETION_AT_LEAST = "atLeast";
+
     private JoinFactory<P> connectionNode;
 
     protected ParallelHandler(ParallelState state, Workflow workflow, RuleFlowNodeContainerFactory<P, ?> factory,
@@ -39,7 +50,11 @@ public class ParallelHandler<P extends RuleFlowNodeContainerFactory<P, ?>> exten
     @Override
     public SplitFactory<P> makeNode() {
         SplitFactory<P> nodeFactory = factory.splitNode(idGenerator.getId()).name(state.getName() + ServerlessWorkflowParser.NODE_START_NAME).type(Split.TYPE_AND);
-        connectionNode = factory.joinNode(idGenerator.getId()).name(state.getName() + ServerlessWorkflowParser.NODE_END_NAME).type(Split.TYPE_AND);
+        if (state.getMetadata() != null && Boolean.parseBoolean(state.getMetadata().get(CONCURRENT))) {
+            nodeFactory.metaData(Metadata.CUSTOM_CONCURRENT, "true");
+        }
+        connectionNode = factory.joinNode(idGenerator.getId()).name(state.getName() + ServerlessWorkflowParser.NODE_END_NAME);
+        handleCompletionType(connectionNode);
         for (Branch branch : state.getBranches()) {
             long branchId = idGenerator.getId();
             if (branch.getWorkflowId() == null || branch.getWorkflowId().isEmpty()) {
@@ -51,6 +66,27 @@ public class ParallelHandler<P extends RuleFlowNodeContainerFactory<P, ?>> exten
         return nodeFactory;
     }
 
+    private void handleCompletionType(JoinFactory<P> join) {
+        String completionType = state.getCompletionType() == null ? null : state.getCompletionType().toString();
+        int n = COMPLETION_N_OF_M.equals(completionType) || COMPLETION_AT_LEAST.equals(completionType) ? parseN(state.getN()) : 0;
+        if (COMPLETION_XOR.equals(completionType) || n == 1) {
+            // continues once the first branch completes, ignoring the remaining ones
+            join.type(Join.TYPE_DISCRIMINATOR);
+        } else if (n > 1) {
+            join.type(Join.TYPE_N_OF_M).type(Integer.toString(n));
+        } else {
+            join.type(Join.TYPE_AND);
+        }
+    }
+
+    private static int parseN(String n) {
+        try {
+            return n == null ? 0 : Integer.parseInt(n.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of branches to complete " + n, e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public JoinFactory<P> getOutgoingNode() {
@@ -487,6 +487,18 @@ public class ServerlessWorkflowParsingTest {
         assertTrue(node instanceof SubProcessNode);
     }
 
+    @Test
+    public void testConcurrentParallelWorkflow() throws Exception {
+        RuleFlowProcess process = (RuleFlowProcess) getWorkflowParser("/exec/parallel-state-concurrent.sw.json");
+        assertEquals("concurrentparallelworkflow", process.getId());
+
+        Split split = (Split) process.getNodes()[2];
+        assertEquals(Split.TYPE_AND, split.getType());
+        assertEquals("true", split.getMetaData().get(Metadata.CUSTOM_CONCURRENT));
+        Join join = (Join) process.getNodes()[3];
+        assertEquals(Join.TYPE_AND, join.getType());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "/exec/transition-produce-event.sw.json", "/exec/transition-produce-event.sw.yml" })
     public void testProduceEventOnTransition(String workflowLocation) throws Exception {
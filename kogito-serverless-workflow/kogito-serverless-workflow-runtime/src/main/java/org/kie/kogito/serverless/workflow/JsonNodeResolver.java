@@ -30,8 +30,36 @@ import com.fasterxml.jackson.databind.node.TextNode;
 
 public class JsonNodeResolver extends ExpressionWorkItemResolver {
 
+    private final JsonNode definition;
+
     public JsonNodeResolver(String exprLang, String jsonPathExpr, String paramName) {
         super(exprLang, jsonPathExpr, paramName);
+        this.definition = parseDefinition(jsonPathExpr);
+    }
+
+    /**
+     * Parses the definition and compiles its expressions when the process is loaded rather than on every execution.
+     * Invalid definitions are left to fail when evaluated, as they always did.
+     */
+    private JsonNode parseDefinition(String jsonPathExpr) {
+        try {
+            JsonNode node = parse(jsonPathExpr);
+            compileExpressions(node);
+            return node;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void compileExpressions(JsonNode node) {
+        if (node.isValueNode()) {
+            String expr = node.asText();
+            if (expressionHandler.isExpr(expr)) {
+                expressionHandler.parse(expr);
+            }
+        } else {
+            node.elements().forEachRemaining(this::compileExpressions);
+        }
     }
 
     private JsonNode parse(final Object input) {
@@ -54,7 +82,7 @@ public class JsonNodeResolver extends ExpressionWorkItemResolver {
 
     @Override
     protected Object evalExpression(Object inputModel) {
-        return processInputModel(inputModel, parse(expression));
+        return processInputModel(inputModel, definition == null ? parse(expression) : definition);
     }
 
     private JsonNode processInputModel(final Object inputModel, final JsonNode expression) {
@@ -17,6 +17,7 @@ package org.kogito.workitem.rest;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,16 +26,29 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.jbpm.process.core.Process;
 import org.jbpm.process.core.context.variable.Variable;
+import org.jbpm.process.core.context.exception.ExceptionScope;
 import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.ConcurrentWorkItemHandler;
+import org.jbpm.process.instance.ProcessInstance;
+import org.jbpm.process.instance.context.exception.ExceptionScopeInstance;
 import org.jbpm.workflow.core.node.WorkItemNode;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
+import org.kie.kogito.Application;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
-import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.WorkUnit;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.bodybuilders.RestWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
@@ -42,13 +56,15 @@ import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.HttpResponse;
 import io.vertx.mutiny.ext.web.client.WebClient;
 
-public class RestWorkItemHandler implements KogitoWorkItemHandler {
+public class RestWorkItemHandler implements ConcurrentWorkItemHandler {
 
     public static final String REST_TASK_TYPE = "Rest";
     public static final String URL = "Url";
@@ -61,16 +77,41 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
     public static final String PORT = "Port";
     public static final String RESULT_HANDLER = "ResultHandler";
     public static final String BODY_BUILDER = "BodyBuilder";
+    public static final String ASYNC = "Async";
 
     private static final Logger logger = LoggerFactory.getLogger(RestWorkItemHandler.class);
     private static final RestWorkItemHandlerResult DEFAULT_RESULT_HANDLER = new DefaultRestWorkItemHandlerResult();
     private static final RestWorkItemHandlerBodyBuilder DEFAULT_BODY_BUILDER = new DefaultWorkItemHandlerBodyBuilder();
     private static final Map<String, RestWorkItemHandlerBodyBuilder> BODY_BUILDERS = new ConcurrentHashMap<>();
+    private static final int MAX_LOOKUPS = 5;
+    private static final Duration LOOKUP_BACKOFF = Duration.ofMillis(100);
 
     private WebClient client;
+    private boolean async;
+    private int retries;
+    private Executor executor;
 
     public RestWorkItemHandler(WebClient client) {
+        this(client, false, 0);
+    }
+
+    public RestWorkItemHandler(WebClient client, boolean async, int retries) {
+        this(client, async, retries, Infrastructure.getDefaultWorkerPool());
+    }
+
+    /**
+     * @param client web client used to send the requests
+     * @param async when true, work items are completed from the response callback rather than by the calling thread,
+     *        unless the work item sets the {@link #ASYNC} parameter to false
+     * @param retries number of times an asynchronous request is sent again after failing
+     * @param executor runs the process engine once an asynchronous response arrives, instead of the event loop of the
+     *        web client
+     */
+    public RestWorkItemHandler(WebClient client, boolean async, int retries, Executor executor) {
         this.client = client;
+        this.async = async;
+        this.retries = retries;
+        this.executor = executor;
     }
 
     @Override
@@ -96,6 +137,7 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         RestWorkItemHandlerResult resultHandler = getParam(parameters, RESULT_HANDLER, RestWorkItemHandlerResult.class,
                 DEFAULT_RESULT_HANDLER);
         RestWorkItemHandlerBodyBuilder bodyBuilder = getBodyBuilder(parameters);
+        boolean asyncRequest = getParam(parameters, ASYNC, Boolean.class, async);
 
         logger.debug("Filtered parameters are {}", parameters);
         // create request
@@ -109,12 +151,92 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         if (user != null && !user.trim().isEmpty() && password != null && !password.trim().isEmpty()) {
             request.basicAuthentication(user, password);
         }
+        if (asyncRequest) {
+            Uni<HttpResponse<Buffer>> response = method == HttpMethod.POST || method == HttpMethod.PUT ? request.sendJson(bodyBuilder.apply(inputModel, parameters)) : request.send();
+            sendAsync(workItem, retries > 0 ? response.onFailure().retry().atMost(retries) : response, targetInfo, resultHandler);
+            return;
+        }
         HttpResponse<Buffer> response = method == HttpMethod.POST || method == HttpMethod.PUT ? request.sendJsonAndAwait(bodyBuilder.apply(inputModel, parameters)) : request.sendAndAwait();
         manager.completeWorkItem(workItem.getStringId(), targetInfo != null ? Collections.singletonMap(RESULT,
                 resultHandler.apply(targetInfo, response)) : Collections.emptyMap());
 
     }
 
+    /**
+     * Sends the request once the current unit of work ends, so the process instance is already stored waiting for
+     * the response when it arrives. The work item is then completed, or failed, on a fresh copy of the process
+     * instance within a new unit of work, on the executor of the handler.
+     */
+    private void sendAsync(KogitoWorkItem workItem, Uni<HttpResponse<Buffer>> response, RestWorkItemTargetInfo targetInfo, RestWorkItemHandlerResult resultHandler) {
+        KogitoProcessInstance pi = workItem.getProcessInstance();
+        Application application = KogitoProcessRuntime.asKogitoProcessRuntime(((ProcessInstance) pi).getKnowledgeRuntime()).getApplication();
+        org.kie.kogito.process.Process<?> process = application.get(Processes.class).processById(pi.getProcessId());
+        String processInstanceId = pi.getStringId();
+        String workItemId = workItem.getStringId();
+        application.unitOfWorkManager().currentUnitOfWork().intercept(WorkUnit.create(response, r -> r.emitOn(executor).subscribe().with(
+                result -> onResponse(application, process, processInstanceId, workItemId, instance -> instance.completeWorkItem(workItemId,
+                        targetInfo != null ? Collections.singletonMap(RESULT, resultHandler.apply(targetInfo, result)) : Collections.emptyMap()), true),
+                error -> onResponse(application, process, processInstanceId, workItemId, failWorkItem(workItemId, error), false))));
+    }
+
+    /**
+     * Applies the action to the process instance within a new unit of work. The response may arrive before the
+     * transaction storing the process instance waiting for it commits, so the process instance and its work item are
+     * looked up again, with a backoff, while they can't be found. When the action fails otherwise, the work item is
+     * failed as if the handler had thrown the exception, unless the action was already failing it.
+     */
+    private void onResponse(Application application, org.kie.kogito.process.Process<?> process, String processInstanceId, String workItemId,
+            Consumer<org.kie.kogito.process.ProcessInstance<?>> action, boolean failOnError) {
+        Uni.createFrom().item(() -> apply(application, process, processInstanceId, action))
+                .runSubscriptionOn(executor)
+                .onFailure(RestWorkItemHandler::isNotStored).retry().withBackOff(LOOKUP_BACKOFF).atMost(MAX_LOOKUPS)
+                .subscribe().with(
+                        done -> logger.debug("Handled REST response of work item {} in process instance {}", workItemId, processInstanceId),
+                        error -> {
+                            if (isNotStored(error)) {
+                                logger.warn("Work item {} of process instance {} no longer exists, discarding REST response", workItemId, processInstanceId);
+                            } else if (failOnError) {
+                                executor.execute(() -> onResponse(application, process, processInstanceId, workItemId, failWorkItem(workItemId, error), false));
+                            } else {
+                                logger.error("Error failing work item {} in process instance {}", workItemId, processInstanceId, error);
+                            }
+                        });
+    }
+
+    private static boolean apply(Application application, org.kie.kogito.process.Process<?> process, String processInstanceId,
+            Consumer<org.kie.kogito.process.ProcessInstance<?>> action) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            action.accept(process.instances().findById(processInstanceId).orElseThrow(() -> new ProcessInstanceNotFoundException(processInstanceId)));
+            return true;
+        });
+    }
+
+    private static boolean isNotStored(Throwable error) {
+        return error instanceof ProcessInstanceNotFoundException || error instanceof WorkItemNotFoundException;
+    }
+
+    private Consumer<org.kie.kogito.process.ProcessInstance<?>> failWorkItem(String workItemId, Throwable error) {
+        return instance -> instance.updateWorkItem(workItemId, w -> {
+            fail(w, error instanceof Exception ? (Exception) error : new IllegalStateException(error));
+            return null;
+        });
+    }
+
+    /**
+     * Handles a failed request the way the engine handles an exception thrown by a handler: through the error
+     * handlers of the node, or by putting the process instance in error otherwise.
+     */
+    private void fail(KogitoWorkItem workItem, Exception e) {
+        NodeInstanceImpl nodeInstance = (NodeInstanceImpl) workItem.getNodeInstance();
+        String exceptionName = e.getClass().getName();
+        ExceptionScopeInstance exceptionScopeInstance = (ExceptionScopeInstance) nodeInstance.resolveContextInstance(ExceptionScope.EXCEPTION_SCOPE, exceptionName);
+        if (exceptionScopeInstance != null) {
+            exceptionScopeInstance.handleException(exceptionName, e);
+        } else {
+            ((ProcessInstance) nodeInstance.getProcessInstance()).setErrorState(nodeInstance, e);
+        }
+    }
+
     public RestWorkItemHandlerBodyBuilder getBodyBuilder(Map<String, Object> parameters) {
         Object param = parameters.get(BODY_BUILDER);
         //in case the body builder is not set as an input, just use the default
@@ -191,6 +313,15 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         // rest item handler does not support abort
     }
 
+    /**
+     * Synchronous requests only do I/O, so they can be sent from another thread. Asynchronous ones need the unit of
+     * work of the calling thread to be sent once it ends.
+     */
+    @Override
+    public boolean isConcurrent(KogitoWorkItem workItem) {
+        return !getParam(new HashMap<>(workItem.getParameters()), ASYNC, Boolean.class, async);
+    }
+
     //  package scoped to allow unit test
     static String resolvePathParams(String endPoint, Map<String, Object> parameters) {
         Set<String> toRemove = new HashSet<>();
@@ -228,6 +359,8 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
                 } catch (NumberFormatException ex) {
                     value = defaultValue;
                 }
+            } else if (type.isAssignableFrom(Boolean.class) && CharSequence.class.isAssignableFrom(value.getClass())) {
+                value = Boolean.parseBoolean(value.toString());
             } else {
                 throw new IllegalArgumentException("Parameter paramName should be of type " + type +
                         " but it is of type " +
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.drools.core.common.InternalKnowledgeRuntime;
 import org.jbpm.process.core.Process;
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
@@ -31,8 +32,14 @@ import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.Application;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kogito.workitem.rest.bodybuilders.ParamsRestWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
 import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
@@ -46,6 +53,7 @@ import org.mockito.quality.Strictness;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -62,9 +70,13 @@ import static org.kogito.workitem.rest.RestWorkItemHandler.BODY_BUILDER;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -144,7 +156,7 @@ public class RestWorkItemHandlerTest {
         when(nodeInstance.getNode()).thenReturn(node);
         when(node.getOutMapping(RestWorkItemHandler.RESULT)).thenReturn(DEFAULT_WORKFLOW_VAR);
 
-        handler = new RestWorkItemHandler(webClient);
+        handler = new RestWorkItemHandler(webClient, false, 0, Runnable::run);
     }
 
     @Test
@@ -318,6 +330,72 @@ public class RestWorkItemHandlerTest {
         assertResult(manager, argCaptor);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAsyncGetRestTaskHandler() {
+        org.kie.kogito.process.ProcessInstance instance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(mockAsyncInstances().findById("1")).thenReturn(Optional.of(instance));
+
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, "true");
+
+        handler.executeWorkItem(workItem, manager);
+
+        verify(request, never()).sendAndAwait();
+        verify(manager, never()).completeWorkItem(anyString(), any());
+        verify(instance).completeWorkItem(eq("2"), argCaptor.capture());
+        assertEquals(1, ((ObjectNode) argCaptor.getValue().get(RestWorkItemHandler.RESULT)).get("num").asInt());
+    }
+
+    @Test
+    public void testAsyncResponseBeforeInstanceIsStored() {
+        org.kie.kogito.process.ProcessInstance instance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(mockAsyncInstances().findById("1")).thenReturn(Optional.empty(), Optional.of(instance));
+
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, "true");
+
+        handler.executeWorkItem(workItem, manager);
+
+        verify(instance, timeout(5000)).completeWorkItem(eq("2"), any());
+    }
+
+    @Test
+    public void testAsyncCompletionFailureFailsWorkItem() {
+        org.kie.kogito.process.ProcessInstance instance = mock(org.kie.kogito.process.ProcessInstance.class);
+        when(mockAsyncInstances().findById("1")).thenReturn(Optional.of(instance));
+        doThrow(new IllegalStateException("completion failed")).when(instance).completeWorkItem(eq("2"), any());
+
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, "true");
+
+        handler.executeWorkItem(workItem, manager);
+
+        verify(instance).updateWorkItem(eq("2"), any());
+    }
+
+    private ProcessInstances mockAsyncInstances() {
+        Application application = mock(Application.class);
+        KogitoProcessRuntime processRuntime = mock(KogitoProcessRuntime.class);
+        InternalKnowledgeRuntime kruntime = mock(InternalKnowledgeRuntime.class, withSettings().extraInterfaces(KogitoProcessRuntime.Provider.class));
+        Processes processes = mock(Processes.class);
+        org.kie.kogito.process.Process process = mock(org.kie.kogito.process.Process.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        ProcessInstance processInstance = (ProcessInstance) workItem.getProcessInstance();
+
+        when(processInstance.getKnowledgeRuntime()).thenReturn(kruntime);
+        when(processInstance.getProcessId()).thenReturn("process");
+        when(processInstance.getStringId()).thenReturn("1");
+        when(((KogitoProcessRuntime.Provider) kruntime).getKogitoProcessRuntime()).thenReturn(processRuntime);
+        when(processRuntime.getApplication()).thenReturn(application);
+        when(application.unitOfWorkManager()).thenReturn(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(processes.processById("process")).thenReturn(process);
+        when(process.instances()).thenReturn(instances);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+        return instances;
+    }
+
     public void assertResult(KogitoWorkItemManager manager, ArgumentCaptor<Map<String, Object>> argCaptor) {
         verify(manager).completeWorkItem(anyString(), argCaptor.capture());
         Map<String, Object> results = argCaptor.getValue();
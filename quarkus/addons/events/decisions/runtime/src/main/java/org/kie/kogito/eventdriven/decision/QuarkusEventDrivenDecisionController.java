@@ -16,8 +16,11 @@
 package org.kie.kogito.eventdriven.decision;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionModels;
 import org.kie.kogito.event.EventEmitter;
@@ -40,9 +43,26 @@ public class QuarkusEventDrivenDecisionController extends EventDrivenDecisionCon
     @Inject
     EventReceiver eventReceiver;
 
+    @ConfigProperty(name = EventDrivenPipeline.PARALLELISM_PROPERTY, defaultValue = EventDrivenPipeline.DEFAULT_PARALLELISM)
+    int parallelism;
+
+    @ConfigProperty(name = EventDrivenPipeline.BATCH_SIZE_PROPERTY, defaultValue = EventDrivenPipeline.DEFAULT_BATCH_SIZE)
+    int batchSize;
+
+    @ConfigProperty(name = EventDrivenPipeline.QUEUE_SIZE_PROPERTY, defaultValue = EventDrivenPipeline.DEFAULT_QUEUE_SIZE)
+    int queueSize;
+
+    @ConfigProperty(name = EventDrivenPipeline.ORDERED_PROPERTY, defaultValue = EventDrivenPipeline.DEFAULT_ORDERED)
+    boolean ordered;
+
     @PostConstruct
     private void onPostConstruct() {
         init(decisionModels, config, eventEmitter, eventReceiver);
-        subscribe();
+        subscribe(new EventDrivenPipeline.Config(parallelism, batchSize, queueSize, ordered));
+    }
+
+    @PreDestroy
+    private void onPreDestroy() {
+        close();
     }
 }
@@ -16,6 +16,10 @@
 
 package org.kie.kogito.jobs.management.quarkus;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -24,22 +28,32 @@ import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.jobs.management.TimerTrigger;
+import org.kie.kogito.jobs.management.TimerTriggerResult;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.timer.TimerInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 @Path("/management/jobs")
 public class CallbackJobsServiceResource {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CallbackJobsServiceResource.class);
+
     @Inject
     Processes processes;
 
@@ -78,4 +92,59 @@ public class CallbackJobsServiceResource {
 
     }
 
+    /**
+     * Fires many timers at once. Timers are grouped by process instance so each instance is loaded and stored
+     * only once, within its own unit of work. An instance failing to handle its timers does not prevent the
+     * timers of the other instances from being fired, the request then fails with the report of the timers that
+     * were not fired.
+     *
+     * @param timers timers to fire
+     * @return the timers that were not fired because their process or process instance was not found, or because
+     *         their process instance failed to handle them
+     */
+    @POST
+    @Path("timers")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response triggerTimers(List<TimerTrigger> timers) {
+        if (timers == null || timers.stream().anyMatch(t -> t.getProcessId() == null || t.getProcessInstanceId() == null || t.getTimerId() == null)) {
+            return Response.status(Status.BAD_REQUEST).entity("Process id, Process instance id and Timer id must be given").build();
+        }
+
+        TimerTriggerResult result = new TimerTriggerResult();
+        Map<String, Map<String, List<TimerTrigger>>> timersByProcess = timers.stream()
+                .collect(groupingBy(TimerTrigger::getProcessId, LinkedHashMap::new, groupingBy(TimerTrigger::getProcessInstanceId, LinkedHashMap::new, toList())));
+
+        timersByProcess.forEach((processId, timersByInstance) -> {
+            Process<?> process = processes.processById(processId);
+            if (process == null) {
+                timersByInstance.values().forEach(result.getNotFound()::addAll);
+                return;
+            }
+            timersByInstance.forEach((processInstanceId, instanceTimers) -> {
+                try {
+                    UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+                        Optional<? extends ProcessInstance<?>> processInstanceFound = process.instances().findById(processInstanceId);
+                        if (processInstanceFound.isPresent()) {
+                            ProcessInstance<?> processInstance = processInstanceFound.get();
+                            for (TimerTrigger timer : instanceTimers) {
+                                String[] ids = timer.getTimerId().split("_");
+                                processInstance.send(Sig.of("timerTriggered",
+                                        TimerInstance.with(Long.parseLong(ids[1]), timer.getTimerId(), Objects.requireNonNullElse(timer.getLimit(), 0))));
+                            }
+                        } else {
+                            result.getNotFound().addAll(instanceTimers);
+                        }
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    // the unit of work of this instance is aborted, the timers of the other instances are still fired
+                    LOGGER.error("Unable to trigger timers {} of process instance {}", instanceTimers, processInstanceId, e);
+                    result.getFailed().addAll(instanceTimers);
+                }
+            });
+        });
+
+        return Response.status(result.hasFailures() ? Status.INTERNAL_SERVER_ERROR : Status.OK).entity(result).build();
+    }
 }
@@ -18,6 +18,7 @@ package org.kie.kogito.jobs.management.quarkus;
 import java.net.URI;
 import java.time.ZonedDateTime;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -25,7 +26,6 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobNotFoundException;
@@ -98,31 +98,35 @@ public class VertxJobsService extends RestJobsService {
     }
 
     @Override
-    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-        String callback = getCallbackEndpoint(description);
-        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
-        final Job job = buildJob(description, callback);
+    protected CompletionStage<Void> doSchedule(Job job) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
         client.post(JOBS_PATH).sendJson(job, res -> {
-            if (res.succeeded() && res.result().statusCode() == 200) {
+            if (res.failed()) {
+                future.completeExceptionally(res.cause());
+            } else if (res.result().statusCode() == 200) {
                 LOGGER.debug("Creating of the job {} done with status code {} ", job, res.result().statusCode());
+                future.complete(null);
             } else {
-                LOGGER.error("Scheduling of job {} failed with response code {}", job, res.result().statusCode(), res.cause());
+                future.completeExceptionally(new RuntimeException("Scheduling of job " + job.getId() + " failed with response code " + res.result().statusCode()));
             }
         });
-        return job.getId();
+        return future;
     }
 
     @Override
-    public boolean cancelJob(String id) {
+    protected CompletionStage<Boolean> doCancel(String id) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
         client.delete(JOBS_PATH + "/" + id).send(res -> {
-            if (res.succeeded() && (res.result().statusCode() == 200 || res.result().statusCode() == 404)) {
+            if (res.failed()) {
+                future.completeExceptionally(res.cause());
+            } else if (res.result().statusCode() == 200 || res.result().statusCode() == 404) {
                 LOGGER.debug("Canceling of the job {} done with status code {} ", id, res.result().statusCode());
+                future.complete(res.result().statusCode() == 200);
             } else {
-                LOGGER.error("Canceling of job {} failed with response code {}", id, res.result().statusCode(), res.cause());
+                future.completeExceptionally(new RuntimeException("Canceling of job " + id + " failed with response code " + res.result().statusCode()));
             }
         });
-
-        return true;
+        return future;
     }
 
     @Override
@@ -15,13 +15,18 @@
  */
 package org.kie.kogito.addons.quarkus.k8s;
 
+import java.time.Duration;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Default;
+import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.addons.k8s.CachedEndpointDiscovery;
 import org.kie.kogito.addons.k8s.KnativeRouteEndpointDiscovery;
 import org.kie.kogito.addons.k8s.KubernetesServiceEndpointDiscovery;
 import org.kie.kogito.addons.k8s.ServiceAndThenRouteEndpointDiscovery;
@@ -34,13 +39,20 @@ public class EndpointDiscoveryProducer {
     @Inject
     KubernetesClient kubernetesClient;
 
+    @ConfigProperty(name = CachedEndpointDiscovery.TTL_PROPERTY, defaultValue = "60s")
+    Duration cacheTtl;
+
     @Produces
     @Singleton
     @Default
     @Named("default")
-    public ServiceAndThenRouteEndpointDiscovery endpointDiscovery() {
+    public CachedEndpointDiscovery endpointDiscovery() {
         final KubernetesServiceEndpointDiscovery kubernetesServiceEndpointDiscovery = new KubernetesServiceEndpointDiscovery(kubernetesClient);
         final KnativeRouteEndpointDiscovery knativeRouteEndpointDiscovery = new KnativeRouteEndpointDiscovery(kubernetesClient);
-        return new CachedServiceAndThenRouteEndpointDiscovery(kubernetesServiceEndpointDiscovery, knativeRouteEndpointDiscovery);
+        return new CachedEndpointDiscovery(new ServiceAndThenRouteEndpointDiscovery(kubernetesServiceEndpointDiscovery, knativeRouteEndpointDiscovery), kubernetesClient, cacheTtl);
+    }
+
+    public void close(@Disposes @Default @Named("default") CachedEndpointDiscovery endpointDiscovery) {
+        endpointDiscovery.close();
     }
 }
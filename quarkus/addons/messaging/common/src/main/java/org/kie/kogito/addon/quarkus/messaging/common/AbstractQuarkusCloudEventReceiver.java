@@ -16,15 +16,14 @@
 package org.kie.kogito.addon.quarkus.messaging.common;
 
 import java.io.IOException;
-import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.addon.cloudevents.Subscription;
+import org.kie.kogito.addon.cloudevents.SubscriptionIndex;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.SubscriptionInfo;
 import org.slf4j.Logger;
@@ -34,7 +33,7 @@ public abstract class AbstractQuarkusCloudEventReceiver implements EventReceiver
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractQuarkusCloudEventReceiver.class);
 
-    private Collection<Subscription<Object>> consumers = new CopyOnWriteArrayList<>();
+    private SubscriptionIndex consumers = new SubscriptionIndex();
 
     public CompletionStage<?> produce(final String message) {
         return produce(message, null);
@@ -54,7 +53,7 @@ public abstract class AbstractQuarkusCloudEventReceiver implements EventReceiver
     private CompletionStage<?> produce(final String message, BiConsumer<Object, Throwable> callback) {
         CompletionStage<?> result = CompletableFuture.completedFuture(null);
         CompletionStage<?> future = result;
-        for (Subscription<Object> subscription : consumers) {
+        for (Subscription<Object> subscription : consumers.subscriptions(message)) {
             Object object;
             try {
                 object = subscription.getInfo().getConverter().apply(message, subscription.getInfo().getOutputClass());
@@ -26,7 +26,9 @@ import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.monitoring.core.common.Constants;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 import org.kie.kogito.monitoring.core.common.process.MetricsProcessEventListener;
+import org.kie.kogito.monitoring.core.common.process.UnitOfWorkMetricsListener;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,4 +59,11 @@ public class QuarkusEventListenerFactory {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MetricsProcessEventListener("default-process-monitoring-listener", configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
     }
+
+    @Produces
+    @IfBuildProperty(name = Constants.MONITORING_PROCESS_USE_DEFAULT, stringValue = "true", enableIfMissing = true)
+    public UnitOfWorkEventListener produceUnitOfWorkListener() {
+        LOGGER.debug("Producing default listener for unit of work monitoring.");
+        return new UnitOfWorkMetricsListener(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
+    }
 }
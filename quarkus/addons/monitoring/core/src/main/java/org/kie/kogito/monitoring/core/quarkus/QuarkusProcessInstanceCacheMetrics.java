@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.monitoring.core.common.process.ProcessInstanceCacheMetrics;
+import org.kie.kogito.process.Processes;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.StartupEvent;
+
+@ApplicationScoped
+@IfBuildProperty(name = Constants.MONITORING_PROCESS_USE_DEFAULT, stringValue = "true", enableIfMissing = true)
+public class QuarkusProcessInstanceCacheMetrics {
+
+    ConfigBean configBean;
+
+    Instance<Processes> processes;
+
+    @Inject
+    public QuarkusProcessInstanceCacheMetrics(ConfigBean configBean, Instance<Processes> processes) {
+        this.configBean = configBean;
+        this.processes = processes;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (processes.isResolvable()) {
+            new ProcessInstanceCacheMetrics(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry()).bindTo(processes.get());
+        }
+    }
+}
@@ -15,18 +15,21 @@
  */
 package org.kie.kogito.persistence;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.kie.kogito.persistence.kafka.KafkaProcessInstances;
 import org.kie.kogito.persistence.kafka.KafkaStreamsStateListener;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.CachingProcessInstancesFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,11 +38,12 @@ import io.smallrye.common.annotation.Identifier;
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory extends CachingProcessInstancesFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KogitoProcessInstancesFactory.class);
 
     KafkaStreamsStateListener stateListener;
+    Map<String, Object> kafkaConfig;
     KafkaProducer<String, byte[]> producer;
 
     @Inject
@@ -49,20 +53,52 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     @Inject
     public void setKafkaConfig(@Identifier("default-kafka-broker") Map<String, Object> kafkaConfig) {
-        producer = new KafkaProducer<>(kafkaConfig, new StringSerializer(), new ByteArraySerializer());
+        this.kafkaConfig = kafkaConfig;
+    }
+
+    /**
+     * Prefix of the transactional id of the producer writing process instances. When set, the writes of each unit of
+     * work are committed in a single Kafka transaction; otherwise they are sent pipelined through an idempotent
+     * producer. Each application instance appends its own unique suffix, so that replicas sharing the configuration
+     * do not fence each other.
+     */
+    public String transactionalId() {
+        return null;
     }
 
     @PreDestroy
-    public void stop() {
+    public synchronized void stop() {
         if (producer != null) {
             producer.close();
         }
     }
 
+    /**
+     * The producer is created on first use since the transactional id is only injected once the Kafka
+     * configuration has been set.
+     */
+    protected synchronized KafkaProducer<String, byte[]> getProducer() {
+        if (producer == null && kafkaConfig != null) {
+            Map<String, Object> producerConfig = new HashMap<>(kafkaConfig);
+            String transactionalId = transactionalId();
+            if (transactionalId != null) {
+                producerConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId + "-" + UUID.randomUUID());
+            } else if (!producerConfig.containsKey(ProducerConfig.ACKS_CONFIG)) {
+                // keeps pipelined writes in order when they are retried
+                producerConfig.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            }
+            producer = new KafkaProducer<>(producerConfig, new StringSerializer(), new ByteArraySerializer());
+            if (transactionalId != null) {
+                producer.initTransactions();
+            }
+        }
+        return producer;
+    }
+
     public KafkaProcessInstances createProcessInstances(Process<?> process) {
         try {
             LOGGER.info("Creating KafkaProcessInstances for process: {}", process.id());
-            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer);
+            KafkaProcessInstances pi = new KafkaProcessInstances(process, getProducer(), transactionalId() != null);
             stateListener.addProcessInstances(pi);
             return pi;
         } catch (Exception ex) {
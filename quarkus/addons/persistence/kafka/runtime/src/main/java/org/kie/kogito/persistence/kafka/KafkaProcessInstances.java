@@ -15,16 +15,32 @@
  */
 package org.kie.kogito.persistence.kafka;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.kie.kogito.process.MutableProcessInstances;
@@ -40,24 +56,46 @@ import org.slf4j.LoggerFactory;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
+/**
+ * Process instances stored in a compacted Kafka topic and read back through a Kafka Streams global store.
+ *
+ * The writes of a unit of work are sent pipelined, and committed in a single Kafka transaction when the producer is
+ * transactional. Since the store is only updated once the records are consumed back, the payloads written by this
+ * instance are kept in a local overlay and served by {@link #findById} until the store catches up with them.
+ *
+ * Stored values are prefixed with the version of the instance, which tells whether the store has caught up with a
+ * local write. Values written before versions were stored have no prefix and are read as version 0.
+ */
 public class KafkaProcessInstances implements MutableProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstances.class);
 
+    // a protobuf message can't start with a 0 tag, so it marks the values prefixed with a version
+    private static final byte VERSIONED = 0;
+    private static final int VERSION_HEADER_LENGTH = 1 + Long.BYTES;
+    private static final long OVERLAY_PRUNE_INTERVAL_MILLIS = 1000L;
+
     private Process<?> process;
     private KafkaProducer<String, byte[]> producer;
+    private boolean transactional;
     private String topic;
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
+    private final Map<String, Pending> overlay = new ConcurrentHashMap<>();
+    private volatile long nextOverlayPrune;
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
+        this(process, producer, false);
+    }
+
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, boolean transactional) {
         this.process = process;
         this.topic = topicName(process.id());
         this.producer = producer;
+        this.transactional = transactional;
         setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
-
     protected Process<?> getProcess() {
         return process;
     }
@@ -97,21 +135,22 @@ public class KafkaProcessInstances implements MutableProcessInstances {
 
     @Override
     public boolean exists(String id) {
-        return getStore().get(id) != null;
+        return read(id) != null;
     }
 
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            if (getStore().get(id) != null) {
+            if (read(id) != null) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
+                send(Collections.singletonList(new ProducerRecord<>(topic, id, encode(nextVersion(instance), data))));
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
             }
+            setVersion(instance, nextVersion(instance));
         }
     }
 
@@ -120,8 +159,9 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
-                disconnect(instance);
+                send(Collections.singletonList(new ProducerRecord<>(topic, id, encode(nextVersion(instance), data))));
+                setVersion(instance, nextVersion(instance));
+                disconnect(instance, data);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to update process instance id: " + id, e);
             }
@@ -131,42 +171,223 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         try {
-            producer.send(new ProducerRecord<>(topic, id, null)).get();
+            send(Collections.singletonList(new ProducerRecord<>(topic, id, null)));
         } catch (Exception e) {
             throw new RuntimeException("Unable to remove process instance id: " + id, e);
         }
     }
 
+    /**
+     * Sends all the records of the batch pipelined, within a single transaction when the producer is transactional.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void batch(Collection created, Collection updated, Collection removed) {
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>(created.size() + updated.size() + removed.size());
+        List<ProcessInstance> written = new ArrayList<>(created.size() + updated.size());
+        Map<ProcessInstance, byte[]> updatedData = new IdentityHashMap<>();
+        for (ProcessInstance instance : (Collection<ProcessInstance>) created) {
+            if (isActive(instance)) {
+                if (read(instance.id()) != null) {
+                    throw new ProcessInstanceDuplicatedException(instance.id());
+                }
+                records.add(new ProducerRecord<>(topic, instance.id(), encode(nextVersion(instance), marshaller.marshallProcessInstance(instance))));
+                written.add(instance);
+            }
+        }
+        for (ProcessInstance instance : (Collection<ProcessInstance>) updated) {
+            if (isActive(instance)) {
+                byte[] data = marshaller.marshallProcessInstance(instance);
+                records.add(new ProducerRecord<>(topic, instance.id(), encode(nextVersion(instance), data)));
+                written.add(instance);
+                updatedData.put(instance, data);
+            }
+        }
+        for (String id : (Collection<String>) removed) {
+            records.add(new ProducerRecord<>(topic, id, null));
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            send(records);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to persist process instances of process: " + process.id(), e);
+        }
+        written.forEach(instance -> setVersion(instance, nextVersion(instance)));
+        updatedData.forEach(this::disconnect);
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        byte[] data = getStore().get(id);
+        byte[] data = read(id);
         if (data == null) {
             return Optional.empty();
         }
 
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(unmarshall(data, mode));
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        final List<ProcessInstance> instances = new ArrayList<>();
-        try (final KeyValueIterator<String, byte[]> iterator = getStore().all()) {
-            while (iterator.hasNext()) {
-                instances.add(mode == MUTABLE ? marshaller.unmarshallProcessInstance(iterator.next().value, process) : marshaller.unmarshallReadOnlyProcessInstance(iterator.next().value, process));
-            }
-            return instances;
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
         } catch (Exception e) {
             throw new RuntimeException("Unable to read process instances ", e);
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        final KeyValueIterator<String, byte[]> iterator = getStore().all();
+        Stream<ProcessInstance> stored = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close)
+                .filter(entry -> overlay.isEmpty() || latest(overlay.get(entry.key), entry.value) != null)
+                .map(entry -> unmarshall(overlay.isEmpty() ? entry.value : latest(overlay.get(entry.key), entry.value), mode));
+        // instances written locally but not consumed back yet, only looked up once the store has been iterated
+        Stream<ProcessInstance> pending = Stream.of(overlay)
+                .flatMap(o -> o.entrySet().stream())
+                .filter(entry -> entry.getValue().value != null && getStore().get(entry.getKey()) == null)
+                .map(entry -> unmarshall(entry.getValue().value, mode));
+        return Stream.concat(stored, pending);
+    }
+
     @Override
     public Integer size() {
         return (int) getStore().approximateNumEntries();
     }
 
-    protected void disconnect(ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> getStore().get(instance.id());
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+    /**
+     * Reads the latest payload of the given instance, giving precedence to the ones written locally that the
+     * store has not caught up with yet.
+     */
+    private byte[] read(String id) {
+        Pending pending = overlay.get(id);
+        byte[] stored = getStore().get(id);
+        if (pending != null && pending.isConsumed(stored)) {
+            overlay.remove(id, pending);
+            return stored;
+        }
+        return latest(pending, stored);
+    }
+
+    private static byte[] latest(Pending pending, byte[] stored) {
+        return pending == null || pending.isConsumed(stored) ? stored : pending.value;
+    }
+
+    /**
+     * Removes from the overlay the payloads the store has caught up with, so that instances that are not read
+     * again do not stay in memory.
+     */
+    private void pruneOverlay() {
+        long now = System.currentTimeMillis();
+        if (now < nextOverlayPrune || overlay.isEmpty()) {
+            return;
+        }
+        nextOverlayPrune = now + OVERLAY_PRUNE_INTERVAL_MILLIS;
+        overlay.forEach((id, pending) -> {
+            if (pending.isConsumed(getStore().get(id))) {
+                overlay.remove(id, pending);
+            }
+        });
+    }
+
+    /**
+     * Sends the given records without waiting for each acknowledgement in turn, and returns once all of them have been
+     * acknowledged or, for a transactional producer, committed. The sent payloads are then added to the overlay.
+     */
+    private void send(List<ProducerRecord<String, byte[]>> records) throws Exception {
+        if (transactional) {
+            sendInTransaction(records);
+        } else {
+            List<Future<RecordMetadata>> acks = new ArrayList<>(records.size());
+            for (ProducerRecord<String, byte[]> record : records) {
+                acks.add(producer.send(record));
+            }
+            for (Future<RecordMetadata> ack : acks) {
+                ack.get();
+            }
+        }
+        pruneOverlay();
+        for (ProducerRecord<String, byte[]> record : records) {
+            overlay.put(record.key(), new Pending(record.value()));
+        }
+    }
+
+    private void sendInTransaction(List<ProducerRecord<String, byte[]>> records) {
+        // a producer runs one transaction at a time and is shared by the instances of all the processes
+        synchronized (producer) {
+            producer.beginTransaction();
+            try {
+                records.forEach(producer::send);
+                producer.commitTransaction();
+            } catch (ProducerFencedException | OutOfOrderSequenceException | AuthorizationException e) {
+                // fatal errors, the producer can only be closed
+                throw e;
+            } catch (KafkaException e) {
+                LOGGER.debug("Aborting Kafka transaction for process: {}", process.id(), e);
+                producer.abortTransaction();
+                throw e;
+            }
+        }
+    }
+
+    private ProcessInstance unmarshall(byte[] value, ProcessInstanceReadMode mode) {
+        byte[] data = payloadOf(value);
+        ProcessInstance instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process);
+        if (instance instanceof AbstractProcessInstance) {
+            setVersion(instance, versionOf(value));
+        }
+        return instance;
+    }
+
+    private static long nextVersion(ProcessInstance<?> instance) {
+        return instance.version() + 1;
+    }
+
+    private static void setVersion(ProcessInstance<?> instance, long version) {
+        ((AbstractProcessInstance<?>) instance).setVersion(version);
+    }
+
+    static byte[] encode(long version, byte[] payload) {
+        return ByteBuffer.allocate(VERSION_HEADER_LENGTH + payload.length).put(VERSIONED).putLong(version).put(payload).array();
+    }
+
+    static long versionOf(byte[] value) {
+        return isVersioned(value) ? ByteBuffer.wrap(value, 1, Long.BYTES).getLong() : 0L;
+    }
+
+    static byte[] payloadOf(byte[] value) {
+        return isVersioned(value) ? Arrays.copyOfRange(value, VERSION_HEADER_LENGTH, value.length) : value;
+    }
+
+    private static boolean isVersioned(byte[] value) {
+        return value != null && value.length >= VERSION_HEADER_LENGTH && value[0] == VERSIONED;
+    }
+
+    /**
+     * A value written locally, null for a removal, that the store has not caught up with yet.
+     */
+    private static final class Pending {
+
+        private final byte[] value;
+        private final long version;
+
+        private Pending(byte[] value) {
+            this.value = value;
+            this.version = value == null ? 0L : versionOf(value);
+        }
+
+        private boolean isConsumed(byte[] stored) {
+            return value == null ? stored == null : stored != null && versionOf(stored) >= version;
+        }
+    }
+
+    /**
+     * Disconnects an instance that was just sent, keeping the sent data to reload it from since the state store
+     * is only updated once the record has been consumed back.
+     */
+    protected void disconnect(ProcessInstance instance, byte[] data) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> data));
     }
 }
@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
@@ -36,17 +37,23 @@ import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -178,7 +185,7 @@ public class KafkaProcessInstancesTest {
 
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
         verify(producer).send(captor.capture());
-        assertThat(captor.getValue().value()).isEqualTo(new byte[] {});
+        assertThat(captor.getValue().value()).isEqualTo(KafkaProcessInstances.encode(1L, new byte[] {}));
         assertThat(captor.getValue().key()).isEqualTo(id);
         assertThat(captor.getValue().topic()).isEqualTo(topicName(process.id()));
 
@@ -216,7 +223,7 @@ public class KafkaProcessInstancesTest {
 
         ArgumentCaptor<ProducerRecord> kafkaCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
         verify(producer).send(kafkaCaptor.capture());
-        assertThat(kafkaCaptor.getValue().value()).isEqualTo(new byte[] {});
+        assertThat(kafkaCaptor.getValue().value()).isEqualTo(KafkaProcessInstances.encode(1L, new byte[] {}));
         assertThat(kafkaCaptor.getValue().key()).isEqualTo(id);
         assertThat(kafkaCaptor.getValue().topic()).isEqualTo(topicName(process.id()));
 
@@ -252,4 +259,96 @@ public class KafkaProcessInstancesTest {
 
         assertThatExceptionOfType(ProcessInstanceDuplicatedException.class).isThrownBy(() -> instances.create(id, instance));
     }
+
+    @Test
+    public void testProcessInstancesReadYourWrites() {
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        byte[] data = new byte[] { 1 };
+        doReturn(data).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
+
+        instances.update(id, instance);
+
+        // the store has not consumed the update yet
+        assertThat(instances.findById(id, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        verify(marshaller).unmarshallReadOnlyProcessInstance(eq(data), any());
+
+        when(store.get(id)).thenReturn(data);
+        instances.remove(id);
+
+        assertThat(instances.exists(id)).isFalse();
+    }
+
+    @Test
+    public void testProcessInstancesReadYourWritesUntilStoreVersion() {
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        byte[] data = new byte[] { 1 };
+        doReturn(data).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        when(instance.version()).thenReturn(3L);
+        doReturn(mock(AbstractProcessInstance.class)).when(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
+
+        instances.update(id, instance);
+        verify(instance).setVersion(4L);
+
+        // the store still holds the previous version
+        when(store.get(id)).thenReturn(KafkaProcessInstances.encode(3L, new byte[] { 2 }));
+        assertThat(instances.findById(id, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        verify(marshaller).unmarshallReadOnlyProcessInstance(eq(data), any());
+
+        // the store caught up, with the same version written by another application instance
+        when(store.get(id)).thenReturn(KafkaProcessInstances.encode(4L, new byte[] { 3 }));
+        assertThat(instances.findById(id, ProcessInstanceReadMode.READ_ONLY)).isPresent();
+        verify(marshaller).unmarshallReadOnlyProcessInstance(eq(new byte[] { 3 }), any());
+    }
+
+    @Test
+    public void testProcessInstancesVersionPrefix() {
+        byte[] payload = new byte[] { 10, 1, 2 };
+
+        assertThat(KafkaProcessInstances.versionOf(KafkaProcessInstances.encode(7L, payload))).isEqualTo(7L);
+        assertThat(KafkaProcessInstances.payloadOf(KafkaProcessInstances.encode(7L, payload))).isEqualTo(payload);
+        // values written without a version
+        assertThat(KafkaProcessInstances.versionOf(payload)).isZero();
+        assertThat(KafkaProcessInstances.payloadOf(payload)).isSameAs(payload);
+    }
+
+    @Test
+    public void testProcessInstancesBatchTransactional() {
+        instances = new KafkaProcessInstances(process, producer, true);
+        instances.setStore(store);
+        instances.setMarshaller(marshaller);
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        when(instance.id()).thenReturn(id);
+        String removedId = UUID.randomUUID().toString();
+
+        instances.batch(singletonList(instance), emptyList(), singletonList(removedId));
+
+        InOrder inOrder = inOrder(producer);
+        inOrder.verify(producer).beginTransaction();
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        inOrder.verify(producer, times(2)).send(captor.capture());
+        inOrder.verify(producer).commitTransaction();
+        assertThat(captor.getAllValues()).extracting(ProducerRecord::key).containsExactly(id, removedId);
+        assertThat(instances.exists(id)).isTrue();
+        assertThat(instances.exists(removedId)).isFalse();
+    }
+
+    @Test
+    public void testProcessInstancesBatchTransactionalAbort() {
+        instances = new KafkaProcessInstances(process, producer, true);
+        instances.setStore(store);
+        instances.setMarshaller(marshaller);
+        doThrow(new KafkaException()).when(producer).commitTransaction();
+
+        assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> instances.batch(emptyList(), emptyList(), singletonList(id)));
+
+        verify(producer).abortTransaction();
+        assertThat(instances.exists(id)).isFalse();
+    }
 }
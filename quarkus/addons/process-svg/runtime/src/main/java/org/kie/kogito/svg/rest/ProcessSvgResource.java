@@ -25,8 +25,11 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
+import org.kie.kogito.svg.ProcessInstanceSVG;
 import org.kie.kogito.svg.ProcessSvgService;
 
 @ApplicationScoped
@@ -53,10 +56,15 @@ public class ProcessSvgResource {
     @Produces("image/svg+xml")
     public Response getExecutionPathByProcessInstanceId(@PathParam("processId") String processId,
             @PathParam("processInstanceId") String processInstanceId,
-            @HeaderParam("Authorization") @DefaultValue("") String authHeader) {
-        Optional<String> processInstanceSvg = service.getProcessInstanceSvg(processId, processInstanceId, authHeader);
+            @HeaderParam("Authorization") @DefaultValue("") String authHeader,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        Optional<ProcessInstanceSVG> processInstanceSvg = service.getTaggedProcessInstanceSvg(processId, processInstanceId, authHeader);
         if (processInstanceSvg.isPresent()) {
-            return Response.ok(processInstanceSvg.get()).build();
+            EntityTag tag = new EntityTag(processInstanceSvg.get().getETag());
+            if (processInstanceSvg.get().matches(ifNoneMatch)) {
+                return Response.notModified(tag).build();
+            }
+            return Response.ok(processInstanceSvg.get().getSvg()).tag(tag).build();
         } else {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
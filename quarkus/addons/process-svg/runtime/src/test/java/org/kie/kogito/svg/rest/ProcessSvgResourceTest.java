@@ -16,13 +16,19 @@
 package org.kie.kogito.svg.rest;
 
 import java.io.IOException;
+import java.util.Optional;
+
+import javax.ws.rs.core.Response;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.svg.ProcessInstanceSVG;
 import org.kie.kogito.svg.service.QuarkusProcessSvgService;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class ProcessSvgResourceTest {
 
@@ -48,7 +54,23 @@ class ProcessSvgResourceTest {
     @Test
     void getExecutionPathByProcessInstanceIdTest() throws IOException {
         String authHeader = "Bearer: token";
-        processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader);
-        verify(processSvgServiceMock).getProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader);
+        processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader, null);
+        verify(processSvgServiceMock).getTaggedProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader);
+    }
+
+    @Test
+    void getExecutionPathByProcessInstanceIdNotModifiedTest() {
+        String authHeader = "Bearer: token";
+        when(processSvgServiceMock.getTaggedProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader))
+                .thenReturn(Optional.of(new ProcessInstanceSVG("etag", () -> "<svg/>")));
+
+        Response response = processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader, "\"other\"");
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("<svg/>", response.getEntity());
+        assertEquals("etag", response.getEntityTag().getValue());
+
+        response = processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, authHeader, "\"etag\"");
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertEquals("etag", response.getEntityTag().getValue());
     }
 }
\ No newline at end of file
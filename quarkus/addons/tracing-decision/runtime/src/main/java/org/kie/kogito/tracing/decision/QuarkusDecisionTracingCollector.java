@@ -20,6 +20,7 @@ import java.util.function.BiFunction;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -35,16 +36,32 @@ public class QuarkusDecisionTracingCollector {
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_EXECUTION_TTL_MILLIS, DecisionTracingCollector.DEFAULT_MAX_EVENTS_PER_EXECUTION);
+    }
+
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier,
+            final long executionTtlMillis,
+            final int maxEventsPerExecution) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, executionTtlMillis, maxEventsPerExecution);
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.executionTtlMillis", defaultValue = "300000") final long executionTtlMillis,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.maxEventsPerExecution", defaultValue = "10000") final int maxEventsPerExecution) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), executionTtlMillis, maxEventsPerExecution);
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
@@ -230,6 +230,8 @@ public class ProcessesAssetsProcessor {
         } else if (persistenceGenerator.persistenceType().equals(PersistenceGenerator.KAFKA_PERSISTENCE_TYPE)) {
             String processIds = protoGenerator.getProcessIds().stream().map(s -> "kogito.process." + s).collect(joining(","));
             runTimeConfiguration.produce(new RunTimeConfigurationDefaultBuildItem(PersistenceGenerator.QUARKUS_KAFKA_STREAMS_TOPICS_PROP, processIds));
+            // the global store must not see the records of aborted transactions of a transactional producer
+            runTimeConfiguration.produce(new RunTimeConfigurationDefaultBuildItem(PersistenceGenerator.KAFKA_STREAMS_GLOBAL_CONSUMER_ISOLATION_LEVEL_PROP, "read_committed"));
         }
 
         return persistenceGenerator.generate();
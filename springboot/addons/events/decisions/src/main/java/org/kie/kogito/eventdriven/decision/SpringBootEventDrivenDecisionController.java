@@ -16,24 +16,39 @@
 package org.kie.kogito.eventdriven.decision;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
+import org.kie.kogito.cloudevents.EventDrivenPipeline;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionModels;
 import org.kie.kogito.event.EventEmitter;
 import org.kie.kogito.event.EventReceiver;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SpringBootEventDrivenDecisionController extends EventDrivenDecisionController {
 
+    private final EventDrivenPipeline.Config pipelineConfig;
+
     @Autowired
-    public SpringBootEventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver) {
+    public SpringBootEventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver,
+            @Value("${" + EventDrivenPipeline.PARALLELISM_PROPERTY + ":" + EventDrivenPipeline.DEFAULT_PARALLELISM + "}") int parallelism,
+            @Value("${" + EventDrivenPipeline.BATCH_SIZE_PROPERTY + ":" + EventDrivenPipeline.DEFAULT_BATCH_SIZE + "}") int batchSize,
+            @Value("${" + EventDrivenPipeline.QUEUE_SIZE_PROPERTY + ":" + EventDrivenPipeline.DEFAULT_QUEUE_SIZE + "}") int queueSize,
+            @Value("${" + EventDrivenPipeline.ORDERED_PROPERTY + ":" + EventDrivenPipeline.DEFAULT_ORDERED + "}") boolean ordered) {
         super(decisionModels, config, eventEmitter, eventReceiver);
+        this.pipelineConfig = new EventDrivenPipeline.Config(parallelism, batchSize, queueSize, ordered);
     }
 
     @PostConstruct
     private void onPostConstruct() {
-        subscribe();
+        subscribe(pipelineConfig);
+    }
+
+    @PreDestroy
+    private void onPreDestroy() {
+        close();
     }
 }
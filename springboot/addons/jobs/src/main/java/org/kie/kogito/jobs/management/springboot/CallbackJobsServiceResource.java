@@ -16,29 +16,43 @@
 
 package org.kie.kogito.jobs.management.springboot;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.jobs.management.TimerTrigger;
+import org.kie.kogito.jobs.management.TimerTriggerResult;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.timer.TimerInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
 @RestController
 @RequestMapping("/management/jobs")
 public class CallbackJobsServiceResource {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CallbackJobsServiceResource.class);
+
     @Autowired
     Processes processes;
 
@@ -71,4 +85,57 @@ public class CallbackJobsServiceResource {
             return ResponseEntity.ok().build();
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Fires many timers at once. Timers are grouped by process instance so each instance is loaded and stored
+     * only once, within its own unit of work. An instance failing to handle its timers does not prevent the
+     * timers of the other instances from being fired, the request then fails with the report of the timers that
+     * were not fired.
+     *
+     * @param timers timers to fire
+     * @return the timers that were not fired because their process or process instance was not found, or because
+     *         their process instance failed to handle them
+     */
+    @PostMapping(value = "timers", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity triggerTimers(@RequestBody List<TimerTrigger> timers) {
+        if (timers == null || timers.stream().anyMatch(t -> t.getProcessId() == null || t.getProcessInstanceId() == null || t.getTimerId() == null)) {
+            return ResponseEntity.badRequest().body("Process id, Process instance id and Timer id must be given");
+        }
+
+        TimerTriggerResult result = new TimerTriggerResult();
+        Map<String, Map<String, List<TimerTrigger>>> timersByProcess = timers.stream()
+                .collect(groupingBy(TimerTrigger::getProcessId, LinkedHashMap::new, groupingBy(TimerTrigger::getProcessInstanceId, LinkedHashMap::new, toList())));
+
+        timersByProcess.forEach((processId, timersByInstance) -> {
+            Process<?> process = processes.processById(processId);
+            if (process == null) {
+                timersByInstance.values().forEach(result.getNotFound()::addAll);
+                return;
+            }
+            timersByInstance.forEach((processInstanceId, instanceTimers) -> {
+                try {
+                    UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+                        Optional<? extends ProcessInstance<?>> processInstanceFound = process.instances().findById(processInstanceId);
+                        if (processInstanceFound.isPresent()) {
+                            ProcessInstance<?> processInstance = processInstanceFound.get();
+                            for (TimerTrigger timer : instanceTimers) {
+                                String[] ids = timer.getTimerId().split("_");
+                                processInstance.send(Sig.of("timerTriggered",
+                                        TimerInstance.with(Long.parseLong(ids[1]), timer.getTimerId(), Objects.requireNonNullElse(timer.getLimit(), 0))));
+                            }
+                        } else {
+                            result.getNotFound().addAll(instanceTimers);
+                        }
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    // the unit of work of this instance is aborted, the timers of the other instances are still fired
+                    LOGGER.error("Unable to trigger timers {} of process instance {}", instanceTimers, processInstanceId, e);
+                    result.getFailed().addAll(instanceTimers);
+                }
+            });
+        });
+
+        return ResponseEntity.status(result.hasFailures() ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK).body(result);
+    }
+}
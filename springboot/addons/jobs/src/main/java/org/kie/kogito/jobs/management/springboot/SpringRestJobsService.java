@@ -16,10 +16,11 @@
 package org.kie.kogito.jobs.management.springboot;
 
 import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.annotation.PostConstruct;
 
-import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.jobs.api.Job;
 import org.kie.kogito.jobs.api.JobNotFoundException;
@@ -69,29 +70,28 @@ public class SpringRestJobsService extends RestJobsService {
     }
 
     @Override
-    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-        String callback = getCallbackEndpoint(description);
-        LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
-        final Job job = buildJob(description, callback);
-        ResponseEntity<String> result = restTemplate.postForEntity(getJobsServiceUri(),
-                job,
-                String.class);
-        if (result.getStatusCode().ordinal() == 200) {
+    protected CompletionStage<Void> doSchedule(Job job) {
+        try {
+            ResponseEntity<String> result = restTemplate.postForEntity(getJobsServiceUri(),
+                    job,
+                    String.class);
             LOGGER.debug("Creating of the job {} done with status code {} ", job, result.getStatusCode());
+            return CompletableFuture.completedFuture(null);
+        } catch (RestClientException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return job.getId();
     }
 
     @Override
-    public boolean cancelJob(String id) {
-
+    protected CompletionStage<Boolean> doCancel(String id) {
         try {
             restTemplate.delete(getJobsServiceUri() + "/{id}", id);
-
-            return true;
+            return CompletableFuture.completedFuture(true);
+        } catch (NotFound e) {
+            LOGGER.debug("Job {} to be canceled was not found", id);
+            return CompletableFuture.completedFuture(false);
         } catch (RestClientException e) {
-            LOGGER.debug("Exception thrown during canceling of job {}", id, e);
-            return false;
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -15,9 +15,13 @@
  */
 package org.kie.kogito.addons.springboot.k8s;
 
-import org.kie.kogito.addons.k8s.EndpointDiscovery;
+import java.time.Duration;
+
+import org.kie.kogito.addons.k8s.CachedEndpointDiscovery;
 import org.kie.kogito.addons.k8s.KnativeRouteEndpointDiscovery;
 import org.kie.kogito.addons.k8s.KubernetesServiceEndpointDiscovery;
+import org.kie.kogito.addons.k8s.ServiceAndThenRouteEndpointDiscovery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,10 +31,11 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 public class EndpointDiscoveryConfig {
 
     @Bean
-    public EndpointDiscovery endpointDiscovery(KubernetesClient kubernetesClient) {
+    public CachedEndpointDiscovery endpointDiscovery(KubernetesClient kubernetesClient,
+            @Value("${" + CachedEndpointDiscovery.TTL_PROPERTY + ":60s}") Duration cacheTtl) {
         final KubernetesServiceEndpointDiscovery kubernetesServiceEndpointDiscovery = new KubernetesServiceEndpointDiscovery(kubernetesClient);
         final KnativeRouteEndpointDiscovery knativeRouteEndpointDiscovery = new KnativeRouteEndpointDiscovery(kubernetesClient);
-        return new CacheableServiceAndThenRouteEndpointDiscovery(kubernetesServiceEndpointDiscovery, knativeRouteEndpointDiscovery);
+        return new CachedEndpointDiscovery(new ServiceAndThenRouteEndpointDiscovery(kubernetesServiceEndpointDiscovery, knativeRouteEndpointDiscovery), kubernetesClient, cacheTtl);
     }
 
 }
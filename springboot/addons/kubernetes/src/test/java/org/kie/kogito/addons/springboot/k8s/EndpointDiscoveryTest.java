@@ -18,6 +18,7 @@ package org.kie.kogito.addons.springboot.k8s;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.addons.k8s.CachedEndpointDiscovery;
 import org.kie.kogito.addons.k8s.Endpoint;
 import org.kie.kogito.addons.k8s.EndpointDiscovery;
 
@@ -38,7 +39,7 @@ public class EndpointDiscoveryTest {
 
     @Test
     void verifyKubernetesIntegration() {
-        final EndpointDiscovery mockedEndpointDiscovery = new EndpointDiscoveryConfig().endpointDiscovery(kubernetesClient);
+        final EndpointDiscovery mockedEndpointDiscovery = new EndpointDiscoveryConfig().endpointDiscovery(kubernetesClient, CachedEndpointDiscovery.DEFAULT_TTL);
         final Optional<Endpoint> endpoint = mockedEndpointDiscovery.findEndpoint("test", "test");
         assertTrue(endpoint.isEmpty()); // we haven't created anything
     }
@@ -19,13 +19,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
 
 import org.kie.kogito.addon.cloudevents.Subscription;
+import org.kie.kogito.addon.cloudevents.SubscriptionIndex;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.SubscriptionInfo;
@@ -39,11 +39,11 @@ import org.springframework.stereotype.Component;
 public class SpringKafkaCloudEventReceiver implements EventReceiver {
 
     private static final Logger log = LoggerFactory.getLogger(SpringKafkaCloudEventReceiver.class);
-    private Collection<Subscription<Object>> consumers;
+    private SubscriptionIndex consumers;
 
     @PostConstruct
     private void init() {
-        consumers = new CopyOnWriteArrayList<>();
+        consumers = new SubscriptionIndex();
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -58,7 +58,7 @@ public class SpringKafkaCloudEventReceiver implements EventReceiver {
         log.debug("Received {} events", messages.size());
         Collection<CompletionStage<?>> futures = new ArrayList<>();
         for (String message : messages) {
-            for (Subscription<Object> consumer : consumers) {
+            for (Subscription<Object> consumer : consumers.subscriptions(message)) {
                 try {
                     futures.add(consumer.getConsumer().apply(consumer.getInfo().getConverter().apply(message, consumer.getInfo().getOutputClass())));
                 } catch (IOException e) {
@@ -22,7 +22,9 @@ import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.monitoring.core.common.Constants;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 import org.kie.kogito.monitoring.core.common.process.MetricsProcessEventListener;
+import org.kie.kogito.monitoring.core.common.process.UnitOfWorkMetricsListener;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,4 +63,14 @@ public class SpringbootEventListenerFactory {
         LOGGER.debug("Producing default listener for rule monitoring.");
         return new RuleMetricsListenerConfig(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
     }
+
+    @Bean
+    @ConditionalOnProperty(
+            value = Constants.MONITORING_PROCESS_USE_DEFAULT,
+            havingValue = "true",
+            matchIfMissing = true)
+    public UnitOfWorkEventListener produceUnitOfWorkListener() {
+        LOGGER.debug("Producing default listener for unit of work monitoring.");
+        return new UnitOfWorkMetricsListener(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry());
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.springboot;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.monitoring.core.common.process.TimingWheelMetrics;
+import org.kie.services.jobs.impl.TimingWheelJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(value = Constants.MONITORING_PROCESS_USE_DEFAULT, havingValue = "true", matchIfMissing = true)
+public class SpringbootTimingWheelMetrics {
+
+    ConfigBean configBean;
+
+    boolean timingWheelJobsEnabled;
+
+    @Autowired
+    public SpringbootTimingWheelMetrics(ConfigBean configBean,
+            @Value("${" + TimingWheelJobService.TIMING_WHEEL_ENABLED + ":false}") boolean timingWheelJobsEnabled) {
+        this.configBean = configBean;
+        this.timingWheelJobsEnabled = timingWheelJobsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (timingWheelJobsEnabled) {
+            new TimingWheelMetrics(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), MonitoringRegistry.getDefaultMeterRegistry())
+                    .bindTo(TimingWheelJobService.sharedTimingWheel());
+        }
+    }
+}
@@ -18,8 +18,10 @@ package org.kie.kogito.svg.rest;
 
 import java.util.Optional;
 
+import org.kie.kogito.svg.ProcessInstanceSVG;
 import org.kie.kogito.svg.ProcessSvgService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -48,10 +50,15 @@ public class SpringBootProcessSvgResource {
     @GetMapping(value = "processes/{processId}/instances/{processInstanceId}", produces = "image/svg+xml")
     public ResponseEntity getExecutionPathByProcessInstanceId(@PathVariable("processId") String processId,
             @PathVariable("processInstanceId") String processInstanceId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Optional<String> processInstanceSvg = service.getProcessInstanceSvg(processId, processInstanceId, authHeader);
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<ProcessInstanceSVG> processInstanceSvg = service.getTaggedProcessInstanceSvg(processId, processInstanceId, authHeader);
         if (processInstanceSvg.isPresent()) {
-            return ResponseEntity.ok(processInstanceSvg.get());
+            String tag = "\"" + processInstanceSvg.get().getETag() + "\"";
+            if (processInstanceSvg.get().matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+            }
+            return ResponseEntity.ok().eTag(tag).body(processInstanceSvg.get().getSvg());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Process with id " + processId + " not found");
         }
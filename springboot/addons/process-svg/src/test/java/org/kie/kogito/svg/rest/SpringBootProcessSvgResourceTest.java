@@ -16,13 +16,19 @@
 package org.kie.kogito.svg.rest;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.svg.ProcessInstanceSVG;
 import org.kie.kogito.svg.service.SpringBootProcessSvgService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class SpringBootProcessSvgResourceTest {
 
@@ -48,7 +54,22 @@ class SpringBootProcessSvgResourceTest {
 
     @Test
     void getExecutionPathByProcessInstanceIdTest() throws IOException {
-        processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER);
-        verify(processSvgServiceMock).getProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER);
+        processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER, null);
+        verify(processSvgServiceMock).getTaggedProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER);
+    }
+
+    @Test
+    void getExecutionPathByProcessInstanceIdNotModifiedTest() {
+        when(processSvgServiceMock.getTaggedProcessInstanceSvg(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER))
+                .thenReturn(Optional.of(new ProcessInstanceSVG("etag", () -> "<svg/>")));
+
+        ResponseEntity response = processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER, "\"other\"");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("<svg/>", response.getBody());
+        assertEquals("\"etag\"", response.getHeaders().getETag());
+
+        response = processSvgResourceTest.getExecutionPathByProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID, AUTH_HEADER, "\"etag\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"etag\"", response.getHeaders().getETag());
     }
 }
\ No newline at end of file
@@ -30,7 +30,15 @@ public class SpringBootDecisionTracingCollector {
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_EXECUTION_TTL_MILLIS, DecisionTracingCollector.DEFAULT_MAX_EVENTS_PER_EXECUTION);
+    }
+
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, DMNModel> modelSupplier,
+            final long executionTtlMillis,
+            final int maxEventsPerExecution) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean, executionTtlMillis, maxEventsPerExecution);
     }
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
@@ -39,6 +47,14 @@ public class SpringBootDecisionTracingCollector {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            final long executionTtlMillis,
+            final int maxEventsPerExecution) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), executionTtlMillis, maxEventsPerExecution);
+    }
+
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
@@ -34,6 +34,10 @@ public class SpringBootDecisionTracingCollectorAsync extends SpringBootDecisionT
         super(eventEmitter, configBean, application);
     }
 
+    public SpringBootDecisionTracingCollectorAsync(SpringBootTraceEventEmitter eventEmitter, ConfigBean configBean, Application application, long executionTtlMillis, int maxEventsPerExecution) {
+        super(eventEmitter, configBean, application, executionTtlMillis, maxEventsPerExecution);
+    }
+
     @Override
     @Async("kogitoTracingDecisionAddonTaskExecutor")
     @EventListener
@@ -33,10 +33,12 @@ class SpringBootDecisionTracingConfigurationTest {
 
         SpringBootDecisionTracingConfiguration config = new SpringBootDecisionTracingConfiguration("localhost:9092", "kogito-tracing-decision", 1, (short) 1);
 
-        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true);
+        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true,
+                DecisionTracingCollector.DEFAULT_EXECUTION_TTL_MILLIS, DecisionTracingCollector.DEFAULT_MAX_EVENTS_PER_EXECUTION);
         assertTrue(asyncCollector instanceof SpringBootDecisionTracingCollectorAsync);
 
-        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false);
+        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false,
+                DecisionTracingCollector.DEFAULT_EXECUTION_TTL_MILLIS, DecisionTracingCollector.DEFAULT_MAX_EVENTS_PER_EXECUTION);
         assertFalse(syncCollector instanceof SpringBootDecisionTracingCollectorAsync);
     }
 }